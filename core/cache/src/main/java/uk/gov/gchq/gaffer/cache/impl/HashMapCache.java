@@ -19,56 +19,157 @@ package uk.gov.gchq.gaffer.cache.impl;
 import com.google.common.collect.Lists;
 
 import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Simple implementation of the {@link ICache} interface, using a {@link HashMap}
- * as the cache data store.
+ * Simple implementation of the {@link ICache} interface, using a
+ * {@link ConcurrentHashMap} as the cache data store.
+ * <p>
+ * The cache can optionally be bounded to a maximum number of entries, in which
+ * case the least recently used entries are evicted once the bound is exceeded.
+ * Entries are evicted in batches, down to 90% of the bound, so that the cost of
+ * finding the least recently used entries is spread over many additions. Entries can optionally expire a period of time after they were added.
+ * The number of hits, misses, evictions and expirations are recorded.
+ * Reads of an unbounded cache do not record when entries were last used, so
+ * they do not contend with each other.
+ * </p>
+ * <p>
+ * Values can optionally be serialised when they are added, using the
+ * {@link JavaSerialiser} or another {@link ToBytesSerialiser}, so that changes
+ * to a value after it has been added are not reflected in the cache.
+ * </p>
  *
  * @param <K> The object type that acts as the key for the HashMap
  * @param <V> The value that is stored in the HashMap
  */
 public class HashMapCache<K, V> implements ICache<K, V> {
+    public static final long UNBOUNDED = 0;
+    public static final long NO_EXPIRY = 0;
+
     private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
-    private boolean useJavaSerialisation;
-    private HashMap<K, Object> cache = new HashMap<>();
+
+    private final ToBytesSerialiser<Object> serialiser;
+    private final long maxSize;
+    private final long evictionSize;
+    private final long timeToLiveMillis;
+    private final ConcurrentHashMap<K, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLong accessClock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private volatile boolean hasExpiringEntries;
 
     public HashMapCache(final boolean useJavaSerialisation) {
-        this.useJavaSerialisation = useJavaSerialisation;
+        this(useJavaSerialisation ? JAVA_SERIALISER : null, UNBOUNDED, NO_EXPIRY);
     }
 
     public HashMapCache() {
         this(false);
     }
 
+    /**
+     * @param serialiser       the serialiser to store values with, or null to store the values themselves
+     * @param maxSize          the maximum number of entries, or {@link #UNBOUNDED}
+     * @param timeToLiveMillis the time in milliseconds after which entries expire, or {@link #NO_EXPIRY}
+     */
+    public HashMapCache(final ToBytesSerialiser<Object> serialiser, final long maxSize, final long timeToLiveMillis) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maximum size must not be negative");
+        }
+        if (timeToLiveMillis < 0) {
+            throw new IllegalArgumentException("The time to live must not be negative");
+        }
+        this.serialiser = serialiser;
+        this.maxSize = maxSize;
+        this.evictionSize = maxSize - maxSize / 10;
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
     @Override
     public V get(final K key) {
-        try {
-            return (V) (useJavaSerialisation
-                    ? JAVA_SERIALISER.deserialise((byte[]) cache.get(key))
-                    : cache.get(key));
-        } catch (final SerialisationException e) {
-            throw new RuntimeException(e);
+        final CacheEntry entry = cache.get(key);
+        if (null == entry) {
+            misses.increment();
+            return null;
         }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (cache.remove(key, entry)) {
+                expirations.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        if (UNBOUNDED != maxSize) {
+            entry.lastAccess = accessClock.incrementAndGet();
+        }
+        return entry.getValue();
     }
 
     @Override
     public void put(final K key, final V value) {
-        if (useJavaSerialisation) {
-            try {
-                cache.put(key, JAVA_SERIALISER.serialise(value));
-            } catch (final SerialisationException e) {
-                throw new RuntimeException(e);
+        put(key, value, timeToLiveMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds an entry which expires after the given time to live, rather than
+     * the default time to live of this cache.
+     *
+     * @param key        the key
+     * @param value      the value
+     * @param timeToLive the time to live, or {@link #NO_EXPIRY}
+     * @param unit       the unit of the time to live
+     */
+    public void put(final K key, final V value, final long timeToLive, final TimeUnit unit) {
+        cache.put(key, createEntry(value, timeToLive, unit));
+        evictIfFull();
+    }
+
+    /**
+     * Adds an entry only if there is not already an unexpired entry for the key.
+     * The check and the addition are a single atomic operation, so concurrent
+     * calls with the same key cannot overwrite each other.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws OverwritingException if there is already an entry for the key
+     */
+    @Override
+    public void putSafe(final K key, final V value) throws OverwritingException {
+        final CacheEntry entry = createEntry(value, timeToLiveMillis, TimeUnit.MILLISECONDS);
+        final long now = System.currentTimeMillis();
+        final CacheEntry result = cache.compute(key, (k, existing) -> {
+            if (null == existing) {
+                return entry;
             }
-        } else {
-            cache.<K, V>put(key, value);
+            if (existing.isExpired(now)) {
+                expirations.increment();
+                return entry;
+            }
+            return existing;
+        });
+        if (entry != result) {
+            throw new OverwritingException("Cache entry already exists for key: " + key);
         }
+        evictIfFull();
     }
 
     @Override
@@ -78,29 +179,21 @@ public class HashMapCache<K, V> implements ICache<K, V> {
 
     @Override
     public Collection<V> getAllValues() {
-        ArrayList<V> rtn = Lists.newArrayList();
-        if (useJavaSerialisation) {
-            cache.values()
-                    .forEach((Object o) -> {
-                        try {
-                            rtn.add((V) JAVA_SERIALISER.deserialise((byte[]) o));
-                        } catch (final SerialisationException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
-        } else {
-            rtn.addAll((Collection<V>) cache.values());
-        }
+        removeExpired();
+        final ArrayList<V> rtn = Lists.newArrayList();
+        cache.values().forEach(entry -> rtn.add(entry.getValue()));
         return rtn;
     }
 
     @Override
     public Set<K> getAllKeys() {
+        removeExpired();
         return cache.keySet();
     }
 
     @Override
     public int size() {
+        removeExpired();
         return cache.size();
     }
 
@@ -108,4 +201,135 @@ public class HashMapCache<K, V> implements ICache<K, V> {
     public void clear() {
         cache.clear();
     }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    private CacheEntry createEntry(final V value, final long timeToLive, final TimeUnit unit) {
+        final long expiryTime;
+        if (timeToLive > NO_EXPIRY) {
+            expiryTime = System.currentTimeMillis() + unit.toMillis(timeToLive);
+            hasExpiringEntries = true;
+        } else {
+            expiryTime = Long.MAX_VALUE;
+        }
+        return new CacheEntry(serialise(value), expiryTime);
+    }
+
+    private void evictIfFull() {
+        if (UNBOUNDED != maxSize && cache.size() > maxSize) {
+            evict();
+        }
+    }
+
+    private Object serialise(final V value) {
+        if (null == serialiser) {
+            return value;
+        }
+        try {
+            return serialiser.serialise(value);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void removeExpired() {
+        if (!hasExpiringEntries) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        for (final Map.Entry<K, CacheEntry> entry : cache.entrySet()) {
+            if (entry.getValue().isExpired(now) && cache.remove(entry.getKey(), entry.getValue())) {
+                expirations.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes expired entries and then the least recently used entries until
+     * the cache is down to 90% of its bound. Only one thread evicts at a time,
+     * other threads adding entries whilst an eviction is running do not wait for it.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            removeExpired();
+            if (cache.size() <= maxSize) {
+                return;
+            }
+            final int excess = cache.size() - (int) Math.min(Integer.MAX_VALUE, evictionSize);
+            if (excess <= 0) {
+                return;
+            }
+
+            // Keep the least recently used entries in a heap with the most recently used of them at its head
+            final PriorityQueue<Map.Entry<K, CacheEntry>> leastRecentlyUsed = new PriorityQueue<>(excess,
+                    (e1, e2) -> Long.compare(e2.getValue().lastAccess, e1.getValue().lastAccess));
+            for (final Map.Entry<K, CacheEntry> entry : cache.entrySet()) {
+                if (leastRecentlyUsed.size() < excess) {
+                    leastRecentlyUsed.add(entry);
+                } else if (entry.getValue().lastAccess < leastRecentlyUsed.peek().getValue().lastAccess) {
+                    leastRecentlyUsed.poll();
+                    leastRecentlyUsed.add(entry);
+                }
+            }
+            for (final Map.Entry<K, CacheEntry> entry : leastRecentlyUsed) {
+                if (cache.remove(entry.getKey(), entry.getValue())) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private final class CacheEntry {
+        private final Object value;
+        private final long expiryTime;
+        private volatile long lastAccess;
+
+        private CacheEntry(final Object value, final long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+            this.lastAccess = UNBOUNDED != maxSize ? accessClock.incrementAndGet() : 0L;
+        }
+
+        private boolean isExpired(final long now) {
+            return now >= expiryTime;
+        }
+
+        private V getValue() {
+            if (null == serialiser) {
+                return (V) value;
+            }
+            try {
+                return (V) serialiser.deserialise((byte[]) value);
+            } catch (final SerialisationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
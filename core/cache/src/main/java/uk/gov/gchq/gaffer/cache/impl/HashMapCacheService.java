@@ -18,30 +18,56 @@ package uk.gov.gchq.gaffer.cache.impl;
 
 import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.ICacheService;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
 
-import java.util.HashMap;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Simple implementation of the {@link ICacheService} interface which uses a
  * {@link HashMapCache} as the cache implementation.
+ * <p>
+ * By default the caches are unbounded and entries do not expire. The maximum
+ * size, time to live and serialiser can be set for all caches, or for a single
+ * cache by appending "." and the cache name to the property, e.g.
+ * {@code gaffer.cache.hashmap.maxSize.NamedOperation}.
+ * </p>
  */
 public class HashMapCacheService implements ICacheService {
     public static final String STATIC_CACHE = "gaffer.cache.hashmap.static";
     public static final String JAVA_SERIALISATION_CACHE = "gaffer.cache.hashmap.useJavaSerialisation";
-    private static final HashMap<String, HashMapCache> STATIC_CACHES = new HashMap<>();
-    private final HashMap<String, HashMapCache> nonStaticCaches = new HashMap<>();
-    private boolean useJavaSerialisation = false;
 
-    private HashMap<String, HashMapCache> caches = nonStaticCaches;
+    /**
+     * The class name of a {@link ToBytesSerialiser} of {@link Object}s used to
+     * serialise cached values. If set, this takes precedence over
+     * {@link #JAVA_SERIALISATION_CACHE}.
+     */
+    public static final String SERIALISER = "gaffer.cache.hashmap.serialiser";
+
+    /**
+     * The maximum number of entries in each cache, after which the least
+     * recently used entries are evicted. If not set the caches are unbounded.
+     */
+    public static final String MAX_SIZE = "gaffer.cache.hashmap.maxSize";
+
+    /**
+     * The time in milliseconds after which cache entries expire. If not set
+     * the entries do not expire.
+     */
+    public static final String TIME_TO_LIVE = "gaffer.cache.hashmap.timeToLive";
+
+    private static final ConcurrentHashMap<String, HashMapCache> STATIC_CACHES = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, HashMapCache> nonStaticCaches = new ConcurrentHashMap<>();
+    private Properties properties = new Properties();
+
+    private ConcurrentHashMap<String, HashMapCache> caches = nonStaticCaches;
 
     @Override
     public void initialise(final Properties properties) {
-        if (properties != null) {
-            useJavaSerialisation = Boolean.parseBoolean(properties.getProperty(JAVA_SERIALISATION_CACHE));
-        }
+        this.properties = null != properties ? properties : new Properties();
 
-        if (properties != null && Boolean.parseBoolean(properties.getProperty(STATIC_CACHE))) {
+        if (Boolean.parseBoolean(this.properties.getProperty(STATIC_CACHE))) {
             caches = STATIC_CACHES;
         } else {
             caches = nonStaticCaches;
@@ -55,8 +81,34 @@ public class HashMapCacheService implements ICacheService {
 
     @Override
     public <K, V> ICache<K, V> getCache(final String cacheName) {
-        HashMapCache<K, V> cache = caches.computeIfAbsent(cacheName, k -> new HashMapCache<>(useJavaSerialisation));
+        HashMapCache<K, V> cache = caches.computeIfAbsent(cacheName, this::createCache);
 
         return cache;
     }
+
+    private HashMapCache createCache(final String cacheName) {
+        return new HashMapCache<>(
+                createSerialiser(cacheName),
+                Long.parseLong(getProperty(MAX_SIZE, cacheName, String.valueOf(HashMapCache.UNBOUNDED))),
+                Long.parseLong(getProperty(TIME_TO_LIVE, cacheName, String.valueOf(HashMapCache.NO_EXPIRY))));
+    }
+
+    private ToBytesSerialiser<Object> createSerialiser(final String cacheName) {
+        final String serialiserClass = getProperty(SERIALISER, cacheName, null);
+        if (null == serialiserClass) {
+            return Boolean.parseBoolean(getProperty(JAVA_SERIALISATION_CACHE, cacheName, null))
+                    ? new JavaSerialiser()
+                    : null;
+        }
+
+        try {
+            return Class.forName(serialiserClass).asSubclass(ToBytesSerialiser.class).newInstance();
+        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Unable to create cache serialiser: " + serialiserClass, e);
+        }
+    }
+
+    private String getProperty(final String key, final String cacheName, final String defaultValue) {
+        return properties.getProperty(key + "." + cacheName, properties.getProperty(key, defaultValue));
+    }
 }
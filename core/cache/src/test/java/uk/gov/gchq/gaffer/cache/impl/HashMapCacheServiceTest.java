@@ -23,6 +23,9 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+
+import java.util.Properties;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
@@ -158,4 +161,61 @@ public class HashMapCacheServiceTest {
         service.putInCache(CACHE_NAME, "test2", 2);
         service.putInCache(CACHE_NAME, "test3", 3);
     }
+
+    @Test
+    public void shouldCreateUnboundedCachesByDefault() {
+        // When
+        final HashMapCache cache = (HashMapCache) service.getCache(CACHE_NAME);
+
+        // Then
+        assertEquals(HashMapCache.UNBOUNDED, cache.getMaxSize());
+        assertEquals(HashMapCache.NO_EXPIRY, cache.getTimeToLiveMillis());
+    }
+
+    @Test
+    public void shouldConfigureCachesFromProperties() {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(HashMapCacheService.MAX_SIZE, "10");
+        properties.setProperty(HashMapCacheService.MAX_SIZE + "." + CACHE_NAME, "5");
+        properties.setProperty(HashMapCacheService.TIME_TO_LIVE, "1000");
+        service.initialise(properties);
+
+        // When
+        final HashMapCache cache = (HashMapCache) service.getCache(CACHE_NAME);
+        final HashMapCache otherCache = (HashMapCache) service.getCache("other");
+
+        // Then
+        assertEquals(5, cache.getMaxSize());
+        assertEquals(1000, cache.getTimeToLiveMillis());
+        assertEquals(10, otherCache.getMaxSize());
+        assertEquals(1000, otherCache.getTimeToLiveMillis());
+    }
+
+    @Test
+    public void shouldUseConfiguredSerialiser() throws CacheOperationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(HashMapCacheService.SERIALISER, JavaSerialiser.class.getName());
+        service.initialise(properties);
+        final StringBuilder value = new StringBuilder("value");
+        service.putInCache(CACHE_NAME, "test", value);
+
+        // When
+        value.append(" changed");
+
+        // Then
+        assertEquals("value", service.getFromCache(CACHE_NAME, "test").toString());
+    }
+
+    @Test
+    public void shouldThrowExceptionForInvalidSerialiser() {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(HashMapCacheService.SERIALISER, "unknown.Serialiser");
+        service.initialise(properties);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> service.getCache(CACHE_NAME));
+    }
 }
@@ -20,11 +20,24 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -132,4 +145,182 @@ public class HashMapCacheTest {
         final TempClass tempClass = new TempClass();
         map.put("test1", tempClass);
     }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntriesWhenMaxSizeIsExceeded() {
+        // Given
+        final HashMapCache<String, Integer> boundedCache = new HashMapCache<>(null, 2, HashMapCache.NO_EXPIRY);
+        boundedCache.put("test1", 1);
+        boundedCache.put("test2", 2);
+        boundedCache.get("test1");
+
+        // When
+        boundedCache.put("test3", 3);
+
+        // Then
+        assertEquals(2, boundedCache.size());
+        assertThat(boundedCache.getAllKeys(), hasItems("test1", "test3"));
+        assertFalse(boundedCache.getAllKeys().contains("test2"));
+        assertEquals(1, boundedCache.getEvictionCount());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntriesDownToLowWaterMarkWhenMaxSizeIsExceeded() {
+        // Given
+        final HashMapCache<String, Integer> boundedCache = new HashMapCache<>(null, 100, HashMapCache.NO_EXPIRY);
+        for (int i = 0; i < 100; i++) {
+            boundedCache.put("test" + i, i);
+        }
+        boundedCache.get("test0");
+
+        // When
+        boundedCache.put("test100", 100);
+
+        // Then
+        assertEquals(90, boundedCache.size());
+        assertEquals(11, boundedCache.getEvictionCount());
+        assertThat(boundedCache.getAllKeys(), hasItems("test0", "test12", "test100"));
+        for (int i = 1; i <= 11; i++) {
+            assertFalse(boundedCache.getAllKeys().contains("test" + i));
+        }
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTimeToLive() throws InterruptedException {
+        // Given
+        final HashMapCache<String, Integer> expiringCache = new HashMapCache<>(null, HashMapCache.UNBOUNDED, 50);
+        expiringCache.put("test1", 1);
+        expiringCache.put("test2", 2, HashMapCache.NO_EXPIRY, TimeUnit.MILLISECONDS);
+
+        // When
+        Thread.sleep(100);
+
+        // Then
+        assertNull(expiringCache.get("test1"));
+        assertEquals(new Integer(2), expiringCache.get("test2"));
+        assertEquals(1, expiringCache.size());
+        assertEquals(1, expiringCache.getExpirationCount());
+    }
+
+    @Test
+    public void shouldExpireEntryAfterItsOwnTimeToLive() throws InterruptedException {
+        // Given
+        cache.put("test1", 1, 50, TimeUnit.MILLISECONDS);
+        cache.put("test2", 2);
+
+        // When
+        Thread.sleep(100);
+
+        // Then
+        assertEquals(1, cache.size());
+        assertThat(cache.getAllKeys(), hasItems("test2"));
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        // Given
+        cache.put("test1", 1);
+
+        // When
+        cache.get("test1");
+        cache.get("test1");
+        cache.get("unknown");
+
+        // Then
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldReturnCopiesOfSerialisedValues() {
+        // Given
+        final HashMapCache<String, StringBuilder> serialisingCache = new HashMapCache<>(new JavaSerialiser(), HashMapCache.UNBOUNDED, HashMapCache.NO_EXPIRY);
+        final StringBuilder value = new StringBuilder("value");
+        serialisingCache.put("test1", value);
+
+        // When
+        value.append(" changed");
+        final StringBuilder result = serialisingCache.get("test1");
+
+        // Then
+        assertNotSame(value, result);
+        assertEquals("value", result.toString());
+    }
+
+    @Test
+    public void shouldAllowNullValues() {
+        // When
+        cache.put("test1", null);
+
+        // Then
+        assertEquals(1, cache.size());
+        assertNull(cache.get("test1"));
+    }
+
+    @Test
+    public void shouldThrowOverwritingExceptionWhenPuttingSafelyAnExistingKey() {
+        // Given
+        cache.put("test1", 1);
+
+        // When / Then
+        assertThrows(OverwritingException.class, () -> cache.putSafe("test1", 2));
+        assertEquals(new Integer(1), cache.get("test1"));
+    }
+
+    @Test
+    public void shouldPutSafelyOverAnExpiredEntry() throws InterruptedException {
+        // Given
+        cache.put("test1", 1, 10, TimeUnit.MILLISECONDS);
+        Thread.sleep(50);
+
+        // When
+        cache.putSafe("test1", 2);
+
+        // Then
+        assertEquals(new Integer(2), cache.get("test1"));
+        assertEquals(1, cache.getExpirationCount());
+    }
+
+    @Test
+    public void shouldOnlyAllowOneConcurrentPutSafeForTheSameKey() throws Exception {
+        // Given
+        final int numThreads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < numThreads; i++) {
+                final int value = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        cache.putSafe("test1", value);
+                        return true;
+                    } catch (final OverwritingException e) {
+                        return false;
+                    }
+                }));
+            }
+
+            // When
+            start.countDown();
+            int added = 0;
+            for (final Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    added++;
+                }
+            }
+
+            // Then
+            assertEquals(1, added);
+            assertEquals(1, cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotAllowNegativeMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new HashMapCache<>(null, -1, HashMapCache.NO_EXPIRY));
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.commonutil;
+
+/**
+ * The metrics exported over JMX for each pool managed by the {@link ExecutorService}.
+ * The pools are registered with the platform MBean server under the name
+ * {@code uk.gov.gchq.gaffer:type=ExecutorService,name=<pool name>}.
+ */
+public interface ExecutorPoolMXBean {
+    String getName();
+
+    /**
+     * @return true if tasks that are run immediately use a virtual thread each,
+     * rather than the pool's platform threads
+     */
+    boolean isVirtualThreads();
+
+    /**
+     * @return the number of tasks waiting to run, including scheduled tasks
+     */
+    int getQueueDepth();
+
+    int getActiveThreads();
+
+    int getPoolSize();
+
+    long getCompletedTaskCount();
+
+    /**
+     * @return the mean time, in milliseconds, that tasks waited after they were due to run
+     */
+    double getMeanQueueWaitMillis();
+
+    /**
+     * @return the longest time, in milliseconds, that a task waited after it was due to run
+     */
+    long getMaxQueueWaitMillis();
+
+    /**
+     * @return the mean time, in milliseconds, that tasks took to run
+     */
+    double getMeanRunTimeMillis();
+
+    /**
+     * @return the longest time, in milliseconds, that a task took to run
+     */
+    long getMaxRunTimeMillis();
+}
@@ -18,48 +18,175 @@ package uk.gov.gchq.gaffer.commonutil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * An {@code ExecutorService} that can schedule commands to run after a given
- * delay, or to execute periodically.
+ * An {@code ExecutorService} manages named pools that can schedule commands to
+ * run after a given delay, or to execute periodically.
+ * <p>
+ * Stores choose which pools to use through their store properties, so that
+ * long running or scheduled jobs can be given a separate pool from interactive
+ * jobs. Pools with the same name are shared, and the first initialisation of a
+ * pool determines its configuration. Each pool is an
+ * {@link InstrumentedScheduledExecutor} and its metrics are exported over JMX as
+ * an {@link ExecutorPoolMXBean}.
+ * </p>
  * <p>
+ * A pool can be asked to use virtual threads. If the JVM supports them then
+ * tasks which are executed or submitted to run immediately each get their own
+ * virtual thread, so the number of these tasks running at once is not limited
+ * by the thread count. Scheduled and periodic tasks still run on the pool's
+ * fixed number of platform threads. On JVMs without virtual threads a warning
+ * is logged and the pool only uses platform threads.
+ * </p>
  *
  * @see java.util.concurrent.ScheduledExecutorService
  **/
 public final class ExecutorService {
+    public static final String DEFAULT_POOL = "default";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorService.class);
-    private static ScheduledExecutorService service;
+    private static final String MBEAN_NAME = "uk.gov.gchq.gaffer:type=ExecutorService,name=";
+    private static final Map<String, InstrumentedScheduledExecutor> POOLS = new HashMap<>();
 
     private ExecutorService() {
         // private constructor to prevent instantiation
     }
 
-    public static synchronized void initialise(final int jobExecutorThreadCount) {
-        if (service == null) {
-            LOGGER.debug("Initialising ExecutorService with " + jobExecutorThreadCount + " threads");
-            service = Executors.newScheduledThreadPool(jobExecutorThreadCount, runnable -> {
-                final Thread thread = new Thread(runnable);
-                thread.setDaemon(true);
-                return thread;
-            });
+    public static void initialise(final int jobExecutorThreadCount) {
+        initialise(DEFAULT_POOL, jobExecutorThreadCount);
+    }
+
+    public static void initialise(final String pool, final int threadCount) {
+        initialise(pool, threadCount, false);
+    }
+
+    public static synchronized void initialise(final String pool, final int threadCount, final boolean virtualThreads) {
+        if (!POOLS.containsKey(pool)) {
+            final java.util.concurrent.ExecutorService virtualThreadExecutor = virtualThreads ? createVirtualThreadExecutor(pool) : null;
+            LOGGER.debug("Initialising ExecutorService pool {} with {} threads{}", pool, threadCount,
+                    null != virtualThreadExecutor ? " and virtual threads" : "");
+            final InstrumentedScheduledExecutor service = new InstrumentedScheduledExecutor(pool, threadCount,
+                    createDaemonThreadFactory(pool), virtualThreadExecutor);
+            POOLS.put(pool, service);
+            registerMBean(service);
         }
     }
 
-    public static ScheduledExecutorService getService() {
+    /**
+     * Initialises a pool, or grows an existing pool that has fewer threads, so
+     * that the pool has at least the given number of threads. This is for pools
+     * that are shared by components which each need their tasks to run at once.
+     *
+     * @param pool        the name of the pool
+     * @param threadCount the minimum number of threads
+     * @return the pool
+     */
+    public static synchronized ScheduledExecutorService initialiseWithAtLeast(final String pool, final int threadCount) {
+        initialise(pool, threadCount);
+        final InstrumentedScheduledExecutor service = POOLS.get(pool);
+        if (service.getCorePoolSize() < threadCount) {
+            LOGGER.debug("Growing ExecutorService pool {} to {} threads", pool, threadCount);
+            service.setCorePoolSize(threadCount);
+        }
         return service;
     }
 
+    public static ScheduledExecutorService getService() {
+        return getService(DEFAULT_POOL);
+    }
+
+    public static synchronized ScheduledExecutorService getService(final String pool) {
+        return POOLS.get(pool);
+    }
+
     public static boolean isEnabled() {
-        return null != service;
+        return isEnabled(DEFAULT_POOL);
+    }
+
+    public static synchronized boolean isEnabled(final String pool) {
+        return POOLS.containsKey(pool);
+    }
+
+    /**
+     * @return the metrics for each of the initialised pools
+     */
+    public static synchronized List<ExecutorPoolMXBean> getMetrics() {
+        return Collections.unmodifiableList(new ArrayList<>(POOLS.values()));
     }
 
-    public static void shutdown() {
-        if (null != service) {
+    public static synchronized void shutdown() {
+        for (final InstrumentedScheduledExecutor service : POOLS.values()) {
             service.shutdown();
+            unregisterMBean(service);
+        }
+        POOLS.clear();
+    }
+
+    private static ThreadFactory createDaemonThreadFactory(final String pool) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "gaffer-executor-" + pool + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Creates a thread-per-task executor using reflection, as virtual threads
+     * are not available in the Java version Gaffer is compiled against.
+     *
+     * @param pool the name of the pool
+     * @return the executor, or null if virtual threads are not supported
+     */
+    private static java.util.concurrent.ExecutorService createVirtualThreadExecutor(final String pool) {
+        try {
+            return (java.util.concurrent.ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (final NoSuchMethodException e) {
+            LOGGER.warn("Virtual threads are not supported by this JVM, pool {} will only use platform threads", pool);
+        } catch (final IllegalAccessException | InvocationTargetException | RuntimeException e) {
+            LOGGER.warn("Unable to create virtual threads, pool {} will only use platform threads", pool, e);
+        }
+        return null;
+    }
+
+    private static void registerMBean(final InstrumentedScheduledExecutor service) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(MBEAN_NAME + ObjectName.quote(service.getName()));
+            if (!server.isRegistered(name)) {
+                server.registerMBean(service, name);
+            }
+        } catch (final JMException | RuntimeException e) {
+            LOGGER.warn("Unable to export the metrics for ExecutorService pool {}", service.getName(), e);
+        }
+    }
+
+    private static void unregisterMBean(final InstrumentedScheduledExecutor service) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(MBEAN_NAME + ObjectName.quote(service.getName()));
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (final JMException | RuntimeException e) {
+            LOGGER.debug("Unable to remove the metrics for ExecutorService pool {}", service.getName(), e);
         }
-        service = null;
     }
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.commonutil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ScheduledThreadPoolExecutor} which records how long tasks wait after
+ * they are due to run and how long they take to run.
+ * <p>
+ * If a virtual thread executor is provided then tasks which are executed or
+ * submitted to run immediately are each run on their own virtual thread, so
+ * they are not limited by the thread count. Scheduled and periodic tasks always
+ * run on the pool's platform threads. The queue wait of tasks run on virtual
+ * threads is not recorded, as they do not queue.
+ * </p>
+ */
+public class InstrumentedScheduledExecutor extends ScheduledThreadPoolExecutor implements ExecutorPoolMXBean {
+    private final String name;
+    private final ExecutorService virtualThreadExecutor;
+    private final AtomicInteger activeVirtualThreads = new AtomicInteger();
+    private final LongAdder completedVirtualThreadTasks = new LongAdder();
+    private final ThreadLocal<Long> startTime = new ThreadLocal<>();
+    private final LongAdder tasks = new LongAdder();
+    private final LongAdder totalQueueWait = new LongAdder();
+    private final AtomicLong maxQueueWait = new AtomicLong();
+    private final LongAdder totalRunTime = new LongAdder();
+    private final AtomicLong maxRunTime = new AtomicLong();
+
+    public InstrumentedScheduledExecutor(final String name,
+                                         final int threadCount,
+                                         final ThreadFactory threadFactory) {
+        this(name, threadCount, threadFactory, null);
+    }
+
+    /**
+     * @param name                  the name of the pool
+     * @param threadCount           the number of platform threads used to run scheduled tasks
+     * @param threadFactory         the factory for the platform threads
+     * @param virtualThreadExecutor the thread-per-task executor used to run tasks immediately, or null to use the platform threads
+     */
+    public InstrumentedScheduledExecutor(final String name,
+                                         final int threadCount,
+                                         final ThreadFactory threadFactory,
+                                         final ExecutorService virtualThreadExecutor) {
+        super(threadCount, threadFactory);
+        this.name = name;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (null == virtualThreadExecutor) {
+            super.execute(command);
+        } else {
+            if (null == command) {
+                throw new NullPointerException();
+            }
+            virtualThreadExecutor.execute(() -> runOnVirtualThread(command));
+        }
+    }
+
+    @Override
+    public Future<?> submit(final Runnable task) {
+        return null == virtualThreadExecutor ? super.submit(task) : executeFuture(new FutureTask<>(task, null));
+    }
+
+    @Override
+    public <T> Future<T> submit(final Runnable task, final T result) {
+        return null == virtualThreadExecutor ? super.submit(task, result) : executeFuture(new FutureTask<>(task, result));
+    }
+
+    @Override
+    public <T> Future<T> submit(final Callable<T> task) {
+        return null == virtualThreadExecutor ? super.submit(task) : executeFuture(new FutureTask<>(task));
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        if (null != virtualThreadExecutor) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> tasks = new ArrayList<>(super.shutdownNow());
+        if (null != virtualThreadExecutor) {
+            tasks.addAll(virtualThreadExecutor.shutdownNow());
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return super.isTerminated() && (null == virtualThreadExecutor || virtualThreadExecutor.isTerminated());
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return super.awaitTermination(timeout, unit)
+                && (null == virtualThreadExecutor
+                || virtualThreadExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    protected void beforeExecute(final Thread thread, final Runnable runnable) {
+        super.beforeExecute(thread, runnable);
+        if (runnable instanceof Delayed) {
+            // A negative delay is how long the task has been overdue
+            final long wait = Math.max(0L, -((Delayed) runnable).getDelay(TimeUnit.NANOSECONDS));
+            totalQueueWait.add(wait);
+            maxQueueWait.accumulateAndGet(wait, Math::max);
+        }
+        startTime.set(System.nanoTime());
+    }
+
+    @Override
+    protected void afterExecute(final Runnable runnable, final Throwable throwable) {
+        final Long start = startTime.get();
+        if (null != start) {
+            startTime.remove();
+            recordRunTime(System.nanoTime() - start);
+        }
+        super.afterExecute(runnable, throwable);
+    }
+
+    private <T> Future<T> executeFuture(final FutureTask<T> task) {
+        execute(task);
+        return task;
+    }
+
+    private void runOnVirtualThread(final Runnable command) {
+        activeVirtualThreads.incrementAndGet();
+        final long start = System.nanoTime();
+        try {
+            command.run();
+        } finally {
+            recordRunTime(System.nanoTime() - start);
+            completedVirtualThreadTasks.increment();
+            activeVirtualThreads.decrementAndGet();
+        }
+    }
+
+    private void recordRunTime(final long runTime) {
+        totalRunTime.add(runTime);
+        maxRunTime.accumulateAndGet(runTime, Math::max);
+        tasks.increment();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isVirtualThreads() {
+        return null != virtualThreadExecutor;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    @Override
+    public int getActiveThreads() {
+        return getActiveCount() + activeVirtualThreads.get();
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return super.getCompletedTaskCount() + completedVirtualThreadTasks.sum();
+    }
+
+    @Override
+    public double getMeanQueueWaitMillis() {
+        return mean(totalQueueWait);
+    }
+
+    @Override
+    public long getMaxQueueWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueWait.get());
+    }
+
+    @Override
+    public double getMeanRunTimeMillis() {
+        return mean(totalRunTime);
+    }
+
+    @Override
+    public long getMaxRunTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxRunTime.get());
+    }
+
+    private double mean(final LongAdder totalNanos) {
+        final long count = tasks.sum();
+        return 0 == count ? 0 : totalNanos.sum() / (count * 1_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedScheduledExecutor[name=" + name
+                + ", queueDepth=" + getQueueDepth()
+                + ", activeThreads=" + getActiveThreads()
+                + ", completedTasks=" + getCompletedTaskCount()
+                + ", meanQueueWaitMillis=" + getMeanQueueWaitMillis()
+                + ", meanRunTimeMillis=" + getMeanRunTimeMillis()
+                + "]";
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of parsed {@link ElementVisibility}s, and of the result of evaluating
+ * them against sets of {@link Authorisations}, keyed by the visibility expression.
+ * <p>
+ * There are normally only a small number of distinct visibility expressions, so
+ * caching them means that checking the visibility of an element is a lookup
+ * rather than parsing and evaluating its expression. Each map in the cache is
+ * bounded, and is cleared if it becomes full.
+ * </p>
+ */
+public class ElementVisibilityCache {
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static final ElementVisibilityCache INSTANCE = new ElementVisibilityCache(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    private final Map<String, ElementVisibility> visibilities = new ConcurrentHashMap<>();
+    private final Map<Authorisations, Evaluator> evaluators = new ConcurrentHashMap<>();
+
+    public ElementVisibilityCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the cache shared by all users in this JVM
+     */
+    public static ElementVisibilityCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the parsed {@link ElementVisibility} for an expression, parsing it if
+     * it is not in the cache.
+     *
+     * @param expression the visibility expression
+     * @return the parsed visibility
+     */
+    public ElementVisibility getElementVisibility(final String expression) {
+        ElementVisibility visibility = visibilities.get(expression);
+        if (null == visibility) {
+            visibility = new ElementVisibility(expression);
+            if (visibilities.size() >= maxSize) {
+                visibilities.clear();
+            }
+            visibilities.put(expression, visibility);
+        }
+        return visibility;
+    }
+
+    /**
+     * Gets an {@link Evaluator} for a set of {@link Authorisations}, which caches
+     * the result of evaluating each expression against them. Callers should get
+     * the evaluator once and reuse it, rather than getting it for each element.
+     *
+     * @param auths the authorisations
+     * @return the evaluator for the authorisations
+     */
+    public Evaluator getEvaluator(final Authorisations auths) {
+        Evaluator evaluator = evaluators.get(auths);
+        if (null == evaluator) {
+            if (evaluators.size() >= maxSize) {
+                evaluators.clear();
+            }
+            evaluator = evaluators.computeIfAbsent(auths, Evaluator::new);
+        }
+        return evaluator;
+    }
+
+    public void clear() {
+        visibilities.clear();
+        evaluators.clear();
+    }
+
+    /**
+     * A {@link VisibilityEvaluator} that caches whether each visibility expression
+     * is visible with its {@link Authorisations}.
+     */
+    public final class Evaluator extends VisibilityEvaluator {
+        private final Map<String, Boolean> results = new ConcurrentHashMap<>();
+
+        private Evaluator(final Authorisations auths) {
+            super(auths);
+        }
+
+        public boolean evaluate(final String expression) throws VisibilityParseException {
+            Boolean result = results.get(expression);
+            if (null == result) {
+                result = evaluate(getElementVisibility(expression));
+                if (results.size() >= maxSize) {
+                    results.clear();
+                }
+                results.put(expression, result);
+            }
+            return result;
+        }
+    }
+}
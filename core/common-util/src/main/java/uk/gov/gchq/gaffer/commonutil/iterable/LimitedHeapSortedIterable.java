@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * An {@link Iterable} which keeps the smallest items added to it, up to a limit,
+ * and returns them in sorted order. Sorting is achieved with a provided
+ * {@link Comparator}.
+ * </p>
+ * <p>
+ * This is an alternative to the {@link LimitedInMemorySortedIterable} for when a
+ * limit is always set. The items are held in an array backed binary max-heap,
+ * so adding an item that is not one of the smallest seen so far only costs a
+ * single comparison against the root of the heap, and no tree nodes are
+ * allocated. Items which are equal according to the comparator are returned in
+ * the order they were added, and when the limit is reached the items added
+ * first are kept.
+ * </p>
+ *
+ * @param <E> the type of object to store in the {@link LimitedHeapSortedIterable}.
+ */
+public class LimitedHeapSortedIterable<E> implements Iterable<E> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Comparator<E> comparator;
+    private final int limit;
+    private final Set<E> items;
+    private Object[] heap;
+    private long[] sequences;
+    private int size;
+    private long nextSequence;
+
+    public LimitedHeapSortedIterable(final Comparator<E> comparator, final int limit) {
+        this(comparator, limit, false);
+    }
+
+    public LimitedHeapSortedIterable(final Comparator<E> comparator, final int limit, final boolean deduplicate) {
+        if (null == comparator) {
+            throw new IllegalArgumentException("Comparator is required");
+        }
+        if (1 > limit) {
+            throw new IllegalArgumentException("Limit cannot be less than or equal to 0");
+        }
+
+        this.comparator = comparator;
+        this.limit = limit;
+        this.items = deduplicate ? new HashSet<>() : null;
+        final int capacity = Math.min(limit, DEFAULT_CAPACITY);
+        this.heap = new Object[capacity];
+        this.sequences = new long[capacity];
+    }
+
+    public boolean add(final E e) {
+        if (null != items && items.contains(e)) {
+            return false;
+        }
+
+        final long sequence = nextSequence++;
+        if (size < limit) {
+            if (size == heap.length) {
+                final int capacity = (int) Math.min(limit, 2L * heap.length);
+                heap = Arrays.copyOf(heap, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+            }
+            heap[size] = e;
+            sequences[size] = sequence;
+            siftUp(size++);
+        } else {
+            // The root is the largest item kept, so the item is only kept if it is smaller.
+            if (0 <= compare(e, sequence, get(0), sequences[0])) {
+                return false;
+            }
+            if (null != items) {
+                items.remove(get(0));
+            }
+            heap[0] = e;
+            sequences[0] = sequence;
+            siftDown(0, size);
+        }
+
+        if (null != items) {
+            items.add(e);
+        }
+        return true;
+    }
+
+    public boolean addAll(final Iterable<E> items) {
+        boolean result = false;
+        for (final E item : items) {
+            if (add(item)) {
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        // Heap sort a copy of the heap, so that further items can still be added.
+        final Object[] sorted = Arrays.copyOf(heap, size);
+        final long[] sortedSequences = Arrays.copyOf(sequences, size);
+        for (int end = size - 1; end > 0; end--) {
+            swap(sorted, sortedSequences, 0, end);
+            siftDown(sorted, sortedSequences, 0, end);
+        }
+
+        return new Iterator<E>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < sorted.length;
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (E) sorted[index++];
+            }
+        };
+    }
+
+    private E get(final int index) {
+        return (E) heap[index];
+    }
+
+    /**
+     * Compares two items, using the order they were added to break ties.
+     */
+    private int compare(final E item, final long sequence, final E other, final long otherSequence) {
+        final int result = comparator.compare(item, other);
+        return 0 != result ? result : Long.compare(sequence, otherSequence);
+    }
+
+    private void siftUp(final int index) {
+        int child = index;
+        while (child > 0) {
+            final int parent = (child - 1) >>> 1;
+            if (compare(get(child), sequences[child], get(parent), sequences[parent]) <= 0) {
+                break;
+            }
+            swap(heap, sequences, child, parent);
+            child = parent;
+        }
+    }
+
+    private void siftDown(final int index, final int end) {
+        siftDown(heap, sequences, index, end);
+    }
+
+    private void siftDown(final Object[] items, final long[] itemSequences, final int index, final int end) {
+        int parent = index;
+        while (true) {
+            int largest = parent;
+            final int left = 2 * parent + 1;
+            final int right = left + 1;
+            if (left < end && compare((E) items[left], itemSequences[left], (E) items[largest], itemSequences[largest]) > 0) {
+                largest = left;
+            }
+            if (right < end && compare((E) items[right], itemSequences[right], (E) items[largest], itemSequences[largest]) > 0) {
+                largest = right;
+            }
+            if (largest == parent) {
+                return;
+            }
+            swap(items, itemSequences, parent, largest);
+            parent = largest;
+        }
+    }
+
+    private static void swap(final Object[] items, final long[] itemSequences, final int i, final int j) {
+        final Object item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+        final long sequence = itemSequences[i];
+        itemSequences[i] = itemSequences[j];
+        itemSequences[j] = sequence;
+    }
+}
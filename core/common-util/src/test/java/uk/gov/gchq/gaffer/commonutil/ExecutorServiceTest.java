@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.commonutil;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ExecutorServiceTest {
+
+    @AfterEach
+    public void after() {
+        ExecutorService.shutdown();
+    }
+
+    @Test
+    public void shouldCreateSeparatePoolsForEachName() {
+        // When
+        ExecutorService.initialise("interactive", 1);
+        ExecutorService.initialise("batch", 1);
+        ExecutorService.initialise("interactive", 5);
+
+        // Then
+        assertTrue(ExecutorService.isEnabled("interactive"));
+        assertTrue(ExecutorService.isEnabled("batch"));
+        assertFalse(ExecutorService.isEnabled());
+        assertNotSame(ExecutorService.getService("interactive"), ExecutorService.getService("batch"));
+        assertEquals(2, ExecutorService.getMetrics().size());
+    }
+
+    @Test
+    public void shouldRecordTaskMetrics() throws Exception {
+        // Given
+        ExecutorService.initialise(1);
+        final ScheduledExecutorService service = ExecutorService.getService();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        // When
+        service.execute(latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        service.submit(() -> null).get(10, TimeUnit.SECONDS);
+
+        // Then
+        final ExecutorPoolMXBean metrics = ExecutorService.getMetrics().get(0);
+        assertSame(service, metrics);
+        assertEquals(ExecutorService.DEFAULT_POOL, metrics.getName());
+        assertTrue(metrics.getCompletedTaskCount() >= 1);
+        assertEquals(0, metrics.getQueueDepth());
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName("uk.gov.gchq.gaffer:type=ExecutorService,name=\"default\"")));
+    }
+
+    @Test
+    public void shouldRunScheduledAndImmediateTasksWhenVirtualThreadsAreRequested() throws Exception {
+        // Given
+        ExecutorService.initialise("virtual", 1, true);
+        final ScheduledExecutorService service = ExecutorService.getService("virtual");
+
+        // When
+        final Future<String> immediate = service.submit(() -> "immediate");
+        final Future<String> scheduled = service.schedule(() -> "scheduled", 1, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertEquals("immediate", immediate.get(10, TimeUnit.SECONDS));
+        assertEquals("scheduled", scheduled.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotLimitImmediateTasksByThreadCountWhenUsingVirtualThreads() throws Exception {
+        // Given
+        ExecutorService.initialise("virtual", 1, true);
+        assumeTrue(ExecutorService.getMetrics().get(0).isVirtualThreads(), "Virtual threads are not supported by this JVM");
+        final ScheduledExecutorService service = ExecutorService.getService("virtual");
+        final CountDownLatch allRunning = new CountDownLatch(2);
+
+        // When
+        final Future<Boolean> first = service.submit(() -> {
+            allRunning.countDown();
+            return allRunning.await(10, TimeUnit.SECONDS);
+        });
+        final Future<Boolean> second = service.submit(() -> {
+            allRunning.countDown();
+            return allRunning.await(10, TimeUnit.SECONDS);
+        });
+
+        // Then
+        assertTrue(first.get(10, TimeUnit.SECONDS));
+        assertTrue(second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldRemovePoolsOnShutdown() throws Exception {
+        // Given
+        ExecutorService.initialise(1);
+        final ScheduledExecutorService service = ExecutorService.getService();
+
+        // When
+        ExecutorService.shutdown();
+
+        // Then
+        assertTrue(service.isShutdown());
+        assertNull(ExecutorService.getService());
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName("uk.gov.gchq.gaffer:type=ExecutorService,name=\"default\"")));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ElementVisibilityCacheTest {
+
+    @Test
+    public void shouldReuseParsedVisibilities() {
+        // Given
+        final ElementVisibilityCache cache = new ElementVisibilityCache(10);
+
+        // When
+        final ElementVisibility visibility = cache.getElementVisibility("one&two");
+
+        // Then
+        assertEquals(new ElementVisibility("one&two"), visibility);
+        assertSame(visibility, cache.getElementVisibility("one&two"));
+    }
+
+    @Test
+    public void shouldEvaluateVisibilitiesWithAuthorisations() throws VisibilityParseException {
+        // Given
+        final ElementVisibilityCache cache = new ElementVisibilityCache(10);
+
+        // When
+        final ElementVisibilityCache.Evaluator evaluator = cache.getEvaluator(new Authorisations("one", "two"));
+
+        // Then
+        assertSame(evaluator, cache.getEvaluator(new Authorisations("two", "one")));
+        assertNotSame(evaluator, cache.getEvaluator(new Authorisations("one")));
+        for (int i = 0; i < 2; i++) {
+            assertTrue(evaluator.evaluate(""));
+            assertTrue(evaluator.evaluate("one&two"));
+            assertTrue(evaluator.evaluate("three|one"));
+            assertFalse(evaluator.evaluate("one&three"));
+        }
+        assertFalse(cache.getEvaluator(new Authorisations("one")).evaluate("one&two"));
+    }
+
+    @Test
+    public void shouldClearWhenFull() {
+        // Given
+        final ElementVisibilityCache cache = new ElementVisibilityCache(2);
+        final ElementVisibility visibility = cache.getElementVisibility("one");
+        cache.getElementVisibility("two");
+
+        // When
+        cache.getElementVisibility("three");
+
+        // Then
+        assertNotSame(visibility, cache.getElementVisibility("one"));
+    }
+
+    @Test
+    public void shouldNotCacheInvalidVisibilities() {
+        // Given
+        final ElementVisibilityCache cache = new ElementVisibilityCache(10);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> cache.getElementVisibility("one&"));
+        assertThrows(IllegalArgumentException.class, () -> cache.getElementVisibility("one&"));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LimitedHeapSortedIterableTest {
+
+    @Test
+    public void shouldLimitEntries() {
+        final LimitedHeapSortedIterable<Integer> list = new LimitedHeapSortedIterable<>(Comparator.naturalOrder(), 100);
+        final List<Integer> expectedItems = new ArrayList<>();
+        IntStream.rangeClosed(1, 100).forEach(expectedItems::add);
+
+        for (int i = 200; 0 < i; i--) {
+            list.add(i);
+        }
+
+        assertEquals(expectedItems, Lists.newArrayList(list));
+        assertEquals(100, list.size());
+    }
+
+    @Test
+    public void shouldLimitAndDeduplicateEntries() {
+        final LimitedHeapSortedIterable<Integer> list = new LimitedHeapSortedIterable<>(Comparator.naturalOrder(), 2, true);
+
+        list.add(1);
+        list.add(1);
+        list.add(2);
+        list.add(1);
+        list.add(2);
+        list.add(10);
+
+        assertEquals(Arrays.asList(1, 2), Lists.newArrayList(list));
+    }
+
+    @Test
+    public void shouldLimitAndNotDeduplicateEntries() {
+        final LimitedHeapSortedIterable<Integer> list = new LimitedHeapSortedIterable<>(Comparator.naturalOrder(), 4, false);
+
+        list.add(1);
+        list.add(2);
+        list.add(1);
+        list.add(2);
+        list.add(10);
+
+        assertEquals(Arrays.asList(1, 1, 2, 2), Lists.newArrayList(list));
+    }
+
+    @Test
+    public void shouldKeepFirstAddedEntriesWhenEqual() {
+        final LimitedHeapSortedIterable<String> list = new LimitedHeapSortedIterable<>(Comparator.comparingInt(String::length), 3);
+
+        list.addAll(Arrays.asList("ccc", "a", "bb", "b", "c", "d"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), Lists.newArrayList(list));
+    }
+
+    @Test
+    public void shouldSortRandomEntriesTheSameAsLimitedInMemorySortedIterable() {
+        final Random random = new Random(1);
+        final List<Integer> input = random.ints(1000, 0, 200).boxed().collect(Collectors.toList());
+        final LimitedHeapSortedIterable<Integer> heap = new LimitedHeapSortedIterable<>(Comparator.reverseOrder(), 50, true);
+        final LimitedInMemorySortedIterable<Integer> tree = new LimitedInMemorySortedIterable<>(Comparator.reverseOrder(), 50, true);
+
+        heap.addAll(input);
+        tree.addAll(input);
+
+        assertEquals(Lists.newArrayList(tree), Lists.newArrayList(heap));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfLimitIsLessThan1() {
+        assertThrows(IllegalArgumentException.class, () -> new LimitedHeapSortedIterable<Integer>(Comparator.naturalOrder(), 0));
+    }
+}
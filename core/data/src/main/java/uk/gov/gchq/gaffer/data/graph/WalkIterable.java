@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.graph.adjacency.CompactAdjacencyMap;
+import uk.gov.gchq.gaffer.data.graph.adjacency.VertexIndex;
+import uk.gov.gchq.gaffer.data.graph.entity.EntityMap;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@code WalkIterable} lazily constructs the {@link Walk}s which exist in an
+ * in-memory graph made up of one {@link CompactAdjacencyMap} per hop.
+ * <p>
+ * The walks from each seed are found using an iterative depth-first search, and
+ * each walk is only built when the iterator reaches it, so the walks are never
+ * all held in memory at once.
+ * <p>
+ * If pruning is enabled then, before any walks are built, each hop is scanned
+ * to find the vertices from which the final hop can be reached. The search then
+ * never follows an edge which cannot lead to a complete walk. Pruning should not
+ * be enabled if partial walks are required.
+ */
+public class WalkIterable implements CloseableIterable<Walk> {
+    private final List<?> seeds;
+    private final VertexIndex vertexIndex;
+    private final List<CompactAdjacencyMap> adjacencyMaps;
+    private final List<EntityMap> entityMaps;
+    private final int hops;
+    private final boolean includePartial;
+
+    /**
+     * For each hop, the vertices from which the final hop can be reached, or
+     * {@code null} if the walks are not pruned.
+     */
+    private final BitSet[] completable;
+
+    /**
+     * Constructs a WalkIterable.
+     *
+     * @param seeds          the seed vertices of the walks
+     * @param vertexIndex    the index of the vertex ids used in the adjacency maps
+     * @param adjacencyMaps  the adjacency map for each hop
+     * @param entityMaps     the entity map for each vertex position in the walks
+     * @param hops           the number of hops in a complete walk
+     * @param includePartial whether to include walks which end before the final hop
+     * @param prune          whether to skip edges which cannot lead to a complete walk
+     */
+    public WalkIterable(final List<?> seeds,
+                        final VertexIndex vertexIndex,
+                        final List<CompactAdjacencyMap> adjacencyMaps,
+                        final List<EntityMap> entityMaps,
+                        final int hops,
+                        final boolean includePartial,
+                        final boolean prune) {
+        this.seeds = seeds;
+        this.vertexIndex = vertexIndex;
+        this.adjacencyMaps = adjacencyMaps;
+        this.entityMaps = entityMaps;
+        this.hops = hops;
+        this.includePartial = includePartial;
+        this.completable = prune ? findCompletable() : null;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public CloseableIterator<Walk> iterator() {
+        return new WalkIterator();
+    }
+
+    private BitSet[] findCompletable() {
+        final BitSet[] result = new BitSet[hops + 1];
+        for (int hop = hops - 1; hop > 0; hop--) {
+            final BitSet sources = new BitSet();
+            if (hop < adjacencyMaps.size()) {
+                final CompactAdjacencyMap adjacencyMap = adjacencyMaps.get(hop);
+                for (int source = 0; source < adjacencyMap.getNumberOfSources(); source++) {
+                    final int end = adjacencyMap.getEndPair(source);
+                    for (int pair = adjacencyMap.getFirstPair(source); pair < end; pair++) {
+                        if (isCompletable(result, hop + 1, adjacencyMap.getDestination(pair))) {
+                            sources.set(source);
+                            break;
+                        }
+                    }
+                }
+            }
+            result[hop] = sources;
+        }
+        return result;
+    }
+
+    private boolean isCompletable(final BitSet[] sets, final int hop, final int vertex) {
+        return null == sets || null == sets[hop] || sets[hop].get(vertex);
+    }
+
+    private Set<Entity> getEntities(final int position, final Object vertex) {
+        return position < entityMaps.size() ? entityMaps.get(position).get(vertex) : Collections.emptySet();
+    }
+
+    private final class WalkIterator implements CloseableIterator<Walk> {
+        private final Iterator<?> seedIterator = seeds.iterator();
+        private final Object[] vertices = new Object[hops + 1];
+        private final int[] pairs = new int[hops];
+        private final int[] ends = new int[hops];
+        private int depth = -1;
+        private Walk nextWalk;
+
+        @Override
+        public boolean hasNext() {
+            if (null == nextWalk) {
+                nextWalk = findNextWalk();
+            }
+            return null != nextWalk;
+        }
+
+        @Override
+        public Walk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Walk walk = nextWalk;
+            nextWalk = null;
+            return walk;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private Walk findNextWalk() {
+            while (true) {
+                if (depth < 0) {
+                    if (!seedIterator.hasNext()) {
+                        return null;
+                    }
+                    final Object seed = seedIterator.next();
+                    if (visit(0, seed, vertexIndex.getId(seed))) {
+                        return buildWalk(0);
+                    }
+                } else if (pairs[depth] < ends[depth]) {
+                    final int pair = pairs[depth]++;
+                    final int destination = adjacencyMaps.get(depth).getDestination(pair);
+                    if (isCompletable(completable, depth + 1, destination)
+                            && visit(depth + 1, vertexIndex.getVertex(destination), destination)) {
+                        return buildWalk(depth + 1);
+                    }
+                } else {
+                    depth--;
+                }
+            }
+        }
+
+        /**
+         * Visits a vertex at the given position in the walk. If the vertex has
+         * destinations in the next hop then the search descends to it.
+         *
+         * @return true if the walk ending at this vertex should be returned
+         */
+        private boolean visit(final int position, final Object vertex, final int vertexId) {
+            vertices[position] = vertex;
+            if (position == hops) {
+                return true;
+            }
+
+            int first = 0;
+            int end = 0;
+            if (position < adjacencyMaps.size()) {
+                first = adjacencyMaps.get(position).getFirstPair(vertexId);
+                end = adjacencyMaps.get(position).getEndPair(vertexId);
+            }
+            if (first == end) {
+                return includePartial;
+            }
+
+            pairs[position] = first;
+            ends[position] = end;
+            depth = position;
+            return false;
+        }
+
+        private Walk buildWalk(final int lastPosition) {
+            final Walk.Builder builder = new Walk.Builder();
+            for (int position = 0; position <= lastPosition; position++) {
+                builder.entities(getEntities(position, vertices[position]));
+                if (position < lastPosition) {
+                    // pairs holds the next pair to visit, so the pair taken is the previous one
+                    builder.edges(adjacencyMaps.get(position).getEdges(pairs[position] - 1));
+                }
+            }
+            return builder.build();
+        }
+    }
+}
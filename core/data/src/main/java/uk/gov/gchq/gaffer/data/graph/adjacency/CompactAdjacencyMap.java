@@ -0,0 +1,295 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph.adjacency;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@code CompactAdjacencyMap} is an immutable, array backed alternative to the
+ * {@link AdjacencyMap}, in which vertices are referred to by their id in a
+ * {@link VertexIndex}.
+ * <p>
+ * The map is held in compressed sparse row form. Each distinct pair of source
+ * and destination vertices is identified by a pair index. The pairs of a source
+ * vertex are a contiguous range of pair indices, ordered by the order in which
+ * the first edge between the two vertices was added, and the edges of each pair
+ * are a contiguous range of an edge array.
+ * <p>
+ * Instances are created using a {@link Builder}.
+ */
+public final class CompactAdjacencyMap {
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+    /**
+     * The first pair index of each source vertex, plus a final entry holding the
+     * total number of pairs.
+     */
+    private final int[] sourceOffsets;
+
+    /**
+     * The destination vertex of each pair.
+     */
+    private final int[] pairDestinations;
+
+    /**
+     * The first edge index of each pair, plus a final entry holding the total
+     * number of edges.
+     */
+    private final int[] pairOffsets;
+
+    private final Edge[] edges;
+
+    /**
+     * The distinct destination vertices, in the order they were first added.
+     */
+    private final int[] destinations;
+
+    private CompactAdjacencyMap(final int[] sourceOffsets, final int[] pairDestinations, final int[] pairOffsets,
+                                final Edge[] edges, final int[] destinations) {
+        this.sourceOffsets = sourceOffsets;
+        this.pairDestinations = pairDestinations;
+        this.pairOffsets = pairOffsets;
+        this.edges = edges;
+        this.destinations = destinations;
+    }
+
+    /**
+     * Get the index of the first pair with the given source vertex.
+     *
+     * @param source the id of the source vertex
+     * @return the index of the first pair
+     */
+    public int getFirstPair(final int source) {
+        return containsSource(source) ? sourceOffsets[source] : 0;
+    }
+
+    /**
+     * Get the index after the last pair with the given source vertex. If the
+     * source has no destinations then this is equal to {@link #getFirstPair(int)}.
+     *
+     * @param source the id of the source vertex
+     * @return the index after the last pair
+     */
+    public int getEndPair(final int source) {
+        return containsSource(source) ? sourceOffsets[source + 1] : 0;
+    }
+
+    /**
+     * Get the destination vertex of a pair.
+     *
+     * @param pair the pair index
+     * @return the id of the destination vertex
+     */
+    public int getDestination(final int pair) {
+        return pairDestinations[pair];
+    }
+
+    /**
+     * Get the edges between the source and destination vertices of a pair.
+     *
+     * @param pair the pair index
+     * @return an immutable list of the edges
+     */
+    public List<Edge> getEdges(final int pair) {
+        return Collections.unmodifiableList(Arrays.asList(edges).subList(pairOffsets[pair], pairOffsets[pair + 1]));
+    }
+
+    /**
+     * Get the distinct destination vertices in this map, in the order in which
+     * they were first added.
+     *
+     * @return the ids of the destination vertices
+     */
+    public int[] getAllDestinations() {
+        return destinations.clone();
+    }
+
+    /**
+     * Determines whether this map contains any edges from the given source vertex.
+     *
+     * @param source the id of the source vertex
+     * @return {@code true} if the source has any destinations, otherwise {@code false}
+     */
+    public boolean containsSource(final int source) {
+        return source >= 0 && source < sourceOffsets.length - 1 && sourceOffsets[source] < sourceOffsets[source + 1];
+    }
+
+    /**
+     * Get the number of source vertex ids covered by this map. Source ids
+     * greater than or equal to this have no destinations.
+     *
+     * @return the number of source vertex ids
+     */
+    public int getNumberOfSources() {
+        return sourceOffsets.length - 1;
+    }
+
+    /**
+     * Get the total number of edges in this map.
+     *
+     * @return the number of edges
+     */
+    public int getNumberOfEdges() {
+        return edges.length;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        for (int source = 0; source < getNumberOfSources(); source++) {
+            if (containsSource(source)) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(source).append("->")
+                        .append(Arrays.toString(Arrays.copyOfRange(pairDestinations, sourceOffsets[source], sourceOffsets[source + 1])));
+            }
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * A {@code Builder} collects edges in the order they are added and
+     * arranges them into a {@link CompactAdjacencyMap}. A Builder is not thread
+     * safe, but the edges of several Builders can be combined using
+     * {@link #edges(Builder)}.
+     */
+    public static class Builder {
+        private static final int DEFAULT_CAPACITY = 64;
+
+        private int[] sources = new int[DEFAULT_CAPACITY];
+        private int[] destinations = new int[DEFAULT_CAPACITY];
+        private Edge[] edges = new Edge[DEFAULT_CAPACITY];
+        private int size;
+        private int maxSource = -1;
+
+        public Builder edge(final int source, final int destination, final Edge edge) {
+            if (source < 0 || destination < 0) {
+                throw new IllegalArgumentException("Vertex ids must not be negative");
+            }
+            ensureCapacity(size + 1);
+            sources[size] = source;
+            destinations[size] = destination;
+            edges[size] = edge;
+            size++;
+            maxSource = Math.max(maxSource, source);
+            return this;
+        }
+
+        /**
+         * Adds all of the edges from another Builder, after the edges already
+         * added to this Builder.
+         *
+         * @param builder the builder containing the edges to add
+         * @return this Builder
+         */
+        public Builder edges(final Builder builder) {
+            ensureCapacity(size + builder.size);
+            System.arraycopy(builder.sources, 0, sources, size, builder.size);
+            System.arraycopy(builder.destinations, 0, destinations, size, builder.size);
+            System.arraycopy(builder.edges, 0, edges, size, builder.size);
+            size += builder.size;
+            maxSource = Math.max(maxSource, builder.maxSource);
+            return this;
+        }
+
+        public CompactAdjacencyMap build() {
+            final int numSources = maxSource + 1;
+
+            // Bucket the edges by source using a counting sort
+            final int[] sourceStarts = new int[numSources + 1];
+            for (int i = 0; i < size; i++) {
+                sourceStarts[sources[i] + 1]++;
+            }
+            for (int source = 0; source < numSources; source++) {
+                sourceStarts[source + 1] += sourceStarts[source];
+            }
+            final int[] next = Arrays.copyOf(sourceStarts, numSources);
+            final long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[next[sources[i]]++] = ((long) destinations[i] << 32) | i;
+            }
+
+            final int[] sourceOffsets = new int[numSources + 1];
+            final int[] pairDestinations = new int[size];
+            final int[] pairOffsets = new int[size + 1];
+            final Edge[] orderedEdges = new Edge[size];
+            final long[] groups = new long[size];
+            int numPairs = 0;
+            int numEdges = 0;
+            for (int source = 0; source < numSources; source++) {
+                sourceOffsets[source] = numPairs;
+                final int start = sourceStarts[source];
+                final int end = sourceStarts[source + 1];
+
+                // Group the edges of this source by destination, then order the
+                // groups by the position of their first edge.
+                Arrays.sort(sorted, start, end);
+                int numGroups = 0;
+                for (int i = start; i < end; i++) {
+                    if (i == start || (sorted[i] >>> 32) != (sorted[i - 1] >>> 32)) {
+                        groups[numGroups++] = ((sorted[i] & INDEX_MASK) << 32) | i;
+                    }
+                }
+                Arrays.sort(groups, 0, numGroups);
+
+                for (int g = 0; g < numGroups; g++) {
+                    final int groupStart = (int) (groups[g] & INDEX_MASK);
+                    final long destination = sorted[groupStart] >>> 32;
+                    pairDestinations[numPairs] = (int) destination;
+                    pairOffsets[numPairs] = numEdges;
+                    for (int i = groupStart; i < end && (sorted[i] >>> 32) == destination; i++) {
+                        orderedEdges[numEdges++] = edges[(int) (sorted[i] & INDEX_MASK)];
+                    }
+                    numPairs++;
+                }
+            }
+            sourceOffsets[numSources] = numPairs;
+            pairOffsets[numPairs] = numEdges;
+
+            final BitSet seen = new BitSet();
+            final int[] distinctDestinations = new int[size];
+            int numDestinations = 0;
+            for (int i = 0; i < size; i++) {
+                if (!seen.get(destinations[i])) {
+                    seen.set(destinations[i]);
+                    distinctDestinations[numDestinations++] = destinations[i];
+                }
+            }
+
+            return new CompactAdjacencyMap(sourceOffsets,
+                    Arrays.copyOf(pairDestinations, numPairs),
+                    Arrays.copyOf(pairOffsets, numPairs + 1),
+                    orderedEdges,
+                    Arrays.copyOf(distinctDestinations, numDestinations));
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > sources.length) {
+                final int newCapacity = Math.max(capacity, sources.length << 1);
+                sources = Arrays.copyOf(sources, newCapacity);
+                destinations = Arrays.copyOf(destinations, newCapacity);
+                edges = Arrays.copyOf(edges, newCapacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph.adjacency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@code VertexIndex} assigns each vertex a unique, sequential integer id, so
+ * that graph structures such as the {@link CompactAdjacencyMap} can refer to
+ * vertices by their position in an array and each vertex is only held once.
+ * <p>
+ * The index is thread safe. Looking up an existing vertex or id does not
+ * require a lock, only adding a new vertex does. Null vertices cannot be
+ * added to the index.
+ * </p>
+ */
+public class VertexIndex {
+    /**
+     * The id returned for a vertex which is not in the index.
+     */
+    public static final int NO_ID = -1;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final Map<Object, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * The array is replaced, rather than resized, when it is full. A new vertex
+     * is written to the array and the size is incremented before its id is
+     * published in the ids map, so any thread that has found an id can read
+     * the vertex without a lock.
+     */
+    private volatile Object[] vertices = new Object[DEFAULT_CAPACITY];
+    private volatile int size;
+
+    /**
+     * Get the id of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the id of the vertex, or {@link #NO_ID} if the vertex is not in
+     * the index
+     */
+    public int getId(final Object vertex) {
+        if (null == vertex) {
+            return NO_ID;
+        }
+        final Integer id = ids.get(vertex);
+        return null != id ? id : NO_ID;
+    }
+
+    /**
+     * Get the id of a vertex, adding the vertex to the index if it is not
+     * already present.
+     *
+     * @param vertex the vertex
+     * @return the id of the vertex
+     * @throws IllegalArgumentException if the vertex is null
+     */
+    public int getOrAddId(final Object vertex) {
+        if (null == vertex) {
+            throw new IllegalArgumentException("A null vertex cannot be added to the index");
+        }
+        final Integer id = ids.get(vertex);
+        if (null != id) {
+            return id;
+        }
+        synchronized (this) {
+            final Integer existing = ids.get(vertex);
+            if (null != existing) {
+                return existing;
+            }
+            final int newId = size;
+            if (newId == vertices.length) {
+                vertices = Arrays.copyOf(vertices, newId << 1);
+            }
+            vertices[newId] = vertex;
+            size = newId + 1;
+            ids.put(vertex, newId);
+            return newId;
+        }
+    }
+
+    /**
+     * Get the vertex with the given id.
+     *
+     * @param id the id of the vertex
+     * @return the vertex
+     */
+    public Object getVertex(final int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Vertex id " + id + " is not in the index");
+        }
+        return vertices[id];
+    }
+
+    /**
+     * Get the vertices with the given ids.
+     *
+     * @param vertexIds the ids of the vertices
+     * @return the vertices, in the same order as the ids
+     */
+    public List<Object> getVertices(final int[] vertexIds) {
+        final List<Object> result = new ArrayList<>(vertexIds.length);
+        for (final int id : vertexIds) {
+            result.add(getVertex(id));
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of vertices in the index.
+     *
+     * @return the number of vertices
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all the vertices from the index. This must not be called whilst
+     * other threads are using the index.
+     */
+    public synchronized void clear() {
+        ids.clear();
+        vertices = new Object[DEFAULT_CAPACITY];
+        size = 0;
+    }
+}
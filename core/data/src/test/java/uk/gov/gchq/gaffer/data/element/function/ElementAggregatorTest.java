@@ -26,7 +26,12 @@ import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
 import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
 import uk.gov.gchq.koryphe.tuple.n.Tuple3;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BinaryOperator;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -309,6 +314,45 @@ public class ElementAggregatorTest {
         assertEquals(props2, state);
     }
 
+    @Test
+    public void shouldAggregatePropertiesFromManyThreadsUsingTheSameAggregator() throws Exception {
+        // Given
+        final String reference = "reference1";
+        final int numThreads = 8;
+        final int numAggregations = 10000;
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(reference)
+                .execute((BinaryOperator<Integer>) (a, b) -> a + b)
+                .build();
+        aggregator.lock();
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        final List<Future<Properties>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < numThreads; i++) {
+                final int increment = i + 1;
+                results.add(executor.submit(() -> {
+                    Properties state = new Properties(reference, 0);
+                    start.await();
+                    for (int j = 0; j < numAggregations; j++) {
+                        state = aggregator.apply(state, new Properties(reference, increment));
+                    }
+                    return state;
+                }));
+            }
+            start.countDown();
+
+            // Then
+            for (int i = 0; i < numThreads; i++) {
+                assertEquals((i + 1) * numAggregations, results.get(i).get().get(reference));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldReturnUnmodifiableComponentsWhenLocked() {
         final ElementAggregator aggregator = new ElementAggregator();
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph.adjacency;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactAdjacencyMapTest {
+
+    @Test
+    public void shouldGroupEdgesBySourceAndDestination() {
+        // Given
+        final VertexIndex index = new VertexIndex();
+        final Edge edge1 = createEdge("A", "C", 1);
+        final Edge edge2 = createEdge("A", "B", 2);
+        final Edge edge3 = createEdge("A", "C", 3);
+        final Edge edge4 = createEdge("B", "C", 4);
+
+        // When
+        final CompactAdjacencyMap adjacencyMap = new CompactAdjacencyMap.Builder()
+                .edge(index.getOrAddId("A"), index.getOrAddId("C"), edge1)
+                .edge(index.getOrAddId("A"), index.getOrAddId("B"), edge2)
+                .edge(index.getOrAddId("A"), index.getOrAddId("C"), edge3)
+                .edge(index.getOrAddId("B"), index.getOrAddId("C"), edge4)
+                .build();
+
+        // Then
+        final int a = index.getId("A");
+        assertEquals(2, adjacencyMap.getEndPair(a) - adjacencyMap.getFirstPair(a));
+        assertEquals(Arrays.asList("C", "B"), getDestinations(adjacencyMap, index, "A"));
+        assertEquals(Arrays.asList(edge1, edge3), adjacencyMap.getEdges(adjacencyMap.getFirstPair(a)));
+        assertEquals(Arrays.asList(edge2), adjacencyMap.getEdges(adjacencyMap.getFirstPair(a) + 1));
+        assertEquals(Arrays.asList("C"), getDestinations(adjacencyMap, index, "B"));
+        assertEquals(4, adjacencyMap.getNumberOfEdges());
+    }
+
+    @Test
+    public void shouldHaveNoDestinationsForUnknownSources() {
+        // Given
+        final VertexIndex index = new VertexIndex();
+        final CompactAdjacencyMap adjacencyMap = new CompactAdjacencyMap.Builder()
+                .edge(index.getOrAddId("A"), index.getOrAddId("B"), createEdge("A", "B", 1))
+                .build();
+
+        // When / Then
+        assertTrue(adjacencyMap.containsSource(index.getId("A")));
+        assertFalse(adjacencyMap.containsSource(index.getId("B")));
+        assertFalse(adjacencyMap.containsSource(index.getId("C")));
+        assertEquals(0, adjacencyMap.getEndPair(VertexIndex.NO_ID) - adjacencyMap.getFirstPair(VertexIndex.NO_ID));
+    }
+
+    @Test
+    public void shouldCombineBuildersInOrder() {
+        // Given
+        final VertexIndex index = new VertexIndex();
+        final CompactAdjacencyMap.Builder first = new CompactAdjacencyMap.Builder()
+                .edge(index.getOrAddId(1), index.getOrAddId(3), createEdge(1, 3, 1));
+        final CompactAdjacencyMap.Builder second = new CompactAdjacencyMap.Builder()
+                .edge(index.getOrAddId(2), index.getOrAddId(4), createEdge(2, 4, 2))
+                .edge(index.getOrAddId(1), index.getOrAddId(2), createEdge(1, 2, 3));
+
+        // When
+        final CompactAdjacencyMap adjacencyMap = first.edges(second).build();
+
+        // Then
+        assertEquals(Arrays.asList(3, 2), getDestinations(adjacencyMap, index, 1));
+        assertEquals(Arrays.asList(4), getDestinations(adjacencyMap, index, 2));
+        assertArrayEquals(new int[]{index.getId(3), index.getId(4), index.getId(2)}, adjacencyMap.getAllDestinations());
+    }
+
+    private List<Object> getDestinations(final CompactAdjacencyMap adjacencyMap, final VertexIndex index, final Object source) {
+        final int id = index.getId(source);
+        final List<Object> destinations = new ArrayList<>();
+        for (int pair = adjacencyMap.getFirstPair(id); pair < adjacencyMap.getEndPair(id); pair++) {
+            destinations.add(index.getVertex(adjacencyMap.getDestination(pair)));
+        }
+        return destinations;
+    }
+
+    private Edge createEdge(final Object source, final Object destination, final int count) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .property("count", count)
+                .build();
+    }
+}
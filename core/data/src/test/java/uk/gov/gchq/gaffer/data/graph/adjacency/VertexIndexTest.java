@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.graph.adjacency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VertexIndexTest {
+
+    @Test
+    public void shouldAssignSequentialIds() {
+        // Given
+        final VertexIndex index = new VertexIndex();
+
+        // When
+        final int a = index.getOrAddId("A");
+        final int b = index.getOrAddId("B");
+        final int a2 = index.getOrAddId("A");
+
+        // Then
+        assertEquals(0, a);
+        assertEquals(1, b);
+        assertEquals(a, a2);
+        assertEquals("B", index.getVertex(b));
+        assertEquals(2, index.size());
+        assertEquals(VertexIndex.NO_ID, index.getId("C"));
+    }
+
+    @Test
+    public void shouldRejectNullVertex() {
+        // Given
+        final VertexIndex index = new VertexIndex();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> index.getOrAddId(null));
+        assertEquals(VertexIndex.NO_ID, index.getId(null));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void shouldLookUpVerticesWhilstOtherThreadsAddThem() throws Exception {
+        // Given
+        final VertexIndex index = new VertexIndex();
+        final int numThreads = 8;
+        final int numVertices = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+        // When
+        final List<Future<?>> futures = new ArrayList<>(numThreads);
+        try {
+            for (int t = 0; t < numThreads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < numVertices; i++) {
+                        final String vertex = "vertex" + i;
+                        assertEquals(vertex, index.getVertex(index.getOrAddId(vertex)));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(numVertices, index.size());
+        for (int i = 0; i < numVertices; i++) {
+            assertEquals(i, index.getId(index.getVertex(i)));
+        }
+    }
+
+    @Test
+    public void shouldClearIndex() {
+        // Given
+        final VertexIndex index = new VertexIndex();
+        index.getOrAddId("A");
+
+        // When
+        index.clear();
+
+        // Then
+        assertEquals(0, index.size());
+        assertEquals(VertexIndex.NO_ID, index.getId("A"));
+        assertEquals(0, index.getOrAddId("B"));
+    }
+}
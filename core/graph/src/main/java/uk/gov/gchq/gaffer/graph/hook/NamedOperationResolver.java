@@ -32,13 +32,28 @@ import uk.gov.gchq.gaffer.user.User;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link GraphHook} to resolve named operations.
+ * <p>
+ * Resolved {@link NamedOperationDetail}s are held locally, so their operation
+ * chain templates are only parsed once. By default each detail is still
+ * fetched from the {@link NamedOperationCache} on every execution and the local
+ * copy is only reused if it is unchanged. If a time to live is set then local
+ * copies are reused for that long without fetching them from the cache. Local
+ * copies are discarded whenever named operations are added or deleted in this
+ * JVM, but with a distributed cache changes made elsewhere may not be seen
+ * until the time to live has passed.
+ * </p>
  */
 @JsonPropertyOrder(alphabetic = true)
 public class NamedOperationResolver implements GraphHook {
     private final NamedOperationCache cache;
+    private final Map<String, ResolvedNamedOperation> resolvedNamedOperations = new ConcurrentHashMap<>();
+    private volatile long modificationCount = NamedOperationCache.getModificationCount();
+    private long timeToLive;
 
     public NamedOperationResolver() {
         this(new NamedOperationCache());
@@ -78,10 +93,22 @@ public class NamedOperationResolver implements GraphHook {
         operations.updateOperations((List) updatedOperations);
     }
 
+    /**
+     * @return the time in milliseconds that resolved named operations are
+     * reused for without fetching them from the cache
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
     private List<Operation> resolveNamedOperation(final NamedOperation namedOp, final User user) {
         final NamedOperationDetail namedOpDetail;
         try {
-            namedOpDetail = cache.getNamedOperation(namedOp.getOperationName(), user);
+            namedOpDetail = getNamedOperationDetail(namedOp.getOperationName(), user);
         } catch (final CacheOperationFailedException e) {
             // Unable to find named operation - just return the original named operation
             return Collections.singletonList(namedOp);
@@ -95,6 +122,34 @@ public class NamedOperationResolver implements GraphHook {
         return namedOperationChain.getOperations();
     }
 
+    private NamedOperationDetail getNamedOperationDetail(final String name, final User user) throws CacheOperationFailedException {
+        final long currentModificationCount = NamedOperationCache.getModificationCount();
+        if (currentModificationCount != modificationCount) {
+            resolvedNamedOperations.clear();
+            modificationCount = currentModificationCount;
+        }
+
+        final ResolvedNamedOperation resolved = null != name ? resolvedNamedOperations.get(name) : null;
+        final long now = System.currentTimeMillis();
+        if (null != resolved && now - resolved.resolvedTime < timeToLive) {
+            if (!resolved.detail.hasReadAccess(user, null)) {
+                throw new CacheOperationFailedException("User: " + user + " does not have read access to " + name);
+            }
+            return resolved.detail;
+        }
+
+        final NamedOperationDetail namedOpDetail = cache.getNamedOperation(name, user);
+        if (null != resolved && resolved.detail.equals(namedOpDetail)) {
+            // Reuse the local copy, as its operation chain template has already been parsed
+            resolvedNamedOperations.put(name, new ResolvedNamedOperation(resolved.detail, now));
+            return resolved.detail;
+        }
+        if (null != name && currentModificationCount == NamedOperationCache.getModificationCount()) {
+            resolvedNamedOperations.put(name, new ResolvedNamedOperation(namedOpDetail, now));
+        }
+        return namedOpDetail;
+    }
+
     /**
      * Injects the input of the NamedOperation into the first operation in the OperationChain. This is used when
      * chaining NamedOperations together.
@@ -108,4 +163,14 @@ public class NamedOperationResolver implements GraphHook {
             ((Input) firstOp).setInput(input);
         }
     }
+
+    private static final class ResolvedNamedOperation {
+        private final NamedOperationDetail detail;
+        private final long resolvedTime;
+
+        private ResolvedNamedOperation(final NamedOperationDetail detail, final long resolvedTime) {
+            this.detail = detail;
+            this.resolvedTime = resolvedTime;
+        }
+    }
 }
@@ -46,6 +46,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 
@@ -219,6 +220,62 @@ public class NamedOperationResolverTest extends GraphHookTest<NamedOperationReso
         assertEquals((long) ((Limit) opChain.getOperations().get(1)).getResultLimit(), 1L);
     }
 
+    @Test
+    public void shouldFetchNamedOperationOnEveryExecutionByDefault() throws CacheOperationFailedException {
+        // Given
+        final NamedOperationCache cache = mock(NamedOperationCache.class);
+        final NamedOperationResolver resolver = new NamedOperationResolver(cache);
+        final User user = new User.Builder().userId("user").build();
+        given(cache.getNamedOperation("opName", user)).willReturn(createNamedOperationDetailWithLimitParameter("opName", "user"));
+
+        // When
+        final OperationChain<?> opChain1 = resolveLimitNamedOperation(resolver, "opName", 1L, user);
+        final OperationChain<?> opChain2 = resolveLimitNamedOperation(resolver, "opName", 2L, user);
+
+        // Then
+        assertEquals(1, (int) ((Limit) opChain1.getOperations().get(1)).getResultLimit());
+        assertEquals(2, (int) ((Limit) opChain2.getOperations().get(1)).getResultLimit());
+        verify(cache, times(2)).getNamedOperation("opName", user);
+    }
+
+    @Test
+    public void shouldReuseNamedOperationWithinTimeToLive() throws CacheOperationFailedException {
+        // Given
+        final NamedOperationCache cache = mock(NamedOperationCache.class);
+        final NamedOperationResolver resolver = new NamedOperationResolver(cache);
+        resolver.setTimeToLive(60000L);
+        final User user = new User.Builder().userId("user").build();
+        given(cache.getNamedOperation("opName", user)).willReturn(createNamedOperationDetailWithLimitParameter("opName", "user"));
+
+        // When
+        final OperationChain<?> opChain1 = resolveLimitNamedOperation(resolver, "opName", 1L, user);
+        final OperationChain<?> opChain2 = resolveLimitNamedOperation(resolver, "opName", 2L, user);
+
+        // Then
+        assertEquals(1, (int) ((Limit) opChain1.getOperations().get(1)).getResultLimit());
+        assertEquals(2, (int) ((Limit) opChain2.getOperations().get(1)).getResultLimit());
+        verify(cache, times(1)).getNamedOperation("opName", user);
+    }
+
+    @Test
+    public void shouldNotReuseNamedOperationForUserWithoutReadAccess() throws CacheOperationFailedException {
+        // Given
+        final NamedOperationCache cache = mock(NamedOperationCache.class);
+        final NamedOperationResolver resolver = new NamedOperationResolver(cache);
+        resolver.setTimeToLive(60000L);
+        final User user = new User.Builder().userId("user").build();
+        final User otherUser = new User.Builder().userId("otherUser").build();
+        given(cache.getNamedOperation("opName", user)).willReturn(createNamedOperationDetailWithLimitParameter("opName", "user"));
+        resolveLimitNamedOperation(resolver, "opName", 1L, user);
+
+        // When
+        final OperationChain<?> opChain = resolveLimitNamedOperation(resolver, "opName", 1L, otherUser);
+
+        // Then
+        assertEquals(1, opChain.getOperations().size());
+        assertEquals(NamedOperation.class, opChain.getOperations().get(0).getClass());
+    }
+
     @Test
     public void shouldNotExecuteNamedOperationWithParameterOfWrongType() throws OperationException, CacheOperationFailedException {
         // Given
@@ -361,4 +418,34 @@ public class NamedOperationResolverTest extends GraphHookTest<NamedOperationReso
     public NamedOperationResolver getTestObject() {
         return new NamedOperationResolver();
     }
+
+    private NamedOperationDetail createNamedOperationDetailWithLimitParameter(final String opName, final String creatorId) {
+        final Map<String, ParameterDetail> paramDetailMap = Maps.newHashMap();
+        paramDetailMap.put("param1", new ParameterDetail.Builder()
+                .description("Limit param")
+                .valueClass(Long.class)
+                .required(true)
+                .build());
+
+        return new NamedOperationDetail.Builder()
+                .operationName(opName)
+                .creatorId(creatorId)
+                .operationChain("{ \"operations\": [ { \"class\":\"uk.gov.gchq.gaffer.operation.impl.get.GetAllElements\" }, { \"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\", \"resultLimit\": \"${param1}\" } ] }")
+                .parameters(paramDetailMap)
+                .build();
+    }
+
+    private OperationChain<?> resolveLimitNamedOperation(final NamedOperationResolver resolver, final String opName, final Long limit, final User user) {
+        final Map<String, Object> paramMap = Maps.newHashMap();
+        paramMap.put("param1", limit);
+        final OperationChain<Object> opChain = new OperationChain.Builder()
+                .first(new NamedOperation.Builder<>()
+                        .name(opName)
+                        .parameters(paramMap)
+                        .build())
+                .build();
+
+        resolver.preExecute(opChain, new Context(user));
+        return opChain;
+    }
 }
@@ -37,11 +37,9 @@ import uk.gov.gchq.gaffer.operation.OperationChainDAO;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Simple POJO containing the details associated with a {@link NamedOperation}.
@@ -64,6 +62,7 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
     private Integer score;
     private String readAccessPredicateJson;
     private String writeAccessPredicateJson;
+    private transient volatile NamedOperationTemplate template;
 
     public NamedOperationDetail() {
     }
@@ -171,10 +170,6 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
         return score;
     }
 
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
-    }
-
     /**
      * Gets the OperationChain after adding in default values for any parameters. If a parameter
      * does not have a default, null is inserted.
@@ -184,29 +179,7 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      */
     @JsonIgnore
     public OperationChain getOperationChainWithDefaultParams() {
-        String opStringWithDefaults = operations;
-
-        if (null != parameters) {
-            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    opStringWithDefaults = opStringWithDefaults.replace(buildParamNameString(paramKey),
-                            new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
-            }
-        }
-
-        OperationChain opChain;
-        try {
-            opChain = JSONSerialiser.deserialise(opStringWithDefaults.getBytes(CHARSET_NAME), OperationChainDAO.class);
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(e.getMessage());
-        }
-
-        return opChain;
+        return deserialiseOperationChain(getTemplate().applyDefaults());
     }
 
     /**
@@ -217,43 +190,23 @@ public class NamedOperationDetail implements AccessControlledResource, Serializa
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public OperationChain getOperationChain(final Map<String, Object> executionParams) {
-        String opStringWithParams = operations;
-
-        // First check all the parameters supplied are expected parameter names
-        if (null != parameters) {
-            if (null != executionParams) {
-                Set<String> paramDetailKeys = parameters.keySet();
-                Set<String> paramKeys = executionParams.keySet();
-
-                if (!paramDetailKeys.containsAll(paramKeys)) {
-                    throw new IllegalArgumentException("Unexpected parameter name in NamedOperation");
-                }
-            }
+        return deserialiseOperationChain(getTemplate().apply(executionParams));
+    }
 
-            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-                try {
-                    if (null != executionParams && executionParams.containsKey(paramKey)) {
-                        Object paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
-
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(paramObj, CHARSET_NAME), CHARSET_NAME));
-                    } else if (!parameterDetailPair.getValue().isRequired()) {
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                    } else {
-                        throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
-                    }
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
-            }
+    private NamedOperationTemplate getTemplate() {
+        // The template is only derived from the operations and parameters, so
+        // it does not matter if it is created more than once concurrently.
+        if (null == template) {
+            template = new NamedOperationTemplate(operations, parameters);
         }
+        return template;
+    }
 
+    private OperationChain deserialiseOperationChain(final String opString) {
         OperationChain opChain;
 
         try {
-            opChain = JSONSerialiser.deserialise(opStringWithParams.getBytes(CHARSET_NAME), OperationChainDAO.class);
+            opChain = JSONSerialiser.deserialise(opString.getBytes(CHARSET_NAME), OperationChainDAO.class);
         } catch (final Exception e) {
             throw new IllegalArgumentException(e.getMessage());
         }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.named.operation;
+
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code NamedOperationTemplate} is the operation chain json of a
+ * {@link NamedOperationDetail}, split once into the literal json and the
+ * parameter placeholders between it. Parameter values are then substituted
+ * with a single pass over the template, rather than searching the whole json
+ * for each parameter on every execution.
+ */
+final class NamedOperationTemplate {
+    private static final String CHARSET_NAME = CommonConstants.UTF_8;
+
+    private final String[] literals;
+    private final String[] placeholders;
+    private final Map<String, ParameterDetail> parameters;
+    private final Map<String, String> defaultValues;
+
+    NamedOperationTemplate(final String operations, final Map<String, ParameterDetail> parameters) {
+        this.parameters = parameters;
+
+        final List<int[]> matches = new ArrayList<>();
+        final List<String> matchedKeys = new ArrayList<>();
+        final Map<String, String> defaults = new HashMap<>();
+        if (null != parameters) {
+            for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
+                final String paramKey = parameterDetailPair.getKey();
+                final String placeholder = buildParamNameString(paramKey);
+                for (int index = operations.indexOf(placeholder); index >= 0; index = operations.indexOf(placeholder, index + placeholder.length())) {
+                    matches.add(new int[]{index, index + placeholder.length(), matchedKeys.size()});
+                    matchedKeys.add(paramKey);
+                }
+                defaults.put(paramKey, serialise(parameterDetailPair.getValue().getDefaultValue()));
+            }
+        }
+        matches.sort(Comparator.comparingInt(match -> match[0]));
+
+        final List<String> literalList = new ArrayList<>();
+        final List<String> placeholderList = new ArrayList<>();
+        int position = 0;
+        for (final int[] match : matches) {
+            // Placeholders cannot overlap, as they are quoted
+            if (match[0] >= position) {
+                literalList.add(operations.substring(position, match[0]));
+                placeholderList.add(matchedKeys.get(match[2]));
+                position = match[1];
+            }
+        }
+        literalList.add(operations.substring(position));
+
+        this.literals = literalList.toArray(new String[literalList.size()]);
+        this.placeholders = placeholderList.toArray(new String[placeholderList.size()]);
+        this.defaultValues = defaults;
+    }
+
+    /**
+     * Substitutes the default values of all the parameters into the template.
+     *
+     * @return the operation chain json
+     */
+    String applyDefaults() {
+        return substitute(defaultValues);
+    }
+
+    /**
+     * Substitutes the provided parameters into the template, using the default
+     * values for any parameters that are not provided.
+     *
+     * @param executionParams the parameters to substitute
+     * @return the operation chain json
+     * @throws IllegalArgumentException if a parameter is not expected, is missing
+     *                                  or cannot be converted to its value class
+     */
+    String apply(final Map<String, Object> executionParams) {
+        if (null == parameters) {
+            return literals[0];
+        }
+
+        // First check all the parameters supplied are expected parameter names
+        if (null != executionParams && !parameters.keySet().containsAll(executionParams.keySet())) {
+            throw new IllegalArgumentException("Unexpected parameter name in NamedOperation");
+        }
+
+        final Map<String, String> values = new HashMap<>(parameters.size());
+        for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
+            final String paramKey = parameterDetailPair.getKey();
+            if (null != executionParams && executionParams.containsKey(paramKey)) {
+                final Object paramObj;
+                try {
+                    paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
+                } catch (final SerialisationException e) {
+                    throw new IllegalArgumentException(e.getMessage());
+                }
+                values.put(paramKey, serialise(paramObj));
+            } else if (!parameterDetailPair.getValue().isRequired()) {
+                values.put(paramKey, defaultValues.get(paramKey));
+            } else {
+                throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
+            }
+        }
+
+        return substitute(values);
+    }
+
+    private String substitute(final Map<String, String> values) {
+        if (0 == placeholders.length) {
+            return literals[0];
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]).append(values.get(placeholders[i]));
+        }
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    private static String buildParamNameString(final String paramKey) {
+        return "\"${" + paramKey + "}\"";
+    }
+
+    private static String serialise(final Object value) {
+        try {
+            return new String(JSONSerialiser.serialise(value, CHARSET_NAME), CHARSET_NAME);
+        } catch (final SerialisationException | UnsupportedEncodingException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+}
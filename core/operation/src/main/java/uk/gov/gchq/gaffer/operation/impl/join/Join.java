@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.Operations;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinStrategy;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
 import uk.gov.gchq.gaffer.operation.io.InputOutput;
 import uk.gov.gchq.gaffer.operation.io.MultiInput;
@@ -45,12 +46,16 @@ import java.util.Map;
  * <p>
  * Note: The input iterables are limited by default to 100,000 as these are read into memory as a Collection.
  * This limit can be changed by adding specifying a collectionLimit in the Operation.
+ * <p>
+ * For large joins a {@link JoinStrategy} of HASH or SORT_MERGE can be specified.
+ * These strategies do not limit the inputs, instead the collectionLimit is the
+ * maximum number of objects held in memory at once.
  *
  * @param <I> Iterable input type.
  */
 @Since("1.8.0")
 @Summary("Joins two iterables based on a join type")
-@JsonPropertyOrder(value = {"input", "operation", "matchMethod", "matchKey", "flatten", "joinType", "collectionLimit", "options"}, alphabetic = true)
+@JsonPropertyOrder(value = {"input", "operation", "matchMethod", "matchKey", "flatten", "joinType", "joinStrategy", "collectionLimit", "options"}, alphabetic = true)
 public class Join<I> implements InputOutput<Iterable<? extends I>,
         Iterable<? extends MapTuple>>, MultiInput<I>,
         Operations<Operation> {
@@ -60,6 +65,7 @@ public class Join<I> implements InputOutput<Iterable<? extends I>,
     private Boolean flatten = true;
     private MatchKey matchKey;
     private JoinType joinType;
+    private JoinStrategy joinStrategy;
     private Integer collectionLimit;
     private Map<String, String> options;
 
@@ -113,6 +119,14 @@ public class Join<I> implements InputOutput<Iterable<? extends I>,
         this.joinType = joinType;
     }
 
+    public JoinStrategy getJoinStrategy() {
+        return joinStrategy;
+    }
+
+    public void setJoinStrategy(final JoinStrategy joinStrategy) {
+        this.joinStrategy = joinStrategy;
+    }
+
     public Integer getCollectionLimit() {
         return collectionLimit;
     }
@@ -130,6 +144,7 @@ public class Join<I> implements InputOutput<Iterable<? extends I>,
                 .matchKey(matchKey)
                 .flatten(flatten)
                 .joinType(joinType)
+                .joinStrategy(joinStrategy)
                 .collectionLimit(collectionLimit)
                 .options(options)
                 .build();
@@ -194,6 +209,11 @@ public class Join<I> implements InputOutput<Iterable<? extends I>,
             return _self();
         }
 
+        public Builder<I> joinStrategy(final JoinStrategy joinStrategy) {
+            _getOp().setJoinStrategy(joinStrategy);
+            return _self();
+        }
+
         public Builder<I> matchKey(final MatchKey matchKey) {
             _getOp().setMatchKey(matchKey);
             return _self();
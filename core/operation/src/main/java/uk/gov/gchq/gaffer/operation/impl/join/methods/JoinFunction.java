@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -69,6 +70,28 @@ public abstract class JoinFunction {
         return resultList;
     }
 
+    /**
+     * Joins a single object from the keyed side with the objects from the other
+     * side which match it. This allows a join to be carried out incrementally,
+     * one key at a time.
+     *
+     * @param keyObj   the object from the keyed side
+     * @param matching the objects from the other side which match the keyObj
+     * @param matchKey the keyed side of the join
+     * @param flatten  true to return a tuple per match, false to return a single tuple containing all the matches
+     * @return the tuples produced for the keyObj, which may be empty
+     */
+    public List<MapTuple> join(final Object keyObj, final List matching, final MatchKey matchKey, final Boolean flatten) {
+        final String keyName = matchKey.name();
+        final String matchingValuesName = MatchKey.LEFT.equals(matchKey) ? MatchKey.RIGHT.name() : MatchKey.LEFT.name();
+        if (flatten) {
+            return joinFlattened(keyObj, matching, keyName, matchingValuesName);
+        }
+
+        final MapTuple mapTuple = joinAggregated(keyObj, matching, keyName, matchingValuesName);
+        return null != mapTuple ? Collections.singletonList(mapTuple) : Collections.emptyList();
+    }
+
     @Deprecated
     protected List<MapTuple> join(final Iterable keys, final String keyName, final String matchingValuesName, final Match match, final Boolean flatten) {
         throw new NotImplementedException();
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.join.methods;
+
+/**
+ * The strategy used to find the matches for each object on the keyed side of a
+ * {@link uk.gov.gchq.gaffer.operation.impl.join.Join}.
+ */
+public enum JoinStrategy {
+    /**
+     * Both sides are read into memory, up to the collection limit, and each key
+     * is compared using the match method. This is the default strategy.
+     */
+    IN_MEMORY,
+
+    /**
+     * The matched side is indexed in a hash table by its key. If it holds more
+     * objects than the collection limit then both sides are partitioned to disk
+     * by key hash, and each partition is joined separately. Requires a match
+     * method which extracts keys from the objects.
+     */
+    HASH,
+
+    /**
+     * Both sides are streamed in a single pass and merged by their keys. Both
+     * sides must already be sorted by their key, and only the matches for the
+     * current key are held in memory. Requires a match method which extracts
+     * keys from the objects.
+     */
+    SORT_MERGE
+}
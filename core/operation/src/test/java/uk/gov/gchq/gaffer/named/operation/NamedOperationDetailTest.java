@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.commonutil.JsonAssert;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -36,7 +37,9 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -102,6 +105,51 @@ public class NamedOperationDetailTest {
         assertEquals(customAccessPredicate, namedOperationDetail.getWriteAccessPredicate());
     }
 
+    @Test
+    public void shouldSubstituteParameterIntoEveryPlaceholder() {
+        // Given
+        final NamedOperationDetail namedOperationDetail = getNamedOperationDetailWithLimitParameters();
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", 5);
+
+        // When
+        final OperationChain<?> opChain = namedOperationDetail.getOperationChain(params);
+
+        // Then
+        assertEquals(5, (int) ((Limit) opChain.getOperations().get(0)).getResultLimit());
+        assertEquals(5, (int) ((Limit) opChain.getOperations().get(1)).getResultLimit());
+        assertEquals(false, ((Limit) opChain.getOperations().get(1)).getTruncate());
+    }
+
+    @Test
+    public void shouldSubstituteDefaultParametersRepeatedly() {
+        // Given
+        final NamedOperationDetail namedOperationDetail = getNamedOperationDetailWithLimitParameters();
+        final Map<String, Object> params = new HashMap<>();
+        params.put("limit", 5);
+        params.put("truncate", true);
+
+        // When
+        final OperationChain<?> opChain1 = namedOperationDetail.getOperationChain(params);
+        final OperationChain<?> opChain2 = namedOperationDetail.getOperationChainWithDefaultParams();
+
+        // Then
+        assertEquals(true, ((Limit) opChain1.getOperations().get(1)).getTruncate());
+        assertEquals(10, (int) ((Limit) opChain2.getOperations().get(0)).getResultLimit());
+        assertEquals(false, ((Limit) opChain2.getOperations().get(1)).getTruncate());
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnexpectedParameters() {
+        // Given
+        final NamedOperationDetail namedOperationDetail = getNamedOperationDetailWithLimitParameters();
+        final Map<String, Object> unexpectedParams = new HashMap<>();
+        unexpectedParams.put("unknown", 5);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> namedOperationDetail.getOperationChain(unexpectedParams));
+    }
+
     @Test
     public void shouldDeserialiseStringOpChain() throws SerialisationException {
         // Given
@@ -299,4 +347,23 @@ public class NamedOperationDetailTest {
                 .build();
         assertThrows(IllegalArgumentException.class, executable, "Only one of writers or writeAccessPredicate should be supplied.");
     }
+
+    private NamedOperationDetail getNamedOperationDetailWithLimitParameters() {
+        final Map<String, ParameterDetail> parameters = new HashMap<>();
+        parameters.put("limit", new ParameterDetail.Builder()
+                .valueClass(Integer.class)
+                .defaultValue(10)
+                .build());
+        parameters.put("truncate", new ParameterDetail.Builder()
+                .valueClass(Boolean.class)
+                .defaultValue(false)
+                .build());
+
+        return getBaseNamedOperationDetailBuilder()
+                .operationChain("{\"operations\":[" +
+                        "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\",\"resultLimit\":\"${limit}\"}," +
+                        "{\"class\":\"uk.gov.gchq.gaffer.operation.impl.Limit\",\"resultLimit\":\"${limit}\",\"truncate\":\"${truncate}\"}]}")
+                .parameters(parameters)
+                .build();
+    }
 }
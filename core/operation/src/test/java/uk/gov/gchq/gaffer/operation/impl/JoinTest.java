@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinStrategy;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
 
 import java.util.Arrays;
@@ -44,12 +45,14 @@ public class JoinTest extends OperationTest<Join> {
         // Given
         final Join op = new Join.Builder<>().input(Arrays.asList(1, 2, 3))
                 .operation(new GetAllElements.Builder().build()).matchMethod(new TestMatchImpl())
-                .matchKey(MatchKey.LEFT).joinType(JoinType.INNER).flatten(false).collectionLimit(10).build();
+                .matchKey(MatchKey.LEFT).joinType(JoinType.INNER).joinStrategy(JoinStrategy.HASH)
+                .flatten(false).collectionLimit(10).build();
 
         // Then
         assertEquals(Arrays.asList(1, 2, 3), op.getInput());
         assertTrue(op.getOperation() instanceof GetAllElements);
         assertEquals(JoinType.INNER, op.getJoinType());
+        assertEquals(JoinStrategy.HASH, op.getJoinStrategy());
         assertTrue(op.getMatchMethod() instanceof Match);
         assertEquals(MatchKey.LEFT, op.getMatchKey());
         assertTrue(op.isFlatten() instanceof Boolean);
@@ -62,7 +65,8 @@ public class JoinTest extends OperationTest<Join> {
         // Given
         final Join op = new Join.Builder<>().input(Arrays.asList(1, 2, 3))
                 .operation(new GetAllElements.Builder().build()).matchMethod(new TestMatchImpl())
-                .matchKey(MatchKey.LEFT).joinType(JoinType.INNER).flatten(false).collectionLimit(10).build();
+                .matchKey(MatchKey.LEFT).joinType(JoinType.INNER).joinStrategy(JoinStrategy.SORT_MERGE)
+                .flatten(false).collectionLimit(10).build();
 
         // When
         final Join clone = op.shallowClone();
@@ -71,6 +75,7 @@ public class JoinTest extends OperationTest<Join> {
         assertEquals(clone.getInput(), op.getInput());
         assertEquals(clone.getOperation(), op.getOperation());
         assertEquals(clone.getJoinType(), op.getJoinType());
+        assertEquals(clone.getJoinStrategy(), op.getJoinStrategy());
         assertEquals(clone.getMatchMethod(), op.getMatchMethod());
     }
 
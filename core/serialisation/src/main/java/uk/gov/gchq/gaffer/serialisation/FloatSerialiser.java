@@ -45,9 +45,14 @@ public class FloatSerialiser implements ToBytesSerialiser<Float> {
 
     @Override
     public Float deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Float deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         try {
-            return Float.parseFloat(new String(bytes, CommonConstants.ISO_8859_1_ENCODING));
-        } catch (final NumberFormatException | UnsupportedEncodingException e) {
+            return Float.parseFloat(new String(allBytes, offset, length, CommonConstants.ISO_8859_1_ENCODING));
+        } catch (final NumberFormatException | UnsupportedEncodingException | IndexOutOfBoundsException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
     }
@@ -45,9 +45,14 @@ public class LongSerialiser implements ToBytesSerialiser<Long> {
 
     @Override
     public Long deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         try {
-            return Long.parseLong(new String(bytes, CommonConstants.ISO_8859_1_ENCODING));
-        } catch (final NumberFormatException | UnsupportedEncodingException e) {
+            return Long.parseLong(new String(allBytes, offset, length, CommonConstants.ISO_8859_1_ENCODING));
+        } catch (final NumberFormatException | UnsupportedEncodingException | IndexOutOfBoundsException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
     }
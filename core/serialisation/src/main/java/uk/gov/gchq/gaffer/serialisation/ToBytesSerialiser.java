@@ -17,6 +17,9 @@
 package uk.gov.gchq.gaffer.serialisation;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisationBuffer;
+
+import java.nio.ByteBuffer;
 
 /**
  * A class that implements this interface is responsible for serialising an
@@ -51,6 +54,27 @@ public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
     byte[] serialise(final T object) throws SerialisationException;
 
     /**
+     * Serialise some object directly into a {@link SerialisationBuffer}.
+     * <p>
+     * This default implementation writes the result of {@link #serialise(Object)}
+     * to the buffer, so implementations should override it to avoid creating
+     * the intermediate byte array. The bytes written must be identical to
+     * those returned by {@link #serialise(Object)}.
+     *
+     * @param object the object to be serialised
+     * @param buffer the buffer to write the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    default void serialise(final T object, final SerialisationBuffer buffer) throws SerialisationException {
+        buffer.write(serialise(object));
+    }
+
+    /**
+     * Deserialise a range of an array of bytes into the original object.
+     * <p>
+     * This default implementation copies the range into a new array, so
+     * implementations should override it to read the range in place.
+     *
      * @param allBytes The bytes to be decoded into characters
      * @param offset   The index of the first byte to decode
      * @param length   The number of bytes to decode
@@ -58,15 +82,39 @@ public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
      * @throws SerialisationException issues during deserialisation
      */
     default T deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        if (null == allBytes) {
+            throw new SerialisationException("Unable to deserialise a range of a null byte[]");
+        }
         final byte[] selection = new byte[length];
         try {
             System.arraycopy(allBytes, offset, selection, 0, length);
-        } catch (final NullPointerException e) {
-            throw new SerialisationException(String.format("Deserialising with giving range caused ArrayIndexOutOfBoundsException. byte[].size:%d startPos:%d length:%d", allBytes.length, 0, length), e);
+        } catch (final IndexOutOfBoundsException e) {
+            throw new SerialisationException(String.format("Deserialising with giving range caused ArrayIndexOutOfBoundsException. byte[].size:%d startPos:%d length:%d", allBytes.length, offset, length), e);
         }
         return deserialise(selection);
     }
 
+    /**
+     * Deserialise the remaining bytes of a {@link ByteBuffer} into the original
+     * object. The position of the buffer is not changed.
+     * <p>
+     * If the buffer is backed by an array then the bytes are deserialised in
+     * place using {@link #deserialise(byte[], int, int)}, otherwise they are
+     * first copied into a new array.
+     *
+     * @param buffer the buffer containing the bytes to deserialise
+     * @return T the deserialised object
+     * @throws SerialisationException issues during deserialisation
+     */
+    default T deserialise(final ByteBuffer buffer) throws SerialisationException {
+        if (buffer.hasArray()) {
+            return deserialise(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return deserialise(bytes);
+    }
+
     /**
      * Deserialise an array of bytes into the original object.
      *
@@ -18,6 +18,8 @@ package uk.gov.gchq.gaffer.serialisation.implementation;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 
+import java.util.Arrays;
+
 /**
  * This class is used to serialise and deserialise byte arrays.
  */
@@ -39,6 +41,14 @@ public class BytesSerialiser implements ToBytesSerialiser<byte[]> {
         return bytes;
     }
 
+    @Override
+    public byte[] deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        if (0 == offset && allBytes.length == length) {
+            return allBytes;
+        }
+        return Arrays.copyOfRange(allBytes, offset, offset + length);
+    }
+
     @Override
     public byte[] deserialiseEmpty() {
         return new byte[0];
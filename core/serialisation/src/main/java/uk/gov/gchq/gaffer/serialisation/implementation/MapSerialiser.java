@@ -76,6 +76,11 @@ public class MapSerialiser implements ToBytesSerialiser<Map> {
 
     @Override
     public Map<? extends Object, ? extends Object> deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Map<? extends Object, ? extends Object> deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         Map map;
         if (null == getMapClass()) {
             map = new HashMap<>();
@@ -86,14 +91,14 @@ public class MapSerialiser implements ToBytesSerialiser<Map> {
                 throw new SerialisationException("Failed to create map instance" + e.getMessage(), e);
             }
         }
-        final int arrayLength = bytes.length;
-        int carriage = 0;
-        while (carriage < arrayLength) {
+        final int end = offset + length;
+        int carriage = offset;
+        while (carriage < end) {
             final ToBytesSerialiser keySerialiser = getKeySerialiser();
             final ToBytesSerialiser valueSerialiser = getValueSerialiser();
             checkSerialiers(keySerialiser, valueSerialiser);
-            LengthValueBytesSerialiserUtil.ObjectCarriage c = LengthValueBytesSerialiserUtil.deserialiseNextObject(keySerialiser, carriage, bytes);
-            LengthValueBytesSerialiserUtil.ObjectCarriage c2 = LengthValueBytesSerialiserUtil.deserialiseNextObject(valueSerialiser, c.getCarriage(), bytes);
+            LengthValueBytesSerialiserUtil.ObjectCarriage c = LengthValueBytesSerialiserUtil.deserialiseNextObject(keySerialiser, carriage, allBytes);
+            LengthValueBytesSerialiserUtil.ObjectCarriage c2 = LengthValueBytesSerialiserUtil.deserialiseNextObject(valueSerialiser, c.getCarriage(), allBytes);
             map.put(c.getObject(), c2.getObject());
             carriage = c2.getCarriage();
         }
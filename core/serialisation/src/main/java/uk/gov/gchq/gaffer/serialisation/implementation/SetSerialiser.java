@@ -63,6 +63,11 @@ public class SetSerialiser implements ToBytesSerialiser<Set<? extends Object>> {
 
     @Override
     public Set<? extends Object> deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Set<? extends Object> deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         Set set;
         if (null == getSetClass()) {
             set = new HashSet<>();
@@ -73,10 +78,10 @@ public class SetSerialiser implements ToBytesSerialiser<Set<? extends Object>> {
                 throw new SerialisationException("Failed to create map instance" + e.getMessage(), e);
             }
         }
-        final int arrayLength = bytes.length;
-        int carriage = 0;
-        while (carriage < arrayLength) {
-            LengthValueBytesSerialiserUtil.ObjectCarriage c = LengthValueBytesSerialiserUtil.deserialiseNextObject(getObjectSerialiser(), carriage, bytes);
+        final int end = offset + length;
+        int carriage = offset;
+        while (carriage < end) {
+            LengthValueBytesSerialiserUtil.ObjectCarriage c = LengthValueBytesSerialiserUtil.deserialiseNextObject(getObjectSerialiser(), carriage, allBytes);
             set.add(c.getObject());
             carriage = c.getCarriage();
         }
@@ -38,7 +38,12 @@ public class OrderedDateSerialiser implements ToBytesSerialiser<Date> {
 
     @Override
     public Date deserialise(final byte[] bytes) throws SerialisationException {
-        return new Date(LONG_SERIALISER.deserialise(bytes));
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Date deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return new Date(LONG_SERIALISER.deserialise(allBytes, offset, length));
     }
 
     @Override
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisationBuffer;
 
 /**
  * Serialises integers using a variable-length scheme that means smaller integers get serialised into a smaller
@@ -43,6 +44,11 @@ public class CompactRawIntegerSerialiser implements ToBytesSerialiser<Integer> {
         return CompactRawSerialisationUtils.writeLong(i);
     }
 
+    @Override
+    public void serialise(final Integer i, final SerialisationBuffer buffer) {
+        buffer.writeVarLong(i);
+    }
+
     @Override
     public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         final long result = CompactRawSerialisationUtils.readLong(allBytes, offset);
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisationBuffer;
 
 /**
  * Serialises longs using a variable-length scheme that means smaller longs get serialised into a smaller
@@ -39,6 +40,11 @@ public class CompactRawLongSerialiser implements ToBytesSerialiser<Long> {
         return CompactRawSerialisationUtils.writeLong(l);
     }
 
+    @Override
+    public void serialise(final Long l, final SerialisationBuffer buffer) {
+        buffer.writeVarLong(l);
+    }
+
     @Override
     public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         return CompactRawSerialisationUtils.readLong(allBytes, offset);
@@ -129,6 +129,54 @@ public final class CompactRawSerialisationUtils {
         }
     }
 
+    /**
+     * Writes a long into the provided array, which must have enough space
+     * for the encoded long, i.e. {@link #getEncodedSize(long)} bytes.
+     *
+     * @param l      The long to write.
+     * @param dest   The array to write the long to.
+     * @param offset The index to write the first byte to.
+     * @return the number of bytes written.
+     */
+    public static int write(final long l, final byte[] dest, final int offset) {
+        long value = l;
+        if (value >= -112 && value <= 127) {
+            dest[offset] = (byte) value;
+            return 1;
+        }
+        int len = -112;
+        if (value < 0) {
+            value ^= -1L; // take one's complement'
+            len = -120;
+        }
+        final int numBytes = getNumberOfValueBytes(value);
+        dest[offset] = (byte) (len - numBytes);
+        int place = offset + 1;
+        for (int idx = numBytes; idx != 0; idx--) {
+            final int shiftBits = (idx - 1) * 8;
+            final long mask = 0xFFL << shiftBits;
+            dest[place++] = (byte) ((value & mask) >> shiftBits);
+        }
+        return numBytes + 1;
+    }
+
+    /**
+     * Gets the number of bytes a long is encoded into, without encoding it.
+     *
+     * @param l The long.
+     * @return the number of bytes that {@link #writeLong(long)} would return.
+     */
+    public static int getEncodedSize(final long l) {
+        if (l >= -112 && l <= 127) {
+            return 1;
+        }
+        return 1 + getNumberOfValueBytes(l < 0 ? l ^ -1L : l);
+    }
+
+    private static int getNumberOfValueBytes(final long nonNegativeValue) {
+        return (Long.SIZE - Long.numberOfLeadingZeros(nonNegativeValue) + 7) / 8;
+    }
+
     /**
      * Reads a long from the provided {@link InputStream}. This requires the long to have been written
      * by {@link CompactRawSerialisationUtils#write(long, OutputStream)}.
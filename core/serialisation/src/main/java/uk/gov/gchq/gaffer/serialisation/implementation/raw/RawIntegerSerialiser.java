@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisationBuffer;
 
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedIntegerSerialiser}.
@@ -45,6 +46,14 @@ public class RawIntegerSerialiser implements ToBytesSerialiser<Integer> {
         return out;
     }
 
+    @Override
+    public void serialise(final Integer value, final SerialisationBuffer buffer) {
+        buffer.write(value & 255);
+        buffer.write((value >> 8) & 255);
+        buffer.write((value >> 16) & 255);
+        buffer.write((value >> 24) & 255);
+    }
+
     @Override
     public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisationBuffer;
 
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser}.
@@ -49,6 +50,18 @@ public class RawLongSerialiser implements ToBytesSerialiser<Long> {
         return out;
     }
 
+    @Override
+    public void serialise(final Long value, final SerialisationBuffer buffer) {
+        buffer.write((int) (value & 255));
+        buffer.write((int) (value >> 8) & 255);
+        buffer.write((int) (value >> 16) & 255);
+        buffer.write((int) (value >> 24) & 255);
+        buffer.write((int) (value >> 32) & 255);
+        buffer.write((int) (value >> 40) & 255);
+        buffer.write((int) (value >> 48) & 255);
+        buffer.write((int) (value >> 56) & 255);
+    }
+
     @Override
     public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
@@ -20,7 +20,6 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
@@ -39,6 +38,10 @@ public abstract class LengthValueBytesSerialiserUtil {
 
     public static ByteArrayOutputStream appendLengthValueFromObjectToByteStream(final ByteArrayOutputStream byteOut, final ToBytesSerialiser serialiser, final Object object) throws SerialisationException {
         requireNonNull(serialiser, "Given serialiser is null");
+        if (byteOut instanceof SerialisationBuffer && null != object) {
+            ((SerialisationBuffer) byteOut).writeLengthValue(serialiser, object);
+            return byteOut;
+        }
         return appendLengthValueFromBytesToByteStream(byteOut, serialiser.serialise(object));
     }
 
@@ -54,14 +57,31 @@ public abstract class LengthValueBytesSerialiserUtil {
 
     public static <T> byte[] serialise(final ToBytesSerialiser<T> serialiser, final T value)
             throws SerialisationException {
-        final byte[] valueBytes = getValueBytes(serialiser, value);
-        return serialise(valueBytes);
+        try (final SerialisationBuffer buffer = SerialisationBuffer.acquire()) {
+            buffer.writeLengthValue(serialiser, value);
+            return buffer.toByteArray();
+        }
     }
 
+    /**
+     * Serialises a value in length-value form to the provided stream. If the
+     * stream is a {@link SerialisationBuffer} then the value is serialised
+     * directly into it, without creating an intermediate byte array.
+     *
+     * @param serialiser the serialiser to use
+     * @param value      the value to serialise
+     * @param out        the stream to write to
+     * @param <T>        the type of the value
+     * @throws SerialisationException if the value could not be serialised
+     */
     public static <T> void serialise(final ToBytesSerialiser<T> serialiser, final T value, final ByteArrayOutputStream out)
             throws SerialisationException {
-        final byte[] valueBytes = getValueBytes(serialiser, value);
-        serialise(valueBytes, out);
+        if (out instanceof SerialisationBuffer) {
+            ((SerialisationBuffer) out).writeLengthValue(serialiser, value);
+        } else {
+            final byte[] valueBytes = getValueBytes(serialiser, value);
+            serialise(valueBytes, out);
+        }
     }
 
     public static byte[] serialise(final byte[] valueBytes) throws SerialisationException {
@@ -92,11 +112,28 @@ public abstract class LengthValueBytesSerialiserUtil {
     }
 
     public static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] allBytes, final int delimiter) throws SerialisationException {
-        return getValue(serialiser, deserialise(allBytes, delimiter));
+        if (null == allBytes || 0 == allBytes.length) {
+            return serialiser.deserialiseEmpty();
+        }
+
+        final int lengthSize = getLengthSize(allBytes, delimiter);
+        final int valueSize = getValueSize(allBytes, lengthSize, delimiter);
+        return getValue(serialiser, allBytes, delimiter + lengthSize, valueSize);
     }
 
     public static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] allBytes, final int[] delimiterWrapper) throws SerialisationException {
-        return getValue(serialiser, deserialise(allBytes, delimiterWrapper));
+        if (1 != delimiterWrapper.length) {
+            throw new IllegalArgumentException("Delimiter wrapper must always be a int array of length 1 containing the delimiter");
+        }
+        if (null == allBytes || 0 == allBytes.length) {
+            return serialiser.deserialiseEmpty();
+        }
+
+        final int lengthSize = getLengthSize(allBytes, delimiterWrapper[0]);
+        final int valueSize = getValueSize(allBytes, lengthSize, delimiterWrapper[0]);
+        final T value = getValue(serialiser, allBytes, delimiterWrapper[0] + lengthSize, valueSize);
+        delimiterWrapper[0] = getNextDelimiter(lengthSize, valueSize, delimiterWrapper[0]);
+        return value;
     }
 
     public static byte[] deserialise(final byte[] allBytes, final int[] delimiterWrapper) throws SerialisationException {
@@ -143,11 +180,8 @@ public abstract class LengthValueBytesSerialiserUtil {
     }
 
     public static int getValueSize(final byte[] allBytes, final int lengthSize, final int delimiter) throws SerialisationException {
-        try (final ByteArrayInputStream input = new ByteArrayInputStream(allBytes, delimiter, lengthSize)) {
-            return (int) CompactRawSerialisationUtils.read(input);
-        } catch (final IOException e) {
-            throw new SerialisationException("Exception reading length of property", e);
-        }
+        // The length size is encoded in the first byte, so the length can be read in place
+        return (int) CompactRawSerialisationUtils.readLong(allBytes, delimiter);
     }
 
     public static int getNextDelimiter(final byte[] allBytes, final int delimiter) throws SerialisationException {
@@ -180,30 +214,28 @@ public abstract class LengthValueBytesSerialiserUtil {
         return valueBytes;
     }
 
-    private static <T> T getValue(final ToBytesSerialiser<T> serialiser, final byte[] valueBytes) throws SerialisationException {
-        if (0 == valueBytes.length) {
+    private static <T> T getValue(final ToBytesSerialiser<T> serialiser, final byte[] allBytes, final int offset, final int valueSize) throws SerialisationException {
+        if (0 == valueSize) {
             return serialiser.deserialiseEmpty();
         }
-        return serialiser.deserialise(valueBytes);
+        return serialiser.deserialise(allBytes, offset, valueSize);
     }
 
 
     public static <T> ObjectCarriage<T> deserialiseNextObject(final ToBytesSerialiser<T> serialiser, final int currentCarriage, final byte[] bytes) throws SerialisationException {
         int rtn = currentCarriage;
         int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[rtn]);
-        int currentPropLength = getCurrentPropLength(bytes, rtn, numBytesForLength);
+        int currentPropLength = (int) CompactRawSerialisationUtils.readLong(bytes, rtn);
         int from = rtn += numBytesForLength;
-        int to = rtn += currentPropLength;
-        T object = serialiser.deserialise(Arrays.copyOfRange(bytes, from, to));
+        rtn += currentPropLength;
+        if (rtn > bytes.length) {
+            throw new SerialisationException("Length of " + currentPropLength + " exceeds the remaining bytes");
+        }
+        // Empty values are deserialised from an empty array, as some serialisers read the first byte of the range
+        T object = 0 == currentPropLength ? serialiser.deserialise(EMPTY_BYTES) : serialiser.deserialise(bytes, from, currentPropLength);
         return new ObjectCarriage<T>(object, rtn);
     }
 
-    private static int getCurrentPropLength(final byte[] bytes, final int pos, final int numBytesForLength) throws SerialisationException {
-        final byte[] length = new byte[numBytesForLength];
-        System.arraycopy(bytes, pos, length, 0, numBytesForLength);
-        return (int) CompactRawSerialisationUtils.readLong(length);
-    }
-
 
     public static class ObjectCarriage<T> {
         private T object;
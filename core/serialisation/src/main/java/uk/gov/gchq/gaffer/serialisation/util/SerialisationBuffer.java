@@ -0,0 +1,191 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * A {@code SerialisationBuffer} is a growable, reusable buffer that
+ * {@link ToBytesSerialiser}s can write to directly using
+ * {@link ToBytesSerialiser#serialise(Object, SerialisationBuffer)}, so that
+ * serialising several values, for example the properties of an element, does
+ * not require an intermediate byte array per value.
+ * <p>
+ * Buffers should be obtained with {@link #acquire()} and closed once the bytes
+ * have been copied out with {@link #toByteArray()}. Closing a buffer resets it
+ * and returns it to a small pool held by the current thread, so the backing
+ * array is reused by the next call to {@link #acquire()}.
+ * </p>
+ * <p>
+ * Unlike a {@link ByteArrayOutputStream}, this class is not thread safe, as
+ * each buffer is only intended to be used by the thread that acquired it.
+ * </p>
+ */
+public class SerialisationBuffer extends ByteArrayOutputStream {
+    /**
+     * The maximum number of buffers pooled per thread.
+     */
+    static final int MAX_POOLED_BUFFERS = 4;
+
+    /**
+     * Buffers which have grown larger than this are not pooled, so that a
+     * single large value does not hold on to a large array.
+     */
+    static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int MAX_VAR_LONG_SIZE = 9;
+    private static final ThreadLocal<Deque<SerialisationBuffer>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private boolean pooled;
+
+    public SerialisationBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SerialisationBuffer(final int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Gets an empty buffer from the current thread's pool, or creates a new
+     * buffer if the pool is empty. The buffer should be closed when it is no
+     * longer required.
+     *
+     * @return an empty buffer
+     */
+    public static SerialisationBuffer acquire() {
+        final SerialisationBuffer buffer = POOL.get().pollFirst();
+        if (null == buffer) {
+            return new SerialisationBuffer();
+        }
+        buffer.pooled = false;
+        return buffer;
+    }
+
+    /**
+     * Writes a value in length-value form, using the same format as
+     * {@link LengthValueBytesSerialiserUtil#serialise(ToBytesSerialiser, Object)}.
+     * The value is serialised directly into this buffer and its length is
+     * written in front of it afterwards.
+     *
+     * @param serialiser the serialiser to use, or null to write an empty value
+     * @param value      the value to serialise
+     * @param <T>        the type of the value
+     * @throws SerialisationException if the value could not be serialised
+     */
+    public <T> void writeLengthValue(final ToBytesSerialiser<T> serialiser, final T value) throws SerialisationException {
+        if (null == serialiser) {
+            write(0);
+            return;
+        }
+
+        // Lengths of up to 127 are encoded in a single byte, so reserve one
+        // byte for the length and only shift the value if more are needed.
+        final int lengthPosition = count;
+        write(0);
+        if (null == value) {
+            write(serialiser.serialiseNull());
+        } else {
+            serialiser.serialise(value, this);
+        }
+
+        final int valueLength = count - lengthPosition - 1;
+        final int lengthSize = CompactRawSerialisationUtils.getEncodedSize(valueLength);
+        if (lengthSize > 1) {
+            ensureCapacity(count + lengthSize - 1);
+            System.arraycopy(buf, lengthPosition + 1, buf, lengthPosition + lengthSize, valueLength);
+            count += lengthSize - 1;
+        }
+        CompactRawSerialisationUtils.write(valueLength, buf, lengthPosition);
+    }
+
+    /**
+     * Writes a long using the variable length encoding of
+     * {@link CompactRawSerialisationUtils#writeLong(long)}.
+     *
+     * @param value the long to write
+     */
+    public void writeVarLong(final long value) {
+        ensureCapacity(count + MAX_VAR_LONG_SIZE);
+        count += CompactRawSerialisationUtils.write(value, buf, count);
+    }
+
+    @Override
+    public void write(final int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    /**
+     * Gets the array backing this buffer, without copying it. Only the first
+     * {@link #size()} bytes are valid, and the array is reused once the buffer
+     * is reset or closed.
+     *
+     * @return the array backing this buffer
+     */
+    public byte[] getBuffer() {
+        return buf;
+    }
+
+    /**
+     * Resets the buffer and returns it to the current thread's pool. The
+     * buffer must not be used after it has been closed.
+     */
+    @Override
+    public void close() {
+        if (pooled) {
+            return;
+        }
+        reset();
+        if (buf.length <= MAX_POOLED_CAPACITY) {
+            final Deque<SerialisationBuffer> pool = POOL.get();
+            if (pool.size() < MAX_POOLED_BUFFERS) {
+                pooled = true;
+                pool.addFirst(this);
+            }
+        }
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(minCapacity, buf.length << 1));
+        }
+    }
+}
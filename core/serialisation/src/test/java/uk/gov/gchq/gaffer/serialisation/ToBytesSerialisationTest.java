@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -51,6 +52,25 @@ public abstract class ToBytesSerialisationTest<T> extends SerialisationTest<T, b
         assertArrayEquals(pair.getSecond(), serialise, Arrays.toString(serialise));
     }
 
+    /**
+     * Checks each of the historic values can be deserialised from the middle of
+     * a larger array, both directly and via a {@link ByteBuffer}.
+     *
+     * @throws SerialisationException if a value fails to deserialise
+     */
+    protected void assertDeserialisesHistoricValuesFromOffset() throws SerialisationException {
+        final ToBytesSerialiser<T> toBytesSerialiser = (ToBytesSerialiser<T>) serialiser;
+        for (final Pair<T, byte[]> pair : historicSerialisationPairs) {
+            final byte[] bytes = pair.getSecond();
+            final byte[] allBytes = new byte[bytes.length + 6];
+            Arrays.fill(allBytes, (byte) 0xFF);
+            System.arraycopy(bytes, 0, allBytes, 3, bytes.length);
+
+            assertEquals(pair.getFirst(), toBytesSerialiser.deserialise(allBytes, 3, bytes.length));
+            assertEquals(pair.getFirst(), toBytesSerialiser.deserialise(ByteBuffer.wrap(allBytes, 3, bytes.length)));
+        }
+    }
+
     @Test
     public void shouldHaveValidEqualsMethodForToByteSerialiser() {
         final Serialiser<T, byte[]> serialiser2 = getSerialisation();
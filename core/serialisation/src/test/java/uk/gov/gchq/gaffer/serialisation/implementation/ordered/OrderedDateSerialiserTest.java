@@ -56,6 +56,11 @@ public class OrderedDateSerialiserTest extends ToBytesSerialisationTest<Date> {
         assertEquals(new Date(0), o);
     }
 
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        assertDeserialisesHistoricValuesFromOffset();
+    }
+
     @Test
     public void cantSerialiseStringClass() {
         assertFalse(serialiser.canHandle(String.class));
@@ -79,6 +79,11 @@ public class OrderedDoubleSerialiserTest extends ToBytesSerialisationTest<Double
         }
     }
 
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        assertDeserialisesHistoricValuesFromOffset();
+    }
+
     @Test
     public void cantSerialiseStringClass() {
         assertFalse(serialiser.canHandle(String.class));
@@ -79,6 +79,11 @@ public class OrderedFloatSerialiserTest extends ToBytesSerialisationTest<Float>
         }
     }
 
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        assertDeserialisesHistoricValuesFromOffset();
+    }
+
     @Test
     public void cantSerialiseStringClass() {
         assertFalse(serialiser.canHandle(String.class));
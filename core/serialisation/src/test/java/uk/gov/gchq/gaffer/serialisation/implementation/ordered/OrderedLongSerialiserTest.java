@@ -79,6 +79,11 @@ public class OrderedLongSerialiserTest extends ToBytesSerialisationTest<Long> {
         }
     }
 
+    @Test
+    public void shouldDeserialiseFromOffset() throws SerialisationException {
+        assertDeserialisesHistoricValuesFromOffset();
+    }
+
     @Test
     public void cantSerialiseStringClass() {
         assertFalse(serialiser.canHandle(String.class));
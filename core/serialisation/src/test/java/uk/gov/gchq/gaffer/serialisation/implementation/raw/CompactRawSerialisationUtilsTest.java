@@ -17,9 +17,15 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.decodeVIntSize;
+import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.getEncodedSize;
+import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.readLong;
+import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.write;
 import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.writeLong;
 
 public class CompactRawSerialisationUtilsTest {
@@ -64,5 +70,22 @@ public class CompactRawSerialisationUtilsTest {
         assertEquals(bytesUpper.length, decodeVIntSize(bytesUpper[0]));
     }
 
+    @Test
+    public void shouldWriteLongIntoArrayAtOffset() throws Exception {
+        final long[] values = {0, -112, 127, -113, 128, 1000, -1000, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (final long value : values) {
+            // Given
+            final byte[] expected = writeLong(value);
+            final byte[] dest = new byte[expected.length + 2];
+
+            // When
+            final int written = write(value, dest, 2);
 
+            // Then
+            assertEquals(expected.length, written);
+            assertEquals(expected.length, getEncodedSize(value));
+            assertArrayEquals(expected, Arrays.copyOfRange(dest, 2, dest.length));
+            assertEquals(value, readLong(dest, 2));
+        }
+    }
 }
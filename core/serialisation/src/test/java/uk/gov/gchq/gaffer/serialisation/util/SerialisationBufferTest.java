@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.BooleanSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawLongSerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SerialisationBufferTest {
+
+    @Test
+    public void shouldWriteSameBytesAsSerialisers() throws IOException {
+        assertSameBytes(new CompactRawLongSerialiser(), 5L, -1000L, Long.MAX_VALUE, Long.MIN_VALUE);
+        assertSameBytes(new CompactRawIntegerSerialiser(), 5, 1000, Integer.MIN_VALUE);
+        assertSameBytes(new RawLongSerialiser(), 5L, -1000L, Long.MAX_VALUE);
+        assertSameBytes(new RawIntegerSerialiser(), 5, -1000, Integer.MAX_VALUE);
+        assertSameBytes(new BooleanSerialiser(), true, false);
+        assertSameBytes(new StringSerialiser(), "", "Some value");
+    }
+
+    @Test
+    public void shouldWriteLengthValuesInSameFormatAsLengthValueBytesSerialiserUtil() throws IOException {
+        // Given
+        final StringSerialiser serialiser = new StringSerialiser();
+        final String shortValue = "Some value";
+        final String longValue = createString(1000);
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        LengthValueBytesSerialiserUtil.serialise(LengthValueBytesSerialiserUtil.getValueBytes(serialiser, shortValue), expected);
+        LengthValueBytesSerialiserUtil.serialise(LengthValueBytesSerialiserUtil.getValueBytes(serialiser, longValue), expected);
+        LengthValueBytesSerialiserUtil.serialise(LengthValueBytesSerialiserUtil.getValueBytes(serialiser, null), expected);
+        LengthValueBytesSerialiserUtil.serialise(LengthValueBytesSerialiserUtil.getValueBytes(null, shortValue), expected);
+
+        // When
+        final byte[] bytes;
+        try (final SerialisationBuffer buffer = SerialisationBuffer.acquire()) {
+            buffer.writeLengthValue(serialiser, shortValue);
+            buffer.writeLengthValue(serialiser, longValue);
+            buffer.writeLengthValue(serialiser, null);
+            buffer.writeLengthValue(null, shortValue);
+            bytes = buffer.toByteArray();
+        }
+
+        // Then
+        assertArrayEquals(expected.toByteArray(), bytes);
+        final int[] delimiter = {0};
+        assertEquals(shortValue, LengthValueBytesSerialiserUtil.deserialise(serialiser, bytes, delimiter));
+        assertEquals(longValue, LengthValueBytesSerialiserUtil.deserialise(serialiser, bytes, delimiter));
+    }
+
+    @Test
+    public void shouldReuseClosedBuffersOnSameThread() {
+        // Given
+        final SerialisationBuffer buffer = SerialisationBuffer.acquire();
+        buffer.write(1);
+
+        // When
+        buffer.close();
+        final SerialisationBuffer reusedBuffer = SerialisationBuffer.acquire();
+        final SerialisationBuffer newBuffer = SerialisationBuffer.acquire();
+
+        // Then
+        assertSame(buffer, reusedBuffer);
+        assertNotSame(reusedBuffer, newBuffer);
+        assertEquals(0, reusedBuffer.size());
+        reusedBuffer.close();
+        newBuffer.close();
+    }
+
+    @Test
+    public void shouldNotPoolLargeBuffers() {
+        // Given
+        final SerialisationBuffer buffer = SerialisationBuffer.acquire();
+        buffer.write(new byte[SerialisationBuffer.MAX_POOLED_CAPACITY + 1]);
+
+        // When
+        buffer.close();
+        final SerialisationBuffer newBuffer = SerialisationBuffer.acquire();
+
+        // Then
+        assertNotSame(buffer, newBuffer);
+        newBuffer.close();
+    }
+
+    @SafeVarargs
+    private final <T> void assertSameBytes(final ToBytesSerialiser<T> serialiser, final T... values) throws IOException {
+        for (final T value : values) {
+            try (final SerialisationBuffer buffer = SerialisationBuffer.acquire()) {
+                serialiser.serialise(value, buffer);
+                assertArrayEquals(serialiser.serialise(value), buffer.toByteArray());
+            }
+        }
+    }
+
+    private String createString(final int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        return builder.toString();
+    }
+}
@@ -79,6 +79,23 @@ public class Context {
         return new Context(this);
     }
 
+    /**
+     * Creates a clone of the current {@link Context} which keeps the same job ID.
+     * This allows parts of a single job to be executed concurrently, each with
+     * its own copy of the variables, exporters and original operation chain.
+     *
+     * @return cloned {@link Context} with the same job ID
+     */
+    public Context shallowCloneWithSameJobId() {
+        final Context context = new Context(user, config, jobId);
+        context.exporters.putAll(exporters);
+        context.variables = null != variables ? new HashMap<>(variables) : new HashMap<>();
+        if (null != originalOpChain) {
+            context.originalOpChain = originalOpChain.shallowClone();
+        }
+        return context;
+    }
+
     private Context(final User user, final Map<String, Object> config) {
         if (null == user) {
             throw new IllegalArgumentException("User is required");
@@ -303,7 +303,7 @@ public abstract class Store {
             final Context context = new Context(jobDetail.getUser());
             context.setOriginalOpChain(operationChain);
 
-            getExecutorService().scheduleAtFixedRate(
+            getScheduledExecutorService().scheduleAtFixedRate(
                     new ScheduledJobRunnable(operationChain, jobDetail, context),
                     jobDetail.getRepeat().getInitialDelay(),
                     jobDetail.getRepeat().getRepeatPeriod(),
@@ -442,7 +442,7 @@ public abstract class Store {
             throw new OperationException("JobTracker has not been configured.");
         }
 
-        if (null == ExecutorService.getService() || !ExecutorService.isEnabled()) {
+        if (null == (null != jobDetail.getRepeat() ? getScheduledExecutorService() : getExecutorService())) {
             throw new OperationException(("Executor Service is not enabled."));
         }
 
@@ -462,7 +462,7 @@ public abstract class Store {
                         ? (OperationChain) operation.shallowClone()
                         : OperationChain.wrap(operation).shallowClone();
 
-        getExecutorService().scheduleAtFixedRate(
+        getScheduledExecutorService().scheduleAtFixedRate(
                 new ScheduledJobRunnable(clonedOp, parentJobDetail, context),
                 parentJobDetail.getRepeat().getInitialDelay(),
                 parentJobDetail.getRepeat().getRepeatPeriod(),
@@ -557,9 +557,29 @@ public abstract class Store {
         getExecutorService().execute(runnable);
     }
 
+    /**
+     * @return the executor used to run jobs and asynchronous tasks, or null if it has not been initialised
+     */
     protected ScheduledExecutorService getExecutorService() {
-        return (null != ExecutorService.getService() && ExecutorService.isEnabled()) ?
-                ExecutorService.getService() : null;
+        return ExecutorService.getService(getExecutorPool());
+    }
+
+    /**
+     * @return the executor used to run scheduled jobs, or null if it has not been initialised
+     */
+    protected ScheduledExecutorService getScheduledExecutorService() {
+        final String batchPool = getScheduledExecutorPool();
+        return batchPool.equals(getExecutorPool()) ? getExecutorService() : ExecutorService.getService(batchPool);
+    }
+
+    private String getExecutorPool() {
+        final String pool = null != properties ? properties.getJobExecutorPool() : null;
+        return null != pool ? pool : ExecutorService.DEFAULT_POOL;
+    }
+
+    private String getScheduledExecutorPool() {
+        final String pool = null != properties ? properties.getJobExecutorBatchPool() : null;
+        return null != pool ? pool : getExecutorPool();
     }
 
     public JobTracker getJobTracker() {
@@ -955,7 +975,11 @@ public abstract class Store {
     }
 
     private void addExecutorService(final StoreProperties properties) {
-        ExecutorService.initialise(properties.getJobExecutorThreadCount());
+        final int threadCount = properties.getJobExecutorThreadCount();
+        final Integer batchThreadCount = properties.getJobExecutorBatchThreadCount();
+        ExecutorService.initialise(getExecutorPool(), threadCount, properties.getJobExecutorVirtualThreads());
+        ExecutorService.initialise(getScheduledExecutorPool(),
+                null != batchThreadCount && 0 < batchThreadCount ? batchThreadCount : threadCount);
     }
 
     private void addOpHandlers() {
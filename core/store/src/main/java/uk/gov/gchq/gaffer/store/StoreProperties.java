@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.DebugUtil;
+import uk.gov.gchq.gaffer.commonutil.ExecutorService;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
@@ -71,12 +72,69 @@ public class StoreProperties implements Cloneable {
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    /**
+     * The name of the executor pool used to run jobs and asynchronous tasks.
+     * Stores configured with the same pool name share the same pool.
+     */
+    public static final String EXECUTOR_SERVICE_POOL = "gaffer.store.job.executor.pool";
+
+    /**
+     * The name of the executor pool used to run scheduled jobs. Defaults to the
+     * pool used for all other jobs.
+     */
+    public static final String EXECUTOR_SERVICE_BATCH_POOL = "gaffer.store.job.executor.batch.pool";
+
+    /**
+     * The number of threads in the executor pool used to run scheduled jobs.
+     * Defaults to the job executor thread count.
+     */
+    public static final String EXECUTOR_SERVICE_BATCH_THREAD_COUNT = "gaffer.store.job.executor.batch.threads";
+
+    /**
+     * Whether jobs and asynchronous tasks should each run on their own virtual
+     * thread, if the JVM supports them. Scheduled jobs still run on the platform
+     * threads of the batch pool, so they remain limited by its thread count.
+     */
+    public static final String EXECUTOR_SERVICE_VIRTUAL_THREADS = "gaffer.store.job.executor.virtual.threads";
+
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String STRICT_JSON = JSONSerialiser.STRICT_JSON;
 
     public static final String ADMIN_AUTH = "gaffer.store.admin.auth";
 
+    /**
+     * The maximum number of elements to hold in memory when aggregating elements
+     * outside of the store, e.g. in the Aggregate operation. Once this is reached the
+     * elements are spilled to disk. A value of 0 means there is no limit.
+     */
+    public static final String AGGREGATION_MAX_ELEMENTS_IN_MEMORY = "gaffer.store.aggregation.memory.max.elements";
+    public static final String AGGREGATION_MAX_ELEMENTS_IN_MEMORY_DEFAULT = "0";
+
+    /**
+     * The number of shards to split elements into when aggregating them in memory
+     * outside of the store, e.g. in the Aggregate operation. The shards are aggregated
+     * on the common fork-join pool, so this bounds the number of threads used.
+     * A value of 1 aggregates the elements on the calling thread.
+     */
+    public static final String AGGREGATION_PARALLELISM = "gaffer.store.aggregation.parallelism";
+    public static final String AGGREGATION_PARALLELISM_DEFAULT = "1";
+
+    /**
+     * The maximum number of elements to hold in memory when sorting elements
+     * without a result limit, e.g. in the Sort operation. Once this is reached the
+     * sorted elements are spilled to disk and merged. A value of 0 means there is no limit.
+     */
+    public static final String SORT_MAX_ELEMENTS_IN_MEMORY = "gaffer.store.sort.memory.max.elements";
+    public static final String SORT_MAX_ELEMENTS_IN_MEMORY_DEFAULT = "0";
+
+    /**
+     * The directory that operations, such as Aggregate, Sort and Join, write temporary
+     * files to when they exceed their in-memory limits. Defaults to the system
+     * temporary directory.
+     */
+    public static final String SPILL_DIRECTORY = "gaffer.store.spill.directory";
+
     /**
      * CSV of extra packages to be included in the reflection scanning.
      */
@@ -404,10 +462,74 @@ public class StoreProperties implements Cloneable {
         ReflectionUtil.addReflectionPackages(packages);
     }
 
+    public int getAggregationMaxElementsInMemory() {
+        return Integer.parseInt(get(AGGREGATION_MAX_ELEMENTS_IN_MEMORY, AGGREGATION_MAX_ELEMENTS_IN_MEMORY_DEFAULT));
+    }
+
+    public void setAggregationMaxElementsInMemory(final int maxElementsInMemory) {
+        set(AGGREGATION_MAX_ELEMENTS_IN_MEMORY, String.valueOf(maxElementsInMemory));
+    }
+
+    public int getSortMaxElementsInMemory() {
+        return Integer.parseInt(get(SORT_MAX_ELEMENTS_IN_MEMORY, SORT_MAX_ELEMENTS_IN_MEMORY_DEFAULT));
+    }
+
+    public void setSortMaxElementsInMemory(final int maxElementsInMemory) {
+        set(SORT_MAX_ELEMENTS_IN_MEMORY, String.valueOf(maxElementsInMemory));
+    }
+
+    public String getSpillDirectory() {
+        return get(SPILL_DIRECTORY);
+    }
+
+    public void setSpillDirectory(final String spillDirectory) {
+        set(SPILL_DIRECTORY, spillDirectory);
+    }
+
+    public int getAggregationParallelism() {
+        return Integer.parseInt(get(AGGREGATION_PARALLELISM, AGGREGATION_PARALLELISM_DEFAULT));
+    }
+
+    public void setAggregationParallelism(final int numShards) {
+        set(AGGREGATION_PARALLELISM, String.valueOf(numShards));
+    }
+
     public Integer getJobExecutorThreadCount() {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public String getJobExecutorPool() {
+        return get(EXECUTOR_SERVICE_POOL, ExecutorService.DEFAULT_POOL);
+    }
+
+    public void setJobExecutorPool(final String pool) {
+        set(EXECUTOR_SERVICE_POOL, pool);
+    }
+
+    public String getJobExecutorBatchPool() {
+        return get(EXECUTOR_SERVICE_BATCH_POOL, getJobExecutorPool());
+    }
+
+    public void setJobExecutorBatchPool(final String pool) {
+        set(EXECUTOR_SERVICE_BATCH_POOL, pool);
+    }
+
+    public Integer getJobExecutorBatchThreadCount() {
+        return Integer.parseInt(get(EXECUTOR_SERVICE_BATCH_THREAD_COUNT, String.valueOf(getJobExecutorThreadCount())));
+    }
+
+    public void setJobExecutorBatchThreadCount(final Integer threadCount) {
+        set(EXECUTOR_SERVICE_BATCH_THREAD_COUNT, String.valueOf(threadCount));
+    }
+
+    public Boolean getJobExecutorVirtualThreads() {
+        return Boolean.valueOf(get(EXECUTOR_SERVICE_VIRTUAL_THREADS, "false"));
+    }
+
+    public void setJobExecutorVirtualThreads(final Boolean virtualThreads) {
+        set(EXECUTOR_SERVICE_VIRTUAL_THREADS, virtualThreads.toString());
+    }
+
     public void addOperationDeclarationPaths(final String... newPaths) {
         final String newPathsCsv = StringUtils.join(newPaths, ",");
         String combinedPaths = getOperationDeclarationPaths();
@@ -18,23 +18,21 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.google.common.collect.Lists;
 
+import uk.gov.gchq.gaffer.commonutil.ExecutorService;
+import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.function.UnwrapEntityId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
-import uk.gov.gchq.gaffer.data.graph.GraphWindow;
 import uk.gov.gchq.gaffer.data.graph.Walk;
-import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMap;
-import uk.gov.gchq.gaffer.data.graph.adjacency.AdjacencyMaps;
-import uk.gov.gchq.gaffer.data.graph.adjacency.PrunedAdjacencyMaps;
-import uk.gov.gchq.gaffer.data.graph.adjacency.SimpleAdjacencyMaps;
+import uk.gov.gchq.gaffer.data.graph.WalkIterable;
+import uk.gov.gchq.gaffer.data.graph.adjacency.CompactAdjacencyMap;
+import uk.gov.gchq.gaffer.data.graph.adjacency.VertexIndex;
 import uk.gov.gchq.gaffer.data.graph.entity.EntityMap;
-import uk.gov.gchq.gaffer.data.graph.entity.EntityMaps;
-import uk.gov.gchq.gaffer.data.graph.entity.SimpleEntityMaps;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
@@ -47,10 +45,13 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.koryphe.impl.function.IterableFunction;
 
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -58,36 +59,46 @@ import java.util.stream.Collectors;
  * <p>
  * The handler executes each {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}
  * operation in the parent GetWalks operation in turn and incrementally creates
- * an in-memory representation of the resulting graph. Once all GetElements
- * operations have been executed, a recursive depth-first search algorithm is
- * used to construct all of the {@link Walk}s that exist in the temporary
- * graph.
+ * an in-memory representation of the resulting graph. Each hop is stored as a
+ * {@link CompactAdjacencyMap}, which refers to vertices by their id in a shared
+ * {@link VertexIndex}. Once all GetElements operations have been executed, the
+ * {@link Walk}s that exist in the temporary graph are returned as a
+ * {@link WalkIterable}, which builds each walk lazily using a depth-first search.
  * <p>
- * The default handler has two settings which can be overridden by system
+ * The default handler has three settings which can be overridden by system
  * administrators: <ul> <li>maxHops - prevent users from executing GetWalks
  * operations that contain more than a set number of hops.</li> <li>prune -
  * toggle pruning for the in-memory graph representation. Enabling pruning
- * instructs the in-memory graph representation to discard any edges from the
- * previous GetElements operation which do not join up with any edges in the
- * current GetElements operation (orphaned edges). This reduces the memory
- * footprint of the in-memory graph representation, but requires some additional
- * processing while constructing the in-memory graph.</li> </ul>
+ * instructs the handler to work out, once all of the hops have been executed,
+ * which edges do not join up with any edges in the following hop (orphaned
+ * edges), so that they are never explored while the walks are constructed. This
+ * requires some additional processing before the first walk is returned.</li>
+ * <li>parallelism - the number of partitions the seeds of each hop are split
+ * into. Each partition is executed against the store concurrently.</li> </ul>
  * <p>
  * The maxHops setting is not set by default (i.e. there is no limit to the
- * number of hops that a user can request). The prune flag is enabled by default
- * (for applications where performance is paramount and any issues arising from
- * excessive memory usage can be mitigated, this flag can be disabled).
+ * number of hops that a user can request). The prune flag is enabled by default.
+ * The parallelism is 1 by default, so each hop is executed on the calling thread.
+ * Otherwise the first partition of each hop is executed on the calling thread
+ * and the others on the {@link #EXECUTOR_POOL} pool of the {@link ExecutorService},
+ * which is shared by all GetWalks handlers. The pool is created with enough
+ * threads for the handler with the highest parallelism, is monitored and shut
+ * down along with the other named pools, and is separate from the job pool so
+ * that a GetWalks job cannot wait on partitions queued behind it.
  * <p>
  * This operation handler can be modified by supplying an
  * operationDeclarations.json file in order to limit the maximum number of hops
- * permitted or to enable/disable the pruning feature.
+ * permitted, to enable/disable the pruning feature or to set the parallelism.
  * <p>
  * Currently the handler only supports creating {@link Walk}s which contain
  * {@link Edge}s.
  */
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
+    public static final String EXECUTOR_POOL = "get-walks";
+
     private Integer maxHops = null;
     private boolean prune = true;
+    private int parallelism = 1;
 
     @Override
     public Iterable<Walk> doOperation(final GetWalks getWalks, final Context context, final Store store) throws OperationException {
@@ -115,8 +126,9 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             throw new OperationException("GetWalks operation contains " + hops + " hops. The maximum number of hops is: " + maxHops);
         }
 
-        final AdjacencyMaps adjacencyMaps = prune && !getWalks.isIncludePartial() ? new PrunedAdjacencyMaps() : new SimpleAdjacencyMaps();
-        final EntityMaps entityMaps = new SimpleEntityMaps();
+        final VertexIndex vertexIndex = new VertexIndex();
+        final List<CompactAdjacencyMap> adjacencyMaps = new ArrayList<>(hops);
+        final List<EntityMap> entityMaps = new ArrayList<>(hops + 1);
 
         List<?> seeds = originalInput;
 
@@ -125,28 +137,22 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             if (isWhileOperation(operation)) {
                 seeds = executeWhileOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, vertexIndex, adjacencyMaps, entityMaps
                 );
             } else {
                 seeds = executeOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, vertexIndex, adjacencyMaps, entityMaps
                 );
             }
         }
 
-        // Must add an empty entity map at the end if one has not been explicitly
-        // requested by the user.
-        if (entityMaps.size() == adjacencyMaps.size()) {
-            entityMaps.add(new EntityMap());
-        }
-
-        final GraphWindow graphWindow = new GraphWindow(adjacencyMaps, entityMaps);
-
         // Track/recombine the edge objects and convert to return type
-        return Streams.toStream(originalInput)
-                .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, getWalks.isIncludePartial()).stream())
+        final List<Object> seedVertices = originalInput.stream()
+                .map(EntityId::getVertex)
                 .collect(Collectors.toList());
+        return new WalkIterable(seedVertices, vertexIndex, adjacencyMaps, entityMaps,
+                hops, getWalks.isIncludePartial(), prune && !getWalks.isIncludePartial());
     }
 
     public Integer getMaxHops() {
@@ -165,6 +171,17 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.prune = prune;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
         return 1 == operation.getOperations().size()
                 && operation.getOperations().get(0) instanceof While;
@@ -176,8 +193,9 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                           final Context context,
                                           final Store store,
                                           final int hops,
-                                          final AdjacencyMaps adjacencyMaps,
-                                          final EntityMaps entityMaps) throws OperationException {
+                                          final VertexIndex vertexIndex,
+                                          final List<CompactAdjacencyMap> adjacencyMaps,
+                                          final List<EntityMap> entityMaps) throws OperationException {
         List<?> resultSeeds = seeds;
         final While whileOp = (While) operation.getOperations().get(0);
         if (null != whileOp.getOperation()) {
@@ -212,7 +230,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 resultSeeds = executeOperation(
                         (Output) whileOpClone.getOperation(),
                         resultSeeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, vertexIndex, adjacencyMaps, entityMaps
                 );
             }
         }
@@ -226,37 +244,102 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                      final Context context,
                                      final Store store,
                                      final int hops,
-                                     final AdjacencyMaps adjacencyMaps,
-                                     final EntityMaps entityMaps) throws OperationException {
-        final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
-
-        final AdjacencyMap adjacencyMap = new AdjacencyMap();
-        final EntityMap entityMap = new EntityMap();
-
-        final List<Object> nextSeeds = new ArrayList<>();
-        for (final Element e : results) {
-            if (e instanceof Edge) {
-                final Edge edge = (Edge) e;
-                final Object nextSeed = edge.getAdjacentMatchedVertexValue();
-                nextSeeds.add(nextSeed);
-                adjacencyMap.putEdge(edge.getMatchedVertexValue(), nextSeed, edge);
-            } else {
-                final Entity entity = (Entity) e;
-                entityMap.putEntity(entity.getVertex(), entity);
+                                     final VertexIndex vertexIndex,
+                                     final List<CompactAdjacencyMap> adjacencyMaps,
+                                     final List<EntityMap> entityMaps) throws OperationException {
+        final AtomicLong resultCount = new AtomicLong();
+        final List<HopResult> results = new ArrayList<>();
+        final int numPartitions = Math.min(parallelism, seeds.size());
+        if (numPartitions < 2) {
+            results.add(executePartition(operation, seeds, resultLimit, resultCount, context, store, vertexIndex));
+        } else {
+            // Partition the seeds and execute all but the first partition on
+            // the executor, the first partition is executed on this thread.
+            // All partitions share the caller's context, so the hop runs
+            // under the GetWalks job id.
+            final int partitionSize = (seeds.size() + numPartitions - 1) / numPartitions;
+            final ScheduledExecutorService executor = ExecutorService.initialiseWithAtLeast(EXECUTOR_POOL, parallelism - 1);
+            final List<Future<HopResult>> futures = new ArrayList<>(numPartitions - 1);
+            try {
+                for (int start = partitionSize; start < seeds.size(); start += partitionSize) {
+                    final List<?> partition = seeds.subList(start, Math.min(start + partitionSize, seeds.size()));
+                    final Output<Iterable<Element>> partitionOperation = (Output<Iterable<Element>>) operation.shallowClone();
+                    final FutureTask<HopResult> future = new FutureTask<>(() -> executePartition(partitionOperation, partition,
+                            resultLimit, resultCount, context, store, vertexIndex));
+                    futures.add(future);
+                    try {
+                        executor.execute(future);
+                    } catch (final RejectedExecutionException e) {
+                        // The pool has been shut down
+                        future.run();
+                    }
+                }
+                results.add(executePartition(operation, seeds.subList(0, partitionSize),
+                        resultLimit, resultCount, context, store, vertexIndex));
+                for (final Future<HopResult> future : futures) {
+                    results.add(getResult(future));
+                }
+            } finally {
+                for (final Future<HopResult> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        // Combine the partitions in seed order
+        final HopResult hopResult = results.get(0);
+        for (int i = 1; i < results.size(); i++) {
+            final HopResult result = results.get(i);
+            hopResult.adjacencyMapBuilder.edges(result.adjacencyMapBuilder);
+            for (final Object vertex : result.entityMap.getVertices()) {
+                hopResult.entityMap.putEntities(vertex, result.entityMap.get(vertex));
             }
         }
 
+        final CompactAdjacencyMap adjacencyMap = hopResult.adjacencyMapBuilder.build();
         if (hops > adjacencyMaps.size()) {
             adjacencyMaps.add(adjacencyMap);
         }
-        entityMaps.add(entityMap);
+        entityMaps.add(hopResult.entityMap);
 
-        return nextSeeds;
+        return vertexIndex.getVertices(adjacencyMap.getAllDestinations());
+    }
+
+    private HopResult executePartition(final Output<Iterable<Element>> operation,
+                                       final List<?> seeds,
+                                       final Integer resultLimit,
+                                       final AtomicLong resultCount,
+                                       final Context context,
+                                       final Store store,
+                                       final VertexIndex vertexIndex) throws OperationException {
+        final HopResult hopResult = new HopResult();
+        final Iterable<Element> results = executeOperation(operation, seeds, context, store);
+        try {
+            for (final Element e : results) {
+                if (null != resultLimit && resultCount.incrementAndGet() > resultLimit) {
+                    throw new LimitExceededException("Limit of " + resultLimit + " exceeded.");
+                }
+                if (e instanceof Edge) {
+                    final Edge edge = (Edge) e;
+                    hopResult.adjacencyMapBuilder.edge(
+                            vertexIndex.getOrAddId(edge.getMatchedVertexValue()),
+                            vertexIndex.getOrAddId(edge.getAdjacentMatchedVertexValue()),
+                            edge);
+                } else {
+                    final Entity entity = (Entity) e;
+                    hopResult.entityMap.putEntity(entity.getVertex(), entity);
+                }
+            }
+        } finally {
+            if (results instanceof CloseableIterable) {
+                ((CloseableIterable) results).close();
+            }
+        }
+        return hopResult;
     }
 
     private Iterable<Element> executeOperation(final Output<Iterable<Element>> operation,
                                                final List<?> seeds,
-                                               final Integer resultLimit,
                                                final Context context,
                                                final Store store) throws OperationException {
 
@@ -267,64 +350,26 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 .then(OperationChain.wrap(operation))
                 .build();
 
-        // Execute an the operation chain on the supplied store and cache
-        // the seeds in memory using an ArrayList.
-        return new LimitedCloseableIterable<>(store.execute(convertedOp, context), 0, resultLimit, false);
+        // Execute an the operation chain on the supplied store.
+        return store.execute(convertedOp, context);
     }
 
-    private List<Walk> walk(final Object curr, final Object prev, final GraphWindow graphWindow, final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue, final int hops, final boolean includePartial) {
-        final List<Walk> walks = new ArrayList<>();
-
-        if (null != prev && hops != edgeQueue.size()) {
-            edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
-        }
-
-        entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
-
-        if (hops == edgeQueue.size()) {
-            final Walk walk = buildWalk(edgeQueue, entityQueue);
-            walks.add(walk);
-        } else {
-            final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
-            if (dests.isEmpty()) {
-                if (includePartial) {
-                    final Walk walk = buildWalk(edgeQueue, entityQueue);
-                    walks.add(walk);
-                }
-            } else {
-                for (final Object obj : dests) {
-                    walks.addAll(walk(obj, curr, graphWindow, edgeQueue, entityQueue, hops, includePartial));
-                }
+    private HopResult getResult(final Future<HopResult> future) throws OperationException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted while executing GetWalks hop", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof OperationException) {
+                throw (OperationException) cause;
             }
-        }
-
-        if (!edgeQueue.isEmpty()) {
-            edgeQueue.pollLast();
-        }
-
-        if (!entityQueue.isEmpty()) {
-            entityQueue.pollLast();
-        }
-
-        return walks;
-    }
-
-    private Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
-        final Walk.Builder builder = new Walk.Builder();
-
-        final Iterator<Set<Edge>> edgeIterator = edgeQueue.iterator();
-        final Iterator<Set<Entity>> entityIterator = entityQueue.iterator();
-
-        while (edgeIterator.hasNext() || entityIterator.hasNext()) {
-            if (entityIterator.hasNext()) {
-                builder.entities(entityIterator.next());
-            }
-            if (edgeIterator.hasNext()) {
-                builder.edges(edgeIterator.next());
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new OperationException("Failed to execute GetWalks hop", cause);
         }
-
-        return builder.build();
     }
 
     private void validateWhileOperation(final While whileOp) {
@@ -336,4 +381,12 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             );
         }
     }
+
+    /**
+     * The edges and entities returned for a single partition of a hop.
+     */
+    private static final class HopResult {
+        private final CompactAdjacencyMap.Builder adjacencyMapBuilder = new CompactAdjacencyMap.Builder();
+        private final EntityMap entityMap = new EntityMap();
+    }
 }
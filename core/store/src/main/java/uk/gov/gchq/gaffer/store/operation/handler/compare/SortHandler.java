@@ -16,25 +16,29 @@
 package uk.gov.gchq.gaffer.store.operation.handler.compare;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
-import uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.commonutil.iterable.LimitedHeapSortedIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Max;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.util.ExternalSorter;
 
+import java.io.File;
 import java.util.Collections;
-import java.util.Objects;
-import java.util.stream.Stream;
 
 /**
- * A {@code SortHandler} handles the {@link Sort} operation. It does that
- * in memory using the {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
- * If the resultLimit is set to one that it just deletes the operation to the
- * {@link MaxHandler}.
+ * A {@code SortHandler} handles the {@link Sort} operation.
+ * If the resultLimit is set to one then it just delegates the operation to the
+ * {@link MaxHandler}. If any other resultLimit is set then the smallest elements
+ * are kept in memory using a {@link LimitedHeapSortedIterable}.
+ * If no resultLimit is set then the elements are sorted using an {@link ExternalSorter},
+ * which spills sorted runs to disk once the number of elements reaches
+ * {@link StoreProperties#SORT_MAX_ELEMENTS_IN_MEMORY}. By default there is no
+ * limit and all the elements are sorted in memory.
  */
 public class SortHandler implements OutputOperationHandler<Sort, Iterable<? extends Element>> {
     private static final MaxHandler MAX_HANDLER = new MaxHandler();
@@ -60,18 +64,39 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             return Collections.singletonList(max);
         }
 
-        try (final Stream<? extends Element> stream =
-                     Streams.toStream(operation.getInput())
-                             .filter(Objects::nonNull)) {
-            return stream.collect(
-                    GafferCollectors.toLimitedInMemorySortedIterable(
-                            operation.getCombinedComparator(),
-                            operation.getResultLimit(),
-                            operation.isDeduplicate()
-                    )
-            );
+        try {
+            if (null != operation.getResultLimit()) {
+                final LimitedHeapSortedIterable<Element> sorted = new LimitedHeapSortedIterable<>(
+                        operation.getCombinedComparator(),
+                        operation.getResultLimit(),
+                        operation.isDeduplicate());
+                for (final Element element : operation.getInput()) {
+                    if (null != element) {
+                        sorted.add(element);
+                    }
+                }
+                return sorted;
+            }
+
+            return createExternalSorter(operation, store).sort(operation.getInput());
         } finally {
             CloseableUtil.close(operation);
         }
     }
+
+    private ExternalSorter createExternalSorter(final Sort operation, final Store store) {
+        int maxElementsInMemory = Integer.MAX_VALUE;
+        File spillDirectory = null;
+        final StoreProperties properties = null != store ? store.getProperties() : null;
+        if (null != properties) {
+            if (0 < properties.getSortMaxElementsInMemory()) {
+                maxElementsInMemory = properties.getSortMaxElementsInMemory();
+            }
+            if (null != properties.getSpillDirectory()) {
+                spillDirectory = new File(properties.getSpillDirectory());
+            }
+        }
+        return new ExternalSorter(operation.getCombinedComparator(), operation.isDeduplicate(),
+                maxElementsInMemory, spillDirectory);
+    }
 }
@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.operation.impl.function.Aggregate;
 import uk.gov.gchq.gaffer.operation.util.AggregatePair;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.validator.function.AggregateValidator;
 import uk.gov.gchq.gaffer.store.operation.validator.function.FunctionValidator;
@@ -30,6 +31,7 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.koryphe.ValidationResult;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,10 +40,25 @@ public class AggregateHandler implements OutputOperationHandler<Aggregate, Itera
 
     @Override
     public Iterable<? extends Element> doOperation(final Aggregate operation, final Context context, final Store store) throws OperationException {
-        return doOperation(operation, store.getSchema());
+        return doOperation(operation, store.getSchema(), store.getProperties());
     }
 
     public Iterable<? extends Element> doOperation(final Aggregate operation, final Schema schema) throws OperationException {
+        return doOperation(operation, schema, null);
+    }
+
+    /**
+     * Aggregates the input elements. If the store properties set a maximum number of
+     * elements to aggregate in memory then any elements beyond this are spilled to disk,
+     * otherwise the elements are aggregated in memory, split into the configured number of shards.
+     *
+     * @param operation  the aggregate operation
+     * @param schema     the schema
+     * @param properties the store properties, or null to aggregate in memory
+     * @return the aggregated elements
+     * @throws OperationException if the operation is invalid
+     */
+    public Iterable<? extends Element> doOperation(final Aggregate operation, final Schema schema, final StoreProperties properties) throws OperationException {
         if (null == operation.getInput()) {
             throw new OperationException("Aggregate operation has null iterable of elements");
         }
@@ -63,7 +80,17 @@ public class AggregateHandler implements OutputOperationHandler<Aggregate, Itera
             throw new OperationException("Aggregate operation is invalid. " + result.getErrorString());
         }
 
-        return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation));
+        if (null == properties) {
+            return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation));
+        }
+        final int maxElementsInMemory = properties.getAggregationMaxElementsInMemory();
+        if (maxElementsInMemory < 1) {
+            return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation),
+                    properties.getAggregationParallelism());
+        }
+        final String spillDirectory = properties.getSpillDirectory();
+        return AggregatorUtil.queryAggregate(operation.getInput(), schema, buildView(operation),
+                maxElementsInMemory, null == spillDirectory ? null : new File(spillDirectory));
     }
 
     private View buildView(final Aggregate operation) {
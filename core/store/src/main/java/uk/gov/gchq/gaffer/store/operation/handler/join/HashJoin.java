@@ -0,0 +1,472 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.join;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinFunction;
+import uk.gov.gchq.gaffer.store.util.SpillFile;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@code HashJoin} joins two iterables by indexing the matched side in a hash
+ * table, keyed on the result of its key function, and then looking up the key of
+ * each object on the keyed side.
+ * <p>
+ * If the matched side contains more objects than the configured memory limit
+ * then both sides are partitioned to temporary files by the hash of their keys.
+ * As objects with equal keys are always written to the same partition, each
+ * partition can then be joined on its own. A partition which is still larger
+ * than the memory limit is partitioned again, using a different part of the
+ * key hash, up to a maximum depth. The objects are written to disk as JSON
+ * using {@link SpillFile}.
+ * <p>
+ * The tuples are produced lazily as the returned iterable is consumed. Each
+ * partition is deleted as soon as it has been joined, and any remaining
+ * temporary files are deleted when the returned iterable is closed, so if the
+ * objects were spilled the returned iterable can only be iterated once.
+ */
+public class HashJoin {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HashJoin.class);
+    private static final String SPILL_FILE_PREFIX = "gaffer-join-";
+    private static final String SPILL_FILE_SUFFIX = ".partition";
+    private static final int NUM_PARTITIONS = 16;
+    private static final int MAX_PARTITION_DEPTH = 4;
+    private static final String ITERATED_MESSAGE = "Spilled join results can only be iterated once";
+
+    private final JoinFunction joinFunction;
+    private final Function keyedKeyFunction;
+    private final Function matchedKeyFunction;
+    private final MatchKey matchKey;
+    private final boolean flatten;
+    private final int maxObjectsInMemory;
+    private final File spillDirectory;
+
+    /**
+     * @param joinFunction       the function used to create the tuples for each key
+     * @param keyedKeyFunction   the function to extract the key of an object on the keyed side
+     * @param matchedKeyFunction the function to extract the key of an object on the matched side
+     * @param matchKey           the keyed side of the join
+     * @param flatten            true to produce a tuple per match, false to produce a tuple per key
+     * @param maxObjectsInMemory the maximum number of matched objects to hold in memory
+     * @param spillDirectory     the directory to write temporary files to, or null to use the default temporary directory
+     */
+    public HashJoin(final JoinFunction joinFunction,
+                    final Function keyedKeyFunction,
+                    final Function matchedKeyFunction,
+                    final MatchKey matchKey,
+                    final boolean flatten,
+                    final int maxObjectsInMemory,
+                    final File spillDirectory) {
+        if (maxObjectsInMemory < 1) {
+            throw new IllegalArgumentException("The maximum number of objects in memory must be at least 1");
+        }
+        this.joinFunction = joinFunction;
+        this.keyedKeyFunction = keyedKeyFunction;
+        this.matchedKeyFunction = matchedKeyFunction;
+        this.matchKey = matchKey;
+        this.flatten = flatten;
+        this.maxObjectsInMemory = maxObjectsInMemory;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Joins the keyed objects with the matched objects.
+     *
+     * @param keyed   the objects on the keyed side of the join
+     * @param matched the objects on the matched side of the join
+     * @return the joined tuples
+     */
+    public CloseableIterable<MapTuple> join(final Iterable<?> keyed, final Iterable<?> matched) {
+        final Map<Object, List<Object>> table = new HashMap<>();
+        final Iterator<?> matchedItr = matched.iterator();
+        int count = 0;
+        try {
+            while (count < maxObjectsInMemory && matchedItr.hasNext()) {
+                final Object obj = matchedItr.next();
+                table.computeIfAbsent(matchedKeyFunction.apply(obj), k -> new ArrayList<>()).add(obj);
+                count++;
+            }
+
+            if (!matchedItr.hasNext()) {
+                return new InMemoryJoin(keyed, table);
+            }
+
+            final Iterator<?> keyedItr = keyed.iterator();
+            try {
+                final List<Partition> partitions = partition(table.values(), matchedItr, keyedItr, 0, null);
+                LOGGER.debug("Join spilled to {} partitions", partitions.size());
+                return new SpilledJoin(partitions);
+            } finally {
+                CloseableUtil.close(keyedItr);
+            }
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to spill objects to disk during join", e);
+        } finally {
+            CloseableUtil.close(matchedItr);
+        }
+    }
+
+    /**
+     * Writes the matched and keyed objects to partition files, by key hash.
+     */
+    private List<Partition> partition(final Iterable<List<Object>> inMemory, final Iterator<?> matched,
+                                      final Iterator<?> keyed, final int depth, final File directory) throws IOException {
+        final List<Partition> partitions = new ArrayList<>(NUM_PARTITIONS);
+        final SpillFileWriter[] matchedWriters = new SpillFileWriter[NUM_PARTITIONS];
+        final SpillFileWriter[] keyedWriters = new SpillFileWriter[NUM_PARTITIONS];
+        try {
+            for (int i = 0; i < NUM_PARTITIONS; i++) {
+                matchedWriters[i] = new SpillFileWriter(createSpillFile(directory));
+                keyedWriters[i] = new SpillFileWriter(createSpillFile(directory));
+                partitions.add(new Partition(matchedWriters[i].getFile(), keyedWriters[i].getFile(), depth));
+            }
+            for (final List<Object> objects : inMemory) {
+                for (final Object obj : objects) {
+                    matchedWriters[getPartition(matchedKeyFunction.apply(obj), depth)].write(obj);
+                }
+            }
+            while (matched.hasNext()) {
+                final Object obj = matched.next();
+                matchedWriters[getPartition(matchedKeyFunction.apply(obj), depth)].write(obj);
+            }
+            while (keyed.hasNext()) {
+                final Object obj = keyed.next();
+                keyedWriters[getPartition(keyedKeyFunction.apply(obj), depth)].write(obj);
+            }
+            for (int i = 0; i < NUM_PARTITIONS; i++) {
+                matchedWriters[i].close();
+                keyedWriters[i].close();
+                partitions.get(i).matchedCount = matchedWriters[i].count;
+            }
+            return partitions;
+        } catch (final IOException | RuntimeException e) {
+            for (int i = 0; i < NUM_PARTITIONS; i++) {
+                CloseableUtil.close(matchedWriters[i], keyedWriters[i]);
+            }
+            partitions.forEach(Partition::delete);
+            throw e;
+        }
+    }
+
+    /**
+     * Selects a partition using a different part of the key hash at each depth,
+     * so that a partition can be split again if it is too large.
+     */
+    private static int getPartition(final Object key, final int depth) {
+        final int hash = Objects.hashCode(key) * 0x9E3779B9;
+        return Math.floorMod(Integer.rotateLeft(hash, depth * 4), NUM_PARTITIONS);
+    }
+
+    private File createSpillFile(final File directory) throws IOException {
+        return SpillFile.create(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, null != directory ? directory : spillDirectory);
+    }
+
+    private List<MapTuple> joinKey(final Object keyObj, final Map<Object, List<Object>> table) {
+        final List<Object> matches = table.get(keyedKeyFunction.apply(keyObj));
+        return joinFunction.join(keyObj, null != matches ? matches : Collections.emptyList(), matchKey, flatten);
+    }
+
+    /**
+     * A pair of partition files containing the objects with the same key hashes.
+     */
+    private static final class Partition {
+        private final File matchedFile;
+        private final File keyedFile;
+        private final int depth;
+        private long matchedCount;
+
+        private Partition(final File matchedFile, final File keyedFile, final int depth) {
+            this.matchedFile = matchedFile;
+            this.keyedFile = keyedFile;
+            this.depth = depth;
+        }
+
+        private void delete() {
+            SpillFile.delete(matchedFile);
+            SpillFile.delete(keyedFile);
+        }
+    }
+
+    /**
+     * Writes records containing the class name and JSON of an object.
+     */
+    private static final class SpillFileWriter implements AutoCloseable {
+        private final SpillFile.Writer writer;
+        private long count;
+
+        private SpillFileWriter(final File file) throws IOException {
+            this.writer = new SpillFile.Writer(file);
+        }
+
+        private File getFile() {
+            return writer.getFile();
+        }
+
+        private void write(final Object obj) throws IOException {
+            writer.writeTypedJson(obj);
+            count++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Reads the records written by a {@link SpillFileWriter}, one at a time.
+     */
+    private static final class SpillFileReader implements CloseableIterator<Object> {
+        private final SpillFile.Reader reader;
+        private Object next;
+        private boolean hasNext;
+        private boolean finished;
+
+        private SpillFileReader(final File file) throws IOException {
+            this.reader = new SpillFile.Reader(file);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext && !finished) {
+                try {
+                    if (!reader.hasMore()) {
+                        finished = true;
+                        close();
+                        return false;
+                    }
+                    next = reader.readTypedJson();
+                    hasNext = true;
+                } catch (final IOException e) {
+                    close();
+                    throw new GafferRuntimeException("Unable to read join spill file", e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = false;
+            return next;
+        }
+
+        @Override
+        public void close() {
+            reader.close();
+        }
+    }
+
+    /**
+     * Joins each keyed object using a hash table held entirely in memory.
+     */
+    private final class InMemoryJoin implements CloseableIterable<MapTuple> {
+        private final Iterable<?> keyed;
+        private final Map<Object, List<Object>> table;
+
+        private InMemoryJoin(final Iterable<?> keyed, final Map<Object, List<Object>> table) {
+            this.keyed = keyed;
+            this.table = table;
+        }
+
+        @Override
+        public CloseableIterator<MapTuple> iterator() {
+            return new JoinIterator(keyed.iterator(), table);
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(keyed);
+        }
+    }
+
+    /**
+     * Joins the objects of a single hash table with a stream of keyed objects.
+     */
+    private class JoinIterator implements CloseableIterator<MapTuple> {
+        private final Iterator<?> keyed;
+        private final Map<Object, List<Object>> table;
+        private Iterator<MapTuple> tuples = Collections.emptyIterator();
+
+        private JoinIterator(final Iterator<?> keyed, final Map<Object, List<Object>> table) {
+            this.keyed = keyed;
+            this.table = table;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!tuples.hasNext()) {
+                if (!keyed.hasNext()) {
+                    return false;
+                }
+                tuples = joinKey(keyed.next(), table).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public MapTuple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return tuples.next();
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(keyed);
+        }
+    }
+
+    /**
+     * Joins each partition in turn, partitioning again any that are too large.
+     */
+    private final class SpilledJoin implements CloseableIterable<MapTuple> {
+        private final List<Partition> partitions;
+        private boolean iterated;
+
+        private SpilledJoin(final List<Partition> partitions) {
+            this.partitions = partitions;
+        }
+
+        @Override
+        public CloseableIterator<MapTuple> iterator() {
+            if (iterated) {
+                throw new IllegalStateException(ITERATED_MESSAGE);
+            }
+            iterated = true;
+            return new SpilledJoinIterator(partitions);
+        }
+
+        @Override
+        public void close() {
+            partitions.forEach(Partition::delete);
+        }
+    }
+
+    private final class SpilledJoinIterator implements CloseableIterator<MapTuple> {
+        private final Deque<Partition> pending;
+
+        /**
+         * Partitions which have not yet been joined, which are deleted once joined.
+         */
+        private final List<Partition> unjoined;
+        private JoinIterator current;
+
+        private SpilledJoinIterator(final List<Partition> partitions) {
+            this.pending = new ArrayDeque<>(partitions);
+            this.unjoined = new ArrayList<>(partitions);
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (null == current || !current.hasNext()) {
+                    CloseableUtil.close(current);
+                    current = null;
+                    if (pending.isEmpty()) {
+                        return false;
+                    }
+                    current = joinPartition(pending.pop());
+                }
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read join spill files", e);
+            }
+            return true;
+        }
+
+        @Override
+        public MapTuple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private JoinIterator joinPartition(final Partition partition) throws IOException {
+            if (partition.matchedCount > maxObjectsInMemory && partition.depth < MAX_PARTITION_DEPTH) {
+                final List<Partition> subPartitions;
+                try (final SpillFileReader matched = new SpillFileReader(partition.matchedFile);
+                     final SpillFileReader keyed = new SpillFileReader(partition.keyedFile)) {
+                    subPartitions = partition(Collections.emptyList(), matched, keyed, partition.depth + 1, partition.matchedFile.getParentFile());
+                }
+                deletePartition(partition);
+                unjoined.addAll(subPartitions);
+                subPartitions.forEach(pending::push);
+                return null;
+            }
+            if (partition.matchedCount > maxObjectsInMemory) {
+                LOGGER.warn("Join partition contains {} objects with similar keys, which exceeds the limit of {}", partition.matchedCount, maxObjectsInMemory);
+            }
+
+            final Map<Object, List<Object>> table = new HashMap<>();
+            try (final SpillFileReader matched = new SpillFileReader(partition.matchedFile)) {
+                while (matched.hasNext()) {
+                    final Object obj = matched.next();
+                    table.computeIfAbsent(matchedKeyFunction.apply(obj), k -> new ArrayList<>()).add(obj);
+                }
+            }
+            return new JoinIterator(new SpillFileReader(partition.keyedFile), table) {
+                @Override
+                public void close() {
+                    super.close();
+                    deletePartition(partition);
+                }
+            };
+        }
+
+        private void deletePartition(final Partition partition) {
+            if (unjoined.remove(partition)) {
+                partition.delete();
+            }
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(current);
+            current = null;
+            pending.clear();
+            unjoined.forEach(Partition::delete);
+            unjoined.clear();
+        }
+    }
+}
@@ -23,12 +23,16 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinFunction;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinStrategy;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
+import java.io.File;
 import java.util.ArrayList;
 
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
@@ -63,6 +67,10 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
 
 
         JoinFunction joinFunction = operation.getJoinType().createInstance();
+        final JoinStrategy joinStrategy = null != operation.getJoinStrategy() ? operation.getJoinStrategy() : JoinStrategy.IN_MEMORY;
+        if (JoinStrategy.IN_MEMORY != joinStrategy && !(operation.getMatchMethod() instanceof KeyFunctionMatch)) {
+            throw new OperationException("The " + joinStrategy + " join strategy requires a " + KeyFunctionMatch.class.getSimpleName() + " match method");
+        }
 
         updateOperationInput(operation.getOperation(), null);
         Iterable<I> rightIterable =
@@ -70,6 +78,11 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
                         context,
                         store);
 
+        if (JoinStrategy.IN_MEMORY != joinStrategy) {
+            return doStrategyJoin(operation, joinStrategy, joinFunction, matchKey, limit,
+                    null != rightIterable ? rightIterable : new ArrayList<>(), store);
+        }
+
         final Iterable limitedLeftIterable;
         final Iterable limitedRightIterable;
 
@@ -82,4 +95,33 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
         }
 
     }
+
+    /**
+     * Joins the inputs using a strategy which does not need to hold all of the
+     * inputs in memory. The key functions of the {@link KeyFunctionMatch} are
+     * used to extract the keys: the first function for the keyed side and the
+     * second function for the matched side.
+     */
+    private Iterable<? extends MapTuple> doStrategyJoin(final Join<I> operation,
+                                                       final JoinStrategy joinStrategy,
+                                                       final JoinFunction joinFunction,
+                                                       final MatchKey matchKey,
+                                                       final int limit,
+                                                       final Iterable<I> rightIterable,
+                                                       final Store store) {
+        final KeyFunctionMatch match = (KeyFunctionMatch) operation.getMatchMethod();
+        final Iterable<?> keyed = MatchKey.LEFT.equals(matchKey) ? operation.getInput() : rightIterable;
+        final Iterable<?> matched = MatchKey.LEFT.equals(matchKey) ? rightIterable : operation.getInput();
+
+        if (JoinStrategy.SORT_MERGE == joinStrategy) {
+            return new SortMergeJoin(joinFunction, match.getFirstKeyFunction(), match.getSecondKeyFunction(),
+                    matchKey, operation.isFlatten(), limit).join(keyed, matched);
+        }
+
+        final StoreProperties properties = store.getProperties();
+        final String spillDirectory = null != properties ? properties.getSpillDirectory() : null;
+        return new HashJoin(joinFunction, match.getFirstKeyFunction(), match.getSecondKeyFunction(),
+                matchKey, operation.isFlatten(), limit, null != spillDirectory ? new File(spillDirectory) : null)
+                .join(keyed, matched);
+    }
 }
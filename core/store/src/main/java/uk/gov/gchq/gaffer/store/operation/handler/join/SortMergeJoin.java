@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.join;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinFunction;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * A {@code SortMergeJoin} joins two iterables which are both already sorted by
+ * their keys, by streaming through them together in a single pass.
+ * <p>
+ * Only the matched objects for the current key are held in memory, so the
+ * memory used is bounded by the largest number of matched objects sharing a
+ * key, which must not exceed the configured limit. The keys must be
+ * {@link Comparable}, with null keys ordered first. If either side is found
+ * not to be sorted then an {@link IllegalArgumentException} is thrown.
+ * <p>
+ * The tuples are produced lazily as the returned iterable is consumed.
+ */
+public class SortMergeJoin {
+    private static final Comparator<Object> KEY_COMPARATOR = Comparator.nullsFirst((a, b) -> ((Comparable) a).compareTo(b));
+
+    private final JoinFunction joinFunction;
+    private final Function keyedKeyFunction;
+    private final Function matchedKeyFunction;
+    private final MatchKey matchKey;
+    private final boolean flatten;
+    private final int maxMatchesInMemory;
+
+    /**
+     * @param joinFunction       the function used to create the tuples for each key
+     * @param keyedKeyFunction   the function to extract the key of an object on the keyed side
+     * @param matchedKeyFunction the function to extract the key of an object on the matched side
+     * @param matchKey           the keyed side of the join
+     * @param flatten            true to produce a tuple per match, false to produce a tuple per key
+     * @param maxMatchesInMemory the maximum number of matched objects with the same key
+     */
+    public SortMergeJoin(final JoinFunction joinFunction,
+                         final Function keyedKeyFunction,
+                         final Function matchedKeyFunction,
+                         final MatchKey matchKey,
+                         final boolean flatten,
+                         final int maxMatchesInMemory) {
+        if (maxMatchesInMemory < 1) {
+            throw new IllegalArgumentException("The maximum number of matches in memory must be at least 1");
+        }
+        this.joinFunction = joinFunction;
+        this.keyedKeyFunction = keyedKeyFunction;
+        this.matchedKeyFunction = matchedKeyFunction;
+        this.matchKey = matchKey;
+        this.flatten = flatten;
+        this.maxMatchesInMemory = maxMatchesInMemory;
+    }
+
+    /**
+     * Joins the keyed objects with the matched objects.
+     *
+     * @param keyed   the objects on the keyed side of the join, sorted by key
+     * @param matched the objects on the matched side of the join, sorted by key
+     * @return the joined tuples
+     */
+    public CloseableIterable<MapTuple> join(final Iterable<?> keyed, final Iterable<?> matched) {
+        return new CloseableIterable<MapTuple>() {
+            @Override
+            public CloseableIterator<MapTuple> iterator() {
+                return new SortMergeIterator(keyed.iterator(), matched.iterator());
+            }
+
+            @Override
+            public void close() {
+                CloseableUtil.close(keyed, matched);
+            }
+        };
+    }
+
+    private static int compare(final Object key, final Object otherKey) {
+        try {
+            return KEY_COMPARATOR.compare(key, otherKey);
+        } catch (final ClassCastException e) {
+            throw new IllegalArgumentException("Keys must be Comparable to use a sort-merge join", e);
+        }
+    }
+
+    private final class SortMergeIterator implements CloseableIterator<MapTuple> {
+        private final Iterator<?> keyed;
+        private final Iterator<?> matched;
+        private Iterator<MapTuple> tuples = Collections.emptyIterator();
+
+        private boolean hasKeyedKey;
+        private Object keyedKey;
+
+        private boolean hasMatchedObj;
+        private Object matchedObj;
+        private Object matchedKey;
+
+        private boolean hasGroup;
+        private Object groupKey;
+        private List<Object> group;
+
+        private SortMergeIterator(final Iterator<?> keyed, final Iterator<?> matched) {
+            this.keyed = keyed;
+            this.matched = matched;
+            advanceMatched();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!tuples.hasNext()) {
+                if (!keyed.hasNext()) {
+                    return false;
+                }
+                final Object keyObj = keyed.next();
+                final Object key = keyedKeyFunction.apply(keyObj);
+                if (hasKeyedKey && compare(key, keyedKey) < 0) {
+                    throw new IllegalArgumentException("The " + matchKey + " input is not sorted by key: " + key + " is after " + keyedKey);
+                }
+                hasKeyedKey = true;
+                keyedKey = key;
+                tuples = joinFunction.join(keyObj, getMatches(key), matchKey, flatten).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public MapTuple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return tuples.next();
+        }
+
+        private List<Object> getMatches(final Object key) {
+            if (hasGroup && compare(groupKey, key) == 0) {
+                return group;
+            }
+
+            while (hasMatchedObj && compare(matchedKey, key) < 0) {
+                advanceMatched();
+            }
+
+            group = new ArrayList<>();
+            groupKey = key;
+            hasGroup = true;
+            while (hasMatchedObj && compare(matchedKey, key) == 0) {
+                if (group.size() >= maxMatchesInMemory) {
+                    throw new LimitExceededException("Limit of " + maxMatchesInMemory + " matches for a single key exceeded.");
+                }
+                group.add(matchedObj);
+                advanceMatched();
+            }
+            return group;
+        }
+
+        private void advanceMatched() {
+            if (matched.hasNext()) {
+                final Object obj = matched.next();
+                final Object key = matchedKeyFunction.apply(obj);
+                if (hasMatchedObj && compare(key, matchedKey) < 0) {
+                    throw new IllegalArgumentException("The " + (MatchKey.LEFT.equals(matchKey) ? MatchKey.RIGHT : MatchKey.LEFT) + " input is not sorted by key: " + key + " is after " + matchedKey);
+                }
+                hasMatchedObj = true;
+                matchedObj = obj;
+                matchedKey = key;
+            } else {
+                hasMatchedObj = false;
+                matchedObj = null;
+            }
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(keyed, matched);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Wrapper around the {@link CacheServiceLoader} to provide an interface for handling
@@ -38,6 +39,18 @@ public class NamedOperationCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NamedOperationCache.class);
     private static final String CACHE_NAME = "NamedOperation";
+    private static final AtomicLong MODIFICATION_COUNT = new AtomicLong();
+
+    /**
+     * Gets the number of times named operations have been added to, deleted
+     * from or cleared from the cache in this JVM. This can be used to
+     * invalidate anything derived from the named operations in the cache.
+     *
+     * @return the modification count
+     */
+    public static long getModificationCount() {
+        return MODIFICATION_COUNT.get();
+    }
 
     /**
      * If the user is just adding to the cache, ie the overwrite flag is set to false, then no security is added.
@@ -162,6 +175,8 @@ public class NamedOperationCache {
             CacheServiceLoader.getService().clearCache(CACHE_NAME);
         } catch (final CacheOperationException e) {
             throw new CacheOperationFailedException("Failed to clear cache", e);
+        } finally {
+            MODIFICATION_COUNT.incrementAndGet();
         }
     }
 
@@ -175,6 +190,7 @@ public class NamedOperationCache {
      */
     public void deleteFromCache(final String name) throws CacheOperationFailedException {
         CacheServiceLoader.getService().removeFromCache(CACHE_NAME, name);
+        MODIFICATION_COUNT.incrementAndGet();
 
         if (null != CacheServiceLoader.getService().getFromCache(CACHE_NAME, name)) {
             throw new CacheOperationFailedException("Failed to remove " + name + " from cache");
@@ -200,6 +216,8 @@ public class NamedOperationCache {
             }
         } catch (final CacheOperationException e) {
             throw new CacheOperationFailedException(e);
+        } finally {
+            MODIFICATION_COUNT.incrementAndGet();
         }
     }
 
@@ -31,6 +31,8 @@ import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
 import uk.gov.gchq.koryphe.function.KorypheFunction;
 import uk.gov.gchq.koryphe.predicate.KoryphePredicate;
 
+import java.io.File;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -39,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Utility methods to help with doing aggregation of elements. Aggregation differs
@@ -84,6 +87,27 @@ public final class AggregatorUtil {
         return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
     }
 
+    /**
+     * Applies ingest aggregation to the provided iterable of {@link Element}s,
+     * holding at most the given number of elements in memory. If there are more
+     * elements than this, they are spilled to temporary files in the given directory
+     * and merged when the results are iterated over.
+     *
+     * @param elements            the elements to be aggregated
+     * @param schema              the schema containing the aggregators and groupBy properties to use
+     * @param maxElementsInMemory the maximum number of elements to hold in memory, or 0 for no limit
+     * @param spillDirectory      the directory to spill to, or null for the default temporary directory
+     * @return the aggregated elements.
+     * @see ExternalAggregator
+     */
+    public static CloseableIterable<Element> ingestAggregate(final Iterable<? extends Element> elements, final Schema schema, final int maxElementsInMemory, final File spillDirectory) {
+        if (maxElementsInMemory < 1) {
+            return ingestAggregate(elements, schema);
+        }
+        return new ExternalAggregator(schema, new ToIngestElementKey(schema), new IngestElementBinaryOperator(schema), maxElementsInMemory, spillDirectory)
+                .aggregate(elements);
+    }
+
     /**
      * Applies query time aggregation to the provided iterable of {@link Element}s.
      * This uses the groupBy properties in the provided {@link View} or {@link Schema} to group
@@ -121,6 +145,125 @@ public final class AggregatorUtil {
         return new ChainedIterable<>(aggregatedElements, nonAggregatedElements);
     }
 
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s,
+     * holding at most the given number of elements in memory. If there are more
+     * elements than this, they are spilled to temporary files in the given directory
+     * and merged when the results are iterated over.
+     * <p>
+     * Spilled elements are serialised using the schema, so if the view contains
+     * transient properties the aggregation is done in memory instead.
+     *
+     * @param elements            the elements to be aggregated
+     * @param schema              the schema containing the aggregators and groupBy properties to use
+     * @param view                the view containing the aggregators and groupBy properties to use
+     * @param maxElementsInMemory the maximum number of elements to hold in memory, or 0 for no limit
+     * @param spillDirectory      the directory to spill to, or null for the default temporary directory
+     * @return the aggregated elements.
+     * @see ExternalAggregator
+     */
+    public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view, final int maxElementsInMemory, final File spillDirectory) {
+        if (maxElementsInMemory < 1 || null == view || hasTransientProperties(view)) {
+            return queryAggregate(elements, schema, view);
+        }
+        return new ExternalAggregator(schema, new ToQueryElementKey(schema, view), new QueryElementBinaryOperator(schema, view), maxElementsInMemory, spillDirectory)
+                .aggregate(elements);
+    }
+
+    /**
+     * Applies query time aggregation to the provided iterable of {@link Element}s,
+     * split into the given number of shards.
+     * <p>
+     * The elements are split into chunks, and each chunk is sharded by the hash of
+     * its {@link ToQueryElementKey}. Each shard is then aggregated independently, so
+     * elements with the same key are always aggregated in the same shard. The
+     * aggregated shards are concatenated to form the result.
+     * <p>
+     * The chunks and shards are processed using parallel streams, so they run on the
+     * common fork-join pool. The number of shards therefore bounds, but does not set,
+     * the number of threads used.
+     * <p>
+     * NOTE - this is done in memory so the size of the iterable should be limited.
+     *
+     * @param elements  the elements to be aggregated
+     * @param schema    the schema containing the aggregators and groupBy properties to use
+     * @param view      the view containing the aggregators and groupBy properties to use
+     * @param numShards the number of shards to split the elements into, 1 or less aggregates on the calling thread
+     * @return the aggregated elements.
+     */
+    public static CloseableIterable<Element> queryAggregate(final Iterable<? extends Element> elements, final Schema schema, final View view, final int numShards) {
+        if (numShards < 2) {
+            return queryAggregate(elements, schema, view);
+        }
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+        final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
+        final List<Element> aggregatableElements = new ArrayList<>();
+        final List<Element> nonAggregatedElements = new ArrayList<>();
+        for (final Element element : elements) {
+            if (null != element) {
+                if (aggregatedGroups.contains(element.getGroup())) {
+                    aggregatableElements.add(element);
+                } else {
+                    nonAggregatedElements.add(element);
+                }
+            }
+        }
+
+        final ToQueryElementKey toKey = new ToQueryElementKey(schema, view);
+        final int chunkSize = (aggregatableElements.size() + numShards - 1) / numShards;
+
+        // Each chunk is sharded by key hash, so that no two shards share a key.
+        final List<List<List<Map.Entry<Element, Element>>>> shardedChunks = IntStream.range(0, numShards)
+                .parallel()
+                .mapToObj(chunk -> shard(aggregatableElements.subList(Math.min(chunk * chunkSize, aggregatableElements.size()),
+                        Math.min((chunk + 1) * chunkSize, aggregatableElements.size())), toKey, numShards))
+                .collect(Collectors.toList());
+
+        // Each shard is aggregated across all of the chunks, with its own operator.
+        final List<Iterable<Element>> aggregatedShards = IntStream.range(0, numShards)
+                .parallel()
+                .mapToObj(shard -> {
+                    final QueryElementBinaryOperator aggregator = new QueryElementBinaryOperator(schema, view);
+                    final Map<Element, Element> aggregated = new HashMap<>();
+                    for (final List<List<Map.Entry<Element, Element>>> shards : shardedChunks) {
+                        for (final Map.Entry<Element, Element> entry : shards.get(shard)) {
+                            aggregated.merge(entry.getKey(), entry.getValue(), aggregator);
+                        }
+                    }
+                    return (Iterable<Element>) aggregated.values();
+                })
+                .collect(Collectors.toList());
+
+        aggregatedShards.add(nonAggregatedElements);
+        return new ChainedIterable<>(aggregatedShards.toArray(new Iterable[aggregatedShards.size()]));
+    }
+
+    private static List<List<Map.Entry<Element, Element>>> shard(final List<Element> elements, final ToElementKey toKey, final int numShards) {
+        final List<List<Map.Entry<Element, Element>>> shards = new ArrayList<>(numShards);
+        for (int i = 0; i < numShards; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (final Element element : elements) {
+            final Element key = toKey.apply(element);
+            shards.get(Math.floorMod(key.hashCode(), numShards)).add(new AbstractMap.SimpleImmutableEntry<>(key, element));
+        }
+        return shards;
+    }
+
+    private static boolean hasTransientProperties(final View view) {
+        for (final String group : view.getGroups()) {
+            if (!view.getElement(group).getTransientProperties().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * A Function that takes and element as input and outputs an element key that consists of
      * the Group-by values in the {@link Schema}, the Identifiers and the Group. These act as a key and can be used in a
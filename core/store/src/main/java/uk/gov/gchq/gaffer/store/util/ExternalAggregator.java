@@ -0,0 +1,496 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * An {@code ExternalAggregator} aggregates {@link Element}s whilst holding at
+ * most a configured number of aggregated elements in memory.
+ * <p>
+ * Elements are aggregated in a hash map keyed on their group-by key. When the
+ * map reaches the configured size, its contents are written to a temporary file
+ * as a run, ordered by the hash of the key, and the map is cleared. Once all the
+ * elements have been consumed, the runs are merged in a streaming pass: as every
+ * run is ordered by key hash, only the elements sharing a single key hash need
+ * to be held in memory whilst they are aggregated.
+ * </p>
+ * <p>
+ * At most {@code maxMergeFanIn} runs are read at once, so that the number of open
+ * files is bounded. If there are more runs than that, groups of runs are first
+ * merged into larger intermediate runs until few enough remain.
+ * </p>
+ * <p>
+ * The elements are written to disk using an {@link ElementSerialiser} for the
+ * schema, so only the properties defined in the schema are retained. Elements
+ * in groups that are not aggregated are also spilled to disk once the limit is
+ * reached, and are returned after the aggregated elements. The temporary files
+ * are written using {@link SpillFile}. Each file is deleted as soon as it has been
+ * read, or when the returned iterable is closed, so if any elements were spilled
+ * the returned iterable can only be iterated once.
+ * </p>
+ */
+public class ExternalAggregator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalAggregator.class);
+    private static final String SPILL_FILE_PREFIX = "gaffer-aggregation-";
+    private static final String SPILL_FILE_SUFFIX = ".run";
+
+    private static final String ITERATED_MESSAGE = "Spilled aggregation results can only be iterated once";
+
+    public static final int DEFAULT_MAX_MERGE_FAN_IN = 64;
+
+    private final Collection<String> aggregatedGroups;
+    private final Function<Element, Element> toKey;
+    private final BinaryOperator<Element> aggregator;
+    private final ElementSerialiser serialiser;
+    private final int maxElementsInMemory;
+    private final File spillDirectory;
+    private final int maxMergeFanIn;
+
+    /**
+     * @param schema              the schema, used to identify aggregated groups and to serialise the elements
+     * @param toKey               the function to extract the group-by key of an element
+     * @param aggregator          the function to aggregate two elements with the same key
+     * @param maxElementsInMemory the maximum number of elements to hold in memory before spilling to disk
+     * @param spillDirectory      the directory to write temporary files to, or null to use the default temporary directory
+     */
+    public ExternalAggregator(final Schema schema,
+                              final Function<Element, Element> toKey,
+                              final BinaryOperator<Element> aggregator,
+                              final int maxElementsInMemory,
+                              final File spillDirectory) {
+        this(schema, toKey, aggregator, maxElementsInMemory, spillDirectory, DEFAULT_MAX_MERGE_FAN_IN);
+    }
+
+    /**
+     * @param schema              the schema, used to identify aggregated groups and to serialise the elements
+     * @param toKey               the function to extract the group-by key of an element
+     * @param aggregator          the function to aggregate two elements with the same key
+     * @param maxElementsInMemory the maximum number of elements to hold in memory before spilling to disk
+     * @param spillDirectory      the directory to write temporary files to, or null to use the default temporary directory
+     * @param maxMergeFanIn       the maximum number of runs to read at once
+     */
+    public ExternalAggregator(final Schema schema,
+                              final Function<Element, Element> toKey,
+                              final BinaryOperator<Element> aggregator,
+                              final int maxElementsInMemory,
+                              final File spillDirectory,
+                              final int maxMergeFanIn) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (maxElementsInMemory < 1) {
+            throw new IllegalArgumentException("The maximum number of elements in memory must be at least 1");
+        }
+        if (maxMergeFanIn < 2) {
+            throw new IllegalArgumentException("The maximum merge fan-in must be at least 2");
+        }
+        this.aggregatedGroups = schema.getAggregatedGroups();
+        this.toKey = toKey;
+        this.aggregator = aggregator;
+        this.serialiser = new ElementSerialiser(schema);
+        this.maxElementsInMemory = maxElementsInMemory;
+        this.spillDirectory = spillDirectory;
+        this.maxMergeFanIn = maxMergeFanIn;
+    }
+
+    /**
+     * Aggregates the provided elements.
+     *
+     * @param elements the elements to aggregate
+     * @return the aggregated elements, followed by the elements that are not aggregated
+     */
+    public CloseableIterable<Element> aggregate(final Iterable<? extends Element> elements) {
+        final Map<Element, Element> aggregated = new HashMap<>();
+        final List<Element> nonAggregated = new ArrayList<>();
+        final List<File> runs = new ArrayList<>();
+        SpillFileWriter nonAggregatedWriter = null;
+
+        try {
+            for (final Element element : elements) {
+                if (null != element) {
+                    if (aggregatedGroups.contains(element.getGroup())) {
+                        aggregated.merge(toKey.apply(element), element, aggregator);
+                        if (aggregated.size() >= maxElementsInMemory) {
+                            runs.add(writeRun(aggregated));
+                            aggregated.clear();
+                        }
+                    } else {
+                        nonAggregated.add(element);
+                        if (nonAggregated.size() >= maxElementsInMemory) {
+                            if (null == nonAggregatedWriter) {
+                                nonAggregatedWriter = new SpillFileWriter(SpillFile.create(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, spillDirectory));
+                            }
+                            for (final Element nonAggregatedElement : nonAggregated) {
+                                nonAggregatedWriter.write(0, nonAggregatedElement);
+                            }
+                            nonAggregated.clear();
+                        }
+                    }
+                }
+            }
+
+            if (runs.isEmpty() && null == nonAggregatedWriter) {
+                return new ChainedIterable<>(aggregated.values(), nonAggregated);
+            }
+
+            if (!aggregated.isEmpty()) {
+                runs.add(writeRun(aggregated));
+                aggregated.clear();
+            }
+            reduceRuns(runs);
+            final List<File> nonAggregatedFiles = new ArrayList<>(1);
+            if (null != nonAggregatedWriter) {
+                nonAggregatedWriter.close();
+                nonAggregatedFiles.add(nonAggregatedWriter.getFile());
+            }
+            LOGGER.debug("Aggregation spilled {} runs to disk", runs.size());
+            return new ChainedIterable<>(new MergedRuns(runs), new SpilledElements(nonAggregatedFiles), nonAggregated);
+        } catch (final IOException | RuntimeException e) {
+            CloseableUtil.close(nonAggregatedWriter);
+            if (null != nonAggregatedWriter) {
+                SpillFile.delete(nonAggregatedWriter.getFile());
+            }
+            runs.forEach(SpillFile::delete);
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new GafferRuntimeException("Unable to spill elements to disk during aggregation", e);
+        }
+    }
+
+    private File writeRun(final Map<Element, Element> aggregated) throws IOException {
+        final File file = SpillFile.create(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, spillDirectory);
+        try (final SpillFileWriter writer = new SpillFileWriter(file)) {
+            final List<Map.Entry<Element, Element>> entries = new ArrayList<>(aggregated.entrySet());
+            entries.sort(Comparator.comparingInt(entry -> entry.getKey().hashCode()));
+            for (final Map.Entry<Element, Element> entry : entries) {
+                writer.write(entry.getKey().hashCode(), entry.getValue());
+            }
+        } catch (final IOException | RuntimeException e) {
+            SpillFile.delete(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Merges the oldest runs into a new run until there are no more than
+     * {@code maxMergeFanIn} runs. Merged runs are removed from the list and deleted.
+     */
+    private void reduceRuns(final List<File> runs) throws IOException {
+        while (runs.size() > maxMergeFanIn) {
+            final List<File> group = runs.subList(0, maxMergeFanIn);
+            final File merged = mergeRuns(new ArrayList<>(group));
+            group.forEach(SpillFile::delete);
+            group.clear();
+            runs.add(merged);
+        }
+    }
+
+    private File mergeRuns(final List<File> runs) throws IOException {
+        final File file = SpillFile.create(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, spillDirectory);
+        try (final SpillFileWriter writer = new SpillFileWriter(file);
+             final MergedRunsIterator merged = new MergedRunsIterator(runs)) {
+            while (merged.hasNext()) {
+                final Element element = merged.next();
+                writer.write(merged.getHash(), element);
+            }
+        } catch (final IOException | RuntimeException e) {
+            SpillFile.delete(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Writes records containing a key hash and a serialised element.
+     */
+    private final class SpillFileWriter implements AutoCloseable {
+        private final SpillFile.Writer writer;
+
+        private SpillFileWriter(final File file) throws IOException {
+            this.writer = new SpillFile.Writer(file);
+        }
+
+        private File getFile() {
+            return writer.getFile();
+        }
+
+        private void write(final int hash, final Element element) throws IOException {
+            writer.writeInt(hash);
+            writer.writeBytes(serialiser.serialise(element));
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Reads the records written by a {@link SpillFileWriter}, one at a time.
+     */
+    private final class SpillFileReader implements AutoCloseable {
+        private final SpillFile.Reader reader;
+        private int hash;
+        private byte[] bytes;
+
+        private SpillFileReader(final File file) throws IOException {
+            this.reader = new SpillFile.Reader(file);
+        }
+
+        /**
+         * @return true if a record was read, false if the end of the file was reached
+         * @throws IOException if the file could not be read
+         */
+        private boolean advance() throws IOException {
+            if (!reader.hasMore()) {
+                bytes = null;
+                return false;
+            }
+            hash = reader.readInt();
+            bytes = reader.readBytes();
+            return true;
+        }
+
+        private int getHash() {
+            return hash;
+        }
+
+        private Element getElement() throws SerialisationException {
+            return serialiser.deserialise(bytes);
+        }
+
+        /**
+         * Closes the reader and deletes its file, once all of its records have been read.
+         */
+        private void closeAndDelete() {
+            close();
+            SpillFile.delete(reader.getFile());
+        }
+
+        @Override
+        public void close() {
+            reader.close();
+        }
+    }
+
+    /**
+     * Merges the sorted runs, aggregating the elements with the same key.
+     */
+    private final class MergedRuns implements CloseableIterable<Element> {
+        private final List<File> runs;
+        private boolean iterated;
+
+        private MergedRuns(final List<File> runs) {
+            this.runs = runs;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            if (iterated) {
+                throw new IllegalStateException(ITERATED_MESSAGE);
+            }
+            iterated = true;
+            return new MergedRunsIterator(runs);
+        }
+
+        @Override
+        public void close() {
+            runs.forEach(SpillFile::delete);
+        }
+    }
+
+    private final class MergedRunsIterator implements CloseableIterator<Element> {
+        private final PriorityQueue<SpillFileReader> readers;
+        private Iterator<Element> currentKeyHash;
+        private int hash;
+
+        private MergedRunsIterator(final List<File> runs) {
+            readers = new PriorityQueue<>(Math.max(1, runs.size()), Comparator.comparingInt(SpillFileReader::getHash));
+            try {
+                for (final File run : runs) {
+                    final SpillFileReader reader = new SpillFileReader(run);
+                    if (reader.advance()) {
+                        readers.add(reader);
+                    } else {
+                        reader.closeAndDelete();
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read aggregation spill files", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == currentKeyHash || !currentKeyHash.hasNext()) {
+                if (readers.isEmpty()) {
+                    return false;
+                }
+                currentKeyHash = aggregateNextKeyHash();
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentKeyHash.next();
+        }
+
+        /**
+         * @return the key hash of the element last returned by {@link #next()}
+         */
+        private int getHash() {
+            return hash;
+        }
+
+        private Iterator<Element> aggregateNextKeyHash() {
+            hash = readers.peek().getHash();
+            final Map<Element, Element> aggregated = new LinkedHashMap<>();
+            try {
+                while (!readers.isEmpty() && hash == readers.peek().getHash()) {
+                    final SpillFileReader reader = readers.poll();
+                    final Element element = reader.getElement();
+                    aggregated.merge(toKey.apply(element), element, aggregator);
+                    if (reader.advance()) {
+                        readers.add(reader);
+                    } else {
+                        reader.closeAndDelete();
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read aggregation spill files", e);
+            }
+            return aggregated.values().iterator();
+        }
+
+        @Override
+        public void close() {
+            readers.forEach(SpillFileReader::close);
+            readers.clear();
+        }
+    }
+
+    /**
+     * Streams the elements from spill files without aggregating them.
+     */
+    private final class SpilledElements implements CloseableIterable<Element> {
+        private final List<File> files;
+        private boolean iterated;
+
+        private SpilledElements(final List<File> files) {
+            this.files = files;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            if (iterated) {
+                throw new IllegalStateException(ITERATED_MESSAGE);
+            }
+            iterated = true;
+            return new CloseableIterator<Element>() {
+                private final Iterator<File> fileItr = files.iterator();
+                private SpillFileReader reader;
+                private boolean hasRecord;
+
+                @Override
+                public boolean hasNext() {
+                    try {
+                        while (!hasRecord) {
+                            if (null != reader) {
+                                hasRecord = reader.advance();
+                                if (hasRecord) {
+                                    break;
+                                }
+                                reader.closeAndDelete();
+                                reader = null;
+                            }
+                            if (!fileItr.hasNext()) {
+                                return false;
+                            }
+                            reader = new SpillFileReader(fileItr.next());
+                        }
+                    } catch (final IOException e) {
+                        close();
+                        throw new GafferRuntimeException("Unable to read aggregation spill files", e);
+                    }
+                    return true;
+                }
+
+                @Override
+                public Element next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    hasRecord = false;
+                    try {
+                        return reader.getElement();
+                    } catch (final SerialisationException e) {
+                        close();
+                        throw new GafferRuntimeException("Unable to read aggregation spill files", e);
+                    }
+                }
+
+                @Override
+                public void close() {
+                    if (null != reader) {
+                        reader.close();
+                        reader = null;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            files.forEach(SpillFile::delete);
+        }
+    }
+}
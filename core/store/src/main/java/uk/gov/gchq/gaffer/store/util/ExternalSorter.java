@@ -0,0 +1,392 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * An {@code ExternalSorter} sorts {@link Element}s whilst holding at most a
+ * configured number of elements in memory.
+ * <p>
+ * Elements are buffered in an array list. When the buffer reaches the configured
+ * size it is sorted and written to a temporary file as a run, and the buffer is
+ * cleared. Once all the elements have been consumed, the runs are lazily merged
+ * as the returned iterable is consumed, so only one element per run is held in
+ * memory. If the elements all fit in memory then nothing is written to disk.
+ * </p>
+ * <p>
+ * At most {@code maxMergeFanIn} runs are read at once, so that the number of open
+ * files is bounded. If there are more runs than that, consecutive groups of runs
+ * are first merged into larger intermediate runs until few enough remain.
+ * </p>
+ * <p>
+ * Elements which are equal according to the comparator are returned in the
+ * order they were provided. The elements are written to disk using the
+ * {@link JSONSerialiser}, as they may not conform to a schema. The temporary
+ * files are written using {@link SpillFile}. Each file is deleted as soon as it
+ * has been read, or when the returned iterable is closed, so if any elements were
+ * spilled the returned iterable can only be iterated once.
+ * </p>
+ */
+public class ExternalSorter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExternalSorter.class);
+    private static final String SPILL_FILE_PREFIX = "gaffer-sort-";
+    private static final String SPILL_FILE_SUFFIX = ".run";
+    private static final String ITERATED_MESSAGE = "Spilled sort results can only be iterated once";
+
+    public static final int DEFAULT_MAX_MERGE_FAN_IN = 64;
+
+    private final Comparator<Element> comparator;
+    private final boolean deduplicate;
+    private final int maxElementsInMemory;
+    private final File spillDirectory;
+    private final int maxMergeFanIn;
+
+    /**
+     * @param comparator          the comparator to sort the elements with
+     * @param deduplicate         true if duplicate elements should be removed
+     * @param maxElementsInMemory the maximum number of elements to hold in memory before spilling to disk
+     * @param spillDirectory      the directory to write temporary files to, or null to use the default temporary directory
+     */
+    public ExternalSorter(final Comparator<Element> comparator,
+                          final boolean deduplicate,
+                          final int maxElementsInMemory,
+                          final File spillDirectory) {
+        this(comparator, deduplicate, maxElementsInMemory, spillDirectory, DEFAULT_MAX_MERGE_FAN_IN);
+    }
+
+    /**
+     * @param comparator          the comparator to sort the elements with
+     * @param deduplicate         true if duplicate elements should be removed
+     * @param maxElementsInMemory the maximum number of elements to hold in memory before spilling to disk
+     * @param spillDirectory      the directory to write temporary files to, or null to use the default temporary directory
+     * @param maxMergeFanIn       the maximum number of runs to read at once
+     */
+    public ExternalSorter(final Comparator<Element> comparator,
+                          final boolean deduplicate,
+                          final int maxElementsInMemory,
+                          final File spillDirectory,
+                          final int maxMergeFanIn) {
+        if (null == comparator) {
+            throw new IllegalArgumentException("Comparator is required");
+        }
+        if (maxElementsInMemory < 1) {
+            throw new IllegalArgumentException("The maximum number of elements in memory must be at least 1");
+        }
+        if (maxMergeFanIn < 2) {
+            throw new IllegalArgumentException("The maximum merge fan-in must be at least 2");
+        }
+        this.comparator = comparator;
+        this.deduplicate = deduplicate;
+        this.maxElementsInMemory = maxElementsInMemory;
+        this.spillDirectory = spillDirectory;
+        this.maxMergeFanIn = maxMergeFanIn;
+    }
+
+    /**
+     * Sorts the provided elements. Null elements are skipped.
+     *
+     * @param elements the elements to sort
+     * @return the sorted elements
+     */
+    public CloseableIterable<Element> sort(final Iterable<? extends Element> elements) {
+        final List<Element> buffer = new ArrayList<>();
+        final List<File> runs = new ArrayList<>();
+
+        try {
+            for (final Element element : elements) {
+                if (null != element) {
+                    buffer.add(element);
+                    if (buffer.size() >= maxElementsInMemory) {
+                        runs.add(writeRun(buffer));
+                        buffer.clear();
+                    }
+                }
+            }
+
+            if (runs.isEmpty()) {
+                return new WrappedCloseableIterable<>(sortBuffer(buffer));
+            }
+
+            if (!buffer.isEmpty()) {
+                runs.add(writeRun(buffer));
+                buffer.clear();
+            }
+            reduceRuns(runs);
+            LOGGER.debug("Sort spilled {} runs to disk", runs.size());
+            return new MergedRuns(runs);
+        } catch (final IOException | RuntimeException e) {
+            runs.forEach(SpillFile::delete);
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new GafferRuntimeException("Unable to spill elements to disk during sort", e);
+        }
+    }
+
+    /**
+     * Sorts the buffer, which is a stable sort, and removes any duplicates.
+     */
+    private List<Element> sortBuffer(final List<Element> buffer) {
+        buffer.sort(comparator);
+        if (!deduplicate) {
+            return buffer;
+        }
+
+        // Duplicates compare as equal, so only need to be looked for amongst ties.
+        final List<Element> result = new ArrayList<>(buffer.size());
+        final Set<Element> ties = new HashSet<>();
+        Element previous = null;
+        for (final Element element : buffer) {
+            if (null == previous || 0 != comparator.compare(previous, element)) {
+                ties.clear();
+            }
+            if (ties.add(element)) {
+                result.add(element);
+            }
+            previous = element;
+        }
+        return result;
+    }
+
+    private File writeRun(final List<Element> buffer) throws IOException {
+        final File file = SpillFile.create(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, spillDirectory);
+        try (final SpillFile.Writer writer = new SpillFile.Writer(file)) {
+            for (final Element element : sortBuffer(buffer)) {
+                writer.writeJson(element);
+            }
+        } catch (final IOException | RuntimeException e) {
+            SpillFile.delete(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Merges consecutive groups of runs until there are no more than
+     * {@code maxMergeFanIn} runs. The runs are kept in order, so that the sort
+     * remains stable. Merged runs are replaced in the list and deleted.
+     */
+    private void reduceRuns(final List<File> runs) throws IOException {
+        while (runs.size() > maxMergeFanIn) {
+            final List<File> merged = new ArrayList<>();
+            try {
+                for (int start = 0; start < runs.size(); start += maxMergeFanIn) {
+                    final List<File> group = runs.subList(start, Math.min(start + maxMergeFanIn, runs.size()));
+                    if (1 == group.size()) {
+                        merged.add(group.get(0));
+                    } else {
+                        merged.add(mergeRuns(group));
+                        group.forEach(SpillFile::delete);
+                    }
+                }
+            } catch (final IOException | RuntimeException e) {
+                merged.forEach(SpillFile::delete);
+                throw e;
+            }
+            runs.clear();
+            runs.addAll(merged);
+        }
+    }
+
+    private File mergeRuns(final List<File> runs) throws IOException {
+        final File file = SpillFile.create(SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, spillDirectory);
+        try (final SpillFile.Writer writer = new SpillFile.Writer(file);
+             final MergedRunsIterator merged = new MergedRunsIterator(runs)) {
+            while (merged.hasNext()) {
+                writer.writeJson(merged.next());
+            }
+        } catch (final IOException | RuntimeException e) {
+            SpillFile.delete(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Reads the elements in a run, one at a time.
+     */
+    private static final class RunReader implements AutoCloseable {
+        private final int index;
+        private final SpillFile.Reader reader;
+        private Element element;
+
+        private RunReader(final int index, final File file) throws IOException {
+            this.index = index;
+            this.reader = new SpillFile.Reader(file);
+        }
+
+        /**
+         * @return true if an element was read, false if the end of the run was reached
+         * @throws IOException if the file could not be read
+         */
+        private boolean advance() throws IOException {
+            if (!reader.hasMore()) {
+                element = null;
+                return false;
+            }
+            element = reader.readJson(Element.class);
+            return true;
+        }
+
+        private int getIndex() {
+            return index;
+        }
+
+        private Element getElement() {
+            return element;
+        }
+
+        /**
+         * Closes the reader and deletes its file, once all of its elements have been read.
+         */
+        private void closeAndDelete() {
+            close();
+            SpillFile.delete(reader.getFile());
+        }
+
+        @Override
+        public void close() {
+            reader.close();
+        }
+    }
+
+    /**
+     * Merges the sorted runs.
+     */
+    private final class MergedRuns implements CloseableIterable<Element> {
+        private final List<File> runs;
+        private boolean iterated;
+
+        private MergedRuns(final List<File> runs) {
+            this.runs = runs;
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            if (iterated) {
+                throw new IllegalStateException(ITERATED_MESSAGE);
+            }
+            iterated = true;
+            return new MergedRunsIterator(runs);
+        }
+
+        @Override
+        public void close() {
+            runs.forEach(SpillFile::delete);
+        }
+    }
+
+    private final class MergedRunsIterator implements CloseableIterator<Element> {
+        private final PriorityQueue<RunReader> readers;
+        private final Set<Element> ties = new HashSet<>();
+        private Element previous;
+        private Element nextElement;
+
+        private MergedRunsIterator(final List<File> runs) {
+            // Ties are broken by run index, as the earlier runs contain the earlier elements.
+            readers = new PriorityQueue<>(Math.max(1, runs.size()),
+                    Comparator.comparing(RunReader::getElement, comparator).thenComparingInt(RunReader::getIndex));
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    final RunReader reader = new RunReader(i, runs.get(i));
+                    if (reader.advance()) {
+                        readers.add(reader);
+                    } else {
+                        reader.closeAndDelete();
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read sort spill files", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextElement) {
+                if (readers.isEmpty()) {
+                    return false;
+                }
+                final Element element = poll();
+                if (!deduplicate) {
+                    nextElement = element;
+                } else {
+                    if (null == previous || 0 != comparator.compare(previous, element)) {
+                        ties.clear();
+                    }
+                    previous = element;
+                    if (ties.add(element)) {
+                        nextElement = element;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = nextElement;
+            nextElement = null;
+            return element;
+        }
+
+        private Element poll() {
+            final RunReader reader = readers.poll();
+            final Element element = reader.getElement();
+            try {
+                if (reader.advance()) {
+                    readers.add(reader);
+                } else {
+                    reader.closeAndDelete();
+                }
+            } catch (final IOException e) {
+                reader.close();
+                close();
+                throw new GafferRuntimeException("Unable to read sort spill files", e);
+            }
+            return element;
+        }
+
+        @Override
+        public void close() {
+            readers.forEach(RunReader::close);
+            readers.clear();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utility methods for the temporary files that operations spill to when they
+ * exceed their in-memory limits, along with a {@link Writer} and {@link Reader}
+ * for the length-prefixed records held in those files.
+ * <p>
+ * Spill files are not registered with {@link File#deleteOnExit()}, as that holds
+ * on to every path until the JVM exits. Callers are responsible for deleting
+ * them with {@link #delete(File)} once they have been read. Any spill files that
+ * have not been deleted, for example because a result was never fully consumed
+ * or closed, are deleted by a shutdown hook.
+ * </p>
+ */
+public final class SpillFile {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillFile.class);
+    private static final Set<File> LIVE_FILES = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SpillFile::deleteAll, "gaffer-spill-file-cleanup"));
+    }
+
+    private SpillFile() {
+    }
+
+    /**
+     * Creates an empty spill file.
+     *
+     * @param prefix    the prefix of the file name
+     * @param suffix    the suffix of the file name
+     * @param directory the directory to create the file in, or null to use the default temporary directory
+     * @return the new file
+     * @throws IOException if the file could not be created
+     */
+    public static File create(final String prefix, final String suffix, final File directory) throws IOException {
+        final File file = File.createTempFile(prefix, suffix, directory);
+        LIVE_FILES.add(file);
+        return file;
+    }
+
+    /**
+     * Deletes a spill file, logging a warning if it could not be deleted.
+     *
+     * @param file the file to delete
+     */
+    public static void delete(final File file) {
+        if (file.delete() || !file.exists()) {
+            LIVE_FILES.remove(file);
+        } else {
+            LOGGER.warn("Unable to delete spill file {}", file);
+        }
+    }
+
+    private static void deleteAll() {
+        for (final File file : LIVE_FILES) {
+            if (!file.delete() && file.exists()) {
+                LOGGER.warn("Unable to delete spill file {} on shutdown", file);
+            }
+        }
+        LIVE_FILES.clear();
+    }
+
+    /**
+     * Writes records to a spill file. Each value is written with its length,
+     * so the records can be read back with a {@link Reader}.
+     */
+    public static final class Writer implements Closeable {
+        private final File file;
+        private final DataOutputStream output;
+
+        public Writer(final File file) throws IOException {
+            this.file = file;
+            this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public void writeInt(final int value) throws IOException {
+            output.writeInt(value);
+        }
+
+        public void writeBytes(final byte[] bytes) throws IOException {
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+
+        public void writeJson(final Object obj) throws IOException {
+            writeBytes(JSONSerialiser.serialise(obj));
+        }
+
+        /**
+         * Writes the class name of an object followed by its JSON, so that it
+         * can be read back without knowing its class. Null is allowed.
+         *
+         * @param obj the object to write
+         * @throws IOException if the object could not be written
+         */
+        public void writeTypedJson(final Object obj) throws IOException {
+            if (null == obj) {
+                output.writeUTF("");
+            } else {
+                output.writeUTF(obj.getClass().getName());
+                writeJson(obj);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.close();
+        }
+    }
+
+    /**
+     * Reads the records written by a {@link Writer}, in the order they were
+     * written.
+     */
+    public static final class Reader implements Closeable {
+        private final Map<String, Class<?>> classes = new HashMap<>();
+        private final File file;
+        private final BufferedInputStream buffer;
+        private final DataInputStream input;
+
+        public Reader(final File file) throws IOException {
+            this.file = file;
+            this.buffer = new BufferedInputStream(new FileInputStream(file));
+            this.input = new DataInputStream(buffer);
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * @return true if there is another record to read, false if the end of the file was reached
+         * @throws IOException if the file could not be read
+         */
+        public boolean hasMore() throws IOException {
+            buffer.mark(1);
+            final boolean hasMore = -1 != buffer.read();
+            buffer.reset();
+            return hasMore;
+        }
+
+        public int readInt() throws IOException {
+            return input.readInt();
+        }
+
+        public byte[] readBytes() throws IOException {
+            final byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            return bytes;
+        }
+
+        public <T> T readJson(final Class<T> clazz) throws IOException {
+            return JSONSerialiser.deserialise(readBytes(), clazz);
+        }
+
+        /**
+         * Reads an object written by {@link Writer#writeTypedJson(Object)}.
+         *
+         * @return the object, which may be null
+         * @throws IOException if the file could not be read or the object's class could not be found
+         */
+        public Object readTypedJson() throws IOException {
+            final String className = input.readUTF();
+            if (className.isEmpty()) {
+                return null;
+            }
+            return readJson(getClassForName(className));
+        }
+
+        private Class<?> getClassForName(final String className) throws SerialisationException {
+            Class<?> clazz = classes.get(className);
+            if (null == clazz) {
+                try {
+                    clazz = Class.forName(className);
+                } catch (final ClassNotFoundException e) {
+                    throw new SerialisationException("Unable to find class " + className + " of a spilled object", e);
+                }
+                classes.put(className, clazz);
+            }
+            return clazz;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(input);
+        }
+    }
+}
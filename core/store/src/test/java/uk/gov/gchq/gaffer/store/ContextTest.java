@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -168,6 +169,30 @@ public class ContextTest {
         assertEquals(context.getVariables(), clonedContext.getVariables());
     }
 
+    @Test
+    public void shouldShallowCloneContextWithSameJobId() {
+        // Given
+        final User user = new User("user");
+        final String testConf = "testConf";
+        final Context context = new Context.Builder()
+                .user(user)
+                .config(testConf, "testConfVal")
+                .variable("testVar", "testVarVal")
+                .build();
+
+        // When
+        final Context clonedContext = context.shallowCloneWithSameJobId();
+        clonedContext.setVariable("clonedVar", "clonedVarVal");
+
+        // Then
+        assertNotSame(context, clonedContext);
+        assertEquals(context.getJobId(), clonedContext.getJobId());
+        assertEquals(context.getUser(), clonedContext.getUser());
+        assertEquals(context.getConfig(testConf), clonedContext.getConfig(testConf));
+        assertEquals("testVarVal", clonedContext.getVariable("testVar"));
+        assertNull(context.getVariable("clonedVar"));
+    }
+
     @Test
     public void shouldAddVariables() {
         // Given
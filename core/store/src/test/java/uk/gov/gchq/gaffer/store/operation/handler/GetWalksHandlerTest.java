@@ -19,18 +19,41 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.ExecutorService;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class GetWalksHandlerTest {
     @Test
@@ -67,4 +90,135 @@ public class GetWalksHandlerTest {
         // Then
         assertNotNull(deserialisedObj);
     }
+
+    @Test
+    public void shouldGetSameWalksWhenSeedsArePartitioned() throws Exception {
+        // Given
+        final Store store = createStore();
+        final GetWalks operation = createGetWalks();
+
+        final GetWalksHandler sequentialHandler = new GetWalksHandler();
+        final GetWalksHandler parallelHandler = new GetWalksHandler();
+        parallelHandler.setParallelism(3);
+
+        // When
+        final List<String> sequentialPaths = getPaths(sequentialHandler.doOperation(operation, new Context(new User()), store));
+        final List<String> parallelPaths = getPaths(parallelHandler.doOperation(operation, new Context(new User()), store));
+
+        // Then
+        assertEquals(12, sequentialPaths.size());
+        assertEquals(sequentialPaths, parallelPaths);
+    }
+
+    @Test
+    public void shouldExecutePartitionsWithTheCallersJobId() throws Exception {
+        // Given
+        final Set<String> jobIds = Collections.synchronizedSet(new HashSet<>());
+        final Store store = createStore(jobIds, Collections.synchronizedSet(new HashSet<>()));
+        final GetWalks operation = createGetWalks();
+        final Context context = new Context(new User());
+
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setParallelism(3);
+
+        // When
+        getPaths(handler.doOperation(operation, context, store));
+
+        // Then
+        assertEquals(Collections.singleton(context.getJobId()), jobIds);
+    }
+
+    @Test
+    public void shouldExecutePartitionsOnTheSharedExecutorPool() throws Exception {
+        // Given
+        final Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+        final Store store = createStore(Collections.synchronizedSet(new HashSet<>()), threadNames);
+        final GetWalks operation = createGetWalks();
+
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setParallelism(3);
+
+        // When
+        getPaths(handler.doOperation(operation, new Context(new User()), store));
+
+        // Then
+        assertTrue(ExecutorService.isEnabled(GetWalksHandler.EXECUTOR_POOL));
+        assertTrue(threadNames.stream().anyMatch(name -> name.startsWith("gaffer-executor-" + GetWalksHandler.EXECUTOR_POOL)));
+        assertTrue(threadNames.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void shouldOnlyReturnCompleteWalksWhenPruning() throws Exception {
+        // Given
+        final Store store = createStore();
+        final GetWalks operation = createGetWalks();
+
+        final GetWalksHandler prunedHandler = new GetWalksHandler();
+        final GetWalksHandler unprunedHandler = new GetWalksHandler();
+        unprunedHandler.setPrune(false);
+
+        // When
+        final List<String> prunedPaths = getPaths(prunedHandler.doOperation(operation, new Context(new User()), store));
+        final List<String> unprunedPaths = getPaths(unprunedHandler.doOperation(operation, new Context(new User()), store));
+
+        // Then
+        assertEquals(unprunedPaths, prunedPaths);
+        for (final String path : prunedPaths) {
+            assertEquals(4, path.length());
+        }
+    }
+
+    private GetWalks createGetWalks() {
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        return new GetWalks.Builder()
+                .input(new EntitySeed(1), new EntitySeed(2), new EntitySeed(3), new EntitySeed(4))
+                .operations(getElements, getElements, getElements)
+                .build();
+    }
+
+    private Store createStore() throws Exception {
+        return createStore(Collections.synchronizedSet(new HashSet<>()), Collections.synchronizedSet(new HashSet<>()));
+    }
+
+    /**
+     * Creates a store containing a directed edge from each vertex v to v+1
+     * and v+2, for vertices 1 to 6. The job id and thread of each execution
+     * are recorded.
+     */
+    private Store createStore(final Set<String> jobIds, final Set<String> threadNames) throws Exception {
+        final Store store = mock(Store.class);
+        given(store.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            jobIds.add(((Context) invocation.getArgument(1)).getJobId());
+            threadNames.add(Thread.currentThread().getName());
+            final OperationChain<?> chain = invocation.getArgument(0);
+            final ToEntitySeeds toEntitySeeds = (ToEntitySeeds) chain.getOperations().get(0);
+            final List<Element> edges = new ArrayList<>();
+            for (final Object seed : toEntitySeeds.getInput()) {
+                final Object vertex = seed instanceof EntityId ? ((EntityId) seed).getVertex() : seed;
+                final int source = (Integer) vertex;
+                for (int destination = source + 1; destination <= Math.min(source + 2, 6); destination++) {
+                    edges.add(new Edge.Builder()
+                            .group(TestGroups.EDGE)
+                            .source(source)
+                            .dest(destination)
+                            .directed(true)
+                            .build());
+                }
+            }
+            return edges;
+        });
+        return store;
+    }
+
+    private List<String> getPaths(final Iterable<Walk> walks) {
+        final List<String> paths = new ArrayList<>();
+        for (final Walk walk : walks) {
+            paths.add(walk.getVerticesOrdered().stream().map(Object::toString).collect(Collectors.joining("")));
+        }
+        return paths;
+    }
 }
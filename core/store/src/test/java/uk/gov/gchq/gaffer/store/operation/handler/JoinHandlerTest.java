@@ -18,24 +18,32 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinStrategy;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
+import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.join.JoinHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.ElementMatch;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
 public class JoinHandlerTest {
@@ -104,4 +112,105 @@ public class JoinHandlerTest {
             assertEquals("A match method must be supplied", e.getMessage());
         }
     }
+
+    @Test
+    public void shouldThrowExceptionWhenJoinStrategyIsUsedWithoutKeyFunctionMatch() {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+
+        final Join<Object> joinOp = new Join.Builder<>()
+                .input(Arrays.asList(1, 2, 3))
+                .joinType(JoinType.FULL)
+                .joinStrategy(JoinStrategy.HASH)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new ElementMatch())
+                .build();
+
+        // When / Then
+        try {
+            handler.doOperation(joinOp, context, store);
+            fail("exception expected");
+        } catch (final OperationException e) {
+            assertEquals("The HASH join strategy requires a KeyFunctionMatch match method", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldHashJoinInputsLargerThanTheCollectionLimit() throws OperationException {
+        for (final JoinType joinType : JoinType.values()) {
+            for (final MatchKey matchKey : MatchKey.values()) {
+                // Given
+                final List<Integer> left = Arrays.asList(5, 1, 12, 7, 3, 9, 1, 15, 20, 4);
+                final List<Integer> right = Arrays.asList(3, 14, 1, 7, 7, 18, 2, 9, 11, 5, 16);
+
+                // When
+                final List<String> expected = join(left, right, joinType, matchKey, null, null);
+                final List<String> result = join(left, right, joinType, matchKey, JoinStrategy.HASH, 2);
+
+                // Then
+                assertEquals(expected, result);
+            }
+        }
+    }
+
+    @Test
+    public void shouldSortMergeJoinSortedInputs() throws OperationException {
+        for (final JoinType joinType : JoinType.values()) {
+            for (final MatchKey matchKey : MatchKey.values()) {
+                // Given
+                final List<Integer> left = Arrays.asList(1, 1, 3, 4, 5, 7, 9, 12, 15, 20);
+                final List<Integer> right = Arrays.asList(1, 2, 3, 5, 7, 7, 9, 11, 14, 16, 18);
+
+                // When
+                final List<String> expected = join(left, right, joinType, matchKey, null, null);
+                final List<String> result = join(left, right, joinType, matchKey, JoinStrategy.SORT_MERGE, 2);
+
+                // Then
+                assertEquals(expected, result);
+            }
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenSortMergeJoinInputIsNotSorted() throws OperationException {
+        // Given
+        final List<Integer> left = Arrays.asList(1, 3, 2);
+        final List<Integer> right = Arrays.asList(1, 2, 3);
+
+        // When / Then
+        try {
+            join(left, right, JoinType.INNER, MatchKey.LEFT, JoinStrategy.SORT_MERGE, 10);
+            fail("exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("not sorted"));
+        }
+    }
+
+    private List<String> join(final List<Integer> left, final List<Integer> right, final JoinType joinType,
+                              final MatchKey matchKey, final JoinStrategy joinStrategy, final Integer limit) throws OperationException {
+        final Store rightStore = mock(Store.class);
+        given(rightStore.execute(any(Output.class), any(Context.class))).willReturn(right);
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(left)
+                .operation(new GetAllElements())
+                .joinType(joinType)
+                .joinStrategy(joinStrategy)
+                .matchKey(matchKey)
+                .matchMethod(new KeyFunctionMatch())
+                .collectionLimit(limit)
+                .build();
+
+        final Iterable<? extends MapTuple> tuples = new JoinHandler<Integer>().doOperation(joinOp, context, rightStore);
+        final List<String> results = new ArrayList<>();
+        try {
+            for (final MapTuple tuple : tuples) {
+                results.add(tuple.get(MatchKey.LEFT.name()) + ":" + tuple.get(MatchKey.RIGHT.name()));
+            }
+        } finally {
+            CloseableUtil.close(tuples);
+        }
+        Collections.sort(results);
+        return results;
+    }
 }
@@ -19,7 +19,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -27,7 +29,12 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -39,7 +46,10 @@ import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class SortHandlerTest {
 
@@ -290,6 +300,95 @@ public class SortHandlerTest {
                 assertEquals(resultLimit, Iterables.size(result));
         }
 
+        @Test
+        public void shouldSortElementsSpilledToDisk() throws OperationException {
+                // Given
+                final List<Entity> input = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex" + i)
+                                        .property("property", (i * 7) % 10).build());
+                }
+                input.add(input.get(0));
+                input.add(null);
+
+                final Sort sort = new Sort.Builder().input(input)
+                                .comparators(new ElementPropertyComparator.Builder().groups(TestGroups.ENTITY)
+                                                .property("property").build())
+                                .deduplicate(true).build();
+
+                final StoreProperties properties = new StoreProperties();
+                properties.setSortMaxElementsInMemory(8);
+                final Store store = mock(Store.class);
+                given(store.getProperties()).willReturn(properties);
+
+                final SortHandler handler = new SortHandler();
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, store);
+
+                // Then
+                final List<Entity> expected = new ArrayList<>(input.subList(0, 50));
+                expected.sort(Comparator.comparingInt(e -> (int) e.getProperty("property")));
+                assertEquals(expected, Lists.newArrayList(result));
+                CloseableUtil.close(result);
+        }
+
+        @Test
+        public void shouldDeleteSpillFilesOnceSpilledElementsHaveBeenRead(@TempDir final Path tempDir) throws OperationException, IOException {
+                // Given
+                final List<Entity> input = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex" + i)
+                                        .property("property", (i * 7) % 10).build());
+                }
+
+                final Sort sort = new Sort.Builder().input(input)
+                                .comparators(new ElementPropertyComparator.Builder().groups(TestGroups.ENTITY)
+                                                .property("property").build())
+                                .build();
+
+                final StoreProperties properties = new StoreProperties();
+                properties.setSortMaxElementsInMemory(8);
+                properties.setSpillDirectory(tempDir.toString());
+                final Store store = mock(Store.class);
+                given(store.getProperties()).willReturn(properties);
+
+                final SortHandler handler = new SortHandler();
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, store);
+                final long spillFiles = Files.list(tempDir).count();
+                final List<Element> sorted = Lists.newArrayList(result);
+
+                // Then
+                assertTrue(0 < spillFiles);
+                assertEquals(50, sorted.size());
+                assertEquals(0, Files.list(tempDir).count());
+                assertThrows(IllegalStateException.class, result::iterator);
+        }
+
+        @Test
+        public void shouldKeepFirstElementsWhenResultLimitIsReached() throws OperationException {
+                // Given
+                final Entity entity1 = new Entity.Builder().group(TestGroups.ENTITY).vertex("1").property("property", 2).build();
+                final Entity entity2 = new Entity.Builder().group(TestGroups.ENTITY).vertex("2").property("property", 1).build();
+                final Entity entity3 = new Entity.Builder().group(TestGroups.ENTITY).vertex("3").property("property", 2).build();
+                final Entity entity4 = new Entity.Builder().group(TestGroups.ENTITY).vertex("4").property("property", 3).build();
+
+                final Sort sort = new Sort.Builder().input(Arrays.asList(entity1, entity2, entity3, entity4))
+                                .comparators(new ElementPropertyComparator.Builder().groups(TestGroups.ENTITY)
+                                                .property("property").build())
+                                .resultLimit(2).build();
+
+                final SortHandler handler = new SortHandler();
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, null, null);
+
+                // Then
+                assertEquals(Arrays.asList(entity2, entity1), Lists.newArrayList(result));
+        }
+
         private static class ElementComparatorImpl implements Comparator<Element> {
                 @Override
                 public int compare(final Element o1, final Element o2) {
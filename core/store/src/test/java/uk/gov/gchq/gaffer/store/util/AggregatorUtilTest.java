@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.store.util;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
@@ -32,14 +33,22 @@ import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.function.ExampleFilterFunction;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
 import uk.gov.gchq.gaffer.store.TestTypes;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaTest;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.First;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Product;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -53,6 +62,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static uk.gov.gchq.gaffer.data.util.ElementUtil.assertElementEquals;
@@ -942,6 +952,297 @@ public class AggregatorUtilTest {
                 .build()));
     }
 
+    @Test
+    public void shouldIngestAggregateElementsWhenSpillingToDisk(@TempDir final Path tempDir) throws IOException {
+        // given
+        final Schema schema = createSerialisableSchema();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 100))
+                    .property(TestPropertyNames.PROP_1, "value")
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .build());
+        }
+        for (int i = 0; i < 25; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.NON_AGG_ENTITY)
+                    .vertex("vertex1")
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .build());
+        }
+
+        final List<Element> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.PROP_1, "value")
+                    .property(TestPropertyNames.COUNT, 10L)
+                    .build());
+        }
+        expected.addAll(elements.subList(1000, 1025));
+
+        // when
+        final List<Element> results;
+        try (final CloseableIterable<Element> aggregatedElements = AggregatorUtil.ingestAggregate(elements, schema, 10, tempDir.toFile())) {
+            assertTrue(0 < Files.list(tempDir).count());
+            results = Lists.newArrayList(aggregatedElements);
+        }
+
+        // then
+        assertElementEquals(expected, results);
+        assertEquals(0, Files.list(tempDir).count());
+    }
+
+    @Test
+    public void shouldQueryAggregateElementsWhenSpillingToDisk(@TempDir final Path tempDir) {
+        // given
+        final Schema schema = createSerialisableSchema();
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 100))
+                    .property(TestPropertyNames.PROP_1, "value" + (i % 2))
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .build());
+        }
+
+        final List<Element> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.PROP_1, "value" + (i % 2))
+                    .property(TestPropertyNames.COUNT, 10L)
+                    .build());
+        }
+
+        // when
+        final CloseableIterable<Element> aggregatedElements = AggregatorUtil.queryAggregate(elements, schema, view, 10, tempDir.toFile());
+
+        // then
+        assertElementEquals(expected, aggregatedElements);
+        aggregatedElements.close();
+    }
+
+    @Test
+    public void shouldAggregateTheSameWhenSpillingToDiskAsInMemory(@TempDir final Path tempDir) {
+        // given
+        final Schema schema = createSerialisableSchema();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 37))
+                    .property(TestPropertyNames.PROP_1, "value" + (i % 3))
+                    .property(TestPropertyNames.COUNT, (long) i)
+                    .build());
+        }
+        final List<Element> copy = elements.stream().map(Element::shallowClone).collect(Collectors.toList());
+
+        // when
+        final CloseableIterable<Element> inMemory = AggregatorUtil.ingestAggregate(elements, schema);
+        final CloseableIterable<Element> spilled = AggregatorUtil.ingestAggregate(copy, schema, 7, tempDir.toFile());
+
+        // then
+        assertElementEquals(inMemory, spilled);
+        spilled.close();
+    }
+
+    @Test
+    public void shouldAggregateTheSameWhenMergingSpilledRunsInSeveralPasses(@TempDir final Path tempDir) throws IOException {
+        // given
+        final Schema schema = createSerialisableSchema();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 37))
+                    .property(TestPropertyNames.PROP_1, "value" + (i % 3))
+                    .property(TestPropertyNames.COUNT, (long) i)
+                    .build());
+        }
+        final List<Element> copy = elements.stream().map(Element::shallowClone).collect(Collectors.toList());
+        final ExternalAggregator externalAggregator = new ExternalAggregator(schema,
+                new AggregatorUtil.ToIngestElementKey(schema), new AggregatorUtil.IngestElementBinaryOperator(schema),
+                5, tempDir.toFile(), 3);
+
+        // when
+        final CloseableIterable<Element> inMemory = AggregatorUtil.ingestAggregate(elements, schema);
+        final CloseableIterable<Element> spilled = externalAggregator.aggregate(copy);
+
+        // then
+        assertTrue(3 >= Files.list(tempDir).count());
+        assertElementEquals(inMemory, spilled);
+        spilled.close();
+        assertEquals(0, Files.list(tempDir).count());
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesOnceSpilledElementsHaveBeenRead(@TempDir final Path tempDir) throws IOException {
+        // given
+        final Schema schema = createSerialisableSchema();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 20))
+                    .property(TestPropertyNames.PROP_1, "value")
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .build());
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.NON_AGG_ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .build());
+        }
+
+        // when
+        final CloseableIterable<Element> aggregatedElements = AggregatorUtil.ingestAggregate(elements, schema, 10, tempDir.toFile());
+        final long spillFiles = Files.list(tempDir).count();
+        final List<Element> results = Lists.newArrayList(aggregatedElements);
+
+        // then
+        assertTrue(0 < spillFiles);
+        assertEquals(120, results.size());
+        assertEquals(0, Files.list(tempDir).count());
+        assertThrows(IllegalStateException.class, () -> aggregatedElements.iterator().hasNext());
+    }
+
+    @Test
+    public void shouldQueryAggregateElementsInParallel() {
+        // given
+        final Schema schema = createSerialisableSchema();
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 100))
+                    .property(TestPropertyNames.PROP_1, "value" + (i % 2))
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .build());
+        }
+
+        final List<Element> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.PROP_1, "value" + (i % 2))
+                    .property(TestPropertyNames.COUNT, 10L)
+                    .build());
+        }
+
+        // when
+        final CloseableIterable<Element> aggregatedElements = AggregatorUtil.queryAggregate(elements, schema, view, 4);
+
+        // then
+        assertElementEquals(expected, aggregatedElements);
+    }
+
+    @Test
+    public void shouldQueryAggregateTheSameInParallelAsOnCallingThread() {
+        // given
+        final Schema schema = createSerialisableSchema();
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % 37))
+                    .property(TestPropertyNames.PROP_1, "value" + (i % 3))
+                    .property(TestPropertyNames.COUNT, (long) i)
+                    .build());
+        }
+        final List<Element> copy = elements.stream().map(Element::shallowClone).collect(Collectors.toList());
+
+        // when
+        final CloseableIterable<Element> sequential = AggregatorUtil.queryAggregate(elements, schema, view);
+        final CloseableIterable<Element> parallel = AggregatorUtil.queryAggregate(copy, schema, view, 3);
+
+        // then
+        assertElementEquals(sequential, parallel);
+    }
+
+    @Test
+    public void shouldQueryAggregateExactCountsWhenManyShardsAggregateConcurrently() {
+        // given
+        final int numShards = 16;
+        final int numVertices = 5;
+        final int numElementsPerVertex = 20000;
+        final Schema schema = createSerialisableSchema();
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < numVertices * numElementsPerVertex; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + (i % numVertices))
+                    .property(TestPropertyNames.PROP_1, "value")
+                    .property(TestPropertyNames.COUNT, 1L)
+                    .build());
+        }
+
+        // when
+        final CloseableIterable<Element> aggregatedElements = AggregatorUtil.queryAggregate(elements, schema, view, numShards);
+
+        // then
+        final List<Element> results = Lists.newArrayList(aggregatedElements);
+        assertEquals(numVertices, results.size());
+        for (final Element result : results) {
+            assertEquals((long) numElementsPerVertex, result.getProperty(TestPropertyNames.COUNT));
+        }
+    }
+
+    private Schema createSerialisableSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .property(TestPropertyNames.PROP_1, TestTypes.PROP_STRING)
+                        .property(TestPropertyNames.COUNT, TestTypes.PROP_COUNT)
+                        .groupBy(TestPropertyNames.PROP_1)
+                        .build())
+                .entity(TestGroups.NON_AGG_ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .property(TestPropertyNames.COUNT, TestTypes.PROP_COUNT)
+                        .aggregate(false)
+                        .build())
+                .type(TestTypes.ID_STRING, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type(TestTypes.PROP_STRING, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .aggregateFunction(new First())
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type(TestTypes.PROP_COUNT, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .serialiser(new CompactRawLongSerialiser())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
     private Schema createSchema() {
         return new Schema.Builder()
                 .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
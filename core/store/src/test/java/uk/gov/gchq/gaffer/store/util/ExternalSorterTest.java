@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExternalSorterTest {
+    private static final Comparator<Element> COMPARATOR = Comparator.comparingInt(e -> (int) e.getProperty("property"));
+
+    @Test
+    public void shouldSortStablyWhenMergingSpilledRunsInSeveralPasses(@TempDir final Path tempDir) throws IOException {
+        // Given
+        final List<Element> input = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex" + i)
+                    .property("property", (i * 7) % 10).build());
+        }
+        final ExternalSorter sorter = new ExternalSorter(COMPARATOR, false, 5, tempDir.toFile(), 3);
+
+        // When
+        final CloseableIterable<Element> result = sorter.sort(input);
+        final long spillFiles = Files.list(tempDir).count();
+        final List<Element> sorted = Lists.newArrayList(result);
+        result.close();
+
+        // Then
+        final List<Element> expected = new ArrayList<>(input);
+        expected.sort(COMPARATOR);
+        assertTrue(3 >= spillFiles);
+        assertEquals(expected, sorted);
+        assertEquals(0, Files.list(tempDir).count());
+    }
+
+    @Test
+    public void shouldDeduplicateWhenMergingSpilledRunsInSeveralPasses(@TempDir final Path tempDir) {
+        // Given
+        final List<Element> input = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex" + (i % 50))
+                    .property("property", (i % 50) % 10).build());
+        }
+        final ExternalSorter sorter = new ExternalSorter(COMPARATOR, true, 5, tempDir.toFile(), 3);
+
+        // When
+        final CloseableIterable<Element> result = sorter.sort(input);
+        final List<Element> sorted = Lists.newArrayList(result);
+        result.close();
+
+        // Then
+        final List<Element> expected = new ArrayList<>(input.subList(0, 50));
+        expected.sort(COMPARATOR);
+        assertEquals(expected, sorted);
+    }
+}
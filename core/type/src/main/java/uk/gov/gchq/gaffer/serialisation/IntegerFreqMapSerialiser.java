@@ -66,13 +66,18 @@ public class IntegerFreqMapSerialiser implements ToBytesSerialiser<IntegerFreqMa
 
     @Override
     public IntegerFreqMap deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public IntegerFreqMap deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         IntegerFreqMap freqMap = new IntegerFreqMap();
-        if (bytes.length == 0) {
+        if (length == 0) {
             return freqMap;
         }
         String stringMap;
         try {
-            stringMap = new String(bytes, CommonConstants.ISO_8859_1_ENCODING);
+            stringMap = new String(allBytes, offset, length, CommonConstants.ISO_8859_1_ENCODING);
         } catch (final UnsupportedEncodingException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
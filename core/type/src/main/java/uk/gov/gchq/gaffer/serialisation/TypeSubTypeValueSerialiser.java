@@ -74,13 +74,19 @@ public class TypeSubTypeValueSerialiser implements ToBytesSerialiser<TypeSubType
 
     @Override
     public TypeSubTypeValue deserialise(final byte[] bytes) throws SerialisationException {
-        int lastDelimiter = 0;
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public TypeSubTypeValue deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final int end = offset + length;
+        int lastDelimiter = offset;
         TypeSubTypeValue typeSubTypeValue = new TypeSubTypeValue();
-        for (int i = 0; i < bytes.length; i++) {
-            if (bytes[i] == ByteArrayEscapeUtils.DELIMITER) {
-                if (i > 0) {
+        for (int i = offset; i < end; i++) {
+            if (allBytes[i] == ByteArrayEscapeUtils.DELIMITER) {
+                if (i > offset) {
                     try {
-                        typeSubTypeValue.setType(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i), CommonConstants.UTF_8));
+                        typeSubTypeValue.setType(new String(ByteArrayEscapeUtils.unEscape(allBytes, lastDelimiter, i), CommonConstants.UTF_8));
                     } catch (final UnsupportedEncodingException e) {
                         throw new SerialisationException("Failed to deserialise the Type from TypeSubTypeValue Object", e);
                     }
@@ -89,11 +95,11 @@ public class TypeSubTypeValueSerialiser implements ToBytesSerialiser<TypeSubType
                 break;
             }
         }
-        for (int i = lastDelimiter; i < bytes.length; i++) {
-            if (bytes[i] == ByteArrayEscapeUtils.DELIMITER) {
+        for (int i = lastDelimiter; i < end; i++) {
+            if (allBytes[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (i > lastDelimiter) {
                     try {
-                        typeSubTypeValue.setSubType(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, i), CommonConstants.UTF_8));
+                        typeSubTypeValue.setSubType(new String(ByteArrayEscapeUtils.unEscape(allBytes, lastDelimiter, i), CommonConstants.UTF_8));
                     } catch (final UnsupportedEncodingException e) {
                         throw new SerialisationException("Failed to deserialise the SubType from TypeSubTypeValue Object", e);
                     }
@@ -102,9 +108,9 @@ public class TypeSubTypeValueSerialiser implements ToBytesSerialiser<TypeSubType
                 break;
             }
         }
-        if (bytes.length > lastDelimiter) {
+        if (end > lastDelimiter) {
             try {
-                typeSubTypeValue.setValue(new String(ByteArrayEscapeUtils.unEscape(bytes, lastDelimiter, bytes.length), CommonConstants.UTF_8));
+                typeSubTypeValue.setValue(new String(ByteArrayEscapeUtils.unEscape(allBytes, lastDelimiter, end), CommonConstants.UTF_8));
             } catch (final UnsupportedEncodingException e) {
                 throw new SerialisationException("Failed to deserialise the Value from TypeSubTypeValue Object", e);
             }
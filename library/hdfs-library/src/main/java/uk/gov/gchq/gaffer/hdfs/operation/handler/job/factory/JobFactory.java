@@ -21,6 +21,7 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapreduce.Job;
 
 import uk.gov.gchq.gaffer.hdfs.operation.MapReduce;
+import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 
@@ -35,6 +36,7 @@ public interface JobFactory<O extends MapReduce> {
     String SCHEMA = "schema";
     String MAPPER_GENERATOR = "mapperGenerator";
     String VALIDATE = "validate";
+    String MAPPER_COMBINE_BUFFER_SIZE = "mapperCombineBufferSize";
 
     /**
      * Creates a job with the store specific job initialisation and then applies the operation specific
@@ -71,6 +73,12 @@ public interface JobFactory<O extends MapReduce> {
             if (storeProperties.getStrictJson() != null) {
                 configuration.setBoolean(StoreProperties.STRICT_JSON, storeProperties.getStrictJson());
             }
+            if (operation instanceof Operation) {
+                final String combineBufferSize = ((Operation) operation).getOption(MAPPER_COMBINE_BUFFER_SIZE);
+                if (null != combineBufferSize) {
+                    configuration.setInt(MAPPER_COMBINE_BUFFER_SIZE, Integer.parseInt(combineBufferSize));
+                }
+            }
 
             setupJob(job, operation, mapperGeneratorClassName, store);
 
@@ -27,11 +27,20 @@ import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_COMBINE_BUFFER_SIZE;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_GENERATOR;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.SCHEMA;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.VALIDATE;
@@ -42,6 +51,14 @@ import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.STRICT_JSON_DE
  * {@link MapperGenerator} to map the input data into
  * {@link Element}s and then delegates the elements to an abstract map method to serialise them
  * and add them to the job map context.
+ * <p>
+ * If {@code MAPPER_COMBINE_BUFFER_SIZE} is set to a positive number in the job
+ * configuration then elements of groups with aggregation are combined in the
+ * mapper before they are emitted. Up to that many elements are buffered,
+ * aggregated by their ingest key with the schema aggregators, and the buffer is
+ * flushed when it is full and when the mapper is cleaned up. This reduces the
+ * data shuffled to the reducers when the input contains repeated elements.
+ * </p>
  *
  * @param <KEY_IN>    type of input key
  * @param <VALUE_IN>  type of input value
@@ -53,6 +70,11 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
     private MapperGenerator<KEY_IN, VALUE_IN> mapperGenerator;
     private boolean doValidation;
     private ElementValidator elementValidator;
+    private int combineBufferSize;
+    private Map<Element, Element> combineBuffer;
+    private Set<String> aggregatedGroups;
+    private Function<Element, Element> toKey;
+    private BinaryOperator<Element> aggregator;
     protected Schema schema;
 
     @Override
@@ -65,6 +87,15 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
         }
         elementValidator = new ElementValidator(schema);
 
+        combineBufferSize = context.getConfiguration().getInt(MAPPER_COMBINE_BUFFER_SIZE, 0);
+        if (combineBufferSize > 0) {
+            combineBuffer = new LinkedHashMap<>();
+            aggregatedGroups = new HashSet<>(schema.getAggregatedGroups());
+            toKey = new AggregatorUtil.ToElementKey(getCombineGroupBys(schema));
+            aggregator = new AggregatorUtil.IngestElementBinaryOperator(schema);
+            LOGGER.info("Combining elements in the mapper with a buffer of {} elements", combineBufferSize);
+        }
+
         final String generatorClass = context.getConfiguration().get(MAPPER_GENERATOR);
         try {
             mapperGenerator = Class.forName(SimpleClassNameIdResolver.getClassName(generatorClass)).asSubclass(MapperGenerator.class).newInstance();
@@ -79,7 +110,11 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
     protected void map(final KEY_IN keyIn, final VALUE_IN valueIn, final Context context) throws IOException, InterruptedException {
         for (final Element element : mapperGenerator.getElements(keyIn, valueIn, context)) {
             if (!doValidation || isValid(element)) {
-                map(element, context);
+                if (null != combineBuffer && aggregatedGroups.contains(element.getGroup())) {
+                    combine(element, context);
+                } else {
+                    map(element, context);
+                }
             } else {
                 LOGGER.warn("Element {} did not validate: {}", element, getValidationFailureMessage(element));
                 context.getCounter("Bulk import", "Invalid element count").increment(1L);
@@ -87,6 +122,52 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
         }
     }
 
+    @Override
+    protected void cleanup(final Context context) throws IOException, InterruptedException {
+        if (null != combineBuffer) {
+            flush(context);
+        }
+        super.cleanup(context);
+    }
+
+    private void combine(final Element element, final Context context) throws IOException, InterruptedException {
+        final int size = combineBuffer.size();
+        combineBuffer.merge(toKey.apply(element), element, aggregator);
+        if (combineBuffer.size() == size) {
+            context.getCounter("Bulk import", "Combined element count").increment(1L);
+        } else if (combineBuffer.size() >= combineBufferSize) {
+            flush(context);
+        }
+    }
+
+    private void flush(final Context context) throws IOException, InterruptedException {
+        for (final Element element : combineBuffer.values()) {
+            map(element, context);
+        }
+        combineBuffer.clear();
+    }
+
+    /**
+     * The stores keep elements with different visibilities or timestamps apart,
+     * so these properties are added to the ingest group-by properties to make
+     * sure that only elements the store would aggregate are combined.
+     */
+    private static Map<String, Set<String>> getCombineGroupBys(final Schema schema) {
+        final Map<String, Set<String>> groupToGroupBys = AggregatorUtil.getIngestGroupBys(schema);
+        for (final Map.Entry<String, Set<String>> entry : groupToGroupBys.entrySet()) {
+            final SchemaElementDefinition elementDef = schema.getElement(entry.getKey());
+            final Set<String> groupBy = new HashSet<>(entry.getValue());
+            if (null != schema.getVisibilityProperty() && elementDef.containsProperty(schema.getVisibilityProperty())) {
+                groupBy.add(schema.getVisibilityProperty());
+            }
+            if (null != schema.getTimestampProperty() && elementDef.containsProperty(schema.getTimestampProperty())) {
+                groupBy.add(schema.getTimestampProperty());
+            }
+            entry.setValue(groupBy);
+        }
+        return groupToGroupBys;
+    }
+
     private void configureJSONSerialiser(final Context context) {
         final Configuration configuration = context.getConfiguration();
         final String jsonSerialiserClass = configuration.get(StoreProperties.JSON_SERIALISER_CLASS);
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hdfs.operation.mapper;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Counter;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.JobFactory;
+import uk.gov.gchq.gaffer.hdfs.operation.mapper.generator.JsonMapperGenerator;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GafferMapperTest {
+    private static final String AGG_GROUP = "aggregatedEntity";
+    private static final String NON_AGG_GROUP = "nonAggregatedEntity";
+    private static final String COUNT = "count";
+
+    @Test
+    public void shouldEmitEveryElementWhenCombiningIsDisabled() throws IOException, InterruptedException {
+        // Given
+        final ElementCollectingMapper mapper = new ElementCollectingMapper();
+        final Mapper.Context context = createContext(null);
+
+        // When
+        run(mapper, context, createEntity(AGG_GROUP, "A", 1), createEntity(AGG_GROUP, "A", 2));
+
+        // Then
+        assertEquals(Arrays.asList(createEntity(AGG_GROUP, "A", 1), createEntity(AGG_GROUP, "A", 2)), mapper.elements);
+    }
+
+    @Test
+    public void shouldCombineElementsOfAggregatedGroups() throws IOException, InterruptedException {
+        // Given
+        final ElementCollectingMapper mapper = new ElementCollectingMapper();
+        final Mapper.Context context = createContext(10);
+
+        // When
+        run(mapper, context,
+                createEntity(AGG_GROUP, "A", 1),
+                createEntity(AGG_GROUP, "B", 2),
+                createEntity(NON_AGG_GROUP, "A", 3),
+                createEntity(AGG_GROUP, "A", 4),
+                createEntity(NON_AGG_GROUP, "A", 5));
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEntity(NON_AGG_GROUP, "A", 3),
+                createEntity(NON_AGG_GROUP, "A", 5),
+                createEntity(AGG_GROUP, "A", 5),
+                createEntity(AGG_GROUP, "B", 2)), mapper.elements);
+    }
+
+    @Test
+    public void shouldFlushCombinedElementsWhenBufferIsFull() throws IOException, InterruptedException {
+        // Given
+        final ElementCollectingMapper mapper = new ElementCollectingMapper();
+        final Mapper.Context context = createContext(2);
+
+        // When
+        run(mapper, context,
+                createEntity(AGG_GROUP, "A", 1),
+                createEntity(AGG_GROUP, "A", 2),
+                createEntity(AGG_GROUP, "B", 3),
+                createEntity(AGG_GROUP, "A", 4));
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEntity(AGG_GROUP, "A", 3),
+                createEntity(AGG_GROUP, "B", 3),
+                createEntity(AGG_GROUP, "A", 4)), mapper.elements);
+    }
+
+    private void run(final ElementCollectingMapper mapper, final Mapper.Context context, final Element... elements) throws IOException, InterruptedException {
+        mapper.setup(context);
+        long offset = 0;
+        for (final Element element : elements) {
+            mapper.map(new LongWritable(offset++), toText(element), context);
+        }
+        mapper.cleanup(context);
+    }
+
+    private Text toText(final Element element) throws SerialisationException {
+        return new Text(JSONSerialiser.serialise(element));
+    }
+
+    private Entity createEntity(final String group, final String vertex, final int count) {
+        return new Entity.Builder()
+                .group(group)
+                .vertex(vertex)
+                .property(COUNT, count)
+                .build();
+    }
+
+    private Mapper.Context createContext(final Integer combineBufferSize) {
+        final Configuration configuration = new Configuration();
+        configuration.set(JobFactory.SCHEMA, new String(createSchema().toCompactJson(), CommonConstants.UTF_8));
+        configuration.set(JobFactory.MAPPER_GENERATOR, JsonMapperGenerator.class.getName());
+        configuration.setBoolean(JobFactory.VALIDATE, false);
+        if (null != combineBufferSize) {
+            configuration.setInt(JobFactory.MAPPER_COMBINE_BUFFER_SIZE, combineBufferSize);
+        }
+
+        final Mapper.Context context = mock(Mapper.Context.class);
+        when(context.getConfiguration()).thenReturn(configuration);
+        when(context.getCounter(anyString(), anyString())).thenReturn(mock(Counter.class));
+        return context;
+    }
+
+    private Schema createSchema() {
+        return new Schema.Builder()
+                .entity(AGG_GROUP, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(COUNT, "int")
+                        .build())
+                .entity(NON_AGG_GROUP, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(COUNT, "int")
+                        .aggregate(false)
+                        .build())
+                .type("string", String.class)
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .build();
+    }
+
+    private static class ElementCollectingMapper extends GafferMapper<LongWritable, Text, Object, Object> {
+        private final List<Element> elements = new ArrayList<>();
+
+        @Override
+        protected void map(final Element element, final Context context) {
+            elements.add(element);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded {@link ExecutorService} used to run the operations behind the
+ * chunked REST endpoints.
+ * <p>
+ * The number of threads and the number of requests that can wait for a thread
+ * are configured using the {@link SystemProperty#CHUNKED_EXECUTOR_THREADS} and
+ * {@link SystemProperty#CHUNKED_EXECUTOR_QUEUE_SIZE} system properties. If the
+ * executor is saturated then new requests are rejected with a
+ * {@link java.util.concurrent.RejectedExecutionException}.
+ */
+public final class ChunkedOutputExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedOutputExecutor.class);
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static ExecutorService service;
+
+    private ChunkedOutputExecutor() {
+        // private constructor to prevent instantiation
+    }
+
+    public static synchronized ExecutorService getService() {
+        if (null == service) {
+            final int threads = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_EXECUTOR_THREADS, SystemProperty.CHUNKED_EXECUTOR_THREADS_DEFAULT));
+            final int queueSize = Integer.parseInt(System.getProperty(SystemProperty.CHUNKED_EXECUTOR_QUEUE_SIZE, SystemProperty.CHUNKED_EXECUTOR_QUEUE_SIZE_DEFAULT));
+            LOGGER.debug("Initialising ChunkedOutputExecutor with {} threads and a queue size of {}", threads, queueSize);
+
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "gaffer-rest-chunked-" + THREAD_COUNT.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            service = executor;
+        }
+        return service;
+    }
+
+    public static synchronized void shutdown() {
+        if (null != service) {
+            service.shutdownNow();
+        }
+        service = null;
+    }
+}
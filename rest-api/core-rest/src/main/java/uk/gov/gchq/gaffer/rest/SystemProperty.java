@@ -45,6 +45,9 @@ public abstract class SystemProperty {
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String REST_DEBUG = DebugUtil.DEBUG;
+    public static final String CHUNKED_EXECUTOR_THREADS = "gaffer.rest-api.chunked.threads";
+    public static final String CHUNKED_EXECUTOR_QUEUE_SIZE = "gaffer.rest-api.chunked.queue.size";
+    public static final String CHUNKED_STARTUP_WAIT = "gaffer.rest-api.chunked.startup.wait.millis";
 
     // Exposed Property Keys
     /**
@@ -98,6 +101,14 @@ public abstract class SystemProperty {
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = DefaultGraphFactory.class.getName();
     public static final String USER_FACTORY_CLASS_DEFAULT = UnknownUserFactory.class.getName();
     public static final String REST_DEBUG_DEFAULT = DebugUtil.DEBUG_DEFAULT;
+    public static final String CHUNKED_EXECUTOR_THREADS_DEFAULT = "20";
+    public static final String CHUNKED_EXECUTOR_QUEUE_SIZE_DEFAULT = "100";
+    /**
+     * The maximum time, in milliseconds, a chunked request waits for its operation
+     * to start before the response is returned. Errors raised after this time are
+     * not reported in the response status.
+     */
+    public static final String CHUNKED_STARTUP_WAIT_DEFAULT = "1000";
     public static final String APP_TITLE_DEFAULT = "Gaffer REST";
     public static final String APP_DESCRIPTION_DEFAULT = "The Gaffer REST service.";
     public static final String APP_DOCUMENTATION_URL_DEFAULT = "https://gchq.github.io/gaffer-doc/";
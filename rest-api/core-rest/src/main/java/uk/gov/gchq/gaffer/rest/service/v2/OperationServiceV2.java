@@ -17,7 +17,6 @@
 package uk.gov.gchq.gaffer.rest.service.v2;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.glassfish.jersey.server.ChunkedOutput;
@@ -38,6 +37,8 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.rest.ChunkedOutputExecutor;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
 import uk.gov.gchq.gaffer.rest.service.v2.example.ExamplesFactory;
@@ -55,11 +56,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
@@ -122,67 +129,57 @@ public class OperationServiceV2 implements IOperationServiceV2 {
         return executeChunkedChain(OperationChain.wrap(operation));
     }
 
-    @SuppressFBWarnings
     @Override
     public Response executeChunkedChain(final OperationChain opChain) {
         // Create chunked output instance
-        final Throwable[] threadException = new Throwable[1];
         final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
         final Context context = userFactory.createContext();
+        final CompletableFuture<Void> started = new CompletableFuture<>();
 
-        // create thread to write chunks to the chunked output object
-        Thread thread = new Thread(() -> {
-            try {
-                final Object result = _execute(opChain, context).getFirst();
-                chunkResult(result, output);
-            } catch (final Exception e) {
-                throw new RuntimeException(e);
-            } finally {
-                CloseableUtil.close(output);
-                CloseableUtil.close(opChain);
-            }
-        });
-
-        // By default threads throw nothing, so set the ExceptionHandler
-        thread.setUncaughtExceptionHandler((thread1, exception) -> threadException[0] = exception.getCause());
-
-        thread.start();
-
-        // Sleep to check exception will be caught
+        // Execute the operation chain on a pooled thread that writes chunks to the chunked output object.
+        // ChunkedOutput writes each chunk to the client as it is added, so the thread is held back by slow clients.
         try {
-            Thread.sleep(1000);
-        } catch (final InterruptedException e) {
-            return Response.status(INTERNAL_SERVER_ERROR)
-                    .entity(new Error.ErrorBuilder()
-                            .status(Status.INTERNAL_SERVER_ERROR)
-                            .statusCode(500)
-                            .simpleMessage(e.getMessage())
-                            .build())
-                    .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                    .build();
+            ChunkedOutputExecutor.getService().execute(() -> {
+                try {
+                    final Object result;
+                    try {
+                        result = _execute(opChain, context).getFirst();
+                    } catch (final Exception e) {
+                        started.completeExceptionally(e);
+                        return;
+                    }
+                    started.complete(null);
+                    chunkResult(result, output);
+                } catch (final Exception e) {
+                    LOGGER.error("Error writing chunked results", e);
+                } finally {
+                    CloseableUtil.close(output);
+                    CloseableUtil.close(opChain);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Unable to execute chunked operation chain as the executor is saturated", e);
+            CloseableUtil.close(output);
+            CloseableUtil.close(opChain);
+            return errorResponse(SERVICE_UNAVAILABLE, Status.SERVICE_UNAVAILABLE, "Too many chunked requests are being processed, please try again later");
         }
 
-        // If there was an UnauthorisedException thrown return 403, else return a 500
-        if (null != threadException[0]) {
-            if (threadException.getClass().equals(UnauthorisedException.class)) {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.FORBIDDEN)
-                                .statusCode(403)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
-            } else {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.INTERNAL_SERVER_ERROR)
-                                .statusCode(500)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
+        // Wait for the operation chain to start, so that errors can be reported in the response
+        final long startupWait = Long.parseLong(System.getProperty(SystemProperty.CHUNKED_STARTUP_WAIT, SystemProperty.CHUNKED_STARTUP_WAIT_DEFAULT));
+        try {
+            started.get(startupWait, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            LOGGER.debug("Chunked operation chain did not start within {}ms, returning output whilst it continues", startupWait);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return errorResponse(INTERNAL_SERVER_ERROR, Status.INTERNAL_SERVER_ERROR, e.getMessage());
+        } catch (final ExecutionException e) {
+            // If there was an UnauthorisedException thrown return 403, else return a 500
+            final Throwable cause = e.getCause();
+            if (cause instanceof UnauthorisedException) {
+                return errorResponse(INTERNAL_SERVER_ERROR, Status.FORBIDDEN, cause.getMessage());
             }
+            return errorResponse(INTERNAL_SERVER_ERROR, Status.INTERNAL_SERVER_ERROR, cause.getMessage());
         }
 
         // Return ok output
@@ -314,6 +311,17 @@ public class OperationServiceV2 implements IOperationServiceV2 {
         }
     }
 
+    private Response errorResponse(final Response.Status responseStatus, final Status status, final String message) {
+        return Response.status(responseStatus)
+                .entity(new Error.ErrorBuilder()
+                        .status(status)
+                        .statusCode(status.getStatusCode())
+                        .simpleMessage(message)
+                        .build())
+                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .build();
+    }
+
     private Operation generateExampleJson(final Class<? extends Operation> opClass) throws IllegalAccessException, InstantiationException {
         return examplesFactory.generateExample(opClass);
     }
@@ -201,7 +201,7 @@ public abstract class OperationServiceIT extends AbstractRestApiIT {
         assertEquals(500, response.getStatus());
     }
 
-    private List<Element> readChunkedElements(final Response response) {
+    protected List<Element> readChunkedElements(final Response response) {
         return readChunkedResults(response, new GenericType<ChunkedInput<Element>>() { });
     }
 
@@ -196,6 +196,27 @@ public class OperationServiceV2IT extends OperationServiceIT {
         assertEquals(fields, opDetails.getFields());
     }
 
+    @Test
+    public void shouldReturnChunkedResponseAsSoonAsOperationChainHasStarted() throws IOException {
+        // Given
+        System.setProperty(SystemProperty.CHUNKED_STARTUP_WAIT, "30000");
+        client.addElements(DEFAULT_ELEMENTS);
+
+        try {
+            // When
+            final long startTime = System.currentTimeMillis();
+            final Response response = client.executeOperationChunked(new GetAllElements());
+            final long duration = System.currentTimeMillis() - startTime;
+
+            // Then
+            assertEquals(200, response.getStatus());
+            assertTrue(duration < 10000L, "Chunked response took " + duration + "ms");
+            verifyElements(DEFAULT_ELEMENTS, readChunkedElements(response));
+        } finally {
+            System.clearProperty(SystemProperty.CHUNKED_STARTUP_WAIT);
+        }
+    }
+
     @Test
     public void shouldAllowUserWithAuthThroughHeaders() throws IOException {
         // Given
@@ -45,20 +45,32 @@ public class AccumuloProperties extends StoreProperties {
     public static final String NAMESPACE = "accumulo.namespace";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String BATCH_SCANNER_PREFETCH_DEPTH = "accumulo.batchScannerPrefetchDepth";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
+    public static final String CLIENT_SIDE_FALSE_POSITIVE_RATE = "accumulo.clientSideFalsePositiveRate";
+    public static final String NUM_THREADS_FOR_BLOOM_FILTER_CONSTRUCTION = "accumulo.numThreadsForBloomFilterConstruction";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String NUM_THREADS_FOR_ELEMENT_CONVERSION = "accumulo.numThreadsForElementConversion";
+    public static final String ELEMENT_CONVERSION_QUEUE_SIZE = "accumulo.elementConversionQueueSize";
+    public static final String ELEMENT_CONVERSION_BATCH_SIZE = "accumulo.elementConversionBatchSize";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String NUM_THREADS_FOR_ELEMENT_CONVERSION_DEFAULT = "1";
+    private static final String ELEMENT_CONVERSION_QUEUE_SIZE_DEFAULT = "16";
+    private static final String ELEMENT_CONVERSION_BATCH_SIZE_DEFAULT = "1000";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String BATCH_SCANNER_PREFETCH_DEPTH_DEFAULT = "0";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
+    private static final String CLIENT_SIDE_FALSE_POSITIVE_RATE_DEFAULT = "0.0000001";
+    private static final String NUM_THREADS_FOR_BLOOM_FILTER_CONSTRUCTION_DEFAULT = "1";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "100000000";
@@ -151,6 +163,67 @@ public class AccumuloProperties extends StoreProperties {
         return Long.parseLong(get(MAX_BUFFER_SIZE_FOR_BATCH_WRITER, MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Gets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements. If this is 1 then the elements
+     * are converted on the calling thread.
+     *
+     * @return The number of threads to use to convert elements into mutations.
+     */
+    public int getNumThreadsForElementConversion() {
+        return Integer.parseInt(get(NUM_THREADS_FOR_ELEMENT_CONVERSION, NUM_THREADS_FOR_ELEMENT_CONVERSION_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements.
+     *
+     * @param numThreadsForElementConversion The number of threads to use to convert elements into mutations.
+     */
+    public void setNumThreadsForElementConversion(final String numThreadsForElementConversion) {
+        set(NUM_THREADS_FOR_ELEMENT_CONVERSION, numThreadsForElementConversion);
+    }
+
+    /**
+     * Gets the maximum number of batches of elements, and of converted
+     * mutations, that can be queued between the stages of the element
+     * conversion pipeline.
+     *
+     * @return The maximum number of batches held in each queue.
+     */
+    public int getElementConversionQueueSize() {
+        return Integer.parseInt(get(ELEMENT_CONVERSION_QUEUE_SIZE, ELEMENT_CONVERSION_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of batches of elements, and of converted
+     * mutations, that can be queued between the stages of the element
+     * conversion pipeline.
+     *
+     * @param elementConversionQueueSize The maximum number of batches held in each queue.
+     */
+    public void setElementConversionQueueSize(final String elementConversionQueueSize) {
+        set(ELEMENT_CONVERSION_QUEUE_SIZE, elementConversionQueueSize);
+    }
+
+    /**
+     * Gets the number of elements passed to a conversion thread at a time.
+     *
+     * @return The number of elements in each batch.
+     */
+    public int getElementConversionBatchSize() {
+        return Integer.parseInt(get(ELEMENT_CONVERSION_BATCH_SIZE, ELEMENT_CONVERSION_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements passed to a conversion thread at a time.
+     *
+     * @param elementConversionBatchSize The number of elements in each batch.
+     */
+    public void setElementConversionBatchSize(final String elementConversionBatchSize) {
+        set(ELEMENT_CONVERSION_BATCH_SIZE, elementConversionBatchSize);
+    }
+
     /**
      * Gets the list of Zookeeper servers.
      *
@@ -303,6 +376,29 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets the number of batch scanners that should be opened ahead of the one
+     * currently being read when querying for a large number of seeds. If this
+     * is 0 then the next batch scanner is only opened once the current one
+     * has been fully read.
+     *
+     * @return An integer representing the number of batch scanners to open
+     * in advance.
+     */
+    public int getBatchScannerPrefetchDepth() {
+        return Integer.parseInt(get(BATCH_SCANNER_PREFETCH_DEPTH, BATCH_SCANNER_PREFETCH_DEPTH_DEFAULT));
+    }
+
+    /**
+     * Sets the number of batch scanners that should be opened ahead of the one
+     * currently being read when querying for a large number of seeds.
+     *
+     * @param batchScannerPrefetchDepth the number of batch scanners to open in advance.
+     */
+    public void setBatchScannerPrefetchDepth(final String batchScannerPrefetchDepth) {
+        set(BATCH_SCANNER_PREFETCH_DEPTH, batchScannerPrefetchDepth);
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
@@ -324,6 +420,55 @@ public class AccumuloProperties extends StoreProperties {
         set(CLIENT_SIDE_BLOOM_FILTER_SIZE, clientSideBloomFilterSize);
     }
 
+    /**
+     * Gets the target rate of false positives for bloom filters on the client
+     * side. When the number of seeds is known the client side bloom filters are
+     * sized to achieve this rate, up to the client side bloom filter size.
+     *
+     * @return A number representing the target rate of false positives for
+     * bloom filters on the client side.
+     */
+    public double getClientSideFalsePositiveRate() {
+        return Double.parseDouble(get(CLIENT_SIDE_FALSE_POSITIVE_RATE, CLIENT_SIDE_FALSE_POSITIVE_RATE_DEFAULT));
+    }
+
+    /**
+     * Sets the target rate of false positives for bloom filters on the client
+     * side.
+     *
+     * @param clientSideFalsePositiveRate the target rate of false positives for
+     *                                    bloom filters on the client side.
+     */
+    public void setClientSideFalsePositiveRate(final String clientSideFalsePositiveRate) {
+        set(CLIENT_SIDE_FALSE_POSITIVE_RATE, clientSideFalsePositiveRate);
+    }
+
+    /**
+     * Gets the number of threads that should be used to add seeds to bloom
+     * filters when querying for sets of seeds. If this is 1 then the seeds are
+     * added on the calling thread. Otherwise each thread fills its own copy of
+     * the bloom filters, so the memory used is multiplied by the number of
+     * threads. When the number of seeds is not known in advance each filter is
+     * created at {@code accumulo.clientSideBloomFilterSize}, which defaults to
+     * 100 MB, so each thread holds its own 100 MB client-side filter.
+     * The threads are taken from a pool shared by all queries.
+     *
+     * @return The number of threads to use to construct bloom filters.
+     */
+    public int getNumThreadsForBloomFilterConstruction() {
+        return Integer.parseInt(get(NUM_THREADS_FOR_BLOOM_FILTER_CONSTRUCTION, NUM_THREADS_FOR_BLOOM_FILTER_CONSTRUCTION_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads that should be used to add seeds to bloom
+     * filters when querying for sets of seeds.
+     *
+     * @param numThreadsForBloomFilterConstruction The number of threads to use to construct bloom filters.
+     */
+    public void setNumThreadsForBloomFilterConstruction(final String numThreadsForBloomFilterConstruction) {
+        set(NUM_THREADS_FOR_BLOOM_FILTER_CONSTRUCTION, numThreadsForBloomFilterConstruction);
+    }
+
     /**
      * Gets the allowable rate of false positives for bloom filters (Generally
      * the higher the value the faster the filter).
@@ -62,7 +62,9 @@ import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
+import uk.gov.gchq.gaffer.accumulostore.retriever.BloomFilterLoader;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.ElementMutationPipeline;
 import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
@@ -104,11 +106,13 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
 
 import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -153,6 +157,7 @@ public class AccumuloStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private ExecutorService ingestExecutor;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -190,6 +195,7 @@ public class AccumuloStore extends Store {
             throw new StoreException("Unable to construct an instance of key package: " + keyPackageClass, e);
         }
         this.keyPackage.setSchema(getSchema());
+        BloomFilterLoader.initialiseExecutor(getProperties().getNumThreadsForBloomFilterConstruction());
     }
 
     /**
@@ -425,61 +431,98 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
+        if (null == elements) {
+            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+        }
+
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
-        // Loop through elements, convert to mutations, and add to
-        // BatchWriter.as
-        // The BatchWriter takes care of batching them up, sending them without
-        // too high a latency, etc.
-        if (null != elements) {
-            for (final Element element : elements) {
-
-                final Pair<Key, Key> keys;
-                try {
-                    keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
-                    continue;
-                }
-                final Value value;
-                try {
-                    value = keyPackage.getKeyConverter().getValueFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
-                    continue;
-                }
-                final Mutation m = new Mutation(keys.getFirst().getRow());
-                m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                        new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
-                try {
-                    writer.addMutation(m);
-                } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
-                    continue;
-                }
-                // If the GraphElement is a Vertex then there will only be 1 key,
-                // and the second will be null.
-                // If the GraphElement is an Edge then there will be 2 keys.
-                if (null != keys.getSecond()) {
-                    final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                    m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                            new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                            value);
-                    try {
-                        writer.addMutation(m2);
-                    } catch (final MutationsRejectedException e) {
-                        LOGGER.error("Failed to create an accumulo key mutation");
+        try {
+            final int numConversionThreads = getProperties().getNumThreadsForElementConversion();
+            if (numConversionThreads > 1) {
+                // Convert the elements on a pool of worker threads, which feed
+                // the mutations to the BatchWriter through a bounded queue.
+                new ElementMutationPipeline(this::getMutationsFromElement, writer, getIngestExecutor(), numConversionThreads,
+                        getProperties().getElementConversionQueueSize(),
+                        getProperties().getElementConversionBatchSize())
+                        .write(elements);
+            } else {
+                // Loop through elements, convert to mutations, and add to
+                // BatchWriter.
+                // The BatchWriter takes care of batching them up, sending them without
+                // too high a latency, etc.
+                for (final Element element : elements) {
+                    for (final Mutation mutation : getMutationsFromElement(element)) {
+                        try {
+                            writer.addMutation(mutation);
+                        } catch (final MutationsRejectedException e) {
+                            LOGGER.error("Failed to create an accumulo key mutation");
+                        }
                     }
                 }
             }
-        } else {
-            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+        } finally {
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                LOGGER.warn("Accumulo batch writer failed to close", e);
+            }
         }
+    }
+
+    /**
+     * Gets the executor that the element conversion pipeline runs on. It is
+     * shared by all the AddElements operations on this store, so that their
+     * threads are reused.
+     *
+     * @return the executor for ingesting elements
+     */
+    protected synchronized ExecutorService getIngestExecutor() {
+        if (null == ingestExecutor) {
+            ingestExecutor = ElementMutationPipeline.createExecutor();
+        }
+        return ingestExecutor;
+    }
+
+    /**
+     * Converts an {@link Element} into the {@link Mutation}s required to store
+     * it in Accumulo. If the element cannot be converted then the failure is
+     * logged and an empty list is returned.
+     *
+     * @param element the element to convert
+     * @return the mutations for the element
+     */
+    protected List<Mutation> getMutationsFromElement(final Element element) {
+        final Pair<Key, Key> keys;
+        try {
+            keys = keyPackage.getKeyConverter().getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+            return Collections.emptyList();
+        }
+        final Value value;
         try {
-            writer.close();
-        } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+            value = keyPackage.getKeyConverter().getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+            return Collections.emptyList();
+        }
+
+        final Mutation m = new Mutation(keys.getFirst().getRow());
+        m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
+                new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
+
+        // If the GraphElement is a Vertex then there will only be 1 key,
+        // and the second will be null.
+        // If the GraphElement is an Edge then there will be 2 keys.
+        if (null == keys.getSecond()) {
+            return Collections.singletonList(m);
         }
+        final Mutation m2 = new Mutation(keys.getSecond().getRow());
+        m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
+                new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
+                value);
+        return Arrays.asList(m, m2);
     }
 
     /**
@@ -40,12 +40,13 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.gaffer.serialisation.util.SerialisationBuffer;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.Collections;
 import java.util.Iterator;
@@ -120,16 +121,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @SuppressWarnings("Convert2streamapi")
     @Override
     public Value getValueFromProperties(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
 
-        for (final String propertyName : elementDefinition.getProperties()) {
-            if (isStoredInValue(propertyName, elementDefinition)) {
-                serialiseSizeAndPropertyValue(propertyName, elementDefinition, properties, stream);
+        try (final SerialisationBuffer stream = SerialisationBuffer.acquire()) {
+            for (final String propertyName : elementDefinition.getProperties()) {
+                if (isStoredInValue(propertyName, elementDefinition)) {
+                    serialiseSizeAndPropertyValue(propertyName, elementDefinition, properties, stream);
+                }
             }
-        }
 
-        return new Value(stream.toByteArray());
+            return new Value(stream.toByteArray());
+        }
     }
 
     @Override
@@ -258,14 +260,15 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public byte[] buildColumnQualifier(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
 
-        for (final String groupByPropertyName : elementDefinition.getGroupBy()) {
-            serialiseSizeAndPropertyValue(groupByPropertyName, elementDefinition, properties, stream);
-        }
+        try (final SerialisationBuffer stream = SerialisationBuffer.acquire()) {
+            for (final String groupByPropertyName : elementDefinition.getGroupBy()) {
+                serialiseSizeAndPropertyValue(groupByPropertyName, elementDefinition, properties, stream);
+            }
 
-        return stream.toByteArray();
+            return stream.toByteArray();
+        }
     }
 
     private SchemaElementDefinition getSchemaElementDefinition(final String group) {
@@ -280,16 +283,10 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         try {
             final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
             final ToBytesSerialiser serialiser = (null == typeDefinition) ? null : (ToBytesSerialiser) typeDefinition.getSerialiser();
-            byte[] bytes;
-            if (null == serialiser) {
-                bytes = AccumuloStoreConstants.EMPTY_BYTES;
-            } else {
-                Object value = properties.get(propertyName);
-                //serialiseNull could be different to AccumuloStoreConstants.EMPTY_BYTES
-                bytes = (null == value) ? serialiser.serialiseNull() : serialiser.serialise(value);
-            }
-            writeBytes(bytes, stream);
-        } catch (final IOException e) {
+            //Without a serialiser an empty value is written. Null values use serialiseNull, which could be different to AccumuloStoreConstants.EMPTY_BYTES
+            final Object value = (null == serialiser) ? null : properties.get(propertyName);
+            LengthValueBytesSerialiserUtil.serialise(serialiser, value, stream);
+        } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to write serialised property to ByteArrayOutputStream" + propertyName, e);
         }
     }
@@ -505,12 +502,6 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 && !propertyName.equals(timestampProperty);
     }
 
-    private void writeBytes(final byte[] bytes, final ByteArrayOutputStream out)
-            throws IOException {
-        CompactRawSerialisationUtils.write(bytes.length, out);
-        out.write(bytes);
-    }
-
     private Object getDeserialisedObject(final ToBytesSerialiser serialiser, final byte[] bytes, final int from, final int length) throws SerialisationException {
         //Don't initialise with  #deserialiseEmpty() as this might initialise an complex empty structure to be immediately overwritten e.g. TreeSet<String>
         Object deserialisedObject;
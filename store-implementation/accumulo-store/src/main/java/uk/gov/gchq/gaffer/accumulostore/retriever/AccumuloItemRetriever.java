@@ -46,10 +46,16 @@ import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters, I_ITEM>
         extends AccumuloRetriever<OP, Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloItemRetriever.class);
+    private static final long PREFETCH_POLL_TIMEOUT_MS = 100L;
 
     protected final boolean includeMatchedVertex;
     private final Iterable<? extends I_ITEM> ids;
@@ -88,36 +94,41 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    /**
+     * Iterates over the elements returned for the ids, creating a new
+     * {@link BatchScanner} for each set of up to
+     * {@code accumulo.entriesForBatchScanner} ids.
+     * <p>
+     * If {@code accumulo.batchScannerPrefetchDepth} is greater than 0 then
+     * the ranges for the following batches of ids are built, and their
+     * scanners opened, on a background thread whilst the current scanner is
+     * being consumed. At most that many scanners are opened ahead of the
+     * current one.
+     * </p>
+     */
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
+        private final ScannerPrefetcher prefetcher;
         private BatchScanner scanner;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            final int prefetchDepth = store.getProperties().getBatchScannerPrefetchDepth();
+            prefetcher = prefetchDepth > 0 ? new ScannerPrefetcher(prefetchDepth) : null;
 
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
             try {
-                scanner = getScanner(ranges);
+                scanner = nextScanner();
             } catch (final Exception e) {
+                close();
                 CloseableUtil.close(idsIterator);
                 CloseableUtil.close(ids);
                 throw new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
+            scannerIterator = null != scanner ? scanner.iterator() : Collections.emptyIterator();
         }
 
         @Override
@@ -126,56 +137,45 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             if (null != nextElm) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Entry<Key, Value> entry = scannerIterator.next();
-                try {
-                    nextElm = elementConverter.getFullElement(
-                            entry.getKey(),
-                            entry.getValue(),
-                            includeMatchedVertex);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
-                            e);
-                    continue;
-                }
-                doTransformation(nextElm);
-                if (doPostFilter(nextElm)) {
-                    ViewUtil.removeProperties(operation.getView(), nextElm);
-                    return true;
-                } else {
-                    nextElm = null;
-                }
-            }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
+            while (true) {
+                while (scannerIterator.hasNext()) {
+                    final Entry<Key, Value> entry = scannerIterator.next();
                     try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
+                        nextElm = elementConverter.getFullElement(
+                                entry.getKey(),
+                                entry.getValue(),
+                                includeMatchedVertex);
+                    } catch (final AccumuloElementConversionException e) {
+                        LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                                e);
+                        continue;
+                    }
+                    doTransformation(nextElm);
+                    if (doPostFilter(nextElm)) {
+                        ViewUtil.removeProperties(operation.getView(), nextElm);
+                        return true;
+                    } else {
+                        nextElm = null;
                     }
                 }
-                scanner.close();
+
+                // If current scanner is spent then move on to the scanner for
+                // the next batch of ids. If there are no more ids then
+                // return false.
+                closeScanner();
                 try {
-                    scanner = getScanner(ranges);
+                    scanner = nextScanner();
                 } catch (final TableNotFoundException | StoreException e) {
                     LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                    close();
+                    return false;
+                }
+                if (null == scanner) {
+                    close();
                     return false;
                 }
                 scannerIterator = scanner.iterator();
             }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
-            }
         }
 
         @Override
@@ -197,9 +197,152 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         @Override
         public void close() {
+            if (null != prefetcher) {
+                prefetcher.close();
+            }
+            closeScanner();
+        }
+
+        private void closeScanner() {
             if (null != scanner) {
                 scanner.close();
+                scanner = null;
+            }
+            scannerIterator = Collections.emptyIterator();
+        }
+
+        /**
+         * Gets the scanner for the next batch of ids.
+         *
+         * @return the next scanner, or null if there are no more ids.
+         * @throws TableNotFoundException if the table could not be found
+         * @throws StoreException         if the scanner could not be created
+         */
+        private BatchScanner nextScanner() throws TableNotFoundException, StoreException {
+            if (null != prefetcher) {
+                return prefetcher.next();
+            }
+            if (!idsIterator.hasNext()) {
+                return null;
+            }
+            return getScanner(nextRanges());
+        }
+
+        private Set<Range> nextRanges() {
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+            return ranges;
+        }
+
+        /**
+         * Builds the ranges and opens the scanners for upcoming batches of ids
+         * on a background thread. Once the prefetcher has been created the
+         * ids iterator must only be accessed by the background thread.
+         */
+        private final class ScannerPrefetcher {
+            private final BlockingQueue<PrefetchedScanner> queue;
+            private final ExecutorService executor;
+            private volatile boolean closed;
+            private boolean finished;
+
+            private ScannerPrefetcher(final int prefetchDepth) {
+                queue = new ArrayBlockingQueue<>(prefetchDepth);
+                executor = Executors.newSingleThreadExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "gaffer-accumulo-scanner-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                executor.execute(this::prefetch);
+            }
+
+            private void prefetch() {
+                try {
+                    while (!closed && idsIterator.hasNext()) {
+                        final BatchScanner prefetched = getScanner(nextRanges());
+                        if (!offer(new PrefetchedScanner(prefetched, null))) {
+                            prefetched.close();
+                            return;
+                        }
+                    }
+                    offer(new PrefetchedScanner(null, null));
+                } catch (final TableNotFoundException | StoreException | RuntimeException e) {
+                    offer(new PrefetchedScanner(null, e));
+                }
+            }
+
+            private boolean offer(final PrefetchedScanner prefetched) {
+                try {
+                    while (!closed) {
+                        if (queue.offer(prefetched, PREFETCH_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                            return true;
+                        }
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
             }
+
+            private BatchScanner next() throws TableNotFoundException, StoreException {
+                if (finished || closed) {
+                    return null;
+                }
+                final PrefetchedScanner prefetched;
+                try {
+                    prefetched = queue.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new StoreException("Interrupted whilst waiting for the next batch scanner", e);
+                }
+                if (null == prefetched.scanner) {
+                    finished = true;
+                    if (prefetched.exception instanceof TableNotFoundException) {
+                        throw (TableNotFoundException) prefetched.exception;
+                    } else if (prefetched.exception instanceof StoreException) {
+                        throw (StoreException) prefetched.exception;
+                    } else if (null != prefetched.exception) {
+                        throw new StoreException(prefetched.exception.getMessage(), prefetched.exception);
+                    }
+                }
+                return prefetched.scanner;
+            }
+
+            private void close() {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                executor.shutdownNow();
+                try {
+                    executor.awaitTermination(PREFETCH_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                PrefetchedScanner prefetched;
+                while (null != (prefetched = queue.poll())) {
+                    if (null != prefetched.scanner) {
+                        prefetched.scanner.close();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class PrefetchedScanner {
+        private final BatchScanner scanner;
+        private final Exception exception;
+
+        private PrefetchedScanner(final BatchScanner scanner, final Exception exception) {
+            this.scanner = scanner;
+            this.exception = exception;
         }
     }
 }
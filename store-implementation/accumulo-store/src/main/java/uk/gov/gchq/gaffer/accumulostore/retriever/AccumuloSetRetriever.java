@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
+import com.google.common.collect.Iterators;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
@@ -46,15 +47,19 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.Supplier;
 
 public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? extends EntityId>, CloseableIterable<? extends Element>> & GraphFilters>
         extends AccumuloRetriever<OP, Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloSetRetriever.class);
+    protected static final int UNKNOWN_NUM_SEEDS = -1;
     private boolean readEntriesIntoMemory;
 
     public AccumuloSetRetriever(final AccumuloStore store, final OP operation, final User user)
@@ -129,6 +134,81 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         return vertices;
     }
 
+    /**
+     * @param seeds the seeds
+     * @return the number of seeds if it is known without iterating through
+     * them, otherwise {@link #UNKNOWN_NUM_SEEDS}
+     */
+    protected int getNumSeeds(final Iterable<?> seeds) {
+        return seeds instanceof Collection ? ((Collection<?>) seeds).size() : UNKNOWN_NUM_SEEDS;
+    }
+
+    /**
+     * Creates a bloom filter to pass to the filtering iterator. If the number
+     * of seeds is known the filter is sized to achieve the false positive rate
+     * for them, otherwise it is sized for a single batch of seeds.
+     *
+     * @param numSeeds the number of seeds that will be added, or {@link #UNKNOWN_NUM_SEEDS}
+     * @return the bloom filter
+     */
+    protected BloomFilter createIteratorBloomFilter(final int numSeeds) {
+        return BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                numSeeds > 0 ? numSeeds : store.getProperties().getMaxEntriesForBatchScanner(),
+                store.getProperties().getMaxBloomFilterToPassToAnIterator());
+    }
+
+    /**
+     * Creates a bloom filter to be used client side. If the number of seeds is
+     * known the filter is sized to achieve the client side false positive rate
+     * for them, otherwise it has the maximum client side size.
+     *
+     * @param numSeeds the number of seeds that will be added, or {@link #UNKNOWN_NUM_SEEDS}
+     * @return the bloom filter
+     */
+    protected BloomFilter createClientSideBloomFilter(final int numSeeds) {
+        if (numSeeds > 0) {
+            return BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideFalsePositiveRate(),
+                    numSeeds, store.getProperties().getClientSideBloomFilterSize());
+        }
+        return BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
+    }
+
+    /**
+     * Creates a bloom filter from each factory and adds the vertices to them,
+     * using {@code accumulo.numThreadsForBloomFilterConstruction} threads.
+     *
+     * @param vertices        the vertices to add
+     * @param filterFactories the factories used to create the filters
+     * @return the filters, in the same order as the factories
+     * @throws RetrieverException if the vertices could not be added to the filters
+     */
+    protected List<BloomFilter> loadBloomFilters(final Iterable<?> vertices,
+                                                 final List<Supplier<BloomFilter>> filterFactories)
+            throws RetrieverException {
+        return new BloomFilterLoader(elementConverter, store.getProperties().getNumThreadsForBloomFilterConstruction())
+                .load(vertices.iterator(), filterFactories);
+    }
+
+    /**
+     * Creates a bloom filter from each factory and adds the vertices of the
+     * seeds to them, closing the seeds iterator once it has been read.
+     *
+     * @param seeds           the seeds to add
+     * @param filterFactories the factories used to create the filters
+     * @return the filters, in the same order as the factories
+     * @throws RetrieverException if the vertices could not be added to the filters
+     */
+    protected List<BloomFilter> loadBloomFilters(final Iterator<? extends EntityId> seeds,
+                                                 final List<Supplier<BloomFilter>> filterFactories)
+            throws RetrieverException {
+        try {
+            return new BloomFilterLoader(elementConverter, store.getProperties().getNumThreadsForBloomFilterConstruction())
+                    .load(Iterators.transform(seeds, EntityId::getVertex), filterFactories);
+        } finally {
+            CloseableUtil.close(seeds);
+        }
+    }
+
     protected void addToBloomFilter(final Iterable<? extends Object> vertices, final BloomFilter filter)
             throws RetrieverException {
         addToBloomFilter(vertices.iterator(), filter);
@@ -277,12 +357,25 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         private int count;
 
         public AbstractElementIteratorFromBatches() {
-            // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
-            // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            this(UNKNOWN_NUM_SEEDS);
+        }
+
+        /**
+         * @param numSeeds the number of seeds that will be added to the bloom filters,
+         *                 or {@link #UNKNOWN_NUM_SEEDS}
+         */
+        public AbstractElementIteratorFromBatches(final int numSeeds) {
+            // Set up client side filter, and the Bloom filter to be passed to iterators.
+            this(createIteratorBloomFilter(numSeeds), createClientSideBloomFilter(numSeeds));
+        }
+
+        /**
+         * @param filter           the Bloom filter to be passed to iterators
+         * @param clientSideFilter the Bloom filter to be used client side
+         */
+        public AbstractElementIteratorFromBatches(final BloomFilter filter, final BloomFilter clientSideFilter) {
+            this.filter = filter;
+            this.clientSideFilter = clientSideFilter;
             currentSeeds = new HashSet<>();
         }
 
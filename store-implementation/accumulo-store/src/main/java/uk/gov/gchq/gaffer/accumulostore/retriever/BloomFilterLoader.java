@@ -0,0 +1,260 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.ExecutorService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A {@code BloomFilterLoader} creates {@link BloomFilter}s and adds a set of
+ * vertices to each of them.
+ * <p>
+ * If more than one thread is used then the calling thread reads the vertices
+ * and hands them to the worker threads in batches through a bounded queue.
+ * Each worker serialises the vertices and adds them to its own partial copies
+ * of the filters, which are OR-ed together once all the vertices have been
+ * added. The filter factories must therefore create identically configured
+ * filters each time they are called.
+ * </p>
+ * <p>
+ * The workers run on the shared {@link #EXECUTOR_POOL} pool of the
+ * {@link ExecutorService}, rather than on the pool used to run jobs, so that a
+ * query running as a job cannot wait on workers queued behind it. Stores size
+ * the pool with {@link #initialiseExecutor(int)} when they are initialised. If
+ * the pool is not available then the vertices are added on the calling thread.
+ * </p>
+ */
+public class BloomFilterLoader {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final String EXECUTOR_POOL = "accumulo-bloom-filter";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BloomFilterLoader.class);
+    private static final long OFFER_TIMEOUT_MS = 100L;
+    private static final List<Object> END_OF_VERTICES = Collections.emptyList();
+
+    private final AccumuloElementConverter elementConverter;
+    private final int numThreads;
+    private final int batchSize;
+
+    public BloomFilterLoader(final AccumuloElementConverter elementConverter, final int numThreads) {
+        this(elementConverter, numThreads, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param elementConverter the converter used to serialise the vertices
+     * @param numThreads       the number of threads to use to add vertices to the filters
+     * @param batchSize        the number of vertices passed to a thread at a time
+     */
+    public BloomFilterLoader(final AccumuloElementConverter elementConverter, final int numThreads, final int batchSize) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1");
+        }
+        this.elementConverter = elementConverter;
+        this.numThreads = numThreads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Initialises the {@link #EXECUTOR_POOL} pool, or grows it if it already
+     * exists with fewer threads, so that a store's workers do not queue behind
+     * each other.
+     *
+     * @param numThreads the number of threads the store uses to add vertices to bloom filters
+     */
+    public static void initialiseExecutor(final int numThreads) {
+        if (numThreads > 1) {
+            ExecutorService.initialiseWithAtLeast(EXECUTOR_POOL, numThreads);
+        }
+    }
+
+    /**
+     * Creates a filter from each factory and adds all of the vertices to each
+     * of them. The vertices iterator is not closed.
+     *
+     * @param vertices        the vertices to add to the filters
+     * @param filterFactories the factories used to create the filters
+     * @return the filters, in the same order as the factories
+     * @throws RetrieverException if a vertex cannot be serialised or the calling thread is interrupted
+     */
+    public List<BloomFilter> load(final Iterator<?> vertices, final List<Supplier<BloomFilter>> filterFactories)
+            throws RetrieverException {
+        final long startTime = System.currentTimeMillis();
+        final ScheduledExecutorService executor = numThreads > 1 ? ExecutorService.getService(EXECUTOR_POOL) : null;
+        final AtomicInteger count = new AtomicInteger();
+        List<BloomFilter> filters = null != executor ? loadInParallel(vertices, filterFactories, executor, count) : null;
+        final boolean inParallel = null != filters;
+        if (!inParallel) {
+            if (numThreads > 1) {
+                LOGGER.debug("The {} executor pool is not available, adding vertices on the calling thread", EXECUTOR_POOL);
+            }
+            filters = createFilters(filterFactories);
+            while (vertices.hasNext()) {
+                add(vertices.next(), filters);
+                count.incrementAndGet();
+            }
+        }
+        LOGGER.debug("Added {} vertices to {} bloom filters of sizes {} in {} ms using {} threads",
+                count.get(), filters.size(), getVectorSizes(filters), System.currentTimeMillis() - startTime,
+                inParallel ? numThreads : 1);
+        return filters;
+    }
+
+    /**
+     * @return the filters, or null if the executor rejected the workers before any vertices were read
+     */
+    private List<BloomFilter> loadInParallel(final Iterator<?> vertices,
+                                             final List<Supplier<BloomFilter>> filterFactories,
+                                             final ScheduledExecutorService executor,
+                                             final AtomicInteger count) throws RetrieverException {
+        final BlockingQueue<List<Object>> batches = new ArrayBlockingQueue<>(numThreads * 2);
+        final List<Future<List<BloomFilter>>> partialFilters = new ArrayList<>(numThreads);
+        try {
+            try {
+                for (int i = 0; i < numThreads; i++) {
+                    partialFilters.add(executor.submit(() -> loadBatches(batches, filterFactories)));
+                }
+            } catch (final RejectedExecutionException e) {
+                // The pool has been shut down
+                return null;
+            }
+
+            List<Object> batch = new ArrayList<>(batchSize);
+            while (vertices.hasNext()) {
+                batch.add(vertices.next());
+                if (batch.size() >= batchSize) {
+                    count.addAndGet(batch.size());
+                    offer(batches, batch, partialFilters);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                count.addAndGet(batch.size());
+                offer(batches, batch, partialFilters);
+            }
+            for (int i = 0; i < numThreads; i++) {
+                offer(batches, END_OF_VERTICES, partialFilters);
+            }
+
+            final long mergeStartTime = System.currentTimeMillis();
+            final List<BloomFilter> filters = partialFilters.get(0).get();
+            for (int i = 1; i < numThreads; i++) {
+                final List<BloomFilter> partial = partialFilters.get(i).get();
+                for (int j = 0; j < filters.size(); j++) {
+                    filters.get(j).or(partial.get(j));
+                }
+            }
+            LOGGER.debug("Merged {} partial bloom filters in {} ms", numThreads, System.currentTimeMillis() - mergeStartTime);
+            return filters;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RetrieverException("Interrupted whilst adding vertices to the bloom filters", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RetrieverException) {
+                throw (RetrieverException) e.getCause();
+            }
+            throw new RetrieverException("Failed to add vertices to the bloom filters: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // The pool is shared, so stop any workers still waiting for batches rather than shutting it down
+            for (final Future<List<BloomFilter>> partialFilter : partialFilters) {
+                partialFilter.cancel(true);
+            }
+        }
+    }
+
+    private List<BloomFilter> loadBatches(final BlockingQueue<List<Object>> batches,
+                                          final List<Supplier<BloomFilter>> filterFactories)
+            throws InterruptedException, RetrieverException {
+        final List<BloomFilter> filters = createFilters(filterFactories);
+        while (true) {
+            final List<Object> batch = batches.take();
+            if (END_OF_VERTICES == batch) {
+                return filters;
+            }
+            for (final Object vertex : batch) {
+                add(vertex, filters);
+            }
+        }
+    }
+
+    private void add(final Object vertex, final List<BloomFilter> filters) throws RetrieverException {
+        final Key key;
+        try {
+            key = new Key(elementConverter.serialiseVertex(vertex));
+        } catch (final AccumuloElementConversionException e) {
+            throw new RetrieverException("Failed to add identifier to the bloom key", e);
+        }
+        for (final BloomFilter filter : filters) {
+            filter.add(key);
+        }
+    }
+
+    /**
+     * Offers a batch to the workers, giving up if one of them has stopped
+     * early because it failed.
+     */
+    private void offer(final BlockingQueue<List<Object>> batches, final List<Object> batch,
+                       final List<Future<List<BloomFilter>>> partialFilters)
+            throws InterruptedException, ExecutionException {
+        while (!batches.offer(batch, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            for (final Future<List<BloomFilter>> partialFilter : partialFilters) {
+                if (partialFilter.isDone()) {
+                    // A worker only finishes early if it failed, so this throws its exception
+                    partialFilter.get();
+                }
+            }
+        }
+    }
+
+    private static List<BloomFilter> createFilters(final List<Supplier<BloomFilter>> filterFactories) {
+        final List<BloomFilter> filters = new ArrayList<>(filterFactories.size());
+        for (final Supplier<BloomFilter> filterFactory : filterFactories) {
+            filters.add(filterFactory.get());
+        }
+        return filters;
+    }
+
+    private static List<Integer> getVectorSizes(final List<BloomFilter> filters) {
+        final List<Integer> sizes = new ArrayList<>(filters.size());
+        for (final BloomFilter filter : filters) {
+            sizes.add(filter.getVectorSize());
+        }
+        return sizes;
+    }
+}
@@ -25,7 +25,6 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
-import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -34,7 +33,10 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -120,6 +122,23 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
         return new ElementIteratorFromBatches();
     }
 
+    /**
+     * Reads through set of entities B and adds them to both the Bloom filter
+     * passed to the iterators and the client side Bloom filter.
+     */
+    private List<BloomFilter> loadSetBBloomFilters() throws RetrieverException {
+        final int numSeedsB = getNumSeeds(seedSetB);
+        try {
+            return loadBloomFilters(seedSetBIter, Arrays.asList(
+                    () -> createIteratorBloomFilter(numSeedsB),
+                    () -> createClientSideBloomFilter(numSeedsB)));
+        } catch (final Exception e) {
+            CloseableUtil.close(seedSetAIter);
+
+            throw e;
+        }
+    }
+
     private class ElementIteratorReadIntoMemory extends AbstractElementIteratorReadIntoMemory {
         private final Set<Object> verticesA;
         private final Set<Object> verticesB;
@@ -130,9 +149,9 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
 
             // Create Bloom filter, read through set of entities B and add them
             // to Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    verticesB.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(verticesB, filter);
+            final int numVerticesB = verticesB.size();
+            final BloomFilter filter = loadBloomFilters(verticesB,
+                    Collections.singletonList(() -> createIteratorBloomFilter(numVerticesB))).get(0);
             initialise(filter);
         }
 
@@ -150,8 +169,12 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
+            this(loadSetBBloomFilters());
+        }
+
+        private ElementIteratorFromBatches(final List<BloomFilter> filters) throws RetrieverException {
+            super(filters.get(0), filters.get(1));
             try {
-                addToBloomFilter(seedSetBIter, filter, clientSideFilter);
                 idsAIterator = seedSetAIter;
                 updateScanner();
             } catch (final Exception e) {
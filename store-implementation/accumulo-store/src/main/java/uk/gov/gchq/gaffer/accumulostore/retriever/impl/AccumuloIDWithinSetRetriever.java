@@ -25,7 +25,6 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
-import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -34,6 +33,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -122,9 +122,9 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
 
             // Create Bloom filter, read through set of entities and add them to
             // Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    vertices.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(vertices, filter);
+            final int numVertices = vertices.size();
+            final BloomFilter filter = loadBloomFilters(vertices,
+                    Collections.singletonList(() -> createIteratorBloomFilter(numVertices))).get(0);
 
             initialise(filter);
         }
@@ -142,6 +142,7 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
+            super(getNumSeeds(seeds));
             idsAIterator = seedsIter;
             updateScanner();
         }
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Mutation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * An {@code ElementMutationPipeline} converts {@link Element}s into Accumulo
+ * {@link Mutation}s on a pool of worker threads and feeds the results to a
+ * single {@link BatchWriter}.
+ * <p>
+ * The calling thread iterates over the elements and hands them to the
+ * conversion workers in batches through a bounded queue. The converted
+ * mutations are passed to a single writer thread through a second bounded
+ * queue. If either stage falls behind, the stage in front of it blocks, so
+ * the memory used by the pipeline is bounded by the queue sizes.
+ * </p>
+ * <p>
+ * The workers run on an executor supplied by the caller, so that threads are
+ * reused between calls. Every stage of a pipeline must be able to run at the
+ * same time, so the executor must not limit the number of threads, e.g. one
+ * created by {@link #createExecutor()}.
+ * </p>
+ * <p>
+ * Elements which fail to be converted are dealt with by the supplied
+ * converter function, which should log the failure and return an empty list.
+ * Mutations rejected by the {@link BatchWriter} are logged and skipped. This
+ * matches the per-element error handling of the sequential ingest path.
+ * </p>
+ */
+public class ElementMutationPipeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementMutationPipeline.class);
+    private static final long OFFER_TIMEOUT_MS = 100L;
+    private static final List<Element> END_OF_ELEMENTS = Collections.emptyList();
+    private static final List<Mutation> END_OF_MUTATIONS = Collections.emptyList();
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final Function<Element, List<Mutation>> converter;
+    private final BatchWriter writer;
+    private final ExecutorService executor;
+    private final int numConversionThreads;
+    private final int batchSize;
+    private final BlockingQueue<List<Element>> elementBatches;
+    private final BlockingQueue<List<Mutation>> mutationBatches;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * @param converter            the function used to convert an element into mutations
+     * @param writer               the {@link BatchWriter} to add the mutations to
+     * @param executor             the executor to run the stages of the pipeline on
+     * @param numConversionThreads the number of threads to use to convert elements
+     * @param queueSize            the maximum number of batches held in each queue
+     * @param batchSize            the number of elements in each batch
+     */
+    public ElementMutationPipeline(final Function<Element, List<Mutation>> converter,
+                                   final BatchWriter writer,
+                                   final ExecutorService executor,
+                                   final int numConversionThreads,
+                                   final int queueSize,
+                                   final int batchSize) {
+        if (null == executor) {
+            throw new IllegalArgumentException("An executor is required");
+        }
+        if (numConversionThreads < 1) {
+            throw new IllegalArgumentException("The number of conversion threads must be at least 1");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("The queue size must be at least 1");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1");
+        }
+        this.converter = converter;
+        this.writer = writer;
+        this.executor = executor;
+        this.numConversionThreads = numConversionThreads;
+        this.batchSize = batchSize;
+        this.elementBatches = new ArrayBlockingQueue<>(queueSize);
+        this.mutationBatches = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    /**
+     * Creates an executor suitable for running pipelines on. It creates threads
+     * as they are needed and reuses idle ones, which are removed after a minute.
+     *
+     * @return the executor
+     */
+    public static ExecutorService createExecutor() {
+        final String namePrefix = "gaffer-accumulo-ingest-" + POOL_COUNT.incrementAndGet() + "-";
+        final AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Converts all the provided elements and adds the resulting mutations to
+     * the {@link BatchWriter}. This method blocks until all of the mutations
+     * have been added to the writer. The writer is not closed.
+     *
+     * @param elements the elements to convert and write
+     * @throws StoreException if one of the pipeline stages fails unexpectedly
+     *                        or the calling thread is interrupted
+     */
+    public void write(final Iterable<? extends Element> elements) throws StoreException {
+        final CountDownLatch stagesFinished = new CountDownLatch(numConversionThreads + 1);
+        final List<Future<?>> stages = new ArrayList<>(numConversionThreads + 1);
+        try {
+            for (int i = 0; i < numConversionThreads; i++) {
+                stages.add(executor.submit(() -> runStage(this::convertBatches, stagesFinished)));
+            }
+            stages.add(executor.submit(() -> runStage(this::writeBatches, stagesFinished)));
+
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    offerElements(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                offerElements(batch);
+            }
+            for (int i = 0; i < numConversionThreads; i++) {
+                offerElements(END_OF_ELEMENTS);
+            }
+
+            while (!stagesFinished.await(OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                checkForFailure();
+            }
+            checkForFailure();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements to Accumulo", e);
+        } finally {
+            // Stops any stages that are still running if the pipeline has been aborted
+            for (final Future<?> stage : stages) {
+                stage.cancel(true);
+            }
+        }
+    }
+
+    private void offerElements(final List<Element> batch) throws InterruptedException, StoreException {
+        if (!offer(elementBatches, batch)) {
+            checkForFailure();
+        }
+    }
+
+    private void convertBatches() throws InterruptedException {
+        while (true) {
+            final List<Element> batch = elementBatches.take();
+            if (END_OF_ELEMENTS == batch) {
+                offer(mutationBatches, END_OF_MUTATIONS);
+                return;
+            }
+            final List<Mutation> mutations = new ArrayList<>(batch.size() * 2);
+            for (final Element element : batch) {
+                mutations.addAll(converter.apply(element));
+            }
+            if (!mutations.isEmpty() && !offer(mutationBatches, mutations)) {
+                return;
+            }
+        }
+    }
+
+    private void writeBatches() throws InterruptedException {
+        int remainingConverters = numConversionThreads;
+        while (remainingConverters > 0) {
+            final List<Mutation> mutations = mutationBatches.take();
+            if (END_OF_MUTATIONS == mutations) {
+                remainingConverters--;
+            } else {
+                for (final Mutation mutation : mutations) {
+                    try {
+                        writer.addMutation(mutation);
+                    } catch (final MutationsRejectedException e) {
+                        LOGGER.error("Failed to create an accumulo key mutation");
+                    }
+                }
+            }
+        }
+    }
+
+    private void runStage(final Stage stage, final CountDownLatch stagesFinished) {
+        try {
+            stage.run();
+        } catch (final InterruptedException e) {
+            // Normally the stages are only interrupted once the caller has given up on the pipeline,
+            // but the other stages cannot complete without this one so the pipeline is aborted
+            LOGGER.debug("Element ingest pipeline stage was interrupted");
+            failure.compareAndSet(null, e);
+        } catch (final Throwable t) {
+            LOGGER.error("Element ingest pipeline stage failed", t);
+            failure.compareAndSet(null, t);
+        } finally {
+            stagesFinished.countDown();
+        }
+    }
+
+    /**
+     * Adds an item to a queue, waiting for space if necessary.
+     *
+     * @return false if the item was not added because a stage of the pipeline has failed
+     */
+    private <T> boolean offer(final BlockingQueue<T> queue, final T item) throws InterruptedException {
+        while (!queue.offer(item, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (null != failure.get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkForFailure() throws StoreException {
+        final Throwable t = failure.get();
+        if (null != t) {
+            throw new StoreException("Failed to add elements to Accumulo: " + t.getMessage(), t);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws InterruptedException;
+    }
+}
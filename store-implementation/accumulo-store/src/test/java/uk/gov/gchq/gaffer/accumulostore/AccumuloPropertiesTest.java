@@ -70,6 +70,12 @@ public class AccumuloPropertiesTest {
         final String KEY_PACKAGE_CLASS = "gaffer.store.accumulo.keypackage.class";
         final String REPLICATION_FACTOR = "accumulo.file.replication";
         final String NAMESPACE = "gaffer.namespace";
+        final String NUM_THREADS_CONVERSION = "4";
+        final String CONVERSION_QUEUE_SIZE = "20";
+        final String CONVERSION_BATCH_SIZE = "500";
+        final String PREFETCH_DEPTH = "2";
+        final String CLIENT_SIDE_FALSE_POSITIVE_RATE = "0.000001";
+        final String NUM_THREADS_BLOOM_FILTER = "3";
 
         // When
         props.setNumThreadsForBatchWriter(NUM_THREADS_WRITER);
@@ -85,6 +91,12 @@ public class AccumuloPropertiesTest {
         props.setTableFileReplicationFactor(REPLICATION_FACTOR);
         props.setEnableValidatorIterator(true);
         props.setNamespace(NAMESPACE);
+        props.setNumThreadsForElementConversion(NUM_THREADS_CONVERSION);
+        props.setElementConversionQueueSize(CONVERSION_QUEUE_SIZE);
+        props.setElementConversionBatchSize(CONVERSION_BATCH_SIZE);
+        props.setBatchScannerPrefetchDepth(PREFETCH_DEPTH);
+        props.setClientSideFalsePositiveRate(CLIENT_SIDE_FALSE_POSITIVE_RATE);
+        props.setNumThreadsForBloomFilterConstruction(NUM_THREADS_BLOOM_FILTER);
 
         // Then
         assertEquals(Integer.parseInt(NUM_THREADS_WRITER), props.getNumThreadsForBatchWriter());
@@ -100,6 +112,12 @@ public class AccumuloPropertiesTest {
         assertEquals(REPLICATION_FACTOR, props.getTableFileReplicationFactor());
         assertTrue(props.getEnableValidatorIterator());
         assertEquals(NAMESPACE, props.getNamespace());
+        assertEquals(Integer.parseInt(NUM_THREADS_CONVERSION), props.getNumThreadsForElementConversion());
+        assertEquals(Integer.parseInt(CONVERSION_QUEUE_SIZE), props.getElementConversionQueueSize());
+        assertEquals(Integer.parseInt(CONVERSION_BATCH_SIZE), props.getElementConversionBatchSize());
+        assertEquals(Integer.parseInt(PREFETCH_DEPTH), props.getBatchScannerPrefetchDepth());
+        assertEquals(Double.parseDouble(CLIENT_SIDE_FALSE_POSITIVE_RATE), props.getClientSideFalsePositiveRate(), 0.0000001D);
+        assertEquals(Integer.parseInt(NUM_THREADS_BLOOM_FILTER), props.getNumThreadsForBloomFilterConstruction());
 
     }
 
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.Connector;
@@ -57,6 +58,7 @@ import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
@@ -80,7 +82,10 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -352,6 +357,39 @@ public class AccumuloStoreTest {
         }
     }
 
+    @Test
+    public void shouldAddElementsUsingElementConversionPipeline() throws Exception {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setNumThreadsForElementConversion("4");
+        properties.setElementConversionQueueSize("2");
+        properties.setElementConversionBatchSize("10");
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise("pipelineGraph", SCHEMA, properties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + i);
+            entity.putProperty(TestPropertyNames.COUNT, 1);
+            elements.add(entity);
+        }
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(new User()));
+
+        // Then
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        try (final CloseableIterable<? extends Element> results = store.execute(getAllElements, new Context(new User()))) {
+            assertEquals(new HashSet<>(elements), Sets.newHashSet(results));
+        }
+    }
+
     @Test
     public void testStoreReturnsHandlersForRegisteredOperationsGaffer1() {
         testStoreReturnsHandlersForRegisteredOperations(GAFFER_1_KEY_STORE);
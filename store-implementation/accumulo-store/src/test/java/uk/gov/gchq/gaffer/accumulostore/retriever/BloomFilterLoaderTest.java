@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.ExecutorService;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BloomFilterLoaderTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(BloomFilterLoaderTest.class));
+    private static final AccumuloElementConverter CONVERTER = new ByteEntityAccumuloElementConverter(SCHEMA);
+    private static final List<Supplier<BloomFilter>> FILTER_FACTORIES = Arrays.asList(
+            () -> new BloomFilter(100000, 5, Hash.MURMUR_HASH),
+            () -> new BloomFilter(400000, 9, Hash.MURMUR_HASH));
+
+    @BeforeAll
+    public static void beforeAll() {
+        BloomFilterLoader.initialiseExecutor(4);
+    }
+
+    @Test
+    public void shouldAddVerticesToEachFilter() throws RetrieverException {
+        // Given
+        final List<Object> vertices = createVertices(1000);
+
+        // When
+        final List<BloomFilter> filters = new BloomFilterLoader(CONVERTER, 1).load(vertices.iterator(), FILTER_FACTORIES);
+
+        // Then
+        assertEquals(2, filters.size());
+        for (final BloomFilter filter : filters) {
+            for (final Object vertex : vertices) {
+                assertTrue(filter.membershipTest(new Key(CONVERTER.serialiseVertex(vertex))));
+            }
+        }
+    }
+
+    @Test
+    public void shouldCreateTheSameFiltersInParallel() throws RetrieverException, IOException {
+        // Given
+        final List<Object> vertices = createVertices(10001);
+
+        // When
+        final List<BloomFilter> filters = new BloomFilterLoader(CONVERTER, 1).load(vertices.iterator(), FILTER_FACTORIES);
+        final List<BloomFilter> parallelFilters = new BloomFilterLoader(CONVERTER, 4, 100).load(vertices.iterator(), FILTER_FACTORIES);
+
+        // Then
+        assertEquals(filters.size(), parallelFilters.size());
+        for (int i = 0; i < filters.size(); i++) {
+            assertArrayEquals(serialise(filters.get(i)), serialise(parallelFilters.get(i)));
+        }
+    }
+
+    @Test
+    public void shouldThrowRetrieverExceptionWhenVertexCannotBeSerialisedInParallel() {
+        // Given
+        final AccumuloElementConverter converter = mock(AccumuloElementConverter.class);
+        when(converter.serialiseVertex(any())).thenAnswer(invocation -> {
+            final Object vertex = invocation.getArgument(0);
+            if ("vertex500".equals(vertex)) {
+                throw new AccumuloElementConversionException("Test exception");
+            }
+            return CONVERTER.serialiseVertex(vertex);
+        });
+        final BloomFilterLoader loader = new BloomFilterLoader(converter, 3, 10);
+
+        // When / Then
+        assertThrows(RetrieverException.class, () -> loader.load(createVertices(1000).iterator(), FILTER_FACTORIES));
+    }
+
+    @Test
+    public void shouldReuseSharedExecutorPoolBetweenLoads() throws RetrieverException {
+        // Given
+        final List<Object> vertices = createVertices(1000);
+        final BloomFilterLoader loader = new BloomFilterLoader(CONVERTER, 2, 10);
+        loader.load(vertices.iterator(), FILTER_FACTORIES);
+        final ScheduledExecutorService executor = ExecutorService.getService(BloomFilterLoader.EXECUTOR_POOL);
+
+        // When
+        final List<BloomFilter> filters = loader.load(vertices.iterator(), FILTER_FACTORIES);
+
+        // Then
+        assertSame(executor, ExecutorService.getService(BloomFilterLoader.EXECUTOR_POOL));
+        assertFalse(executor.isShutdown());
+        for (final Object vertex : vertices) {
+            assertTrue(filters.get(0).membershipTest(new Key(CONVERTER.serialiseVertex(vertex))));
+        }
+    }
+
+    @Test
+    public void shouldGrowExecutorPoolForStoresThatUseMoreThreads() {
+        // Given
+        BloomFilterLoader.initialiseExecutor(2);
+
+        // When
+        BloomFilterLoader.initialiseExecutor(6);
+
+        // Then
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) ExecutorService.getService(BloomFilterLoader.EXECUTOR_POOL);
+        assertTrue(executor.getCorePoolSize() >= 6);
+    }
+
+    private List<Object> createVertices(final int numVertices) {
+        final List<Object> vertices = new ArrayList<>(numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            vertices.add("vertex" + i);
+        }
+        return vertices;
+    }
+
+    private byte[] serialise(final BloomFilter filter) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            filter.write(out);
+        }
+        return bytes.toByteArray();
+    }
+}
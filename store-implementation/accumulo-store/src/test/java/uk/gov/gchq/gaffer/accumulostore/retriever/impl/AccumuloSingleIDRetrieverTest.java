@@ -27,6 +27,7 @@ import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -50,6 +51,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class AccumuloSingleIDRetrieverTest {
@@ -100,6 +102,46 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void shouldPrefetchBatchScannersWhenPrefetchDepthIsSet() throws StoreException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("10");
+        properties.setBatchScannerPrefetchDepth("2");
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise("prefetchGraph", SCHEMA, properties);
+        setupGraph(store, NUM_ENTRIES);
+
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+
+        // When
+        final AccumuloSingleIDRetriever retriever;
+        try {
+            retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+        } catch (final IteratorSettingException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Then
+        //Should find both i-B and i-C edges and entities i, across 100 batch scanners
+        assertEquals(NUM_ENTRIES * 3, Iterables.size(retriever));
+
+        // When - stop reading part way through the batches
+        final CloseableIterator<Element> iterator = retriever.iterator();
+        for (int i = 0; i < 50; i++) {
+            iterator.next();
+        }
+        iterator.close();
+
+        // Then
+        assertFalse(iterator.hasNext());
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(BYTE_ENTITY_STORE);
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class ElementMutationPipelineTest {
+    private static final int NUM_ELEMENTS = 10000;
+
+    private final ExecutorService executor = ElementMutationPipeline.createExecutor();
+
+    @AfterEach
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldWriteMutationsForAllElements() throws Exception {
+        // Given
+        final Set<String> rows = Collections.synchronizedSet(new HashSet<>());
+        final BatchWriter writer = createWriter(rows);
+        final ElementMutationPipeline pipeline = new ElementMutationPipeline(
+                element -> Collections.singletonList(new Mutation((String) ((Entity) element).getVertex())),
+                writer, executor, 4, 2, 10);
+
+        // When
+        pipeline.write(createElements());
+
+        // Then
+        assertEquals(NUM_ELEMENTS, rows.size());
+    }
+
+    @Test
+    public void shouldThrowConversionFailureWithoutInterruptingCallingThread() throws Exception {
+        // Given
+        final RuntimeException conversionFailure = new RuntimeException("Conversion failed");
+        final BatchWriter writer = createWriter(Collections.synchronizedSet(new HashSet<>()));
+        final ElementMutationPipeline pipeline = new ElementMutationPipeline(
+                element -> {
+                    throw conversionFailure;
+                },
+                writer, executor, 2, 1, 10);
+
+        // When
+        final StoreException exception = assertThrows(StoreException.class, () -> pipeline.write(createElements()));
+
+        // Then
+        assertSame(conversionFailure, exception.getCause());
+        assertEquals("Failed to add elements to Accumulo: Conversion failed", exception.getMessage());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void shouldReuseExecutorBetweenWrites() throws Exception {
+        // Given
+        final Set<String> rows = Collections.synchronizedSet(new HashSet<>());
+        final BatchWriter writer = createWriter(rows);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            new ElementMutationPipeline(
+                    element -> Collections.singletonList(new Mutation((String) ((Entity) element).getVertex())),
+                    writer, executor, 2, 2, 100)
+                    .write(createElements());
+        }
+
+        // Then
+        assertFalse(executor.isShutdown());
+        assertEquals(NUM_ELEMENTS, rows.size());
+    }
+
+    private BatchWriter createWriter(final Set<String> rows) throws Exception {
+        final BatchWriter writer = mock(BatchWriter.class);
+        doAnswer(invocation -> {
+            rows.add(new String(((Mutation) invocation.getArgument(0)).getRow()));
+            return null;
+        }).when(writer).addMutation(any(Mutation.class));
+        return writer;
+    }
+
+    private List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+        return elements;
+    }
+}
@@ -40,6 +40,7 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.Schema.Builder;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,6 +50,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -65,7 +69,22 @@ public class FederatedGraphStorage {
     public static final String ACCESS_IS_NULL = "Can not put graph into storage without a FederatedAccess key.";
     public static final String GRAPH_IDS_NOT_VISIBLE = "The following graphIds are not visible or do not exist: %s";
     public static final String UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS = "Unable to merge the schemas for all of your federated graphs: %s. You can limit which graphs to query for using the operation option: %s";
+    private static final int MAX_MERGED_CACHE_SIZE = 1000;
     private Map<FederatedAccess, Set<Graph>> storage = new HashMap<>();
+    /**
+     * Merged schemas and traits, keyed on the ids of the graphs they were
+     * merged from. These are cleared whenever graphs are added, removed or
+     * have their access changed. Only schemas and traits held by the graphs
+     * themselves are cached, as those fetched by executing operations on the
+     * graphs may change without this storage being aware.
+     */
+    private final Map<List<Object>, Schema> mergedSchemaCache = new ConcurrentHashMap<>();
+    private final Map<List<Object>, Set<StoreTrait>> mergedTraitsCache = new ConcurrentHashMap<>();
+    /**
+     * Incremented whenever the merged caches are cleared, so that a merge which
+     * was in progress at the time does not cache its stale result.
+     */
+    private final AtomicLong mergedCacheGeneration = new AtomicLong();
     private FederatedStoreCache federatedStoreCache = new FederatedStoreCache();
     private Boolean isCacheEnabled = false;
     private GraphLibrary graphLibrary;
@@ -128,6 +147,7 @@ public class FederatedGraphStorage {
                 } else {
                     existingGraphs.add(builtGraph);
                 }
+                clearMergedCaches();
             } catch (final Exception e) {
                 throw new StorageException("Error adding graph " + graphId + " to storage due to: " + e.getMessage(), e);
             }
@@ -203,7 +223,7 @@ public class FederatedGraphStorage {
     }
 
     private boolean remove(final String graphId, final Predicate<Entry<FederatedAccess, Set<Graph>>> entryPredicateForGraphRemoval) {
-        return storage.entrySet().stream()
+        final boolean isRemoved = storage.entrySet().stream()
                 .filter(entryPredicateForGraphRemoval)
                 .map(entry -> {
                     boolean isRemoved = false;
@@ -223,6 +243,10 @@ public class FederatedGraphStorage {
                 })
                 .collect(Collectors.toSet())
                 .contains(true);
+        if (isRemoved) {
+            clearMergedCaches();
+        }
+        return isRemoved;
     }
 
     private void deleteFromCache(final String graphId) {
@@ -264,28 +288,22 @@ public class FederatedGraphStorage {
         }
 
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(operation.getOptions());
-        final Stream<Graph> graphs = getStream(context.getUser(), graphIds);
-        final Builder schemaBuilder = new Builder();
-        try {
-            if (operation.isCompact()) {
-                final GetSchema getSchema = new GetSchema.Builder()
-                        .compact(true)
-                        .build();
-                graphs.forEach(g -> {
-                    try {
-                        schemaBuilder.merge(g.execute(getSchema, context));
-                    } catch (final OperationException e) {
-                        throw new RuntimeException("Unable to fetch schema from graph " + g.getGraphId(), e);
-                    }
-                });
-            } else {
-                graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
-            }
-        } catch (final SchemaException e) {
-            final List<String> resultGraphIds = getStream(context.getUser(), graphIds).map(Graph::getGraphId).collect(Collectors.toList());
-            throw new SchemaException("Unable to merge the schemas for all of your federated graphs: " + resultGraphIds + ". You can limit which graphs to query for using the operation option: " + KEY_OPERATION_OPTIONS_GRAPH_IDS, e);
+        final long generation = mergedCacheGeneration.get();
+        final List<Graph> graphs = getStream(context.getUser(), graphIds).collect(Collectors.toList());
+        if (operation.isCompact()) {
+            final GetSchema getSchema = new GetSchema.Builder()
+                    .compact(true)
+                    .build();
+            // The compact schemas are fetched from the graphs, so are not cached.
+            return mergeSchemas(graphs, g -> {
+                try {
+                    return g.execute(getSchema, context);
+                } catch (final OperationException e) {
+                    throw new RuntimeException("Unable to fetch schema from graph " + g.getGraphId(), e);
+                }
+            });
         }
-        return schemaBuilder.build();
+        return getMergedSchema(getMergedCacheKey("schema", graphs), graphs, Graph::getSchema, generation);
     }
 
     /**
@@ -309,15 +327,9 @@ public class FederatedGraphStorage {
         }
 
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(config);
-        final Stream<Graph> graphs = getStream(user, graphIds);
-        final Builder schemaBuilder = new Builder();
-        try {
-            graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
-        } catch (final SchemaException e) {
-            final List<String> resultGraphIds = getStream(user, graphIds).map(Graph::getGraphId).collect(Collectors.toList());
-            throw new SchemaException(String.format(UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS, resultGraphIds, KEY_OPERATION_OPTIONS_GRAPH_IDS), e);
-        }
-        return schemaBuilder.build();
+        final long generation = mergedCacheGeneration.get();
+        final List<Graph> graphs = getStream(user, graphIds).collect(Collectors.toList());
+        return getMergedSchema(getMergedCacheKey("schema", graphs), graphs, Graph::getSchema, generation);
     }
 
     /**
@@ -332,20 +344,22 @@ public class FederatedGraphStorage {
      * @return the set of {@link StoreTrait} that are common for all visible graphs
      */
     public Set<StoreTrait> getTraits(final GetTraits op, final Context context) {
-        final Set<StoreTrait> traits = Sets.newHashSet(StoreTrait.values());
-        if (null != op && op.isCurrentTraits()) {
-            final List<String> graphIds = FederatedStoreUtil.getGraphIds(op.getOptions());
-            final Stream<Graph> graphs = getStream(context.getUser(), graphIds);
-            final GetTraits getTraits = op.shallowClone();
-            graphs.forEach(g -> {
-                try {
-                    traits.retainAll(g.execute(getTraits, context));
-                } catch (final OperationException e) {
-                    throw new RuntimeException("Unable to fetch traits from graph " + g.getGraphId(), e);
-                }
-            });
+        if (null == op || !op.isCurrentTraits()) {
+            return Sets.newHashSet(StoreTrait.values());
         }
 
+        final List<String> graphIds = FederatedStoreUtil.getGraphIds(op.getOptions());
+        final List<Graph> graphs = getStream(context.getUser(), graphIds).collect(Collectors.toList());
+        // The current traits are fetched from the graphs, so are not cached.
+        final Set<StoreTrait> traits = Sets.newHashSet(StoreTrait.values());
+        final GetTraits getTraits = op.shallowClone();
+        for (final Graph g : graphs) {
+            try {
+                traits.retainAll(g.execute(getTraits, context));
+            } catch (final OperationException e) {
+                throw new RuntimeException("Unable to fetch traits from graph " + g.getGraphId(), e);
+            }
+        }
         return traits;
     }
 
@@ -362,13 +376,79 @@ public class FederatedGraphStorage {
      */
     public Set<StoreTrait> getTraits(final Map<String, String> config, final User user) {
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(config);
+        final long generation = mergedCacheGeneration.get();
         Collection<Graph> graphs = get(user, graphIds);
 
-        final Set<StoreTrait> traits = graphs.isEmpty() ? Sets.newHashSet() : Sets.newHashSet(StoreTrait.values());
-        for (final Graph graph : graphs) {
-            traits.retainAll(graph.getStoreTraits());
+        final List<Object> key = getMergedCacheKey("traits", graphs);
+        Set<StoreTrait> traits = mergedTraitsCache.get(key);
+        if (null == traits) {
+            traits = graphs.isEmpty() ? Sets.newHashSet() : Sets.newHashSet(StoreTrait.values());
+            for (final Graph graph : graphs) {
+                traits.retainAll(graph.getStoreTraits());
+            }
+            addToMergedCache(mergedTraitsCache, key, traits, generation);
         }
-        return traits;
+        return Sets.newHashSet(traits);
+    }
+
+    private Schema getMergedSchema(final List<Object> key, final List<Graph> graphs, final Function<Graph, Schema> getGraphSchema, final long generation) {
+        Schema schema = mergedSchemaCache.get(key);
+        if (null == schema) {
+            schema = mergeSchemas(graphs, getGraphSchema);
+            addToMergedCache(mergedSchemaCache, key, schema, generation);
+        }
+        return schema;
+    }
+
+    private static Schema mergeSchemas(final List<Graph> graphs, final Function<Graph, Schema> getGraphSchema) {
+        final Builder schemaBuilder = new Builder();
+        try {
+            graphs.forEach(g -> schemaBuilder.merge(getGraphSchema.apply(g)));
+        } catch (final SchemaException e) {
+            final List<String> resultGraphIds = graphs.stream().map(Graph::getGraphId).collect(Collectors.toList());
+            throw new SchemaException(String.format(UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS, resultGraphIds, KEY_OPERATION_OPTIONS_GRAPH_IDS), e);
+        }
+        return schemaBuilder.build();
+    }
+
+    /**
+     * @param type   the type of object being cached
+     * @param graphs the graphs the object is merged from, in the order they are merged
+     * @return the key to cache the merged object with
+     */
+    private static List<Object> getMergedCacheKey(final String type, final Collection<Graph> graphs) {
+        final List<String> graphIds = graphs.stream().map(Graph::getGraphId).collect(Collectors.toList());
+        return Arrays.asList(type, graphIds);
+    }
+
+    /**
+     * Caches a merged object, unless the caches have been cleared since the
+     * object started to be merged.
+     *
+     * @param cache      the cache to add the object to
+     * @param key        the key to cache the object with
+     * @param value      the merged object
+     * @param generation the value of {@link #mergedCacheGeneration} before the graphs to merge were looked up
+     * @param <T>        the type of the merged object
+     */
+    private <T> void addToMergedCache(final Map<List<Object>, T> cache, final List<Object> key, final T value, final long generation) {
+        if (generation != mergedCacheGeneration.get()) {
+            return;
+        }
+        if (cache.size() >= MAX_MERGED_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, value);
+        // The caches may have been cleared between checking the generation and adding the object.
+        if (generation != mergedCacheGeneration.get()) {
+            cache.remove(key, value);
+        }
+    }
+
+    private void clearMergedCaches() {
+        mergedCacheGeneration.incrementAndGet();
+        mergedSchemaCache.clear();
+        mergedTraitsCache.clear();
     }
 
     private void validateAllGivenGraphIdsAreVisibleForUser(final User user, final Collection<String> graphIds) {
@@ -570,6 +650,7 @@ public class FederatedGraphStorage {
             for (final Entry<FederatedAccess, Set<Graph>> entry : storage.entrySet()) {
                 entry.getValue().removeIf(graph -> graph.getGraphId().equals(graphId));
             }
+            clearMergedCaches();
 
             //add the graph being moved.
             this.put(new GraphSerialisable.Builder().graph(graphToMove).build(), newFederatedAccess);
@@ -610,6 +691,7 @@ public class FederatedGraphStorage {
                     break;
                 }
             }
+            clearMergedCaches();
 
             final GraphConfig configWithNewGraphId = new GraphConfig.Builder()
                     .json(new GraphSerialisable.Builder().graph(graphToMove).build().getConfig())
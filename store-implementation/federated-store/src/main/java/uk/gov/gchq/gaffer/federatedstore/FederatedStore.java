@@ -92,6 +92,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
@@ -119,7 +123,9 @@ public class FederatedStore extends Store {
     private Set<String> customPropertiesAuths;
     private Boolean isPublicAccessAllowed = Boolean.valueOf(IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
     private static final List<Integer> ALL_IDS = new ArrayList<>();
+    private static final long GRAPH_EXECUTOR_KEEP_ALIVE_SECONDS = 60L;
     private final int id;
+    private ExecutorService graphExecutor;
 
     public FederatedStore() {
         Integer i = null;
@@ -144,6 +150,17 @@ public class FederatedStore extends Store {
         super.initialise(graphId, new Schema(), properties);
         customPropertiesAuths = getCustomPropertiesAuths();
         isPublicAccessAllowed = Boolean.valueOf(getProperties().getIsPublicAccessAllowed());
+        graphExecutor = createGraphExecutor(getProperties().getGraphExecutorThreads());
+    }
+
+    /**
+     * Gets the {@link ExecutorService} used to execute operations on the
+     * sub-graphs in parallel.
+     *
+     * @return the executor, or null if the sub-graphs should be executed sequentially.
+     */
+    public ExecutorService getGraphExecutor() {
+        return graphExecutor;
     }
 
     @Override
@@ -489,6 +506,25 @@ public class FederatedStore extends Store {
         }
     }
 
+    private ExecutorService createGraphExecutor(final int threads) {
+        if (null != graphExecutor) {
+            graphExecutor.shutdown();
+        }
+        if (threads < 1) {
+            return null;
+        }
+        LOGGER.debug("Initialising FederatedStore graph executor with {} threads", threads);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                GRAPH_EXECUTOR_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "federated-store-" + getGraphId() + "-graph-executor");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private Set<String> getCustomPropertiesAuths() {
         final String value = getProperties().getCustomPropsValue();
         return (Strings.isNullOrEmpty(value)) ? null : Sets.newHashSet(getCleanStrings(value));
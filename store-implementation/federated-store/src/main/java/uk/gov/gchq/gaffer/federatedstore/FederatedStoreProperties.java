@@ -47,6 +47,22 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String CACHE_SERVICE_CLASS = CacheProperties.CACHE_SERVICE_CLASS;
     public static final String CACHE_SERVICE_CLASS_DEFAULT = null;
 
+    /**
+     * The number of threads used to execute operations on the sub-graphs in
+     * parallel. If this is 0 then the sub-graphs are executed sequentially.
+     * e.g gaffer.federatedstore.graphExecutorThreads=10
+     */
+    public static final String GRAPH_EXECUTOR_THREADS = "gaffer.federatedstore.graphExecutorThreads";
+    public static final String GRAPH_EXECUTOR_THREADS_DEFAULT = String.valueOf(0);
+
+    /**
+     * The maximum time in milliseconds to wait for a sub-graph when executing
+     * operations in parallel. If this is 0 then there is no timeout.
+     * e.g gaffer.federatedstore.graphExecutionTimeoutMillis=30000
+     */
+    public static final String GRAPH_EXECUTION_TIMEOUT = "gaffer.federatedstore.graphExecutionTimeoutMillis";
+    public static final String GRAPH_EXECUTION_TIMEOUT_DEFAULT = String.valueOf(0);
+
     public FederatedStoreProperties() {
         super(FederatedStore.class);
     }
@@ -94,4 +110,20 @@ public class FederatedStoreProperties extends StoreProperties {
     public void setGraphsCanHavePublicAccess(final boolean b) {
         set(IS_PUBLIC_ACCESS_ALLOWED, Boolean.toString(b));
     }
+
+    public int getGraphExecutorThreads() {
+        return Integer.parseInt(get(GRAPH_EXECUTOR_THREADS, GRAPH_EXECUTOR_THREADS_DEFAULT));
+    }
+
+    public void setGraphExecutorThreads(final int threads) {
+        set(GRAPH_EXECUTOR_THREADS, String.valueOf(threads));
+    }
+
+    public long getGraphExecutionTimeout() {
+        return Long.parseLong(get(GRAPH_EXECUTION_TIMEOUT, GRAPH_EXECUTION_TIMEOUT_DEFAULT));
+    }
+
+    public void setGraphExecutionTimeout(final long timeoutMillis) {
+        set(GRAPH_EXECUTION_TIMEOUT, String.valueOf(timeoutMillis));
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.operation.OperationException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@code FederatedCompletionOrderIterable} chains together the iterable results
+ * of a {@link FederatedGraphExecution} in the order that the graphs complete.
+ * <p>
+ * The results of a graph can be consumed as soon as that graph has completed,
+ * without waiting for the other graphs. The results are cached as they arrive,
+ * so the iterable can be iterated over more than once. If a graph fails, and
+ * failed graphs should not be skipped, then a {@link GafferRuntimeException}
+ * is thrown during iteration.
+ * </p>
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class FederatedCompletionOrderIterable<T> implements CloseableIterable<T> {
+    private final FederatedGraphExecution<?, ? extends Iterable<? extends T>> execution;
+    private final List<Iterable<? extends T>> completed = new ArrayList<>();
+
+    public FederatedCompletionOrderIterable(final FederatedGraphExecution<?, ? extends Iterable<? extends T>> execution) {
+        this.execution = execution;
+    }
+
+    @Override
+    public void close() {
+        execution.cancel();
+        for (final Iterable<? extends T> itr : completed) {
+            CloseableUtil.close(itr);
+        }
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new IteratorWrapper();
+    }
+
+    /**
+     * Gets the results of the i-th graph to complete, waiting for it if required.
+     *
+     * @param i the index of the result
+     * @return the results, or null if there are no more graphs
+     */
+    private Iterable<? extends T> getCompleted(final int i) {
+        while (completed.size() <= i && execution.hasRemaining()) {
+            final Iterable<? extends T> result;
+            try {
+                result = execution.nextCompleted();
+            } catch (final OperationException e) {
+                throw new GafferRuntimeException(e.getMessage(), e);
+            }
+            if (null != result) {
+                completed.add(result);
+            }
+        }
+        return completed.size() > i ? completed.get(i) : null;
+    }
+
+    private class IteratorWrapper implements CloseableIterator<T> {
+        private final List<Iterator<? extends T>> iterators = new ArrayList<>();
+        private Iterator<? extends T> current;
+        private int index = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (null == current || !current.hasNext()) {
+                final Iterable<? extends T> next = getCompleted(index + 1);
+                if (null == next) {
+                    return false;
+                }
+                index++;
+                current = next.iterator();
+                iterators.add(current);
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void close() {
+            for (final Iterator<? extends T> itr : iterators) {
+                CloseableUtil.close(itr);
+            }
+            FederatedCompletionOrderIterable.this.close();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.operation.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
+
+/**
+ * Executes an {@link Output} operation on a collection of sub-graphs
+ * concurrently, using the {@link ExecutorService} of the
+ * {@link uk.gov.gchq.gaffer.federatedstore.FederatedStore}.
+ * <p>
+ * Each graph is given the same deadline, measured from when the operation was
+ * submitted. A graph that fails or does not complete before the deadline is
+ * treated in the same way as a failure in sequential execution: if the
+ * {@code skipFailedFederatedStoreExecute} option is set then the graph is
+ * skipped, otherwise the remaining graphs are cancelled and an
+ * {@link OperationException} is thrown.
+ * </p>
+ *
+ * @param <OP> the operation type
+ * @param <O>  the output type of the operation
+ */
+public class FederatedGraphExecution<OP extends Output<O>, O> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FederatedGraphExecution.class);
+    static final String TIMEOUT_MESSAGE = "Timed out waiting for graph to complete";
+
+    private final OP operation;
+    private final CompletionService<O> completionService;
+    private final Map<Future<O>, GraphOperation<OP>> pending = new LinkedHashMap<>();
+    private final long startTime;
+    private final long timeoutNanos;
+
+    /**
+     * @param operation     the operation to execute
+     * @param graphs        the graphs to execute the operation on
+     * @param context       the context of the operation
+     * @param executor      the executor to run the operations with
+     * @param timeoutMillis the maximum time to wait for each graph, or 0 to wait indefinitely
+     */
+    public FederatedGraphExecution(final OP operation,
+                                   final Collection<Graph> graphs,
+                                   final Context context,
+                                   final ExecutorService executor,
+                                   final long timeoutMillis) {
+        this.operation = operation;
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.startTime = System.nanoTime();
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        for (final Graph graph : graphs) {
+            final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
+            if (null != updatedOp) {
+                // Graph.execute updates the context, so each graph is given its
+                // own copy, which keeps the job id of the federated operation.
+                final Context graphContext = context.shallowCloneWithSameJobId();
+                final Future<O> future = completionService.submit(() -> graph.execute(updatedOp, graphContext));
+                pending.put(future, new GraphOperation<>(graph, updatedOp));
+            }
+        }
+    }
+
+    /**
+     * @return true if there are graphs whose results have not yet been returned
+     */
+    public boolean hasRemaining() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Waits for the next graph to complete and returns its result.
+     *
+     * @return the result of the next graph to complete, or null if that graph
+     * failed and was skipped or returned null
+     * @throws OperationException if a graph fails and failed graphs should not be skipped
+     */
+    public O nextCompleted() throws OperationException {
+        if (pending.isEmpty()) {
+            return null;
+        }
+
+        Future<O> future;
+        do {
+            try {
+                future = completionService.poll(getRemainingNanos(), TimeUnit.NANOSECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new OperationException("Interrupted whilst waiting for " + operation.getClass().getSimpleName() + " to complete on the federated graphs", e);
+            }
+
+            if (null == future) {
+                // The deadline has passed, so all remaining graphs have timed out.
+                for (final Future<O> timedOut : new ArrayList<>(pending.keySet())) {
+                    handleFailure(timedOut, new TimeoutException(TIMEOUT_MESSAGE));
+                }
+                return null;
+            }
+            // Skip any futures that have already been dealt with, e.g. cancelled graphs.
+        } while (!pending.containsKey(future));
+
+        return getResult(future);
+    }
+
+    /**
+     * Waits for all of the graphs to complete.
+     *
+     * @return the results of the graphs, in the order the graphs were provided,
+     * excluding any null results or graphs that failed and were skipped
+     * @throws OperationException if a graph fails and failed graphs should not be skipped
+     */
+    public List<O> getResultsInGraphOrder() throws OperationException {
+        final List<O> results = new ArrayList<>(pending.size());
+        for (final Future<O> future : new ArrayList<>(pending.keySet())) {
+            if (pending.containsKey(future)) {
+                final O result = getResult(future);
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Cancels any graphs that have not yet completed.
+     */
+    public void cancel() {
+        for (final Future<O> future : pending.keySet()) {
+            future.cancel(true);
+        }
+        pending.clear();
+    }
+
+    private O getResult(final Future<O> future) throws OperationException {
+        try {
+            final O result = future.get(getRemainingNanos(), TimeUnit.NANOSECONDS);
+            pending.remove(future);
+            return result;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new OperationException("Interrupted whilst waiting for " + operation.getClass().getSimpleName() + " to complete on the federated graphs", e);
+        } catch (final ExecutionException e) {
+            return handleFailure(future, e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        } catch (final TimeoutException e) {
+            return handleFailure(future, new TimeoutException(TIMEOUT_MESSAGE));
+        } catch (final CancellationException e) {
+            return handleFailure(future, e);
+        }
+    }
+
+    private O handleFailure(final Future<O> future, final Exception e) throws OperationException {
+        future.cancel(true);
+        final GraphOperation<OP> graphOperation = pending.remove(future);
+        if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(graphOperation.operation))) {
+            cancel();
+            throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graphOperation.graph.getGraphId(), e), e);
+        }
+        LOGGER.debug("Skipping graph {} as {} failed: {}", graphOperation.graph.getGraphId(), operation.getClass().getSimpleName(), e.getMessage());
+        return null;
+    }
+
+    private long getRemainingNanos() {
+        if (timeoutNanos <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0L, timeoutNanos - (System.nanoTime() - startTime));
+    }
+
+    private static final class GraphOperation<OP> {
+        private final Graph graph;
+        private final OP operation;
+
+        private GraphOperation(final Graph graph, final OP operation) {
+            this.graph = graph;
+            this.operation = operation;
+        }
+    }
+}
@@ -43,7 +43,14 @@ public abstract class FederatedOperationOutputHandler<OP extends Output<O>, O> i
 
     @Override
     public O doOperation(final OP operation, final Context context, final Store store) throws OperationException {
-        final Collection<Graph> graphs = ((FederatedStore) store).getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS), operation);
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final Collection<Graph> graphs = federatedStore.getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS), operation);
+        if (null != federatedStore.getGraphExecutor() && graphs.size() > 1) {
+            final FederatedGraphExecution<OP, O> execution = new FederatedGraphExecution<>(operation, graphs, context,
+                    federatedStore.getGraphExecutor(), federatedStore.getProperties().getGraphExecutionTimeout());
+            return mergeResults(execution, operation, context, store);
+        }
+
         final List<O> results = new ArrayList<>(graphs.size());
         for (final Graph graph : graphs) {
             final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
@@ -68,5 +75,26 @@ public abstract class FederatedOperationOutputHandler<OP extends Output<O>, O> i
         }
     }
 
+    /**
+     * Merges the results of executing the operation on the graphs in parallel.
+     * By default this waits for all the graphs to complete and then merges
+     * the results in the order of the graphs.
+     *
+     * @param execution the execution of the operation on the graphs
+     * @param operation the operation
+     * @param context   the context of the operation
+     * @param store     the FederatedStore
+     * @return the merged results
+     * @throws OperationException if a graph fails and failed graphs should not be skipped
+     */
+    protected O mergeResults(final FederatedGraphExecution<OP, O> execution, final OP operation, final Context context, final Store store) throws OperationException {
+        final List<O> results = execution.getResultsInGraphOrder();
+        try {
+            return mergeResults(results, operation, context, store);
+        } catch (final Exception e) {
+            throw new OperationException(e);
+        }
+    }
+
     protected abstract O mergeResults(final List<O> results, final OP operation, final Context context, final Store store);
 }
@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedCompletionOrderIterable;
+import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedGraphExecution;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
@@ -30,10 +32,18 @@ import java.util.List;
  * A generic handler for Operations with CloseableIterable of elements for FederatedStore.
  * Simply executes the operation on each delegate graph then chains the results together
  * using a {@link ChainedIterable}.
+ * When the graphs are executed in parallel, the results are chained together in the
+ * order the graphs complete using a {@link FederatedCompletionOrderIterable}, so the
+ * results of the first graph to complete can be consumed straight away.
  *
  * @see FederatedOperationOutputHandler
  */
 public class FederatedOperationIterableHandler<OP extends Output<O>, O extends Iterable> extends FederatedOperationOutputHandler<OP, O> {
+    @Override
+    protected O mergeResults(final FederatedGraphExecution<OP, O> execution, final OP operation, final Context context, final Store store) {
+        return (O) new FederatedCompletionOrderIterable<>((FederatedGraphExecution) execution);
+    }
+
     @Override
     protected O mergeResults(final List<O> results, final OP operation, final Context context, final Store store) {
         if (results.isEmpty()) {
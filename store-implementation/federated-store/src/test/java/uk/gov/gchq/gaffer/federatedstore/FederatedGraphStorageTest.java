@@ -34,6 +34,7 @@ import uk.gov.gchq.gaffer.graph.GraphSerialisable;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.library.GraphLibrary;
+import uk.gov.gchq.gaffer.store.operation.GetSchema;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
@@ -49,6 +50,7 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -363,6 +365,58 @@ public class FederatedGraphStorageTest {
     }
 
 
+    @Test
+    public void shouldReuseMergedSchemaUntilGraphsAreRemoved() throws Exception {
+        // Given
+        graphStorage.put(a, access);
+        graphStorage.put(b, access);
+        final Schema schemaAB = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+
+        // When
+        final Schema schemaABAgain = graphStorage.getSchema((Map<String, String>) null, authUserContext);
+        graphStorage.remove(GRAPH_ID_B, testUser);
+        final Schema schemaA = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+
+        // Then
+        assertSame(schemaAB, schemaABAgain);
+        assertEquals(2, schemaAB.getTypes().size());
+        assertEquals(1, schemaA.getTypes().size());
+    }
+
+    @Test
+    public void shouldNotReuseMergedSchemaWhenGraphAccessIsChanged() throws Exception {
+        // Given
+        graphStorage.put(a, access);
+        graphStorage.put(b, access);
+        assertEquals(2, graphStorage.getSchema((Map<String, String>) null, authUserContext).getTypes().size());
+
+        // When
+        graphStorage.changeGraphAccess(GRAPH_ID_B, new FederatedAccess(Sets.newHashSet(X), X), testUser);
+        final Schema schema = graphStorage.getSchema((Map<String, String>) null, authUserContext);
+
+        // Then
+        assertEquals(1, schema.getTypes().size());
+        assertEquals(e1, schema.getElement("e1"));
+    }
+
+    @Test
+    public void shouldNotReuseCompactSchemaFetchedFromGraphs() throws Exception {
+        // Given
+        graphStorage.put(a, access);
+        graphStorage.put(b, access);
+        final GetSchema getCompactSchema = new GetSchema.Builder()
+                .compact(true)
+                .build();
+        final Schema schema = graphStorage.getSchema(getCompactSchema, testUserContext);
+
+        // When
+        final Schema schemaAgain = graphStorage.getSchema(getCompactSchema, testUserContext);
+
+        // Then
+        assertNotSame(schema, schemaAgain);
+        assertEquals(2, schemaAgain.getTypes().size());
+    }
+
     @Test
     public void shouldGetSchemaForAddingUser() throws Exception {
         graphStorage.put(a, access);
@@ -23,7 +23,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.operation.OperationChain;
@@ -37,10 +40,13 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -240,8 +246,123 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
         verify(mockStore4, never()).execute(any(OperationChain.class), any(Context.class));
     }
 
+    @Test
+    public void shouldMergeResultsFromFieldObjectsWhenExecutingInParallel() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = getMockStore(unusedSchema, storeProperties, o2);
+        Store mockStore3 = getMockStore(unusedSchema, storeProperties, o3);
+        Store mockStore4 = getMockStore(unusedSchema, storeProperties, o4);
+
+        FederatedStore mockStore = getParallelMockFederatedStore(0L);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        linkedGraphs.add(getGraphWithMockStore(mockStore3));
+        linkedGraphs.add(getGraphWithMockStore(mockStore4));
+        Mockito.when(mockStore.getGraphs(user, null, op)).thenReturn(linkedGraphs);
+
+        try {
+            // When
+            O theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+
+            //Then
+            validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1, o2, o3, o4);
+            verify(mockStore1).execute(any(OperationChain.class), any(Context.class));
+            verify(mockStore2).execute(any(OperationChain.class), any(Context.class));
+            verify(mockStore3).execute(any(OperationChain.class), any(Context.class));
+            verify(mockStore4).execute(any(OperationChain.class), any(Context.class));
+        } finally {
+            mockStore.getGraphExecutor().shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldSkipGraphThatTimesOutWhenExecutingInParallel() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+        op.addOption(KEY_OPERATION_OPTIONS_GRAPH_IDS, "1,3");
+        op.addOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, String.valueOf(true));
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore3 = getSlowMockStore(unusedSchema, storeProperties, o3);
+
+        FederatedStore mockStore = getParallelMockFederatedStore(200L);
+        LinkedHashSet<Graph> filteredGraphs = Sets.newLinkedHashSet();
+        filteredGraphs.add(getGraphWithMockStore(mockStore1));
+        filteredGraphs.add(getGraphWithMockStore(mockStore3));
+        Mockito.when(mockStore.getGraphs(user, "1,3", op)).thenReturn(filteredGraphs);
+
+        try {
+            // When
+            O theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+
+            //Then
+            validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1);
+        } finally {
+            mockStore.getGraphExecutor().shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenGraphTimesOutWhenExecutingInParallel() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+        op.addOption(KEY_OPERATION_OPTIONS_GRAPH_IDS, "1,3");
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore3 = getSlowMockStore(unusedSchema, storeProperties, o3);
+
+        FederatedStore mockStore = getParallelMockFederatedStore(200L);
+        LinkedHashSet<Graph> filteredGraphs = Sets.newLinkedHashSet();
+        filteredGraphs.add(getGraphWithMockStore(mockStore1));
+        filteredGraphs.add(getGraphWithMockStore(mockStore3));
+        Mockito.when(mockStore.getGraphs(user, "1,3", op)).thenReturn(filteredGraphs);
+
+        try {
+            // When
+            final OperationException exception = assertThrows(OperationException.class, () -> executeAndConsume(op, mockStore));
+
+            // Then
+            assertEquals(FederatedStoreUtil.createOperationErrorMsg(op, TEST_GRAPH_ID,
+                    new TimeoutException(FederatedGraphExecution.TIMEOUT_MESSAGE)), exception.getMessage());
+        } finally {
+            mockStore.getGraphExecutor().shutdownNow();
+        }
+    }
+
     protected abstract boolean validateMergeResultsFromFieldObjects(final O result, final Object... resultParts);
 
+    /**
+     * Executes the operation and consumes the result. Iterable results are
+     * merged lazily, so a failure may only be seen whilst iterating, in which
+     * case the underlying {@link OperationException} is rethrown.
+     */
+    private void executeAndConsume(final OP op, final FederatedStore store) throws OperationException {
+        final O result = getFederatedHandler().doOperation(op, context, store);
+        if (result instanceof Iterable) {
+            try {
+                Iterables.size((Iterable) result);
+            } catch (final GafferRuntimeException e) {
+                if (e.getCause() instanceof OperationException) {
+                    throw (OperationException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
     private Graph getGraphWithMockStore(final Store mockStore) {
         return new Graph.Builder()
                 .config(new GraphConfig.Builder()
@@ -252,6 +373,27 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
     }
 
 
+    private FederatedStore getParallelMockFederatedStore(final long timeoutMillis) {
+        final FederatedStoreProperties federatedStoreProperties = new FederatedStoreProperties();
+        federatedStoreProperties.setGraphExecutorThreads(4);
+        federatedStoreProperties.setGraphExecutionTimeout(timeoutMillis);
+        FederatedStore mockStore = Mockito.mock(FederatedStore.class);
+        Mockito.when(mockStore.getProperties()).thenReturn(federatedStoreProperties);
+        Mockito.when(mockStore.getGraphExecutor()).thenReturn(Executors.newFixedThreadPool(4));
+        return mockStore;
+    }
+
+    private Store getSlowMockStore(final Schema unusedSchema, final StoreProperties storeProperties, final O willReturn) throws OperationException {
+        Store mockStore = Mockito.mock(Store.class);
+        given(mockStore.getSchema()).willReturn(unusedSchema);
+        given(mockStore.getProperties()).willReturn(storeProperties);
+        given(mockStore.execute(any(OperationChain.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(5000L);
+            return willReturn;
+        });
+        return mockStore;
+    }
+
     private Store getMockStore(final Schema unusedSchema, final StoreProperties storeProperties, final O willReturn) throws uk.gov.gchq.gaffer.operation.OperationException {
         Store mockStore1 = Mockito.mock(Store.class);
         given(mockStore1.getSchema()).willReturn(unusedSchema);
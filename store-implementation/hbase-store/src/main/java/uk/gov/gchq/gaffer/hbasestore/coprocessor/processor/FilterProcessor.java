@@ -27,8 +27,28 @@ public abstract class FilterProcessor implements GafferScannerProcessor, Predica
         // If we filter out a deleted element when compacting then the deleted
         // flag will not be persisted and the element will not get deleted.
         // When querying, deleted cells will have already been filtered out.
-        elementCells.removeIf(elementCell -> !elementCell.isDeleted() && !test(elementCell));
+        int size = 0;
+        for (int i = 0; i < elementCells.size(); i++) {
+            final LazyElementCell elementCell = elementCells.get(i);
+            if (elementCell.isDeleted() || test(elementCell)) {
+                elementCells.set(size++, elementCell);
+            }
+        }
+        return truncate(elementCells, size);
+    }
 
+    /**
+     * Removes the cells after the given size, once the cells to keep have
+     * been moved to the start of the list.
+     *
+     * @param elementCells the cells
+     * @param size         the number of cells to keep
+     * @return the truncated cells
+     */
+    static List<LazyElementCell> truncate(final List<LazyElementCell> elementCells, final int size) {
+        if (size < elementCells.size()) {
+            elementCells.subList(size, elementCells.size()).clear();
+        }
         return elementCells;
     }
 }
@@ -24,15 +24,16 @@ import uk.gov.gchq.koryphe.Summary;
 @Summary("Filters elements based on groups")
 public class GroupFilterProcessor extends FilterProcessor {
     private final View view;
+    private final GroupMatcher groupMatcher;
 
     public GroupFilterProcessor(final View view) {
         this.view = view;
+        this.groupMatcher = new GroupMatcher(view.getGroups());
     }
 
     @Override
     public boolean test(final LazyElementCell elementCell) {
-        final String group = elementCell.getGroup();
-        return view.isEntity(group) || view.isEdge(group);
+        return groupMatcher.matches(elementCell.getCell());
     }
 
     public View getView() {
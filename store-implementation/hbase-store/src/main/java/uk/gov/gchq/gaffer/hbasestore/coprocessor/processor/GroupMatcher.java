@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+
+import java.util.Collection;
+
+/**
+ * A {@code GroupMatcher} checks whether a {@link Cell} belongs to one of a set
+ * of groups. The group is the first length-value in the column qualifier, so it
+ * is compared to the serialised groups in place, without copying the qualifier
+ * or deserialising the group.
+ */
+public class GroupMatcher {
+    private final byte[][] groups;
+
+    public GroupMatcher(final Collection<String> groups) {
+        this.groups = new byte[groups.size()][];
+        int i = 0;
+        for (final String group : groups) {
+            this.groups[i++] = StringUtil.toBytes(group);
+        }
+    }
+
+    public boolean matches(final Cell cell) {
+        final int qualifierLength = cell.getQualifierLength();
+        if (0 == qualifierLength) {
+            return false;
+        }
+
+        final byte[] qualifier = cell.getQualifierArray();
+        final int offset = cell.getQualifierOffset();
+        final int lengthSize = CompactRawSerialisationUtils.decodeVIntSize(qualifier[offset]);
+        final int groupLength;
+        try {
+            groupLength = (int) CompactRawSerialisationUtils.readLong(qualifier, offset);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise group length", e);
+        }
+        if (lengthSize + groupLength > qualifierLength) {
+            return false;
+        }
+
+        for (final byte[] group : groups) {
+            if (Bytes.equals(group, 0, group.length, qualifier, offset + lengthSize, groupLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -30,7 +30,6 @@ import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -38,7 +37,7 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
     private final ElementSerialisation serialisation;
     private final Schema schema;
     private final View view;
-    private final List<String> aggregatedGroups;
+    private final GroupMatcher aggregatedGroupMatcher;
 
     public QueryAggregationProcessor(final ElementSerialisation serialisation,
                                      final Schema schema,
@@ -46,7 +45,7 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
         this.serialisation = serialisation;
         this.schema = schema;
         this.view = view;
-        aggregatedGroups = schema.getAggregatedGroups();
+        aggregatedGroupMatcher = new GroupMatcher(schema.getAggregatedGroups());
     }
 
     @Override
@@ -55,21 +54,23 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
             return elementCells;
         }
 
-        final List<LazyElementCell> output = new ArrayList<>();
+        // The output is written to the start of the cells, which have already been read.
+        int size = 0;
         ElementAggregator aggregator = null;
         Properties aggregatedProperties = null;
         LazyElementCell firstElementCell = null;
-        for (final LazyElementCell elementCell : elementCells) {
+        for (int i = 0; i < elementCells.size(); i++) {
+            final LazyElementCell elementCell = elementCells.get(i);
             if (elementCell.isDeleted()) {
                 continue;
             }
 
-            if (!aggregatedGroups.contains(elementCell.getGroup())) {
+            if (!aggregatedGroupMatcher.matches(elementCell.getCell())) {
                 if (null != firstElementCell) {
-                    output(firstElementCell, aggregatedProperties, output);
+                    size = output(firstElementCell, aggregatedProperties, elementCells, size);
                     firstElementCell = null;
                 }
-                output(elementCell, null, output);
+                size = output(elementCell, null, elementCells, size);
                 aggregatedProperties = null;
                 aggregator = null;
             } else if (null == firstElementCell) {
@@ -82,7 +83,7 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
                 final ViewElementDefinition elementDef = view.getElement(group);
                 final Set<String> groupBy = null != elementDef ? elementDef.getGroupBy() : null;
                 if (!compareGroupByKeys(firstElementCell.getCell(), elementCell.getCell(), group, schemaGroupBy, groupBy)) {
-                    output(firstElementCell, aggregatedProperties, output);
+                    size = output(firstElementCell, aggregatedProperties, elementCells, size);
                     firstElementCell = elementCell;
                     aggregatedProperties = null;
                     aggregator = null;
@@ -98,16 +99,17 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
                 }
             }
         }
-        output(firstElementCell, aggregatedProperties, output);
-        return output;
+        size = output(firstElementCell, aggregatedProperties, elementCells, size);
+        return FilterProcessor.truncate(elementCells, size);
     }
 
-    private void output(final LazyElementCell elementCell,
-                        final Properties aggregatedProperties,
-                        final List<LazyElementCell> output) {
+    private int output(final LazyElementCell elementCell,
+                       final Properties aggregatedProperties,
+                       final List<LazyElementCell> output,
+                       final int size) {
         if (null == aggregatedProperties) {
-            if (null != elementCell) {
-                output.add(elementCell);
+            if (null == elementCell) {
+                return size;
             }
         } else {
             try {
@@ -127,12 +129,12 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
 
                 elementCell.setCell(aggregatedCell);
                 elementCell.setElement(element);
-                output.add(elementCell);
-
             } catch (final SerialisationException e) {
                 throw new RuntimeException(e);
             }
         }
+        output.set(size, elementCell);
+        return size + 1;
     }
 
     private boolean compareGroupByKeys(final Cell left,
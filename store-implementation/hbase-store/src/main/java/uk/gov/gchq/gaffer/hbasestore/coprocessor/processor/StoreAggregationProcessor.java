@@ -27,19 +27,18 @@ import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class StoreAggregationProcessor implements GafferScannerProcessor {
     private final ElementSerialisation serialisation;
     private final Schema schema;
-    private final List<String> aggregatedGroups;
+    private final GroupMatcher aggregatedGroupMatcher;
 
     public StoreAggregationProcessor(final ElementSerialisation serialisation,
                                      final Schema schema) {
         this.serialisation = serialisation;
         this.schema = schema;
-        aggregatedGroups = schema.getAggregatedGroups();
+        aggregatedGroupMatcher = new GroupMatcher(schema.getAggregatedGroups());
     }
 
     @Override
@@ -48,21 +47,23 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
             return elementCells;
         }
 
-        final List<LazyElementCell> output = new ArrayList<>();
+        // The output is written to the start of the cells, which have already been read.
+        int size = 0;
         ElementAggregator aggregator = null;
         Properties aggregatedProperties = null;
         LazyElementCell firstElementCell = null;
-        for (final LazyElementCell elementCell : elementCells) {
+        for (int i = 0; i < elementCells.size(); i++) {
+            final LazyElementCell elementCell = elementCells.get(i);
             if (elementCell.isDeleted()) {
                 continue;
             }
 
-            if (!aggregatedGroups.contains(elementCell.getGroup())) {
+            if (!aggregatedGroupMatcher.matches(elementCell.getCell())) {
                 if (null != firstElementCell) {
-                    output(firstElementCell, aggregatedProperties, output);
+                    size = output(firstElementCell, aggregatedProperties, elementCells, size);
                     firstElementCell = null;
                 }
-                output(elementCell, null, output);
+                size = output(elementCell, null, elementCells, size);
                 aggregatedProperties = null;
                 aggregator = null;
             } else if (null == firstElementCell) {
@@ -70,7 +71,7 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
                 aggregatedProperties = null;
                 aggregator = null;
             } else if (!HBaseUtil.compareKeys(firstElementCell.getCell(), elementCell.getCell())) {
-                output(firstElementCell, aggregatedProperties, output);
+                size = output(firstElementCell, aggregatedProperties, elementCells, size);
                 firstElementCell = elementCell;
                 aggregatedProperties = null;
                 aggregator = null;
@@ -85,14 +86,14 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
                 aggregatedProperties = aggregator.apply(properties, aggregatedProperties);
             }
         }
-        output(firstElementCell, aggregatedProperties, output);
-        return output;
+        size = output(firstElementCell, aggregatedProperties, elementCells, size);
+        return FilterProcessor.truncate(elementCells, size);
     }
 
-    private void output(final LazyElementCell elementCell, final Properties aggregatedProperties, final List<LazyElementCell> output) {
+    private int output(final LazyElementCell elementCell, final Properties aggregatedProperties, final List<LazyElementCell> output, final int size) {
         if (null == aggregatedProperties) {
-            if (null != elementCell) {
-                output.add(elementCell);
+            if (null == elementCell) {
+                return size;
             }
         } else {
             try {
@@ -112,12 +113,12 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
 
                 elementCell.setCell(aggregatedCell);
                 elementCell.setElement(element);
-                output.add(elementCell);
-
             } catch (final SerialisationException e) {
                 throw new RuntimeException(e);
             }
         }
+        output.set(size, elementCell);
+        return size + 1;
     }
 
     public Schema getSchema() {
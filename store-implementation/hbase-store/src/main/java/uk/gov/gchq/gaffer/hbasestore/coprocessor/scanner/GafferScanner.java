@@ -34,6 +34,11 @@ public abstract class GafferScanner implements InternalScanner {
     private final List<GafferScannerProcessor> processors;
     private final boolean includeMatchedVertex;
 
+    // The batches are reused for each call to next, to avoid allocating new lists and cells.
+    private final List<Cell> input = new ArrayList<>();
+    private final List<LazyElementCell> elementCells = new ArrayList<>();
+    private final List<LazyElementCell> elementCellPool = new ArrayList<>();
+
     public GafferScanner(final InternalScanner scanner,
                          final ElementSerialisation serialisation,
                          final List<GafferScannerProcessor> processors,
@@ -50,7 +55,7 @@ public abstract class GafferScanner implements InternalScanner {
 
     @Override
     public boolean next(final List<Cell> output) throws IOException {
-        final List<Cell> input = new ArrayList<>();
+        final List<Cell> input = getInput();
         final boolean shouldContinue = scanner.next(input);
         _next(input, output);
         return shouldContinue;
@@ -67,20 +72,45 @@ public abstract class GafferScanner implements InternalScanner {
     }
 
     protected void _next(final List<Cell> input, final List<Cell> output) throws IOException {
-        List<LazyElementCell> elementCells = new ArrayList<>(input.size());
-        for (final Cell cell : input) {
-            elementCells.add(new LazyElementCell(cell, serialisation, includeMatchedVertex));
+        // The processors filter and aggregate the batch in place.
+        elementCells.clear();
+        for (int i = 0; i < input.size(); i++) {
+            elementCells.add(getElementCell(i, input.get(i)));
         }
 
+        List<LazyElementCell> processedCells = elementCells;
         for (final GafferScannerProcessor processor : processors) {
-            elementCells = processor.process(elementCells);
+            processedCells = processor.process(processedCells);
         }
 
-        for (final LazyElementCell elementCell : elementCells) {
-            output.add(elementCell.getCell());
+        for (int i = 0; i < processedCells.size(); i++) {
+            output.add(processedCells.get(i).getCell());
         }
     }
 
+    /**
+     * Gets an empty list to read the next batch of cells into. The list is
+     * reused, so must not be held on to after the batch has been processed.
+     *
+     * @return an empty list
+     */
+    protected List<Cell> getInput() {
+        input.clear();
+        return input;
+    }
+
+    private LazyElementCell getElementCell(final int index, final Cell cell) {
+        if (index < elementCellPool.size()) {
+            final LazyElementCell elementCell = elementCellPool.get(index);
+            elementCell.reset(cell);
+            return elementCell;
+        }
+
+        final LazyElementCell elementCell = new LazyElementCell(cell, serialisation, includeMatchedVertex);
+        elementCellPool.add(elementCell);
+        return elementCell;
+    }
+
     protected InternalScanner getScanner() {
         return scanner;
     }
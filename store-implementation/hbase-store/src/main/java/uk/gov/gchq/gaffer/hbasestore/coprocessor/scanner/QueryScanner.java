@@ -158,7 +158,7 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
 
     @Override
     public boolean nextRaw(final List<Cell> output) throws IOException {
-        final List<Cell> input = new ArrayList<>();
+        final List<Cell> input = getInput();
         final boolean shouldContinue = getScanner().nextRaw(input);
         _next(input, output);
         return shouldContinue;
@@ -166,7 +166,7 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
 
     @Override
     public boolean nextRaw(final List<Cell> output, final ScannerContext scannerContext) throws IOException {
-        final List<Cell> input = new ArrayList<>();
+        final List<Cell> input = getInput();
         final boolean shouldContinue = getScanner().nextRaw(input);
         _next(input, output);
         return shouldContinue;
@@ -39,6 +39,18 @@ public class LazyElementCell {
         this.includeMatchedVertex = includeMatchedVertex;
     }
 
+    /**
+     * Replaces the cell and clears any element or group loaded from the
+     * previous cell, so this object can be reused for a new cell.
+     *
+     * @param cell the new cell
+     */
+    public void reset(final Cell cell) {
+        this.cell = cell;
+        element = null;
+        group = null;
+    }
+
     public Cell getCell() {
         return cell;
     }
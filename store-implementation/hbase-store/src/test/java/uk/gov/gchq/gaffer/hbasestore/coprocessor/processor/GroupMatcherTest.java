@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroupMatcherTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .type("true", Boolean.class)
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .build())
+            .entity(TestGroups.ENTITY_2, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
+
+    @Test
+    public void shouldMatchCellsInGroups() throws SerialisationException {
+        // Given
+        final GroupMatcher matcher = new GroupMatcher(Arrays.asList(TestGroups.ENTITY_2, TestGroups.EDGE));
+
+        // When / Then
+        assertTrue(matcher.matches(CellUtil.getCell(new Entity(TestGroups.ENTITY_2, "vertex"), serialisation)));
+        assertTrue(matcher.matches(CellUtil.getCell(new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .build(), serialisation)));
+    }
+
+    @Test
+    public void shouldNotMatchCellsInOtherGroups() throws SerialisationException {
+        // Given
+        final GroupMatcher matcher = new GroupMatcher(Collections.singletonList(TestGroups.ENTITY_2));
+
+        // When / Then
+        assertFalse(matcher.matches(CellUtil.getCell(new Entity(TestGroups.ENTITY, "vertex"), serialisation)));
+        assertFalse(new GroupMatcher(Collections.emptyList()).matches(CellUtil.getCell(new Entity(TestGroups.ENTITY_2, "vertex"), serialisation)));
+    }
+}
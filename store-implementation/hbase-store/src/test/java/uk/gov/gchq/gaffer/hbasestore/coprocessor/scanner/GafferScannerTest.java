@@ -40,9 +40,11 @@ import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
@@ -129,6 +131,45 @@ public class GafferScannerTest {
         assertEquals(cells, outputResult);
     }
 
+    @Test
+    public void shouldReuseBatchesBetweenCalls() throws OperationException, IOException {
+        // Given
+        final List<Cell> cells = CellUtil.getCells(ELEMENTS, serialisation);
+        final InternalScanner internalScanner = mock(InternalScanner.class);
+        given(internalScanner.next(Mockito.anyList())).will(invocation -> {
+            final List<Cell> input = invocation.getArgument(0);
+            assertTrue(input.isEmpty());
+            input.addAll(cells);
+            return true;
+        });
+        final GafferScannerProcessor processor = mock(GafferScannerProcessor.class);
+        final List<List<LazyElementCell>> batches = new ArrayList<>();
+        given(processor.process(Mockito.anyList())).will(invocation -> {
+            final List<LazyElementCell> batch = invocation.getArgument(0);
+            batches.add(batch);
+            assertEquals(cells.size(), batch.size());
+            for (int i = 0; i < cells.size(); i++) {
+                assertSame(cells.get(i), batch.get(i).getCell());
+                assertFalse(batch.get(i).isElementLoaded());
+            }
+            batch.get(0).getElement();
+            return batch;
+        });
+        final GafferScanner scanner = new GafferScanner(internalScanner, serialisation, Collections.singletonList(processor), false) {
+        };
+        final List<Cell> firstOutput = new ArrayList<>();
+        final List<Cell> secondOutput = new ArrayList<>();
+
+        // When
+        scanner.next(firstOutput);
+        scanner.next(secondOutput);
+
+        // Then
+        assertEquals(cells, firstOutput);
+        assertEquals(cells, secondOutput);
+        assertSame(batches.get(0), batches.get(1));
+    }
+
     @Test
     public void shouldCloseScanner() throws IOException {
         // Given
@@ -109,11 +109,13 @@ public class MapStore extends Store {
     protected MapImpl createMapImpl() {
         if (getProperties().isStaticMap()) {
             LOGGER.debug("Using static map");
-            if (null == staticMapImpl) {
-                staticMapImpl = new MapImpl(getSchema(), getProperties());
-            }
+            synchronized (MapStore.class) {
+                if (null == staticMapImpl) {
+                    staticMapImpl = new MapImpl(getSchema(), getProperties());
+                }
 
-            return staticMapImpl;
+                return staticMapImpl;
+            }
         }
 
         return new MapImpl(getSchema(), getProperties());
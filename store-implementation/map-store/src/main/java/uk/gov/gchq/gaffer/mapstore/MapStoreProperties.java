@@ -38,6 +38,13 @@ public class MapStoreProperties extends StoreProperties {
     public static final String STATIC_MAP = "gaffer.store.mapstore.static";
     public static final String STATIC_MAP_DEFAULT = "false";
 
+    /**
+     * Property name for whether the maps should support elements being added and
+     * retrieved from multiple threads at the same time.
+     */
+    public static final String CONCURRENT = "gaffer.store.mapstore.concurrent";
+    public static final String CONCURRENT_DEFAULT = "false";
+
     /**
      * Property name for the ingest buffer size. If the value is set to less
      * than 1 then
@@ -120,4 +127,12 @@ public class MapStoreProperties extends StoreProperties {
     public void setStaticMap(final boolean staticMap) {
         set(STATIC_MAP, Boolean.toString(staticMap));
     }
+
+    public boolean isConcurrent() {
+        return Boolean.parseBoolean(get(CONCURRENT, CONCURRENT_DEFAULT));
+    }
+
+    public void setConcurrent(final boolean concurrent) {
+        set(CONCURRENT, Boolean.toString(concurrent));
+    }
 }
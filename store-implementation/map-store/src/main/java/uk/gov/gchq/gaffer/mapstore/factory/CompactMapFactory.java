@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.graph.adjacency.VertexIndex;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.CompactMultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.CompactElementSerialiser;
+import uk.gov.gchq.gaffer.mapstore.utils.CompactMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link MapFactory} that creates maps holding their keys and values in a
+ * compact serialised form, rather than as Java objects.
+ * <p>
+ * Elements and seeds are serialised using a {@link CompactElementSerialiser}, which
+ * uses the {@link uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser}s in the schema
+ * for properties. Vertices are interned in a {@link VertexIndex} shared by all of
+ * the maps, so each vertex is only held once and elements refer to vertices by id.
+ * This significantly reduces the memory used per element, at the cost of serialising
+ * and deserialising elements as they are added and retrieved.
+ * </p>
+ * <p>
+ * If the store is concurrent then the maps are backed by {@link ConcurrentHashMap}s.
+ * </p>
+ * <p>
+ * To use this factory set the {@code gaffer.store.mapstore.map.factory} store
+ * property to {@code uk.gov.gchq.gaffer.mapstore.factory.CompactMapFactory}.
+ * </p>
+ */
+public class CompactMapFactory implements MapFactory {
+    private final ElementCloner cloner = new ElementCloner();
+    private final VertexIndex vertices = new VertexIndex();
+    private final Map<String, Map> maps = new HashMap<>();
+    private final Map<String, MultiMap> multiMaps = new HashMap<>();
+    private CompactElementSerialiser serialiser;
+    private boolean concurrent;
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        serialiser = new CompactElementSerialiser(schema, vertices);
+        concurrent = properties.isConcurrent();
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return maps.computeIfAbsent(mapName, n -> new CompactMap<>(concurrent ? new ConcurrentHashMap<>() : new HashMap<>(), serialiser));
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new CompactMultiMap<>(concurrent ? new ConcurrentHashMap<>() : new HashMap<>(), serialiser));
+    }
+
+    @Override
+    public void clear() {
+        maps.values().forEach(Map::clear);
+        multiMaps.values().forEach(MultiMap::clear);
+        maps.clear();
+        multiMaps.clear();
+        vertices.clear();
+    }
+
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        return cloner.cloneElement(element, schema);
+    }
+
+    public VertexIndex getVertexIndex() {
+        return vertices;
+    }
+}
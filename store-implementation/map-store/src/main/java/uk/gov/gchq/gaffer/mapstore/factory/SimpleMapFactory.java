@@ -25,14 +25,21 @@ import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation of the {@link MapFactory} interface, used to create map
  * instances for the {@link uk.gov.gchq.gaffer.mapstore.MapStore}.
+ * <p>
+ * If the store is concurrent then the map class defaults to {@link ConcurrentHashMap},
+ * and must be a {@link ConcurrentMap}.
+ * </p>
  */
 public class SimpleMapFactory implements MapFactory {
     public static final String MAP_CLASS = "gaffer.store.mapstore.map.class";
     public static final String MAP_CLASS_DEFAULT = HashMap.class.getName();
+    public static final String CONCURRENT_MAP_CLASS_DEFAULT = ConcurrentHashMap.class.getName();
 
     private final ElementCloner cloner;
     private Class<? extends Map> mapClass = HashMap.class;
@@ -50,12 +57,16 @@ public class SimpleMapFactory implements MapFactory {
 
     @Override
     public void initialise(final Schema schema, final MapStoreProperties properties) {
-        final String mapClassName = properties.get(MAP_CLASS, MAP_CLASS_DEFAULT);
+        final boolean concurrent = properties.isConcurrent();
+        final String mapClassName = properties.get(MAP_CLASS, concurrent ? CONCURRENT_MAP_CLASS_DEFAULT : MAP_CLASS_DEFAULT);
         try {
             mapClass = Class.forName(SimpleClassNameIdResolver.getClassName(mapClassName)).asSubclass(Map.class);
         } catch (final ClassNotFoundException | ClassCastException e) {
             throw new IllegalArgumentException("Map Class is invalid: " + mapClassName, e);
         }
+        if (concurrent && !ConcurrentMap.class.isAssignableFrom(mapClass)) {
+            throw new IllegalArgumentException("Map Class must be a " + ConcurrentMap.class.getSimpleName() + " when the store is concurrent: " + mapClassName);
+        }
     }
 
     @Override
@@ -53,6 +53,14 @@ import java.util.stream.Stream;
  * handlers for the {@link uk.gov.gchq.gaffer.mapstore.MapStore} to be placed in the
  * same package and get access to the maps, without exposing the internal state of
  * the MapStore to classes outside of this package.
+ * <p>
+ * If the {@link MapStoreProperties#CONCURRENT} store property is set then elements
+ * can be added and retrieved from multiple threads at the same time. The maps
+ * created by the {@link MapFactory} must then be concurrent maps, aggregation is
+ * done atomically using {@link Map#merge} and stored properties are never updated
+ * in place, so each element retrieved is a consistent snapshot of that element.
+ * Iterating over all of the elements does not block writers and reflects the
+ * elements at some point at or since the iteration was started.
  */
 public class MapImpl {
     public static final String AGG_ELEMENTS = "aggElements";
@@ -89,6 +97,7 @@ public class MapImpl {
     private final List<String> aggregatedGroups;
     private final Schema schema;
     private final boolean maintainIndex;
+    private final boolean concurrent;
     private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
@@ -96,6 +105,7 @@ public class MapImpl {
         propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
+        concurrent = mapStoreProperties.isConcurrent();
 
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
@@ -131,10 +141,18 @@ public class MapImpl {
     void addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
         if (null != aggElements.get(elementWithGroupByProperties.getGroup())) {
             aggElements.get(elementWithGroupByProperties.getGroup())
-                    .merge(elementWithGroupByProperties, properties, propertyAggregator);
+                    .merge(elementWithGroupByProperties, properties, concurrent ? this::aggregateCopy : propertyAggregator);
         }
     }
 
+    private GroupedProperties aggregateCopy(final GroupedProperties existing, final GroupedProperties properties) {
+        // The aggregator updates the existing properties in place, but they may be being
+        // read by another thread, so they are copied and the copy replaces them.
+        final GroupedProperties copy = new GroupedProperties(existing.getGroup());
+        copy.putAll(existing);
+        return propertyAggregator.apply(copy, properties);
+    }
+
     Collection<Element> lookup(final EntityId entitId) {
         Collection<Element> results = entityIdToElements.get(entitId);
         if (null == results) {
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.utils.ByteArrayKey;
+import uk.gov.gchq.gaffer.mapstore.utils.CompactElementSerialiser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link MultiMap} that holds its keys and values in serialised form, using a
+ * {@link CompactElementSerialiser}.
+ * <p>
+ * As with a {@link MapOfSets}, the values for each key form a set. Values are
+ * compared in the same way as {@link uk.gov.gchq.gaffer.data.element.Edge#equals(Object)},
+ * ignoring the matched vertex, so only the first of two edges that differ only
+ * by their matched vertex is kept.
+ * </p>
+ * <p>
+ * If the backing map is a {@link ConcurrentMap} then the sets of values are
+ * concurrent sets, so values can be added and read from multiple threads.
+ * </p>
+ *
+ * @param <K> the type of key in the map
+ * @param <V> the type of value in the map
+ */
+public class CompactMultiMap<K, V> implements MultiMap<K, V> {
+    private final Map<ByteArrayKey, Set<Value>> multiMap;
+    private final CompactElementSerialiser serialiser;
+
+    public CompactMultiMap(final CompactElementSerialiser serialiser) {
+        this(new HashMap<>(), serialiser);
+    }
+
+    public CompactMultiMap(final Map<ByteArrayKey, Set<Value>> multiMap, final CompactElementSerialiser serialiser) {
+        this.multiMap = multiMap;
+        this.serialiser = serialiser;
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        try {
+            final Set<Value> values = multiMap.computeIfAbsent(new ByteArrayKey(serialiser.serialiseKey(key, true)), k -> createSet());
+            return values.add(new Value(serialiser.serialise(value)));
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to serialise multi map entry", e);
+        }
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        for (final V value : values) {
+            put(key, value);
+        }
+    }
+
+    @Override
+    public Collection<V> get(final K key) {
+        try {
+            final byte[] keyBytes = serialiser.serialiseKey(key, false);
+            final Set<Value> values = null != keyBytes ? multiMap.get(new ByteArrayKey(keyBytes)) : null;
+            if (null == values) {
+                return null;
+            }
+            final List<V> result = new ArrayList<>(values.size());
+            for (final Value value : values) {
+                result.add((V) serialiser.deserialise(value.getBytes()));
+            }
+            return result;
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to deserialise multi map entry", e);
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        try {
+            final Set<K> keys = new HashSet<>(multiMap.size());
+            for (final ByteArrayKey key : multiMap.keySet()) {
+                keys.add((K) serialiser.deserialise(key.getBytes()));
+            }
+            return keys;
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to deserialise multi map key", e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        multiMap.clear();
+    }
+
+    private Set<Value> createSet() {
+        return multiMap instanceof ConcurrentMap ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+    }
+
+    /**
+     * A serialised value, which is equal to another value if their keys are equal.
+     */
+    public static final class Value extends ByteArrayKey {
+        private Value(final byte[] bytes) {
+            super(bytes, CompactElementSerialiser.getKeyHashCode(bytes));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj
+                    || (obj instanceof Value
+                    && CompactElementSerialiser.keysEqual(getBytes(), ((Value) obj).getBytes()));
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+    }
+}
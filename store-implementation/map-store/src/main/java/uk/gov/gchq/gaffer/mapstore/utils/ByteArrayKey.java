@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import java.util.Arrays;
+
+/**
+ * Wraps a byte array so that it can be used as the key of a {@link java.util.Map},
+ * comparing the contents of the array rather than its identity.
+ */
+public class ByteArrayKey {
+    private final byte[] bytes;
+    private final int hash;
+
+    public ByteArrayKey(final byte[] bytes) {
+        this(bytes, Arrays.hashCode(bytes));
+    }
+
+    protected ByteArrayKey(final byte[] bytes, final int hash) {
+        this.bytes = bytes;
+        this.hash = hash;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj
+                || (null != obj && getClass() == obj.getClass() && Arrays.equals(bytes, ((ByteArrayKey) obj).bytes));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
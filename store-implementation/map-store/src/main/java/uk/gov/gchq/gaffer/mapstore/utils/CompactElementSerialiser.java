@@ -0,0 +1,361 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.graph.adjacency.VertexIndex;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serialises the keys and values held in the maps of a
+ * {@link uk.gov.gchq.gaffer.mapstore.impl.MapImpl} into a compact byte representation.
+ * <p>
+ * Supported types are {@link Entity}, {@link Edge}, {@link GroupedProperties},
+ * {@link EntitySeed}, {@link EdgeSeed} and {@link Long}. Groups are written as an
+ * index into the schema groups, vertices are written as the id of the vertex in a
+ * {@link VertexIndex} and properties are written using the
+ * {@link ToBytesSerialiser}s in the schema. Only properties with a non-null value
+ * are written.
+ * </p>
+ * <p>
+ * The matched vertex of an edge is ignored by {@link Edge#equals(Object)}, so
+ * {@link #serialiseKey(Object, boolean)} omits it in order that the bytes of two
+ * equal objects are identical.
+ * </p>
+ * <p>
+ * The maps compare elements by their serialised form, so equal elements must
+ * always serialise to the same bytes. Vertices are compared using their
+ * {@link Object#equals(Object)} method when they are added to the
+ * {@link VertexIndex}, but the serialisers of groupBy properties, and of all
+ * the properties in groups that are not aggregated, must be consistent. A
+ * {@link SchemaException} is thrown if any of them are not.
+ * </p>
+ */
+public class CompactElementSerialiser {
+    private static final byte ENTITY = 0;
+    private static final byte EDGE = 1;
+    private static final byte GROUPED_PROPERTIES = 2;
+    private static final byte ENTITY_SEED = 3;
+    private static final byte EDGE_SEED = 4;
+    private static final byte LONG = 5;
+
+    private static final int DIRECTED = 1;
+    private static final int DIRECTED_TYPE_MASK = 3;
+    private static final int MATCHED_SOURCE = 4;
+    private static final int MATCHED_DESTINATION = 8;
+    private static final int MATCHED_VERTEX_MASK = MATCHED_SOURCE | MATCHED_DESTINATION;
+
+    private static final ToBytesSerialiser<Object> DEFAULT_SERIALISER = new JavaSerialiser();
+
+    private final VertexIndex vertices;
+    private final List<String> groups = new ArrayList<>();
+    private final Map<String, Integer> groupIds = new HashMap<>();
+    private final Map<String, String[]> groupProperties = new HashMap<>();
+    private final Map<String, ToBytesSerialiser<Object>[]> groupSerialisers = new HashMap<>();
+
+    public CompactElementSerialiser(final Schema schema, final VertexIndex vertices) {
+        this.vertices = vertices;
+        for (final String group : schema.getGroups()) {
+            groupIds.put(group, groups.size());
+            groups.add(group);
+
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            final String[] properties = elementDef.getProperties().toArray(new String[0]);
+            final ToBytesSerialiser<Object>[] serialisers = new ToBytesSerialiser[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(properties[i]);
+                final Serialiser serialiser = null != typeDef ? typeDef.getSerialiser() : null;
+                serialisers[i] = serialiser instanceof ToBytesSerialiser ? (ToBytesSerialiser<Object>) serialiser : DEFAULT_SERIALISER;
+                if (!serialisers[i].isConsistent()
+                        && (!elementDef.isAggregate() || elementDef.getGroupBy().contains(properties[i]))) {
+                    throw new SchemaException("Serialiser for property: " + properties[i] + " in group: " + group
+                            + " is inconsistent. Elements are compared by their serialised form, so the serialisers of groupBy properties,"
+                            + " and of all properties in groups that are not aggregated, must be consistent. Serialiser "
+                            + serialisers[i].getClass().getName() + " is not consistent.");
+                }
+            }
+            groupProperties.put(group, properties);
+            groupSerialisers.put(group, serialisers);
+        }
+    }
+
+    /**
+     * Serialises an object for use as a key, omitting the matched vertex of edges.
+     *
+     * @param object      the object to serialise
+     * @param addVertices true if unknown vertices should be added to the vertex index
+     * @return the serialised object, or null if the object contains a vertex that is
+     * not in the vertex index and addVertices is false
+     * @throws SerialisationException if the object cannot be serialised
+     */
+    public byte[] serialiseKey(final Object object, final boolean addVertices) throws SerialisationException {
+        final byte[] bytes = serialise(object, addVertices);
+        if (null != bytes && (EDGE == bytes[0] || EDGE_SEED == bytes[0])) {
+            bytes[1] &= ~MATCHED_VERTEX_MASK;
+        }
+        return bytes;
+    }
+
+    /**
+     * Serialises an object, adding any unknown vertices to the vertex index.
+     *
+     * @param object the object to serialise
+     * @return the serialised object
+     * @throws SerialisationException if the object cannot be serialised
+     */
+    public byte[] serialise(final Object object) throws SerialisationException {
+        return serialise(object, true);
+    }
+
+    /**
+     * Checks whether two serialised objects would be equal once serialised by
+     * {@link #serialiseKey(Object, boolean)}, i.e. ignoring the matched vertex
+     * of edges, without copying either of them.
+     *
+     * @param bytes1 the first serialised object
+     * @param bytes2 the second serialised object
+     * @return true if the keys of the objects are equal
+     */
+    public static boolean keysEqual(final byte[] bytes1, final byte[] bytes2) {
+        if (bytes1.length != bytes2.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes1.length; i++) {
+            if (getKeyByte(bytes1, i) != getKeyByte(bytes2, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the hash code of the key of a serialised object, consistent with
+     * {@link #keysEqual(byte[], byte[])}.
+     *
+     * @param bytes the serialised object
+     * @return the hash code of the key
+     */
+    public static int getKeyHashCode(final byte[] bytes) {
+        int hash = 1;
+        for (int i = 0; i < bytes.length; i++) {
+            hash = 31 * hash + getKeyByte(bytes, i);
+        }
+        return hash;
+    }
+
+    private static byte getKeyByte(final byte[] bytes, final int index) {
+        if (1 == index && (EDGE == bytes[0] || EDGE_SEED == bytes[0])) {
+            return (byte) (bytes[1] & ~MATCHED_VERTEX_MASK);
+        }
+        return bytes[index];
+    }
+
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        final int[] delimiter = {1};
+        switch (bytes[0]) {
+            case ENTITY:
+                return deserialiseEntity(bytes, delimiter);
+            case EDGE:
+                return deserialiseEdge(bytes, delimiter);
+            case GROUPED_PROPERTIES:
+                final String group = groups.get(readInt(bytes, delimiter));
+                final GroupedProperties properties = new GroupedProperties(group);
+                readProperties(group, bytes, delimiter, properties);
+                return properties;
+            case ENTITY_SEED:
+                return new EntitySeed(readVertex(bytes, delimiter));
+            case EDGE_SEED:
+                return deserialiseEdgeSeed(bytes, delimiter);
+            case LONG:
+                return CompactRawSerialisationUtils.readLong(bytes, 1);
+            default:
+                throw new SerialisationException("Unrecognised type: " + bytes[0]);
+        }
+    }
+
+    private Entity deserialiseEntity(final byte[] bytes, final int[] delimiter) throws SerialisationException {
+        final String group = groups.get(readInt(bytes, delimiter));
+        final Entity entity = new Entity(group, readVertex(bytes, delimiter));
+        readProperties(group, bytes, delimiter, entity.getProperties());
+        return entity;
+    }
+
+    private Edge deserialiseEdge(final byte[] bytes, final int[] delimiter) throws SerialisationException {
+        final int flags = bytes[delimiter[0]++];
+        final String group = groups.get(readInt(bytes, delimiter));
+        final Object source = readVertex(bytes, delimiter);
+        final Object destination = readVertex(bytes, delimiter);
+        final Properties properties = new Properties();
+        readProperties(group, bytes, delimiter, properties);
+        return new Edge(group, source, destination, 0 != (flags & DIRECTED), readMatchedVertex(flags), properties);
+    }
+
+    private EdgeSeed deserialiseEdgeSeed(final byte[] bytes, final int[] delimiter) throws SerialisationException {
+        final int flags = bytes[delimiter[0]++];
+        final Object source = readVertex(bytes, delimiter);
+        final Object destination = readVertex(bytes, delimiter);
+        return new EdgeSeed(source, destination, DirectedType.values()[flags & DIRECTED_TYPE_MASK], readMatchedVertex(flags));
+    }
+
+    private byte[] serialise(final Object object, final boolean addVertices) throws SerialisationException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (object instanceof Entity) {
+            final Entity entity = (Entity) object;
+            out.write(ENTITY);
+            writeGroup(entity.getGroup(), out);
+            if (!writeVertex(entity.getVertex(), addVertices, out)) {
+                return null;
+            }
+            writeProperties(entity.getGroup(), entity.getProperties(), out);
+        } else if (object instanceof Edge) {
+            final Edge edge = (Edge) object;
+            out.write(EDGE);
+            out.write((edge.isDirected() ? DIRECTED : 0) | writeMatchedVertex(edge.getMatchedVertex()));
+            writeGroup(edge.getGroup(), out);
+            if (!writeVertex(edge.getSource(), addVertices, out)
+                    || !writeVertex(edge.getDestination(), addVertices, out)) {
+                return null;
+            }
+            writeProperties(edge.getGroup(), edge.getProperties(), out);
+        } else if (object instanceof GroupedProperties) {
+            final GroupedProperties properties = (GroupedProperties) object;
+            out.write(GROUPED_PROPERTIES);
+            writeGroup(properties.getGroup(), out);
+            writeProperties(properties.getGroup(), properties, out);
+        } else if (object instanceof EntitySeed) {
+            out.write(ENTITY_SEED);
+            if (!writeVertex(((EntitySeed) object).getVertex(), addVertices, out)) {
+                return null;
+            }
+        } else if (object instanceof EdgeSeed) {
+            final EdgeSeed edgeSeed = (EdgeSeed) object;
+            out.write(EDGE_SEED);
+            out.write(edgeSeed.getDirectedType().ordinal() | writeMatchedVertex(edgeSeed.getMatchedVertex()));
+            if (!writeVertex(edgeSeed.getSource(), addVertices, out)
+                    || !writeVertex(edgeSeed.getDestination(), addVertices, out)) {
+                return null;
+            }
+        } else if (object instanceof Long) {
+            out.write(LONG);
+            CompactRawSerialisationUtils.write((Long) object, out);
+        } else {
+            throw new SerialisationException("Unable to serialise " + (null == object ? "null" : object.getClass().getName()));
+        }
+        return out.toByteArray();
+    }
+
+    private void writeGroup(final String group, final ByteArrayOutputStream out) throws SerialisationException {
+        final Integer groupId = groupIds.get(group);
+        if (null == groupId) {
+            throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
+        }
+        CompactRawSerialisationUtils.write(groupId, out);
+    }
+
+    private boolean writeVertex(final Object vertex, final boolean addVertices, final ByteArrayOutputStream out) throws SerialisationException {
+        if (null == vertex && addVertices) {
+            throw new SerialisationException("Unable to serialise a null vertex");
+        }
+        final int id = addVertices ? vertices.getOrAddId(vertex) : vertices.getId(vertex);
+        if (VertexIndex.NO_ID == id) {
+            return false;
+        }
+        CompactRawSerialisationUtils.write(id, out);
+        return true;
+    }
+
+    private void writeProperties(final String group, final Properties properties, final ByteArrayOutputStream out) throws SerialisationException {
+        final String[] propertyNames = groupProperties.get(group);
+        final ToBytesSerialiser<Object>[] serialisers = groupSerialisers.get(group);
+        int count = 0;
+        for (final String propertyName : propertyNames) {
+            if (null != properties.get(propertyName)) {
+                count++;
+            }
+        }
+        CompactRawSerialisationUtils.write(count, out);
+        for (int i = 0; i < propertyNames.length; i++) {
+            final Object value = properties.get(propertyNames[i]);
+            if (null != value) {
+                CompactRawSerialisationUtils.write(i, out);
+                LengthValueBytesSerialiserUtil.serialise(serialisers[i], value, out);
+            }
+        }
+    }
+
+    private Object readVertex(final byte[] bytes, final int[] delimiter) throws SerialisationException {
+        return vertices.getVertex(readInt(bytes, delimiter));
+    }
+
+    private void readProperties(final String group, final byte[] bytes, final int[] delimiter, final Properties properties) throws SerialisationException {
+        final String[] propertyNames = groupProperties.get(group);
+        final ToBytesSerialiser<Object>[] serialisers = groupSerialisers.get(group);
+        final int count = readInt(bytes, delimiter);
+        for (int i = 0; i < count; i++) {
+            final int index = readInt(bytes, delimiter);
+            properties.put(propertyNames[index], LengthValueBytesSerialiserUtil.deserialise(serialisers[index], bytes, delimiter));
+        }
+    }
+
+    private static int writeMatchedVertex(final MatchedVertex matchedVertex) {
+        if (MatchedVertex.SOURCE == matchedVertex) {
+            return MATCHED_SOURCE;
+        }
+        if (MatchedVertex.DESTINATION == matchedVertex) {
+            return MATCHED_DESTINATION;
+        }
+        return 0;
+    }
+
+    private static MatchedVertex readMatchedVertex(final int flags) {
+        if (0 != (flags & MATCHED_SOURCE)) {
+            return MatchedVertex.SOURCE;
+        }
+        if (0 != (flags & MATCHED_DESTINATION)) {
+            return MatchedVertex.DESTINATION;
+        }
+        return null;
+    }
+
+    private static int readInt(final byte[] bytes, final int[] delimiter) throws SerialisationException {
+        final int value = (int) CompactRawSerialisationUtils.readLong(bytes, delimiter[0]);
+        delimiter[0] += CompactRawSerialisationUtils.decodeVIntSize(bytes[delimiter[0]]);
+        return value;
+    }
+}
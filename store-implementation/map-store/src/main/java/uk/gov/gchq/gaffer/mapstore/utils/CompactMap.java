@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link Map} that holds its keys and values in serialised form, using a
+ * {@link CompactElementSerialiser}. Keys and values are deserialised each time
+ * they are read, so changes to a value that has been read are not written back
+ * to the map unless the value is put back into the map.
+ *
+ * @param <K> the type of key in the map
+ * @param <V> the type of value in the map
+ */
+public class CompactMap<K, V> extends AbstractMap<K, V> {
+    private final Map<ByteArrayKey, byte[]> map;
+    private final CompactElementSerialiser serialiser;
+
+    public CompactMap(final CompactElementSerialiser serialiser) {
+        this(new HashMap<>(), serialiser);
+    }
+
+    public CompactMap(final Map<ByteArrayKey, byte[]> map, final CompactElementSerialiser serialiser) {
+        this.map = map;
+        this.serialiser = serialiser;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final ByteArrayKey keyBytes = getKey(key, false);
+        return null != keyBytes && map.containsKey(keyBytes);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final ByteArrayKey keyBytes = getKey(key, false);
+        return null != keyBytes ? deserialise(map.get(keyBytes)) : null;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        return deserialise(map.put(getKey(key, true), serialise(value)));
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final ByteArrayKey keyBytes = getKey(key, false);
+        return null != keyBytes ? deserialise(map.remove(keyBytes)) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is atomic if the backing map is a {@link java.util.concurrent.ConcurrentMap}.
+     * </p>
+     */
+    @Override
+    public V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        final Object[] result = new Object[1];
+        map.compute(getKey(key, true), (k, oldBytes) -> {
+            final V oldValue = deserialise(oldBytes);
+            final V newValue = null == oldValue ? value : remappingFunction.apply(oldValue, value);
+            result[0] = newValue;
+            return null == newValue ? null : serialise(newValue);
+        });
+        return (V) result[0];
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                final Iterator<Entry<ByteArrayKey, byte[]>> itr = map.entrySet().iterator();
+                return new Iterator<Entry<K, V>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return itr.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        final Entry<ByteArrayKey, byte[]> entry = itr.next();
+                        return new SimpleImmutableEntry<>(CompactMap.this.<K>deserialise(entry.getKey().getBytes()), CompactMap.this.<V>deserialise(entry.getValue()));
+                    }
+
+                    @Override
+                    public void remove() {
+                        itr.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+
+    private ByteArrayKey getKey(final Object key, final boolean addVertices) {
+        try {
+            final byte[] bytes = serialiser.serialiseKey(key, addVertices);
+            return null != bytes ? new ByteArrayKey(bytes) : null;
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to serialise map key", e);
+        }
+    }
+
+    private byte[] serialise(final Object value) {
+        try {
+            return serialiser.serialise(value);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to serialise map value", e);
+        }
+    }
+
+    private <T> T deserialise(final byte[] bytes) {
+        if (null == bytes) {
+            return null;
+        }
+        try {
+            return (T) serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Unable to deserialise map entry", e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactMapFactoryTest {
+    private CompactMapFactory factory;
+
+    @BeforeEach
+    public void setUp() {
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.PROP_1, "string")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .groupBy(TestPropertyNames.PROP_1)
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("string")
+                        .destination("string")
+                        .directed("true")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new CompactRawLongSerialiser())
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type("true", Boolean.class)
+                .build();
+        factory = new CompactMapFactory();
+        factory.initialise(schema, new MapStoreProperties());
+    }
+
+    @Test
+    public void shouldStoreAndRetrieveElementsInMap() {
+        // Given
+        final Map<Element, GroupedProperties> map = factory.getMap("aggElements", Element.class, GroupedProperties.class);
+        final Entity key = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex1")
+                .property(TestPropertyNames.PROP_1, "value1")
+                .build();
+        final GroupedProperties properties = new GroupedProperties(TestGroups.ENTITY);
+        properties.put(TestPropertyNames.COUNT, 5L);
+
+        // When
+        map.put(key, properties);
+
+        // Then
+        assertEquals(1, map.size());
+        assertEquals(properties, map.get(key));
+        assertEquals(Collections.singletonMap(key, properties), map);
+    }
+
+    @Test
+    public void shouldMergeValuesInMap() {
+        // Given
+        final Map<Element, Long> map = factory.getMap("nonAggElements", Element.class, Long.class);
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 1L)
+                .build();
+
+        // When
+        map.merge(edge, 1L, (a, b) -> a + b);
+        map.merge(edge, 1L, (a, b) -> a + b);
+
+        // Then
+        assertEquals(2L, (long) map.get(edge));
+    }
+
+    @Test
+    public void shouldIgnoreMatchedVertexOfEdgeKeys() {
+        // Given
+        final Map<Element, Long> map = factory.getMap("nonAggElements", Element.class, Long.class);
+        final Edge edge = new Edge(TestGroups.EDGE, "source", "dest", true, MatchedVertex.SOURCE, null);
+        final Edge destinationMatchedEdge = new Edge(TestGroups.EDGE, "source", "dest", true, MatchedVertex.DESTINATION, null);
+
+        // When
+        map.put(edge, 1L);
+
+        // Then
+        assertEquals(1L, (long) map.get(destinationMatchedEdge));
+    }
+
+    @Test
+    public void shouldNotAddVerticesToIndexWhenLookingUpKeys() {
+        // Given
+        final Map<Element, Long> map = factory.getMap("nonAggElements", Element.class, Long.class);
+        final MultiMap<EntityId, Element> multiMap = factory.getMultiMap("entityIdToElements", EntityId.class, Element.class);
+
+        // When
+        final Long value = map.get(new Entity(TestGroups.ENTITY, "unknownVertex"));
+        final Collection<Element> values = multiMap.get(new EntitySeed("unknownVertex"));
+
+        // Then
+        assertNull(value);
+        assertNull(values);
+        assertEquals(0, factory.getVertexIndex().size());
+    }
+
+    @Test
+    public void shouldRetainMatchedVertexOfMultiMapValues() {
+        // Given
+        final MultiMap<EntityId, Element> multiMap = factory.getMultiMap("entityIdToElements", EntityId.class, Element.class);
+        final Edge edge = new Edge(TestGroups.EDGE, "source", "dest", true, MatchedVertex.DESTINATION, null);
+
+        // When
+        multiMap.put(new EntitySeed("dest"), edge);
+
+        // Then
+        final Collection<Element> values = multiMap.get(new EntitySeed("dest"));
+        assertEquals(1, values.size());
+        assertEquals(MatchedVertex.DESTINATION, ((Edge) values.iterator().next()).getMatchedVertex());
+    }
+
+    @Test
+    public void shouldOnlyKeepFirstOfEdgesThatDifferByMatchedVertexInMultiMap() {
+        // Given
+        final MultiMap<EntityId, Element> multiMap = factory.getMultiMap("entityIdToElements", EntityId.class, Element.class);
+        final Edge edge = new Edge(TestGroups.EDGE, "vertex", "vertex", true, MatchedVertex.SOURCE, null);
+        final Edge destinationMatchedEdge = new Edge(TestGroups.EDGE, "vertex", "vertex", true, MatchedVertex.DESTINATION, null);
+
+        // When
+        final boolean addedEdge = multiMap.put(new EntitySeed("vertex"), edge);
+        final boolean addedDestinationMatchedEdge = multiMap.put(new EntitySeed("vertex"), destinationMatchedEdge);
+
+        // Then
+        assertTrue(addedEdge);
+        assertFalse(addedDestinationMatchedEdge);
+        final Collection<Element> values = multiMap.get(new EntitySeed("vertex"));
+        assertEquals(1, values.size());
+        assertEquals(MatchedVertex.SOURCE, ((Edge) values.iterator().next()).getMatchedVertex());
+    }
+
+    @Test
+    public void shouldRejectInconsistentGroupBySerialiser() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(TestPropertyNames.PROP_1, "javaString")
+                        .property(TestPropertyNames.COUNT, "long")
+                        .groupBy(TestPropertyNames.PROP_1)
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("javaString", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new JavaSerialiser())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new CompactRawLongSerialiser())
+                        .aggregateFunction(new Sum())
+                        .build())
+                .build();
+
+        // When / Then
+        assertThrows(SchemaException.class, () -> new CompactMapFactory().initialise(schema, new MapStoreProperties()));
+    }
+
+    @Test
+    public void shouldInternVertices() {
+        // Given
+        final Map<Element, Long> map = factory.getMap("nonAggElements", Element.class, Long.class);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            map.put(new Edge(TestGroups.EDGE, "source", "dest" + i, true), 1L);
+        }
+
+        // Then
+        assertEquals(10, map.size());
+        assertEquals(11, factory.getVertexIndex().size());
+    }
+
+    @Test
+    public void shouldClearMapsAndVertexIndex() {
+        // Given
+        final Map<Element, Long> map = factory.getMap("nonAggElements", Element.class, Long.class);
+        map.put(new Entity(TestGroups.ENTITY, "vertex"), 1L);
+
+        // When
+        factory.clear();
+
+        // Then
+        assertTrue(map.isEmpty());
+        assertEquals(0, factory.getVertexIndex().size());
+    }
+}
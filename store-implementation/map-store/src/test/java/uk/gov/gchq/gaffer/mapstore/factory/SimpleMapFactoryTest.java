@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -75,6 +76,39 @@ public class SimpleMapFactoryTest {
         assertEquals(mapClass, factory.getMapClass());
     }
 
+    @Test
+    public void shouldUseConcurrentHashMapByDefaultWhenConcurrent() throws StoreException {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setConcurrent(true);
+        final SimpleMapFactory factory = new SimpleMapFactory();
+
+        // When
+        factory.initialise(schema, properties);
+
+        // Then
+        assertEquals(ConcurrentHashMap.class, factory.getMapClass());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfMapClassIsNotConcurrentWhenConcurrent() throws StoreException {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setConcurrent(true);
+        properties.set(SimpleMapFactory.MAP_CLASS, LinkedHashMap.class.getName());
+        final SimpleMapFactory factory = new SimpleMapFactory();
+
+        // When / Then
+        try {
+            factory.initialise(schema, properties);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
     @Test
     public void shouldCreateNewMapUsingMapClass() throws StoreException {
         // Given
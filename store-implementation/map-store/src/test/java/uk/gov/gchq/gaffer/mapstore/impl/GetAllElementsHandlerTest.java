@@ -31,6 +31,9 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.factory.CompactMapFactory;
+import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
+import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
@@ -45,6 +48,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -136,6 +144,98 @@ public class GetAllElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void testAddAndGetAllElementsWithAggregationConcurrently() throws Exception {
+        shouldAddAndGetAllElementsWithAggregationConcurrently(SimpleMapFactory.class);
+    }
+
+    @Test
+    public void testAddAndGetAllElementsWithAggregationConcurrentlyUsingCompactMapFactory() throws Exception {
+        shouldAddAndGetAllElementsWithAggregationConcurrently(CompactMapFactory.class);
+    }
+
+    private void shouldAddAndGetAllElementsWithAggregationConcurrently(final Class<? extends MapFactory> mapFactory) throws Exception {
+        // Given
+        final int numWriters = 16;
+        final int numAddsPerWriter = 250;
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setConcurrent(true);
+        storeProperties.setMapFactory(mapFactory);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("concurrentGraph")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(numWriters + 1);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean writing = new AtomicBoolean(true);
+
+        // When
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < numWriters; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < numAddsPerWriter; j++) {
+                        // Every writer adds to the same entity and the same edge, one element at a time
+                        graph.execute(new AddElements.Builder()
+                                .input(new Entity.Builder()
+                                                .group(BASIC_ENTITY)
+                                                .vertex("0")
+                                                .property(PROPERTY1, "p")
+                                                .property(COUNT, 1)
+                                                .build(),
+                                        new Edge.Builder()
+                                                .group(BASIC_EDGE1)
+                                                .source("A")
+                                                .dest("B")
+                                                .directed(true)
+                                                .property(PROPERTY1, "q")
+                                                .property(COUNT, 2)
+                                                .build())
+                                .build(), new User());
+                    }
+                    return null;
+                }));
+            }
+            final Future<?> reader = executor.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    try (final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), new User())) {
+                        Streams.toStream(results).forEach(Element::getProperties);
+                    }
+                }
+                return null;
+            });
+            start.countDown();
+            for (final Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            reader.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        final Set<Element> resultsSet = new HashSet<>();
+        try (final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), new User())) {
+            Streams.toStream(results).forEach(resultsSet::add);
+        }
+        final Set<Element> expectedResults = new HashSet<>();
+        final Entity entity = new Entity(BASIC_ENTITY, "0");
+        entity.putProperty(PROPERTY1, "p");
+        entity.putProperty(COUNT, numWriters * numAddsPerWriter);
+        expectedResults.add(entity);
+        final Edge edge = new Edge(BASIC_EDGE1, "A", "B", true);
+        edge.putProperty(PROPERTY1, "q");
+        edge.putProperty(COUNT, 2 * numWriters * numAddsPerWriter);
+        expectedResults.add(edge);
+        assertEquals(expectedResults, resultsSet);
+    }
+
     @Test
     public void testGetAllElementsWithViewRestrictedByGroup() throws OperationException {
         // Given
@@ -20,14 +20,17 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.store.StoreException;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
@@ -71,6 +74,24 @@ public class MapOfSetsTest {
         assertEquals(Sets.newHashSet(value), mapOfSets.get(key));
     }
 
+    @Test
+    public void shouldPutValuesInConcurrentSetWhenMapIsConcurrent() throws StoreException {
+        // Given
+        final String key = "key1";
+        final Map<String, Set<String>> map = new ConcurrentHashMap<>();
+        final MapOfSets<String, String> mapOfSets = new MapOfSets<>(map);
+        final Set<String> values = new LinkedHashSet<>(Arrays.asList("value1", "value2"));
+
+        // When
+        mapOfSets.put(key, values);
+        mapOfSets.put(key, "value3");
+
+        // Then
+        assertEquals(Sets.newHashSet("value1", "value2", "value3"), map.get(key));
+        assertNotSame(values, map.get(key));
+        assertEquals(ConcurrentHashMap.newKeySet().getClass(), map.get(key).getClass());
+    }
+
     @Test
     public void shouldPutValueInMapWhenNullSetAndLinkedHashSetClass() throws StoreException {
         // Given
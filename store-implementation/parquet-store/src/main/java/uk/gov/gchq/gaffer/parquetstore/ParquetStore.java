@@ -23,7 +23,10 @@ import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,13 +81,24 @@ import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import uk.gov.gchq.koryphe.ValidationResult;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -98,7 +112,7 @@ import static uk.gov.gchq.gaffer.store.StoreTrait.PRE_AGGREGATION_FILTERING;
  * {@link uk.gov.gchq.gaffer.parquetstore.serialisation.ParquetSerialiser}s which also allows for Gaffer objects to be
  * stored as multiple or nested columns of primitive types.
  */
-public class ParquetStore extends Store {
+public class ParquetStore extends Store implements Closeable {
     public static final String GROUP = "group";
     public static final String GRAPH = "graph";
     public static final String VERTEX = IdentifierType.VERTEX.name();
@@ -108,6 +122,9 @@ public class ParquetStore extends Store {
     public static final String SNAPSHOT = "snapshot";
     public static final String REVERSED_EDGES = "reversedEdges";
     public static final String PARTITION = "partition";
+    public static final String DELTAS = "deltas";
+    public static final String DELTA = "delta";
+    public static final String GRAPH_PARTITIONER = "graphPartitioner";
     public static final int LENGTH_OF_PARTITION_NUMBER_IN_FILENAME = 7;
 
     @SuppressFBWarnings("MS_MUTABLE_ARRAY")
@@ -132,6 +149,8 @@ public class ParquetStore extends Store {
     };
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetStore.class);
+    private static final long COMPACTION_RETRY_DELAY_MS = 60_000L;
+    private static final long MAX_COMPACTION_RETRY_DELAY_MS = 60 * 60_000L;
     private static final Set<StoreTrait> TRAITS =
             Collections.unmodifiableSet(Sets.newHashSet(
                     ORDERED,
@@ -141,10 +160,17 @@ public class ParquetStore extends Store {
 //                    STORE_VALIDATION
             ));
 
-    private GraphPartitioner graphPartitioner;
-    private long currentSnapshot;
+    private volatile Snapshot snapshot;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private final Lock deltaLock = new ReentrantLock();
+    private final Lock snapshotLock = new ReentrantLock();
+    private final Lock loadSnapshotLock = new ReentrantLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final AtomicInteger compactionFailures = new AtomicInteger();
+    private volatile long compactionRetryTime;
+    private ExecutorService compactionExecutor;
+    private boolean closed;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -181,25 +207,25 @@ public class ParquetStore extends Store {
         final Path dataDirPath = new Path(getDataDir());
         if (!fs.exists(dataDirPath) || 0 == fs.listStatus(dataDirPath).length) {
             LOGGER.info("Data directory {} doesn't exist or is empty so initialising directory structure", dataDirPath);
-            currentSnapshot = System.currentTimeMillis();
-            LOGGER.info("Initialising snapshot id to {}", currentSnapshot);
-            final Path snapshotPath = new Path(dataDirPath, getSnapshotPath(currentSnapshot));
+            final long initialSnapshot = System.currentTimeMillis();
+            LOGGER.info("Initialising snapshot id to {}", initialSnapshot);
+            final Path snapshotPath = new Path(dataDirPath, getSnapshotPath(initialSnapshot));
             LOGGER.info("Creating snapshot directory {}", snapshotPath);
             fs.mkdirs(snapshotPath);
             LOGGER.info("Creating group directories under {}", snapshotPath);
             for (final String group : getSchema().getGroups()) {
-                final Path groupDir = getGroupPath(group);
+                final Path groupDir = new Path(snapshotPath, getGroupSubDir(group, false));
                 fs.mkdirs(groupDir);
                 LOGGER.info("Created directory {}", groupDir);
             }
             LOGGER.info("Creating group directories for reversed edges under {}", snapshotPath);
             for (final String group : getSchema().getEdgeGroups()) {
-                final Path groupDir = getGroupPathForReversedEdges(group);
+                final Path groupDir = new Path(snapshotPath, getGroupSubDir(group, true));
                 fs.mkdirs(groupDir);
                 LOGGER.info("Created directory {}", groupDir);
             }
             LOGGER.info("Creating GraphPartitioner with 0 split points for each group");
-            graphPartitioner = new GraphPartitioner();
+            final GraphPartitioner graphPartitioner = new GraphPartitioner();
             for (final String group : getSchema().getGroups()) {
                 graphPartitioner.addGroupPartitioner(group, new GroupPartitioner(group, new ArrayList<>()));
             }
@@ -207,10 +233,11 @@ public class ParquetStore extends Store {
                 graphPartitioner.addGroupPartitionerForReversedEdges(group, new GroupPartitioner(group, new ArrayList<>()));
             }
             LOGGER.info("Writing GraphPartitioner to snapshot directory");
-            final FSDataOutputStream dataOutputStream = fs.create(getGraphPartitionerPath());
+            final Path graphPartitionerPath = new Path(snapshotPath, GRAPH_PARTITIONER);
+            final FSDataOutputStream dataOutputStream = fs.create(graphPartitionerPath);
             new GraphPartitionerSerialiser().write(graphPartitioner, dataOutputStream);
             dataOutputStream.close();
-            LOGGER.info("Wrote GraphPartitioner to file {}", getGraphPartitionerPath().toString());
+            LOGGER.info("Wrote GraphPartitioner to file {}", graphPartitionerPath.toString());
         } else {
             LOGGER.info("Data directory {} exists and is non-empty, validating a snapshot directory exists", dataDirPath);
             final FileStatus[] fileStatuses = fs.listStatus(dataDirPath, f -> f.getName().startsWith(SNAPSHOT + "="));
@@ -219,48 +246,36 @@ public class ParquetStore extends Store {
                 LOGGER.error("Data directory {} should contain a snapshot directory", dataDirPath);
                 throw new StoreException("Data directory should contain a snapshot directory");
             }
-            this.currentSnapshot = getLatestSnapshot();
-            LOGGER.info("Latest snapshot directory in data directory {} is {}", dataDirPath, this.currentSnapshot);
+            final long latestSnapshot = getLatestSnapshot();
+            LOGGER.info("Latest snapshot directory in data directory {} is {}", dataDirPath, latestSnapshot);
             LOGGER.info("Verifying snapshot directory contains the correct directories");
+            final Path snapshotPath = new Path(dataDirPath, getSnapshotPath(latestSnapshot));
             for (final String group : getSchema().getGroups()) {
-                final Path groupDir = getGroupPath(group);
+                final Path groupDir = new Path(snapshotPath, getGroupSubDir(group, false));
                 if (!fs.exists(groupDir)) {
                     LOGGER.error("Directory {} should exist", groupDir);
-                    throw new StoreException("Group directory " + groupDir + " should exist in snapshot directory " + getSnapshotPath(this.currentSnapshot));
+                    throw new StoreException("Group directory " + groupDir + " should exist in snapshot directory " + getSnapshotPath(latestSnapshot));
                 }
             }
             for (final String group : getSchema().getEdgeGroups()) {
-                final Path groupDir = getGroupPathForReversedEdges(group);
+                final Path groupDir = new Path(snapshotPath, getGroupSubDir(group, true));
                 if (!fs.exists(groupDir)) {
                     LOGGER.error("Directory {} should exist", groupDir);
-                    throw new StoreException("Group directory " + groupDir + " should exist in snapshot directory " + getSnapshotPath(this.currentSnapshot));
+                    throw new StoreException("Group directory " + groupDir + " should exist in snapshot directory " + getSnapshotPath(latestSnapshot));
                 }
             }
         }
     }
 
     public Path getGraphPartitionerPath() {
-        return new Path(getProperties().getDataDir() + "/" + SNAPSHOT + "=" + currentSnapshot, "graphPartitioner");
+        return snapshot.getGraphPartitionerPath();
     }
 
     private void loadGraphPartitioner() throws StoreException {
         final String dataDir = getDataDir();
         try {
             if (fs.exists(new Path(dataDir))) {
-                this.currentSnapshot = getLatestSnapshot(dataDir);
-                LOGGER.info("Setting currentSnapshot to {}", this.currentSnapshot);
-                final Path path = getGraphPartitionerPath();
-                if (!fs.exists(path)) {
-                    LOGGER.info("Graph partitioner does not exist in {} so creating it", path);
-                    final GraphPartitioner partitioner =
-                            new CalculatePartitioner(new Path(dataDir + "/" + getSnapshotPath(this.currentSnapshot)), getSchema(), fs).call();
-                    LOGGER.info("Writing graph partitioner to {}", path);
-                    final FSDataOutputStream stream = fs.create(path);
-                    new GraphPartitionerSerialiser().write(partitioner, stream);
-                    stream.close();
-                }
-                LOGGER.info("Loading graph partitioner from path {}", path);
-                loadGraphPartitioner(path);
+                loadSnapshot(getLatestSnapshot(dataDir));
             } else {
                 throw new StoreException("Data directory " + dataDir + " does not exist - store is in an inconsistent state");
             }
@@ -269,10 +284,48 @@ public class ParquetStore extends Store {
         }
     }
 
-    private void loadGraphPartitioner(final Path graphPartitionerPath) throws IOException {
+    /**
+     * Loads the graph partitioner and the deltas of a snapshot and only then makes
+     * it the current snapshot, so that a query never sees the files of one snapshot
+     * with the partitioner or deltas of another.
+     */
+    private void loadSnapshot(final long id) throws IOException {
+        loadSnapshotLock.lock();
+        try {
+            LOGGER.info("Setting currentSnapshot to {}", id);
+            final String snapshotDir = getDataDir() + "/" + getSnapshotPath(id);
+            final Path path = new Path(snapshotDir, GRAPH_PARTITIONER);
+            if (!fs.exists(path)) {
+                LOGGER.info("Graph partitioner does not exist in {} so creating it", path);
+                final GraphPartitioner partitioner = new CalculatePartitioner(new Path(snapshotDir), getSchema(), fs).call();
+                LOGGER.info("Writing graph partitioner to {}", path);
+                final FSDataOutputStream stream = fs.create(path);
+                new GraphPartitionerSerialiser().write(partitioner, stream);
+                stream.close();
+            }
+            LOGGER.info("Loading graph partitioner from path {}", path);
+            this.snapshot = loadDeltas(id, loadGraphPartitioner(path));
+        } finally {
+            loadSnapshotLock.unlock();
+        }
+    }
+
+    private GraphPartitioner loadGraphPartitioner(final Path graphPartitionerPath) throws IOException {
         final FSDataInputStream stream = fs.open(graphPartitionerPath);
-        this.graphPartitioner = new GraphPartitionerSerialiser().read(stream);
+        final GraphPartitioner partitioner = new GraphPartitionerSerialiser().read(stream);
         stream.close();
+        return partitioner;
+    }
+
+    /**
+     * Gets the current snapshot, with its graph partitioner and deltas. A query
+     * should get this once and use it throughout, as the current snapshot is replaced
+     * when a new snapshot is created or a delta is added.
+     *
+     * @return the current snapshot
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
     }
 
     public FileSystem getFS() {
@@ -301,11 +354,7 @@ public class ParquetStore extends Store {
     }
 
     public String getFile(final String group, final Integer partitionId) {
-        return getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + GRAPH
-                + "/" + GROUP + "=" + group
-                + "/" + getFile(partitionId);
+        return snapshot.getFile(group, partitionId);
     }
 
     public static String getFile(final Integer partitionId) {
@@ -325,19 +374,15 @@ public class ParquetStore extends Store {
     }
 
     public String getFileForReversedEdges(final String group, final Integer partitionId) {
-        return getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + REVERSED_EDGES
-                + "/" + GROUP + "=" + group
-                + "/" + getFile(partitionId);
+        return snapshot.getFileForReversedEdges(group, partitionId);
     }
 
     public List<Path> getFilesForGroup(final String group) throws IOException {
-        final Path dir = new Path(getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + GRAPH
-                + "/" + GROUP + "=" + group);
-        final FileStatus[] files = fs.listStatus(dir, path -> path.getName().endsWith(".parquet"));
+        return getFilesForGroup(snapshot, group);
+    }
+
+    public List<Path> getFilesForGroup(final Snapshot snapshot, final String group) throws IOException {
+        final FileStatus[] files = fs.listStatus(snapshot.getGroupPath(group), path -> path.getName().endsWith(".parquet"));
         return Arrays
                 .stream(files)
                 .map(FileStatus::getPath)
@@ -345,10 +390,7 @@ public class ParquetStore extends Store {
     }
 
     public Path getGroupPath(final String group) {
-        return new Path(getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + GRAPH
-                + "/" + GROUP + "=" + group);
+        return snapshot.getGroupPath(group);
     }
 
     public static String getGroupSubDir(final String group, final boolean reversed) {
@@ -360,17 +402,11 @@ public class ParquetStore extends Store {
         if (!getSchema().getEdgeGroups().contains(group)) {
             throw new IllegalArgumentException("Invalid group: " + group + " is not an edge group");
         }
-        return new Path(getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + REVERSED_EDGES
-                + "/" + GROUP + "=" + group);
+        return snapshot.getGroupPathForReversedEdges(group);
     }
 
     public String getGraphPath() {
-        return getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + GRAPH
-                + "/";
+        return snapshot.getGraphPath();
     }
 
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification = "The properties should always be ParquetStoreProperties")
@@ -449,7 +485,6 @@ public class ParquetStore extends Store {
         }
 
         LOGGER.info("Setting currentSnapshot to {} and reloading graph partitioner", snapshot);
-        this.currentSnapshot = snapshot;
         loadGraphPartitioner();
     }
 
@@ -468,7 +503,405 @@ public class ParquetStore extends Store {
         return latestSnapshot;
     }
 
+    public static String getDeltaPath(final long delta) {
+        return DELTA + "=" + delta;
+    }
+
+    /**
+     * Gets the directory, relative to the directory of a delta, that the elements
+     * of a group and partition are written to.
+     *
+     * @param group       the group
+     * @param partitionId the id of the partition
+     * @param reversed    whether the elements are reversed edges
+     * @return the directory of the group and partition within a delta
+     */
+    public static String getDeltaSubDir(final String group, final Integer partitionId, final boolean reversed) {
+        return getGroupSubDir(group, reversed) + "/" + PARTITION + "=" + partitionId;
+    }
+
+    public String getDeltasDir() {
+        return snapshot.getDeltasDir();
+    }
+
+    /**
+     * Reloads the list of deltas of the current snapshot. Deltas that are still
+     * being written have a "-tmp" suffix and are ignored.
+     *
+     * @throws IOException if the deltas directory cannot be listed
+     */
+    public void loadDeltas() throws IOException {
+        loadSnapshotLock.lock();
+        try {
+            final Snapshot current = snapshot;
+            this.snapshot = loadDeltas(current.getId(), current.getGraphPartitioner());
+        } finally {
+            loadSnapshotLock.unlock();
+        }
+    }
+
+    private Snapshot loadDeltas(final long id, final GraphPartitioner graphPartitioner) throws IOException {
+        final String snapshotDir = getDataDir() + "/" + getSnapshotPath(id);
+        final Path deltasDir = new Path(snapshotDir, DELTAS);
+        final List<Long> newDeltas = new ArrayList<>();
+        if (fs.exists(deltasDir)) {
+            for (final FileStatus status : fs.listStatus(deltasDir, path -> path.getName().matches(DELTA + "=\\d+"))) {
+                newDeltas.add(Long.parseLong(status.getPath().getName().substring(DELTA.length() + 1)));
+            }
+        }
+        Collections.sort(newDeltas);
+
+        // Deltas are listed oldest first so that they are merged in the order they were added
+        final Map<String, List<Path>> newFileToDeltaFiles = new HashMap<>();
+        long newDeltaSize = 0L;
+        for (final long delta : newDeltas) {
+            final RemoteIterator<LocatedFileStatus> files = fs.listFiles(new Path(deltasDir, getDeltaPath(delta)), true);
+            while (files.hasNext()) {
+                final LocatedFileStatus status = files.next();
+                final Path file = status.getPath();
+                if (!file.getName().endsWith(".parquet")) {
+                    continue;
+                }
+                final Path partitionDir = file.getParent();
+                final Path groupDir = partitionDir.getParent();
+                final int partitionId = Integer.parseInt(partitionDir.getName().substring(PARTITION.length() + 1));
+                final String baseFile = groupDir.getParent().getName() + "/" + groupDir.getName() + "/" + getFile(partitionId);
+                newFileToDeltaFiles.computeIfAbsent(baseFile, k -> new ArrayList<>()).add(file);
+                newDeltaSize += status.getLen();
+            }
+        }
+        LOGGER.info("Loaded {} deltas of total size {} bytes from {}", newDeltas.size(), newDeltaSize, deltasDir);
+        return new Snapshot(id, snapshotDir, graphPartitioner, newDeltas, newDeltaSize, newFileToDeltaFiles);
+    }
+
+    /**
+     * Gets the ids of the deltas of the current snapshot, oldest first. The id
+     * of a delta is the time it was written.
+     *
+     * @return the ids of the deltas
+     */
+    public List<Long> getDeltas() {
+        return snapshot.getDeltas();
+    }
+
+    public long getDeltaSize() {
+        return snapshot.getDeltaSize();
+    }
+
+    /**
+     * Gets the files of the deltas, oldest first, that contain elements for the
+     * same group and partition as the given file of the current snapshot.
+     *
+     * @param file a file of the current snapshot, which need not exist
+     * @return the files of the deltas for the file
+     */
+    public List<Path> getDeltaFiles(final Path file) {
+        return snapshot.getDeltaFiles(file);
+    }
+
+    /**
+     * Gets the files of the current snapshot for a group that have deltas. These
+     * files do not exist if all the elements in their partition are in deltas.
+     *
+     * @param group the group
+     * @return the files of the group that have deltas
+     */
+    public List<Path> getFilesWithDeltasForGroup(final String group) {
+        return snapshot.getFilesWithDeltasForGroup(group);
+    }
+
+    /**
+     * Gets the files of the given deltas for a group, excluding the reversed edges.
+     *
+     * @param group  the group
+     * @param deltas the ids of the deltas
+     * @return the files of the deltas for the group
+     */
+    public List<Path> getDeltaFilesForGroup(final String group, final Collection<Long> deltas) {
+        return snapshot.getDeltaFilesForGroup(group, deltas);
+    }
+
+    private static long getDelta(final Path deltaFile) {
+        // The file is <deltas>/delta=<id>/<graph or reversedEdges>/group=<group>/partition=<id>/<name>
+        final String deltaDir = deltaFile.getParent().getParent().getParent().getParent().getName();
+        return Long.parseLong(deltaDir.substring(DELTA.length() + 1));
+    }
+
+    /**
+     * Copies the deltas of the current snapshot, other than the given ones, to
+     * the directory of a new snapshot. This keeps the deltas that were added
+     * whilst the new snapshot was being created from the others. The delta lock
+     * must be held from before this is called until the new snapshot has been
+     * set as the latest snapshot.
+     *
+     * @param excludedDeltas the ids of the deltas that are in the new snapshot
+     * @param newSnapshotDir the directory of the new snapshot
+     * @throws IOException if a delta cannot be copied
+     */
+    public void copyDeltas(final Collection<Long> excludedDeltas, final String newSnapshotDir) throws IOException {
+        final Snapshot current = snapshot;
+        final Path newDeltasDir = new Path(newSnapshotDir, DELTAS);
+        for (final long delta : current.getDeltas()) {
+            if (!excludedDeltas.contains(delta)) {
+                final Path deltaDir = new Path(current.getDeltasDir(), getDeltaPath(delta));
+                LOGGER.info("Copying delta {} to {}", deltaDir, newDeltasDir);
+                fs.mkdirs(newDeltasDir);
+                FileUtil.copy(fs, deltaDir, fs, new Path(newDeltasDir, getDeltaPath(delta)), false, fs.getConf());
+            }
+        }
+    }
+
+    /**
+     * Gets the lock that is held whilst a delta is written, and whilst the
+     * deltas that are not in a new snapshot are copied to it, so that no delta
+     * is lost.
+     *
+     * @return the delta lock
+     */
+    public Lock getDeltaLock() {
+        return deltaLock;
+    }
+
+    /**
+     * Gets the lock that is held whilst a new snapshot is created from the current
+     * one, so that two new snapshots are not created from the same one.
+     *
+     * @return the snapshot lock
+     */
+    public Lock getSnapshotLock() {
+        return snapshotLock;
+    }
+
+    /**
+     * Checks whether the deltas of the current snapshot should be compacted into
+     * a new snapshot, because there are too many of them, they are too large or
+     * the oldest of them is too old.
+     *
+     * @return true if the deltas should be compacted
+     */
+    public boolean needsCompaction() {
+        final Snapshot current = snapshot;
+        final List<Long> currentDeltas = current.getDeltas();
+        if (currentDeltas.isEmpty()) {
+            return false;
+        }
+        if (System.currentTimeMillis() < compactionRetryTime) {
+            LOGGER.debug("Not compacting until {} as the last {} compactions failed", compactionRetryTime, compactionFailures.get());
+            return false;
+        }
+        final ParquetStoreProperties properties = getProperties();
+        return currentDeltas.size() > properties.getCompactionMaxDeltas()
+                || current.getDeltaSize() > properties.getCompactionMaxDeltaSize()
+                || System.currentTimeMillis() - currentDeltas.get(0) > properties.getCompactionMaxDeltaAge();
+    }
+
+    /**
+     * Runs a compaction of the deltas on a background thread, unless a compaction
+     * is already running or the store has been closed. If the compaction fails then
+     * {@link #needsCompaction()} returns false until a delay has passed, which doubles
+     * with each consecutive failure, so that a failing compaction is not retried on
+     * every write.
+     *
+     * @param compaction the compaction to run
+     * @return true if the compaction was started
+     */
+    public boolean compactInBackground(final Callable<?> compaction) {
+        if (!compacting.compareAndSet(false, true)) {
+            LOGGER.debug("Not starting a compaction as one is already running");
+            return false;
+        }
+        final boolean started = submitCompaction(() -> {
+            try {
+                compaction.call();
+                compactionFailures.set(0);
+                compactionRetryTime = 0L;
+            } catch (final Exception e) {
+                final int failures = compactionFailures.incrementAndGet();
+                final long delay = Math.min(COMPACTION_RETRY_DELAY_MS << Math.min(failures - 1, 16), MAX_COMPACTION_RETRY_DELAY_MS);
+                compactionRetryTime = System.currentTimeMillis() + delay;
+                LOGGER.error("Exception compacting deltas, {} consecutive compactions have failed so not retrying for {} ms",
+                        failures, delay, e);
+            } finally {
+                compacting.set(false);
+            }
+        });
+        if (!started) {
+            compacting.set(false);
+        }
+        return started;
+    }
+
+    /**
+     * Gets the number of consecutive background compactions that have failed.
+     *
+     * @return the number of failed compactions since the last successful one
+     */
+    public int getCompactionFailures() {
+        return compactionFailures.get();
+    }
+
+    private synchronized boolean submitCompaction(final Runnable compaction) {
+        if (closed) {
+            LOGGER.debug("Not starting a compaction as the store has been closed");
+            return false;
+        }
+        if (null == compactionExecutor) {
+            compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "parquet-store-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        compactionExecutor.submit(compaction);
+        return true;
+    }
+
+    /**
+     * Shuts down the thread used to compact deltas in the background. A compaction
+     * that is running is allowed to finish, but no more are started.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (null != compactionExecutor) {
+            LOGGER.info("Shutting down the compaction executor");
+            compactionExecutor.shutdown();
+            compactionExecutor = null;
+        }
+    }
+
     public GraphPartitioner getGraphPartitioner() {
-        return graphPartitioner;
+        return snapshot.getGraphPartitioner();
+    }
+
+    /**
+     * A snapshot of the store together with its graph partitioner and the index
+     * of its deltas. It is immutable: adding a delta or creating a new snapshot
+     * publishes a new instance, so everything read from one instance is consistent.
+     */
+    public static final class Snapshot {
+        private final long id;
+        private final String dir;
+        private final GraphPartitioner graphPartitioner;
+        private final List<Long> deltas;
+        private final long deltaSize;
+        private final Map<String, List<Path>> fileToDeltaFiles;
+
+        Snapshot(final long id,
+                 final String dir,
+                 final GraphPartitioner graphPartitioner,
+                 final List<Long> deltas,
+                 final long deltaSize,
+                 final Map<String, List<Path>> fileToDeltaFiles) {
+            this.id = id;
+            this.dir = dir;
+            this.graphPartitioner = graphPartitioner;
+            this.deltas = Collections.unmodifiableList(new ArrayList<>(deltas));
+            this.deltaSize = deltaSize;
+            this.fileToDeltaFiles = Collections.unmodifiableMap(new HashMap<>(fileToDeltaFiles));
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public GraphPartitioner getGraphPartitioner() {
+            return graphPartitioner;
+        }
+
+        public List<Long> getDeltas() {
+            return deltas;
+        }
+
+        public long getDeltaSize() {
+            return deltaSize;
+        }
+
+        public Path getGraphPartitionerPath() {
+            return new Path(dir, GRAPH_PARTITIONER);
+        }
+
+        public String getFile(final String group, final Integer partitionId) {
+            return dir
+                    + "/" + GRAPH
+                    + "/" + GROUP + "=" + group
+                    + "/" + ParquetStore.getFile(partitionId);
+        }
+
+        public String getFileForReversedEdges(final String group, final Integer partitionId) {
+            return dir
+                    + "/" + REVERSED_EDGES
+                    + "/" + GROUP + "=" + group
+                    + "/" + ParquetStore.getFile(partitionId);
+        }
+
+        public Path getGroupPath(final String group) {
+            return new Path(dir
+                    + "/" + GRAPH
+                    + "/" + GROUP + "=" + group);
+        }
+
+        public Path getGroupPathForReversedEdges(final String group) {
+            return new Path(dir
+                    + "/" + REVERSED_EDGES
+                    + "/" + GROUP + "=" + group);
+        }
+
+        public String getGraphPath() {
+            return dir
+                    + "/" + GRAPH
+                    + "/";
+        }
+
+        public String getDeltasDir() {
+            return dir
+                    + "/" + DELTAS;
+        }
+
+        /**
+         * Gets the files of the deltas, oldest first, that contain elements for the
+         * same group and partition as the given file of this snapshot.
+         *
+         * @param file a file of this snapshot, which need not exist
+         * @return the files of the deltas for the file
+         */
+        public List<Path> getDeltaFiles(final Path file) {
+            final Path groupDir = file.getParent();
+            final String baseFile = groupDir.getParent().getName() + "/" + groupDir.getName() + "/" + file.getName();
+            return fileToDeltaFiles.getOrDefault(baseFile, Collections.emptyList());
+        }
+
+        /**
+         * Gets the files of this snapshot for a group that have deltas. These
+         * files do not exist if all the elements in their partition are in deltas.
+         *
+         * @param group the group
+         * @return the files of the group that have deltas
+         */
+        public List<Path> getFilesWithDeltasForGroup(final String group) {
+            final String prefix = GRAPH + "/" + GROUP + "=" + group + "/";
+            return fileToDeltaFiles.keySet()
+                    .stream()
+                    .filter(baseFile -> baseFile.startsWith(prefix))
+                    .map(baseFile -> new Path(dir, baseFile))
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Gets the files of the given deltas for a group, excluding the reversed edges.
+         *
+         * @param group  the group
+         * @param deltas the ids of the deltas
+         * @return the files of the deltas for the group
+         */
+        public List<Path> getDeltaFilesForGroup(final String group, final Collection<Long> deltas) {
+            final String prefix = GRAPH + "/" + GROUP + "=" + group + "/";
+            return fileToDeltaFiles.entrySet()
+                    .stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .flatMap(entry -> entry.getValue().stream())
+                    .filter(file -> deltas.contains(getDelta(file)))
+                    .collect(Collectors.toList());
+        }
     }
 }
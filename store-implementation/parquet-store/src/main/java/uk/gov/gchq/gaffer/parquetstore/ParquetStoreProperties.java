@@ -41,7 +41,13 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_ROW_GROUP_SIZE_IN_BYTES = "parquet.add_elements.row_group.size";
     public static final String PARQUET_PAGE_SIZE_IN_BYTES = "parquet.add_elements.page.size";
     public static final String PARQUET_THREADS_AVAILABLE = "parquet.threadsAvailable";
+    public static final String PARQUET_RETRIEVAL_QUEUE_SIZE = "parquet.get_elements.queue.size";
+    public static final String PARQUET_SORTED_SEEDS_THRESHOLD = "parquet.get_elements.sorted_seeds.threshold";
     public static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP = "parquet.add_elements.output_files_per_group";
+    public static final String PARQUET_ADD_ELEMENTS_DELTAS = "parquet.add_elements.deltas";
+    public static final String PARQUET_COMPACTION_MAX_DELTAS = "parquet.compaction.max_deltas";
+    public static final String PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES = "parquet.compaction.max_delta_size";
+    public static final String PARQUET_COMPACTION_MAX_DELTA_AGE_IN_MILLIS = "parquet.compaction.max_delta_age";
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
     public static final String COMPRESSION_CODEC = "parquet.compression.codec";
@@ -54,7 +60,13 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_SORT_BY_SPLITS_ON_INGEST_DEFAULT = "false";
     private static final String PARQUET_SPLIT_POINTS_SAMPLE_RATE_DEFAULT = "10";
     private static final String PARQUET_THREADS_AVAILABLE_DEFAULT = "3";
+    private static final String PARQUET_RETRIEVAL_QUEUE_SIZE_DEFAULT = "10000";
+    private static final String PARQUET_SORTED_SEEDS_THRESHOLD_DEFAULT = "100";
     private static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP_DEFAULT = "10";
+    private static final String PARQUET_ADD_ELEMENTS_DELTAS_DEFAULT = "false";
+    private static final String PARQUET_COMPACTION_MAX_DELTAS_DEFAULT = "10";
+    private static final String PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES_DEFAULT = "134217728"; //128MB
+    private static final String PARQUET_COMPACTION_MAX_DELTA_AGE_IN_MILLIS_DEFAULT = "3600000"; //1 hour
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
     private static final String COMPRESSION_CODEC_DEFAULT = "GZIP";
@@ -104,6 +116,89 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_THREADS_AVAILABLE, threadsAvailable.toString());
     }
 
+    /**
+     * Gets the maximum number of elements that can be held in the queue between the
+     * threads reading Parquet files and the consumer of the results of a query. When
+     * the queue is full the reading threads wait for the consumer.
+     *
+     * @return the maximum number of elements held in the queue
+     */
+    public int getRetrievalQueueSize() {
+        return Integer.parseInt(get(PARQUET_RETRIEVAL_QUEUE_SIZE, PARQUET_RETRIEVAL_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setRetrievalQueueSize(final int retrievalQueueSize) {
+        set(PARQUET_RETRIEVAL_QUEUE_SIZE, String.valueOf(retrievalQueueSize));
+    }
+
+    /**
+     * Gets the number of seeds for a column of a file above which a query uses a
+     * single sorted set of the seeds, rather than an equality filter per seed.
+     *
+     * @return the number of seeds above which they are sorted
+     */
+    public int getSortedSeedsThreshold() {
+        return Integer.parseInt(get(PARQUET_SORTED_SEEDS_THRESHOLD, PARQUET_SORTED_SEEDS_THRESHOLD_DEFAULT));
+    }
+
+    public void setSortedSeedsThreshold(final int sortedSeedsThreshold) {
+        set(PARQUET_SORTED_SEEDS_THRESHOLD, String.valueOf(sortedSeedsThreshold));
+    }
+
+    /**
+     * Gets whether {@code AddElements} writes the new elements as delta files
+     * alongside the current snapshot, which are merged with it when queried,
+     * rather than merging them into a new snapshot straight away.
+     *
+     * @return true if new elements are added as deltas
+     */
+    public boolean getAddElementsDeltas() {
+        return Boolean.parseBoolean(get(PARQUET_ADD_ELEMENTS_DELTAS, PARQUET_ADD_ELEMENTS_DELTAS_DEFAULT));
+    }
+
+    public void setAddElementsDeltas(final boolean addElementsDeltas) {
+        set(PARQUET_ADD_ELEMENTS_DELTAS, String.valueOf(addElementsDeltas));
+    }
+
+    /**
+     * Gets the number of deltas above which they are compacted into a new snapshot.
+     *
+     * @return the maximum number of deltas
+     */
+    public int getCompactionMaxDeltas() {
+        return Integer.parseInt(get(PARQUET_COMPACTION_MAX_DELTAS, PARQUET_COMPACTION_MAX_DELTAS_DEFAULT));
+    }
+
+    public void setCompactionMaxDeltas(final int maxDeltas) {
+        set(PARQUET_COMPACTION_MAX_DELTAS, String.valueOf(maxDeltas));
+    }
+
+    /**
+     * Gets the total size of the deltas above which they are compacted into a new snapshot.
+     *
+     * @return the maximum size of the deltas in bytes
+     */
+    public long getCompactionMaxDeltaSize() {
+        return Long.parseLong(get(PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES, PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES_DEFAULT));
+    }
+
+    public void setCompactionMaxDeltaSize(final long maxDeltaSizeInBytes) {
+        set(PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES, String.valueOf(maxDeltaSizeInBytes));
+    }
+
+    /**
+     * Gets the age of the oldest delta above which the deltas are compacted into a new snapshot.
+     *
+     * @return the maximum age of a delta in milliseconds
+     */
+    public long getCompactionMaxDeltaAge() {
+        return Long.parseLong(get(PARQUET_COMPACTION_MAX_DELTA_AGE_IN_MILLIS, PARQUET_COMPACTION_MAX_DELTA_AGE_IN_MILLIS_DEFAULT));
+    }
+
+    public void setCompactionMaxDeltaAge(final long maxDeltaAgeInMillis) {
+        set(PARQUET_COMPACTION_MAX_DELTA_AGE_IN_MILLIS, String.valueOf(maxDeltaAgeInMillis));
+    }
+
     public Integer getRowGroupSize() {
         return Integer.parseInt(get(PARQUET_ROW_GROUP_SIZE_IN_BYTES, PARQUET_ROW_GROUP_SIZE_IN_BYTES_DEFAULT));
     }
@@ -64,7 +64,12 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     public Void doOperation(final AddElements operation,
                             final Context context,
                             final Store store) throws OperationException {
-        addElements(operation, context, (ParquetStore) store);
+        final ParquetStore parquetStore = (ParquetStore) store;
+        if (parquetStore.getProperties().getAddElementsDeltas()) {
+            addElementsAsDelta(operation, context, parquetStore);
+        } else {
+            addElements(operation, context, parquetStore);
+        }
         return null;
     }
 
@@ -72,41 +77,140 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                              final Context context,
                              final ParquetStore store) throws OperationException {
         // Set up
+        final SparkSession spark = SparkContextUtil.getSparkSession(context, store.getProperties());
+        SparkParquetUtils.configureSparkForAddElements(spark, store.getProperties());
+
+        store.getSnapshotLock().lock();
+        try {
+            final GraphPartitioner currentGraphPartitioner = store.getGraphPartitioner();
+
+            // Write data from addElementsOperation split by group and partition (NB this uses the existing partitioner -
+            // adding elements using this operation does not effect the partitions).
+            final String tmpDirectory = store.getTempFilesDir();
+            final BiFunction<String, Integer, String> directoryForGroupAndPartitionId = (group, partitionId) ->
+                    tmpDirectory
+                            + "/unsorted_unaggregated_new"
+                            + "/group=" + group
+                            + "/partition=" + partitionId;
+            final BiFunction<String, Integer, String> directoryForGroupAndPartitionIdForReversedEdges = (group, partitionId) ->
+                    tmpDirectory
+                            + "/unsorted_unaggregated_new"
+                            + "/reversed-group=" + group
+                            + "/partition=" + partitionId;
+            LOGGER.info("Calling WriteUnsortedData to add elements");
+            LOGGER.trace("currentGraphPartitioner is {}", currentGraphPartitioner);
+            new WriteUnsortedData(store, currentGraphPartitioner,
+                    directoryForGroupAndPartitionId, directoryForGroupAndPartitionIdForReversedEdges)
+                    .writeElements(addElementsOperation.getInput());
+
+            createNewSnapshot(store, spark, tmpDirectory,
+                    directoryForGroupAndPartitionId, directoryForGroupAndPartitionIdForReversedEdges);
+        } finally {
+            store.getSnapshotLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the elements to a new delta of the current snapshot, without
+     * aggregating them with the existing data, and starts a compaction of the
+     * deltas in the background if they have become too many, too large or too old.
+     */
+    private void addElementsAsDelta(final AddElements addElementsOperation,
+                                    final Context context,
+                                    final ParquetStore store) throws OperationException {
+        final FileSystem fs = store.getFS();
+        store.getDeltaLock().lock();
+        try {
+            final ParquetStore.Snapshot snapshot = store.getSnapshot();
+            final List<Long> deltas = snapshot.getDeltas();
+            final long now = System.currentTimeMillis();
+            final long delta = deltas.isEmpty() ? now : Math.max(now, deltas.get(deltas.size() - 1) + 1);
+            final String deltaDir = snapshot.getDeltasDir() + "/" + ParquetStore.getDeltaPath(delta);
+            // The delta is written to a -tmp directory which is renamed when it is complete, so that a get
+            // operation against the store will not read a delta when only some of it has been written.
+            final String tmpDeltaDir = deltaDir + "-tmp";
+            LOGGER.info("Calling WriteUnsortedData to add elements to delta {}", tmpDeltaDir);
+            try {
+                new WriteUnsortedData(store, snapshot.getGraphPartitioner(),
+                        (group, partitionId) -> tmpDeltaDir + "/" + ParquetStore.getDeltaSubDir(group, partitionId, false),
+                        (group, partitionId) -> tmpDeltaDir + "/" + ParquetStore.getDeltaSubDir(group, partitionId, true))
+                        .writeElements(addElementsOperation.getInput());
+                if (!fs.exists(new Path(tmpDeltaDir))) {
+                    LOGGER.info("No elements were written so not creating delta {}", deltaDir);
+                    return;
+                }
+                LOGGER.info("Renaming {} to {}", tmpDeltaDir, deltaDir);
+                fs.rename(new Path(tmpDeltaDir), new Path(deltaDir));
+                store.loadDeltas();
+            } catch (final OperationException e) {
+                deleteQuietly(fs, tmpDeltaDir);
+                throw e;
+            } catch (final IOException e) {
+                deleteQuietly(fs, tmpDeltaDir);
+                throw new OperationException("IOException adding delta " + deltaDir, e);
+            }
+        } finally {
+            store.getDeltaLock().unlock();
+        }
+
+        if (store.needsCompaction()) {
+            LOGGER.info("Starting a compaction of {} deltas of total size {} bytes",
+                    store.getDeltas().size(), store.getDeltaSize());
+            final SparkSession spark = SparkContextUtil.getSparkSession(context, store.getProperties());
+            store.compactInBackground(() -> {
+                compactDeltas(store, spark);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Aggregates the deltas of the current snapshot with it, creating a new
+     * snapshot with no deltas. Elements can be added as deltas whilst this runs,
+     * and are kept as deltas of the new snapshot.
+     *
+     * @param store the store whose deltas are compacted
+     * @param spark the spark session used to aggregate and sort the data
+     * @throws OperationException if the new snapshot cannot be created
+     */
+    public static void compactDeltas(final ParquetStore store, final SparkSession spark) throws OperationException {
+        store.getSnapshotLock().lock();
+        try {
+            if (store.getDeltas().isEmpty()) {
+                LOGGER.info("Not compacting as there are no deltas");
+                return;
+            }
+            SparkParquetUtils.configureSparkForAddElements(spark, store.getProperties());
+            createNewSnapshot(store, spark, store.getTempFilesDir() + "/compaction", null, null);
+        } finally {
+            store.getSnapshotLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregates and sorts the new data, if there is any, the current snapshot and its deltas for every group and
+     * partition and moves the results to a new snapshot. The snapshot lock must be held whilst this is called.
+     */
+    private static void createNewSnapshot(final ParquetStore store,
+                                          final SparkSession spark,
+                                          final String workingDirectory,
+                                          final BiFunction<String, Integer, String> directoryForGroupAndPartitionId,
+                                          final BiFunction<String, Integer, String> directoryForGroupAndPartitionIdForReversedEdges)
+            throws OperationException {
         final FileSystem fs = store.getFS();
         final Schema schema = store.getSchema();
         final SchemaUtils schemaUtils = store.getSchemaUtils();
-        final SparkSession spark = SparkContextUtil.getSparkSession(context, store.getProperties());
-        final ExecutorService threadPool = createThreadPool(spark, store.getProperties());
         final GraphPartitioner currentGraphPartitioner = store.getGraphPartitioner();
-        SparkParquetUtils.configureSparkForAddElements(spark, store.getProperties());
-
-        // Write data from addElementsOperation split by group and partition (NB this uses the existing partitioner -
-        // adding elements using this operation does not effect the partitions).
-        final String tmpDirectory = store.getTempFilesDir();
-        final BiFunction<String, Integer, String> directoryForGroupAndPartitionId = (group, partitionId) ->
-                tmpDirectory
-                        + "/unsorted_unaggregated_new"
-                        + "/group=" + group
-                        + "/partition=" + partitionId;
-        final BiFunction<String, Integer, String> directoryForGroupAndPartitionIdForReversedEdges = (group, partitionId) ->
-                tmpDirectory
-                        + "/unsorted_unaggregated_new"
-                        + "/reversed-group=" + group
-                        + "/partition=" + partitionId;
-        LOGGER.info("Calling WriteUnsortedData to add elements");
-        LOGGER.trace("currentGraphPartitioner is {}", currentGraphPartitioner);
-        new WriteUnsortedData(store, currentGraphPartitioner,
-                directoryForGroupAndPartitionId, directoryForGroupAndPartitionIdForReversedEdges)
-                .writeElements(addElementsOperation.getInput());
+        final List<Long> deltas = store.getDeltas();
 
-        // For every group and partition, aggregate the new data with the old data and then sort
+        // For every group and partition, aggregate the new data with the old data and the deltas and then sort
         final BiFunction<String, Integer, String> directoryForSortedResultsForGroupAndPartitionId = (group, partitionId) ->
-                tmpDirectory
+                workingDirectory
                         + "/sorted_new_old_merged"
                         + "/group=" + group
                         + "/partition=" + partitionId;
         final BiFunction<String, Integer, String> directoryForSortedResultsForGroupAndPartitionIdForReversedEdges = (group, partitionId) ->
-                tmpDirectory
+                workingDirectory
                         + "/sorted_new_old_merged"
                         + "/REVERSED-group=" + group
                         + "/partition=" + partitionId;
@@ -116,9 +220,15 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             for (final Partition partition : partitions) {
                 final List<String> inputFiles = new ArrayList<>();
                 // New data
-                inputFiles.add(directoryForGroupAndPartitionId.apply(group, partition.getPartitionId()));
+                if (null != directoryForGroupAndPartitionId) {
+                    inputFiles.add(directoryForGroupAndPartitionId.apply(group, partition.getPartitionId()));
+                }
                 // Old data
                 inputFiles.add(store.getFile(group, partition));
+                for (final long delta : deltas) {
+                    inputFiles.add(store.getDeltasDir() + "/" + ParquetStore.getDeltaPath(delta)
+                            + "/" + ParquetStore.getDeltaSubDir(group, partition.getPartitionId(), false));
+                }
                 final String outputDir = directoryForSortedResultsForGroupAndPartitionId.apply(group, partition.getPartitionId());
                 final AggregateAndSortData task = new AggregateAndSortData(schemaUtils, fs, inputFiles, outputDir,
                         group, group + "-" + partition.getPartitionId(), false, store.getProperties().getCompressionCodecName(), spark);
@@ -131,9 +241,15 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             for (final Partition partition : partitions) {
                 final List<String> inputFiles = new ArrayList<>();
                 // New data
-                inputFiles.add(directoryForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId()));
+                if (null != directoryForGroupAndPartitionIdForReversedEdges) {
+                    inputFiles.add(directoryForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId()));
+                }
                 // Old data
                 inputFiles.add(store.getFileForReversedEdges(group, partition));
+                for (final long delta : deltas) {
+                    inputFiles.add(store.getDeltasDir() + "/" + ParquetStore.getDeltaPath(delta)
+                            + "/" + ParquetStore.getDeltaSubDir(group, partition.getPartitionId(), true));
+                }
                 final String outputDir = directoryForSortedResultsForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId());
                 final AggregateAndSortData task = new AggregateAndSortData(schemaUtils, fs, inputFiles, outputDir,
                         group, "reversed-" + group + "-" + partition.getPartitionId(), true, store.getProperties().getCompressionCodecName(), spark);
@@ -141,6 +257,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                 LOGGER.info("Created AggregateAndSortData task for reversed edge group {}, partition {}", group, partition.getPartitionId());
             }
         }
+        final ExecutorService threadPool = createThreadPool(spark, store.getProperties());
         try {
             LOGGER.info("Invoking {} AggregateAndSortData tasks", tasks.size());
             final List<Future<CallableResult>> futures = threadPool.invokeAll(tasks);
@@ -153,6 +270,8 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             throw new OperationException("InterruptedException running AggregateAndSortData tasks", e);
         } catch (final ExecutionException e) {
             throw new OperationException("ExecutionException running AggregateAndSortData tasks", e);
+        } finally {
+            threadPool.shutdown();
         }
 
         try {
@@ -222,26 +341,41 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
 
             // Delete temporary data directory
-            LOGGER.info("Deleting temporary directory {}", tmpDirectory);
-            fs.delete(new Path(tmpDirectory), true);
+            LOGGER.info("Deleting temporary directory {}", workingDirectory);
+            fs.delete(new Path(workingDirectory), true);
             // Write out graph partitioner (unchanged from previous one)
             final Path newGraphPartitionerPath = new Path(newDataDir + "/graphPartitioner");
             final FSDataOutputStream stream = fs.create(newGraphPartitionerPath);
             LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
             new GraphPartitionerSerialiser().write(currentGraphPartitioner, stream);
             stream.close();
-            // Move snapshot-tmp directory to snapshot
-            final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
-            LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
-            fs.rename(new Path(newDataDir), new Path(directoryWithoutTmp));
-            // Set snapshot on store to new value
-            LOGGER.info("Updating latest snapshot on store to {}", snapshot);
-            store.setLatestSnapshot(snapshot);
+            store.getDeltaLock().lock();
+            try {
+                // Keep the deltas that have been added since the aggregation started
+                store.copyDeltas(deltas, newDataDir);
+                // Move snapshot-tmp directory to snapshot
+                final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
+                LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
+                fs.rename(new Path(newDataDir), new Path(directoryWithoutTmp));
+                // Set snapshot on store to new value
+                LOGGER.info("Updating latest snapshot on store to {}", snapshot);
+                store.setLatestSnapshot(snapshot);
+            } finally {
+                store.getDeltaLock().unlock();
+            }
         } catch (final IOException | StoreException e) {
             throw new OperationException("IOException moving results files into new snapshot directory", e);
         }
     }
 
+    private static void deleteQuietly(final FileSystem fs, final String dir) {
+        try {
+            fs.delete(new Path(dir), true);
+        } catch (final IOException e) {
+            LOGGER.warn("IOException deleting directory {}", dir, e);
+        }
+    }
+
     private static ExecutorService createThreadPool(final SparkSession spark, final ParquetStoreProperties storeProperties) {
         final int numberOfThreads;
         final Option<String> sparkDriverCores = spark.conf().getOption("spark.driver.cores");
@@ -73,13 +73,22 @@ public class AddElementsFromRDD {
     }
 
     void addElementsFromRDD(final JavaRDD<Element> input) throws OperationException {
-        writeInputData(input);
-        aggregateNewAndOldData();
-        sort();
-        sortEdgeGroupsByDestination();
-        calculateAndWritePartitioner();
-        createNewSnapshotDirectory();
-        deleteTempDirectory();
+        // The partitioner is recalculated, so no deltas can be added using the
+        // current partitioner whilst the new snapshot is created
+        store.getSnapshotLock().lock();
+        store.getDeltaLock().lock();
+        try {
+            writeInputData(input);
+            aggregateNewAndOldData();
+            sort();
+            sortEdgeGroupsByDestination();
+            calculateAndWritePartitioner();
+            createNewSnapshotDirectory();
+            deleteTempDirectory();
+        } finally {
+            store.getDeltaLock().unlock();
+            store.getSnapshotLock().unlock();
+        }
     }
 
     void addElementsFromRDD(final RDD<Element> input) throws OperationException {
@@ -146,6 +155,7 @@ public class AddElementsFromRDD {
                 throw new OperationException("IOException finding files for group " + group, e);
             }
             existingData.stream().map(Path::toString).forEach(inputFiles::add);
+            store.getDeltaFilesForGroup(group, store.getDeltas()).stream().map(Path::toString).forEach(inputFiles::add);
             final String outputDir = getDirectory(group, false, true, false);
             final AggregateDataForGroup aggregateDataForGroup;
             try {
@@ -184,6 +194,7 @@ public class AddElementsFromRDD {
                     Arrays.stream(newData).map(f -> f.getPath().toString()).forEach(inputFiles::add);
                     final List<Path> existingData = store.getFilesForGroup(group);
                     existingData.stream().map(p -> p.toString()).forEach(inputFiles::add);
+                    store.getDeltaFilesForGroup(group, store.getDeltas()).stream().map(Path::toString).forEach(inputFiles::add);
                 }
                 sort(group, false, inputFiles, outputDir);
             }
@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.AddElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.spark.SparkContextUtil;
 import uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements;
@@ -37,7 +38,8 @@ import java.io.Serializable;
 
 /**
  * An {@link uk.gov.gchq.gaffer.store.operation.handler.OperationHandler} for the {@link GetDataFrameOfElements}
- * operation on the {@link ParquetStore}.
+ * operation on the {@link ParquetStore}. If elements have been added as deltas then they are compacted
+ * into a new snapshot before the {@link Dataset} is created, so that it contains them.
  */
 public class GetDataFrameOfElementsHandler implements OutputOperationHandler<GetDataFrameOfElements, Dataset<Row>>, Serializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(GetDataFrameOfElementsHandler.class);
@@ -60,6 +62,11 @@ public class GetDataFrameOfElementsHandler implements OutputOperationHandler<Get
                         .edges(store.getSchema().getEdgeGroups()).build())) {
             throw new OperationException("This operation does not currently support views");
         }
+        if (!store.getDeltas().isEmpty()) {
+            // The Dataset is read from the files of the snapshot, so any deltas are compacted into a new snapshot first
+            LOGGER.info("Compacting {} deltas before creating a Dataset<Row>", store.getDeltas().size());
+            AddElementsHandler.compactDeltas(store, spark);
+        }
         LOGGER.debug("Creating a Dataset<Row> from path {} with option mergeSchema=true", store.getGraphPath());
 
         final StructType schema = new SchemaUtils(store.getSchema()).getMergedSparkSchema(store.getSchema().getGroups());
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.data.element.Element;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded queue used to hand {@link Element}s from the {@link RetrieveElementsFromFile}
+ * tasks to the consumer of a {@link ParquetElementRetriever}. When the queue is full the
+ * reader tasks wait until the consumer has taken elements from it, so the memory used by
+ * a query does not depend on the amount of data it returns.
+ * <p>
+ * The queue records the maximum depth seen by the consumer and how long, in total, the
+ * reader tasks spent waiting for space in the queue.
+ */
+public class BoundedElementQueue {
+    private static final long OFFER_TIMEOUT_MS = 100L;
+
+    private final BlockingQueue<Element> queue;
+    private final int capacity;
+    private final AtomicLong stallCount = new AtomicLong();
+    private final AtomicLong stallTimeNanos = new AtomicLong();
+    private volatile int maxDepth;
+    private volatile boolean closed;
+
+    public BoundedElementQueue(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Adds an element to the queue, waiting for space to become available if the
+     * queue is full.
+     *
+     * @param element the element to add
+     * @return true if the element was added, false if the queue was closed before
+     * there was space for the element
+     * @throws InterruptedException if interrupted whilst waiting
+     */
+    public boolean put(final Element element) throws InterruptedException {
+        if (closed) {
+            return false;
+        }
+        if (queue.offer(element)) {
+            return isAdded(element);
+        }
+
+        final long startTime = System.nanoTime();
+        try {
+            while (!closed) {
+                if (queue.offer(element, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return isAdded(element);
+                }
+            }
+            return false;
+        } finally {
+            stallCount.incrementAndGet();
+            stallTimeNanos.addAndGet(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Closing the queue clears it, which can make room for an element offered by a
+     * waiting reader, so an element added after the queue was closed is removed again.
+     */
+    private boolean isAdded(final Element element) {
+        if (closed) {
+            queue.remove(element);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the next element from the queue, waiting up to the given time for one
+     * to become available. This should only be called by the single consumer of the
+     * queue.
+     *
+     * @param timeout how long to wait
+     * @param unit    the unit of the timeout
+     * @return the next element, or null if none became available in time
+     * @throws InterruptedException if interrupted whilst waiting
+     */
+    public Element poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final int depth = queue.size();
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+        return queue.poll(timeout, unit);
+    }
+
+    /**
+     * Closes the queue. Any elements still in the queue are discarded and any reader
+     * tasks waiting for space will stop waiting.
+     */
+    public void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getDepth() {
+        return queue.size();
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return the number of times a reader task had to wait for space in the queue
+     */
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    /**
+     * @return the total time, in milliseconds, the reader tasks spent waiting for
+     * space in the queue
+     */
+    public long getStallTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(stallTimeNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("capacity", capacity)
+                .append("depth", getDepth())
+                .append("maxDepth", maxDepth)
+                .append("stallCount", getStallCount())
+                .append("stallTimeMillis", getStallTimeMillis())
+                .toString();
+    }
+}
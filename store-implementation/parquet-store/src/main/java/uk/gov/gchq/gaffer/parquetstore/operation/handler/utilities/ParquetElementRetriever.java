@@ -36,11 +36,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -77,9 +77,12 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
     }
 
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
+        private static final long POLL_TIMEOUT_MS = 100L;
+
+        private BoundedElementQueue queue;
         private List<Future<OperationException>> runningTasks;
         private ExecutorService executorServicePool;
+        private Element nextElement;
 
         protected ParquetIterator(final ParquetStore store, final Operation operation, final User user) throws OperationException {
             final QueryGenerator queryGenerator = new QueryGenerator(store);
@@ -93,52 +96,65 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 final ParquetQuery parquetQuery = queryGenerator.getParquetQuery(operation);
                 LOGGER.debug("Created ParquetQuery {}", parquetQuery);
                 if (!parquetQuery.isEmpty()) {
-                    queue = new ConcurrentLinkedQueue<>();
+                    queue = new BoundedElementQueue(store.getProperties().getRetrievalQueueSize());
                     executorServicePool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
                     final List<RetrieveElementsFromFile> tasks = new ArrayList<>();
                     tasks.addAll(parquetQuery.getAllParquetFileQueries()
                             .stream()
-                            .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(),
+                            .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getDeltaFiles(), entry.getFilter(),
                                     store.getSchema(), queue, !entry.isFullyApplied(),
                                     store.getProperties().getSkipValidation(), view, user))
                             .collect(Collectors.toList()));
-                    LOGGER.info("Invoking {} RetrieveElementsFromFile tasks", tasks.size());
-                    runningTasks = executorServicePool.invokeAll(tasks);
+                    LOGGER.info("Submitting {} RetrieveElementsFromFile tasks", tasks.size());
+                    // The tasks are submitted rather than invoked so that the
+                    // queue can be consumed whilst the tasks are running.
+                    runningTasks = new ArrayList<>(tasks.size());
+                    for (final RetrieveElementsFromFile task : tasks) {
+                        runningTasks.add(executorServicePool.submit(task));
+                    }
                 } else {
                     LOGGER.warn("No paths found - there will be no results from this query");
                 }
             } catch (final IOException | OperationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
+                close();
                 throw new OperationException("Exception creating ParquetIterator", e);
-            } catch (final InterruptedException e) {
-                LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
-                throw new OperationException("InterruptedException in ParquetIterator", e);
             }
         }
 
         @Override
         public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
-                        }
+            if (null != nextElement) {
+                return true;
+            }
+            if (null == queue) {
+                return false;
+            }
+            try {
+                boolean finishedAllTasks = runningTasks.isEmpty();
+                while (null == nextElement) {
+                    nextElement = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    if (null == nextElement && finishedAllTasks) {
+                        // All the tasks had finished before the poll, so the
+                        // queue is empty and will remain empty.
+                        close();
+                        return false;
+                    }
+                    if (!finishedAllTasks) {
+                        finishedAllTasks = hasFinishedAllTasks();
                     }
-                    return !queue.isEmpty();
-                } else {
-                    return true;
                 }
-            } else {
+            } catch (final InterruptedException e) {
+                LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
+                Thread.currentThread().interrupt();
+                close();
+                return false;
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage(), e);
+                close();
                 return false;
             }
+            return true;
         }
 
         private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
@@ -159,23 +175,25 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
 
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            throw new NoSuchElementException();
+            final Element e = nextElement;
+            nextElement = null;
+            return e;
         }
 
         @Override
         public void close() {
+            if (null != queue) {
+                LOGGER.debug("Closing ParquetIterator with element queue {}", queue);
+                queue.close();
+                queue = null;
+            }
             if (null != executorServicePool) {
-                executorServicePool.shutdown();
+                executorServicePool.shutdownNow();
                 executorServicePool = null;
             }
-            queue = null;
             runningTasks = null;
         }
     }
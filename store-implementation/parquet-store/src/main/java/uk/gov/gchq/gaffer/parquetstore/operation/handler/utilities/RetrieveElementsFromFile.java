@@ -24,10 +24,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibilityCache;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
@@ -37,16 +37,29 @@ import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 
 /**
  * Used to retrieve the elements from a single file and put the elements into a shared
- * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+ * {@link BoundedElementQueue}. If the queue is full then the task waits for space to
+ * become available, and if the queue is closed then the task stops reading the file.
+ * <p>
+ * If the file has deltas then their elements are read too. For a group with
+ * aggregation the elements in the deltas are aggregated in memory, and are merged
+ * with the elements in the file that have the same key as the file is read, so
+ * only the deltas, not the file, need to fit in memory.
  */
 public class RetrieveElementsFromFile implements Callable<OperationException> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
@@ -55,8 +68,9 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
+    private final BoundedElementQueue queue;
     private transient ElementFilter elementFilter;
+    private transient ElementVisibilityCache.Evaluator visibilityEvaluator;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
     private final boolean skipValidation;
@@ -65,17 +79,33 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final Schema gafferSchema;
     private final Authorisations auths;
     private final String visibility;
+    private final List<Path> deltaFiles;
 
     public RetrieveElementsFromFile(final Path filePath,
                                     final FilterPredicate filter,
                                     final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue,
+                                    final BoundedElementQueue queue,
                                     final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation,
                                     final View view,
                                     final User user) {
-        LOGGER.info("Creating RetrieveElementsFromFile for path {} with predicate {}", filePath, filter);
+        this(filePath, Collections.emptyList(), filter, gafferSchema, queue, needsValidatorsAndFiltersApplying,
+                skipValidation, view, user);
+    }
+
+    public RetrieveElementsFromFile(final Path filePath,
+                                    final List<Path> deltaFiles,
+                                    final FilterPredicate filter,
+                                    final Schema gafferSchema,
+                                    final BoundedElementQueue queue,
+                                    final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation,
+                                    final View view,
+                                    final User user) {
+        LOGGER.info("Creating RetrieveElementsFromFile for path {} with {} delta files and predicate {}",
+                filePath, deltaFiles.size(), filter);
         this.filePath = filePath;
+        this.deltaFiles = deltaFiles;
         this.filter = filter;
         this.jsonGafferSchema = gafferSchema.toCompactJson();
         this.gafferSchema = gafferSchema;
@@ -110,64 +140,146 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         if (null == elementFilter) {
             elementFilter = new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter();
         }
+        if (null == visibilityEvaluator) {
+            visibilityEvaluator = ElementVisibilityCache.getInstance().getEvaluator(auths);
+        }
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
         try {
-            final ParquetReader<Element> fileReader = openParquetReader();
-            Element e = fileReader.read();
-            while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else if (needsValidatorsAndFiltersApplying) {
-                    final String group = e.getGroup();
-                    final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                    if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                        if (elementFilter == null || elementFilter.test(e)) {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else {
-                    ViewUtil.removeProperties(view, e);
-                    queue.add(e);
-                }
-                e = fileReader.read();
+            if (deltaFiles.isEmpty()) {
+                retrieveElements(filePath);
+            } else {
+                retrieveElementsMergedWithDeltas();
             }
-            fileReader.close();
         } catch (final IOException ignore) {
             LOGGER.error("IOException reading file", ignore);
             // ignore as this file does not exist
+        } catch (final InterruptedException e) {
+            LOGGER.debug("Interrupted whilst reading file {}", filePath);
+            Thread.currentThread().interrupt();
         }
         return null;
     }
 
-    private ParquetReader<Element> openParquetReader() throws IOException {
+    /**
+     * Reads the elements in a file.
+     *
+     * @return false if the queue has been closed
+     */
+    private boolean retrieveElements(final Path path) throws IOException, InterruptedException, VisibilityParseException {
+        try (final ParquetReader<Element> fileReader = openParquetReader(path)) {
+            Element e = fileReader.read();
+            while (null != e) {
+                if (!processElement(e)) {
+                    return false;
+                }
+                e = fileReader.read();
+            }
+        }
+        return true;
+    }
+
+    private void retrieveElementsMergedWithDeltas() throws IOException, InterruptedException, VisibilityParseException {
+        if (!gafferSchema.getElement(group).isAggregate()) {
+            // Without aggregation the elements in the deltas are simply added to those in the file
+            if (!retrieveElements(filePath)) {
+                return;
+            }
+            for (final Path deltaFile : deltaFiles) {
+                if (!retrieveElements(deltaFile)) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        final Function<Element, Element> toKey = new AggregatorUtil.ToIngestElementKey(gafferSchema);
+        final BinaryOperator<Element> aggregator = createIngestAggregator();
+        final Map<Element, Element> keyToDeltaElement = new LinkedHashMap<>();
+        for (final Path deltaFile : deltaFiles) {
+            try (final ParquetReader<Element> deltaReader = openParquetReader(deltaFile)) {
+                Element e = deltaReader.read();
+                while (null != e) {
+                    keyToDeltaElement.merge(toKey.apply(e), e, aggregator);
+                    e = deltaReader.read();
+                }
+            }
+        }
+        LOGGER.debug("Read {} aggregated elements from the deltas of file {}", keyToDeltaElement.size(), filePath);
+
+        try (final ParquetReader<Element> fileReader = openParquetReader(filePath)) {
+            Element e = fileReader.read();
+            while (null != e) {
+                final Element deltaElement = keyToDeltaElement.remove(toKey.apply(e));
+                if (!processElement(null != deltaElement ? aggregator.apply(e, deltaElement) : e)) {
+                    return;
+                }
+                e = fileReader.read();
+            }
+        } catch (final FileNotFoundException e) {
+            LOGGER.debug("File {} does not exist so only its deltas have been read", filePath);
+        }
+        for (final Element e : keyToDeltaElement.values()) {
+            if (!processElement(e)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Creates an ingest aggregator for the group of the file. The files of a query are
+     * read on many threads, so each task has its own aggregator rather than using the
+     * one cached on the shared schema.
+     */
+    private BinaryOperator<Element> createIngestAggregator() {
+        final ElementAggregator aggregator = new ElementAggregator();
+        aggregator.getComponents().addAll(gafferSchema.getElement(group).getIngestAggregator().getComponents());
+        return aggregator::apply;
+    }
+
+    /**
+     * Applies the visibility, validation and filters to an element and adds it to the queue if it passes them.
+     *
+     * @return false if the queue has been closed
+     */
+    private boolean processElement(final Element e) throws InterruptedException, VisibilityParseException {
+        if (!visibility.isEmpty() && !isVisible(e)) {
+            return true;
+        }
+        if (needsValidatorsAndFiltersApplying) {
+            final ElementFilter validatorFilter = gafferSchema.getElement(e.getGroup()).getValidator(false);
+            if (!skipValidation && null != validatorFilter && !validatorFilter.test(e)) {
+                return true;
+            }
+            if (null != elementFilter && !elementFilter.test(e)) {
+                return true;
+            }
+        }
+        return addToQueue(e);
+    }
+
+    private boolean addToQueue(final Element e) throws InterruptedException {
+        ViewUtil.removeProperties(view, e);
+        if (!queue.put(e)) {
+            LOGGER.debug("Element queue has been closed - stopping reading file {}", filePath);
+            return false;
+        }
+        return true;
+    }
+
+    private ParquetReader<Element> openParquetReader(final Path path) throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
-        LOGGER.debug("Opening a new Parquet reader for file {}", filePath);
+        LOGGER.debug("Opening a new Parquet reader for file {}", path);
         if (null != filter) {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(path)
                     .isEntity(isEntity)
                     .usingConverter(converter)
                     .withFilter(FilterCompat.get(filter))
                     .build();
         } else {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(path)
                     .isEntity(isEntity)
                     .usingConverter(converter)
                     .build();
@@ -176,9 +288,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
 
     private Boolean isVisible(final Element e) throws VisibilityParseException {
         if (e.getProperty(visibility) != null) {
-            final VisibilityEvaluator visibilityEvaluator = new VisibilityEvaluator(auths);
-            final ElementVisibility elementVisibility = new ElementVisibility((String) e.getProperty(visibility));
-            return visibilityEvaluator.evaluate(elementVisibility);
+            return visibilityEvaluator.evaluate((String) e.getProperty(visibility));
         } else {
             e.putProperty(visibility, new String());
             return true;
@@ -63,6 +63,7 @@ import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.floatColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 
 public class QueryGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(QueryGenerator.class);
@@ -76,16 +77,19 @@ public class QueryGenerator {
     }
 
     public ParquetQuery getParquetQuery(final Operation operation) throws IOException, OperationException {
+        // The snapshot is read once so that the files, partitioner and deltas used by the query all match
+        final ParquetStore.Snapshot snapshot = store.getSnapshot();
         if (operation instanceof GetAllElements) {
-            return getPathsAndFiltersForAllElements((GetAllElements) operation);
+            return getPathsAndFiltersForAllElements((GetAllElements) operation, snapshot);
         } else if (operation instanceof GetElements) {
-            return getPathsAndFiltersForGetElements((GetElements) operation);
+            return getPathsAndFiltersForGetElements((GetElements) operation, snapshot);
         } else {
             throw new OperationException("QueryGenerator can only handle GetAllElements and GetElements operations");
         }
     }
 
-    private ParquetQuery getPathsAndFiltersForAllElements(final GetAllElements getAllElements)
+    private ParquetQuery getPathsAndFiltersForAllElements(final GetAllElements getAllElements,
+                                                          final ParquetStore.Snapshot snapshot)
             throws IOException, OperationException {
         // Stage 1: Use the view to identify all groups that might contain data
         final Set<String> allRelevantGroups = getRelevantGroups(getAllElements.getView());
@@ -93,15 +97,24 @@ public class QueryGenerator {
         // Stage 2: Create map from group to list of files containing data for that group
         final Map<String, List<Path>> groupToPaths = new HashMap<>();
         for (final String group : allRelevantGroups) {
-            groupToPaths.put(group, store.getFilesForGroup(group));
+            final List<Path> paths = store.getFilesForGroup(snapshot, group);
+            // A partition whose elements are all in deltas has no file in the snapshot
+            final Set<String> fileNames = paths.stream().map(Path::getName).collect(Collectors.toSet());
+            snapshot.getFilesWithDeltasForGroup(group)
+                    .stream()
+                    .filter(path -> !fileNames.contains(path.getName()))
+                    .forEach(paths::add);
+            groupToPaths.put(group, paths);
         }
 
         // Stage 3: For each of the above groups, create a Parquet predicate from the view and directedType
         final Map<String, Pair<FilterPredicate, Boolean>> groupToPredicate = new HashMap<>();
+        final Map<String, FilterPredicate> groupToKeyPredicate = new HashMap<>();
         for (final String group : groupToPaths.keySet()) {
             Pair<FilterPredicate, Boolean> filter = getPredicateFromView(getAllElements.getView(), group, schemaUtils.getEntityGroups().contains(group));
             if (schemaUtils.getEdgeGroups().contains(group)) {
                 final FilterPredicate directedTypeFilter = getPredicateFromDirectedType(getAllElements.getDirectedType());
+                groupToKeyPredicate.put(group, directedTypeFilter);
                 if (null != filter) {
                     filter.setFirst(FilterPredicateUtils.and(filter.getFirst(), directedTypeFilter));
                 } else {
@@ -121,7 +134,7 @@ public class QueryGenerator {
                 final ParquetFileQuery fileQuery = groupToPredicate.containsKey(group) ?
                         new ParquetFileQuery(path, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond())
                                 : new ParquetFileQuery(path, null, false);
-                parquetQuery.add(group, fileQuery);
+                parquetQuery.add(group, addDeltaFiles(fileQuery, group, groupToKeyPredicate.get(group), snapshot));
             }
         }
         LOGGER.info("Created ParquetQuery of {}", parquetQuery);
@@ -140,7 +153,8 @@ public class QueryGenerator {
         return allRelevantGroups;
     }
 
-    private ParquetQuery getPathsAndFiltersForGetElements(final GetElements getElements)
+    private ParquetQuery getPathsAndFiltersForGetElements(final GetElements getElements,
+                                                          final ParquetStore.Snapshot snapshot)
             throws SerialisationException, OperationException {
         final Iterable<? extends ElementId> seeds = getElements.getInput();
         if (null == seeds || !seeds.iterator().hasNext()) {
@@ -152,10 +166,12 @@ public class QueryGenerator {
 
         // Stage 2: For each of the above groups, create a Parquet predicate from the view and directedType
         final Map<String, Pair<FilterPredicate, Boolean>> groupToPredicate = new HashMap<>();
+        final Map<String, FilterPredicate> groupToKeyPredicate = new HashMap<>();
         for (final String group : allRelevantGroups) {
             Pair<FilterPredicate, Boolean> filter = getPredicateFromView(getElements.getView(), group, schemaUtils.getEntityGroups().contains(group));
             if (schemaUtils.getEdgeGroups().contains(group)) {
                 final FilterPredicate directedTypeFilter = getPredicateFromDirectedType(getElements.getDirectedType());
+                groupToKeyPredicate.put(group, directedTypeFilter);
                 filter.setFirst(FilterPredicateUtils.and(filter.getFirst(), directedTypeFilter));
             }
             groupToPredicate.put(group, filter);
@@ -176,31 +192,29 @@ public class QueryGenerator {
         // Stage 4: Convert stream of <group, ParquetElementSeed> pars to stream of tuples
         // <group, ParquetElementSeed, List<PathInfo>>
         final Stream<Tuple3<String, ParquetElementSeed, Set<PathInfo>>> groupSeedsAndPaths = groupAndSeeds
-                .map(pair -> getRelevantFiles(pair.getFirst(), pair.getSecond()));
+                .map(pair -> getRelevantFiles(pair.getFirst(), pair.getSecond(), snapshot));
 
         // Stage 5: Create map from path to list of <group, reversed edge flag, Parquet seeds>
-        // TODO: Currently this consumes the entire stream - need to do this in batches
-        final List<Tuple3<String, ParquetElementSeed, Set<PathInfo>>> groupSeedsAndPathsList =
-                groupSeedsAndPaths.collect(Collectors.toList());
         final Map<PathInfo, List<Tuple3<String, Boolean, ParquetElementSeed>>> pathToSeeds = new HashMap<>();
-        for (final Tuple3<String, ParquetElementSeed, Set<PathInfo>> tuple : groupSeedsAndPathsList) {
-            Set<PathInfo> paths = tuple.get2();
-            for (final PathInfo pathInfo : paths) {
-                if (!pathToSeeds.containsKey(pathInfo)) {
-                    pathToSeeds.put(pathInfo, new ArrayList<>());
-                }
-                pathToSeeds.get(pathInfo).add(new Tuple3<>(tuple.get0(), pathInfo.isReversed(),  tuple.get1()));
+        groupSeedsAndPaths.forEach(tuple -> {
+            for (final PathInfo pathInfo : tuple.get2()) {
+                pathToSeeds.computeIfAbsent(pathInfo, k -> new ArrayList<>())
+                        .add(new Tuple3<>(tuple.get0(), pathInfo.isReversed(), tuple.get1()));
             }
-        }
+        });
 
         // Stage 6: Create ParquetQuery
         final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType = getElements.getIncludeIncomingOutGoing();
         final SeedMatching.SeedMatchingType seedMatchingType = getElements.getSeedMatching();
+        final int sortedSeedsThreshold = store.getProperties().getSortedSeedsThreshold();
         final ParquetQuery parquetQuery = new ParquetQuery();
         for (final PathInfo pathInfo : pathToSeeds.keySet()) {
             List<Tuple3<String, Boolean, ParquetElementSeed>> seedList = pathToSeeds.get(pathInfo);
-            FilterPredicate filterPredicate = seedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
-            if (null != filterPredicate) {
+            final FilterPredicate seedsPredicate = seedList.size() > sortedSeedsThreshold
+                    ? sortedSeedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType, sortedSeedsThreshold)
+                    : seedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
+            if (null != seedsPredicate) {
+                FilterPredicate filterPredicate = seedsPredicate;
                 final String group = pathInfo.getGroup();
                 final Pair<FilterPredicate, Boolean> viewFilterPredicate = groupToPredicate.get(group);
                 if (null != viewFilterPredicate) {
@@ -208,13 +222,33 @@ public class QueryGenerator {
                     filterPredicate = FilterPredicateUtils.and(viewFilterPredicate.getFirst(), filterPredicate);
                 }
                 final ParquetFileQuery fileQuery = new ParquetFileQuery(pathInfo.getPath(), filterPredicate, viewFilterPredicate.getSecond());
-                parquetQuery.add(group, fileQuery);
+                final FilterPredicate keyPredicate = FilterPredicateUtils.and(groupToKeyPredicate.get(group), seedsPredicate);
+                parquetQuery.add(group, addDeltaFiles(fileQuery, group, keyPredicate, snapshot));
             }
         }
         LOGGER.info("Created ParquetQuery of {}", parquetQuery);
         return parquetQuery;
     }
 
+    /**
+     * Adds the files of the deltas for the file of a query to the query. The elements in the deltas of a group
+     * with aggregation are merged with those in the file before the view is applied, so only the predicate on
+     * the identifiers of the elements can be pushed down to Parquet; the view is then applied to the merged elements.
+     */
+    private ParquetFileQuery addDeltaFiles(final ParquetFileQuery fileQuery,
+                                           final String group,
+                                           final FilterPredicate keyPredicate,
+                                           final ParquetStore.Snapshot snapshot) {
+        final List<Path> deltaFiles = snapshot.getDeltaFiles(fileQuery.getFile());
+        if (deltaFiles.isEmpty()) {
+            return fileQuery;
+        }
+        if (schemaUtils.getGafferSchema().getElement(group).isAggregate()) {
+            return new ParquetFileQuery(fileQuery.getFile(), keyPredicate, false, deltaFiles);
+        }
+        return new ParquetFileQuery(fileQuery.getFile(), fileQuery.getFilter(), fileQuery.isFullyApplied(), deltaFiles);
+    }
+
     // TODO raise issue saying that could optimise so that only the filters that have not been fully applied
     // are reapplied, and it should be able to return the fact that all filters have been applied
     // Either the result is:
@@ -288,13 +322,16 @@ public class QueryGenerator {
     }
 
     private Tuple3<String, ParquetElementSeed, Set<PathInfo>> getRelevantFiles(final String group,
-                                                                               final ParquetElementSeed seed) {
-        final Set<PathInfo> paths = getPathsForSeed(seed, group);
+                                                                               final ParquetElementSeed seed,
+                                                                               final ParquetStore.Snapshot snapshot) {
+        final Set<PathInfo> paths = getPathsForSeed(seed, group, snapshot);
         return new Tuple3<>(group, seed, paths);
     }
 
-    private Set<PathInfo> getPathsForSeed(final ParquetElementSeed parquetElementSeed, final String group) {
-        final GraphPartitioner graphPartitioner = store.getGraphPartitioner();
+    private Set<PathInfo> getPathsForSeed(final ParquetElementSeed parquetElementSeed,
+                                          final String group,
+                                          final ParquetStore.Snapshot snapshot) {
+        final GraphPartitioner graphPartitioner = snapshot.getGraphPartitioner();
         final boolean isEntityGroup = store.getSchema().getEntityGroups().contains(group);
         final List<Object[]> seeds = new ArrayList<>();
         if (parquetElementSeed instanceof ParquetEntitySeed) {
@@ -321,10 +358,10 @@ public class QueryGenerator {
             final List<Integer> partitionIds = graphPartitioner.getGroupPartitioner(group).getPartitionIds(seed);
             LOGGER.debug("Partition ids for seed {} in group {}: {}", seed, group, partitionIds);
             final PathInfo.FILETYPE fileType = isEntityGroup ? PathInfo.FILETYPE.ENTITY : PathInfo.FILETYPE.EDGE;
-            partitionIds.forEach(id -> paths.add(new PathInfo(new Path(store.getFile(group, id)), group, fileType)));
+            partitionIds.forEach(id -> paths.add(new PathInfo(new Path(snapshot.getFile(group, id)), group, fileType)));
             if (!isEntityGroup && parquetElementSeed instanceof ParquetEntitySeed) {
                 final List<Integer> partitionIdsFromReversed = graphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitionIds(seed);
-                partitionIdsFromReversed.forEach(id -> paths.add(new PathInfo(new Path(store.getFileForReversedEdges(group, id)), group, PathInfo.FILETYPE.REVERSED_EDGE)));
+                partitionIdsFromReversed.forEach(id -> paths.add(new PathInfo(new Path(snapshot.getFileForReversedEdges(group, id)), group, PathInfo.FILETYPE.REVERSED_EDGE)));
             }
         }
         LOGGER.debug("Returning {} paths for seed {} and group {} (paths are {})",
@@ -347,6 +384,168 @@ public class QueryGenerator {
         return predicate;
     }
 
+    /**
+     * Converts a large number of seeds to a predicate. The seeds that only need
+     * a single column to be equal to a value are collected by column, and each
+     * column with more than the threshold number of values is filtered with a
+     * {@link SortedSeedsPredicate} rather than an equality filter per value.
+     * Any other seeds are converted using {@link #seedToPredicate}.
+     */
+    private FilterPredicate sortedSeedsToPredicate(final List<Tuple3<String, Boolean, ParquetElementSeed>> seedList,
+                                                   final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType,
+                                                   final SeedMatching.SeedMatchingType seedMatchingType,
+                                                   final int sortedSeedsThreshold) throws SerialisationException {
+        // All the seeds for a file have the same group, so map from <column, whether
+        // the edge must be undirected> to the values of that column
+        final String group = seedList.get(0).get0();
+        final Map<Pair<String, Boolean>, List<Object>> columnToValues = new HashMap<>();
+        FilterPredicate predicate = null;
+        for (final Tuple3<String, Boolean, ParquetElementSeed> tuple : seedList) {
+            if (!addSeedToColumnValues(tuple.get2(), includeIncomingOutgoingType, seedMatchingType, tuple.get0(), tuple.get1(), columnToValues)) {
+                final FilterPredicate pred = seedToPredicate(
+                        tuple.get2(), includeIncomingOutgoingType, seedMatchingType, tuple.get0(), tuple.get1());
+                if (null != pred) {
+                    predicate = FilterPredicateUtils.or(predicate, pred);
+                }
+            }
+        }
+
+        for (final Map.Entry<Pair<String, Boolean>, List<Object>> entry : columnToValues.entrySet()) {
+            final String column = entry.getKey().getFirst();
+            final List<Object> values = entry.getValue();
+            FilterPredicate columnPredicate = values.size() > sortedSeedsThreshold ? getSortedSeedsFilter(column, values, group) : null;
+            if (null == columnPredicate) {
+                for (final Object value : values) {
+                    columnPredicate = FilterPredicateUtils.or(columnPredicate, getIsEqualFilter(column, new Object[]{value}, group));
+                }
+            }
+            if (entry.getKey().getSecond()) {
+                columnPredicate = FilterPredicateUtils.and(columnPredicate, getIsEqualFilter(ParquetStore.DIRECTED, new Object[]{false}, group));
+            }
+            predicate = FilterPredicateUtils.or(predicate, columnPredicate);
+        }
+        return predicate;
+    }
+
+    /**
+     * If the seed only requires a single column to be equal to a value, then adds
+     * the value to the values for that column. This follows the logic of
+     * {@link #seedToPredicate} for seeds that are {@link EntityId}s, or are edge
+     * seeds for an entity group.
+     *
+     * @return true if the seed was added, false if it needs a more complex predicate
+     */
+    private boolean addSeedToColumnValues(final ParquetElementSeed seed,
+                                          final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType,
+                                          final SeedMatching.SeedMatchingType seedMatchingType,
+                                          final String group,
+                                          final boolean reversed,
+                                          final Map<Pair<String, Boolean>, List<Object>> columnToValues) {
+        if (seedMatchingType == SeedMatching.SeedMatchingType.EQUAL && !(seed.getElementId() instanceof EntityId && schemaUtils.getEntityGroups().contains(group))) {
+            return false;
+        }
+
+        final String column;
+        final boolean undirectedOnly;
+        final List<Object[]> values = new ArrayList<>(2);
+        if (schemaUtils.getEntityGroups().contains(group)) {
+            column = ParquetStore.VERTEX;
+            undirectedOnly = false;
+            if (seed instanceof ParquetEntitySeed) {
+                values.add(((ParquetEntitySeed) seed).getSeed());
+            } else {
+                values.add(((ParquetEdgeSeed) seed).getSource());
+                if (null != ((ParquetEdgeSeed) seed).getDestination()) {
+                    values.add(((ParquetEdgeSeed) seed).getDestination());
+                }
+            }
+        } else if (seed instanceof ParquetEntitySeed) {
+            column = reversed ? ParquetStore.DESTINATION : ParquetStore.SOURCE;
+            undirectedOnly = reversed
+                    ? includeIncomingOutgoingType == SeededGraphFilters.IncludeIncomingOutgoingType.OUTGOING
+                    : includeIncomingOutgoingType == SeededGraphFilters.IncludeIncomingOutgoingType.INCOMING;
+            values.add(((ParquetEntitySeed) seed).getSeed());
+        } else {
+            return false;
+        }
+
+        final String[] paths = schemaUtils.getPaths(group, column);
+        if (null != paths && 1 != paths.length) {
+            return false;
+        }
+        for (final Object[] value : values) {
+            if (1 != value.length || null == toComparable(value[0])) {
+                return false;
+            }
+        }
+
+        final List<Object> columnValues = columnToValues.computeIfAbsent(new Pair<>(column, undirectedOnly), k -> new ArrayList<>());
+        for (final Object[] value : values) {
+            columnValues.add(value[0]);
+        }
+        return true;
+    }
+
+    /**
+     * Creates a {@link SortedSeedsPredicate} for a column with a single path.
+     *
+     * @return the filter, or null if the values do not all have the same type
+     */
+    private FilterPredicate getSortedSeedsFilter(final String colName, final List<Object> parquetObjects, final String group) {
+        final String[] paths = schemaUtils.getPaths(group, colName);
+        final String path = null != paths ? paths[0] : colName;
+
+        final List<Comparable> values = new ArrayList<>(parquetObjects.size());
+        Class<?> valueClass = null;
+        for (final Object parquetObject : parquetObjects) {
+            final Comparable value = toComparable(parquetObject);
+            if (null == valueClass) {
+                valueClass = value.getClass();
+            } else if (!valueClass.equals(value.getClass())) {
+                return null;
+            }
+            values.add(value);
+        }
+
+        final FilterPredicate filter;
+        if (values.get(0) instanceof Binary) {
+            filter = userDefined(binaryColumn(path), new SortedSeedsPredicate<>((List<Binary>) (List) values));
+        } else if (values.get(0) instanceof Double) {
+            filter = userDefined(doubleColumn(path), new SortedSeedsPredicate<>((List<Double>) (List) values));
+        } else if (values.get(0) instanceof Float) {
+            filter = userDefined(floatColumn(path), new SortedSeedsPredicate<>((List<Float>) (List) values));
+        } else if (values.get(0) instanceof Integer) {
+            filter = userDefined(intColumn(path), new SortedSeedsPredicate<>((List<Integer>) (List) values));
+        } else {
+            filter = userDefined(longColumn(path), new SortedSeedsPredicate<>((List<Long>) (List) values));
+        }
+        return filter;
+    }
+
+    /**
+     * Converts a Parquet object to the value stored in its column, using the same
+     * conversions as {@link #getIsEqualFilter}.
+     *
+     * @return the value, or null if the type cannot be filtered by a {@link SortedSeedsPredicate}
+     */
+    private static Comparable toComparable(final Object parquetObject) {
+        if (parquetObject instanceof String) {
+            return Binary.fromString((String) parquetObject);
+        } else if (parquetObject instanceof Double
+                || parquetObject instanceof Float
+                || parquetObject instanceof Integer
+                || parquetObject instanceof Long) {
+            return (Comparable) parquetObject;
+        } else if (parquetObject instanceof java.util.Date) {
+            return ((java.util.Date) parquetObject).getTime();
+        } else if (parquetObject instanceof Short) {
+            return ((Short) parquetObject).intValue();
+        } else if (parquetObject instanceof byte[]) {
+            return Binary.fromConstantByteArray((byte[]) parquetObject);
+        }
+        return null;
+    }
+
     private FilterPredicate getIsEqualFilter(final String colName,
                                              final Object[] parquetObjects,
                                              final String group) {
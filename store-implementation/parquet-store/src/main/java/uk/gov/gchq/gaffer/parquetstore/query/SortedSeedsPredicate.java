@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.parquet.filter2.predicate.Statistics;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A Parquet {@link UserDefinedPredicate} that keeps the rows whose value of a
+ * column is one of a set of seeds. The seeds are sorted once, so each row is
+ * checked with a binary search and a row group is only read if one of the seeds
+ * lies between the minimum and maximum values of the column in that row group.
+ * This replaces a predicate containing an equality filter for every seed, which
+ * has to be evaluated in full for every row.
+ *
+ * @param <T> the type of the column
+ */
+public class SortedSeedsPredicate<T extends Comparable<T>> extends UserDefinedPredicate<T> implements Serializable {
+    private static final long serialVersionUID = -2744580915870264532L;
+
+    private final ArrayList<T> seeds;
+
+    public SortedSeedsPredicate(final Collection<T> seeds) {
+        this.seeds = new ArrayList<>(new TreeSet<>(seeds));
+    }
+
+    public List<T> getSeeds() {
+        return Collections.unmodifiableList(seeds);
+    }
+
+    @Override
+    public boolean keep(final T value) {
+        return null != value && Collections.binarySearch(seeds, value) >= 0;
+    }
+
+    @Override
+    public boolean canDrop(final Statistics<T> statistics) {
+        if (seeds.isEmpty()) {
+            return true;
+        }
+        final T min = statistics.getMin();
+        final T max = statistics.getMax();
+        if (null == min || null == max) {
+            return false;
+        }
+
+        // Find the first seed that is not less than the minimum
+        int index = Collections.binarySearch(seeds, min);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        return index == seeds.size() || seeds.get(index).compareTo(max) > 0;
+    }
+
+    @Override
+    public boolean inverseCanDrop(final Statistics<T> statistics) {
+        // A row group could only be dropped if every value in it is a seed, which
+        // cannot be determined from the minimum and maximum values.
+        return false;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        return seeds.equals(((SortedSeedsPredicate) obj).seeds);
+    }
+
+    @Override
+    public int hashCode() {
+        return seeds.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("numSeeds", seeds.size())
+                .toString();
+    }
+}
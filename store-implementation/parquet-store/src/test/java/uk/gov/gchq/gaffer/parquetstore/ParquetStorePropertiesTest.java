@@ -44,6 +44,13 @@ public class ParquetStorePropertiesTest {
         assertEquals((Integer) 9, props.getThreadsAvailable());
     }
 
+    @Test
+    public void retrievalQueueSizeTest() {
+        assertEquals(10000, props.getRetrievalQueueSize());
+        props.setRetrievalQueueSize(500);
+        assertEquals(500, props.getRetrievalQueueSize());
+    }
+
     @Test
     public void dataDirTest() {
         assertEquals(null, props.getDataDir());
@@ -30,11 +30,13 @@ import scala.collection.JavaConversions$;
 import scala.collection.mutable.WrappedArray;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
@@ -50,12 +52,15 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AddElementsHandlerTest {
@@ -657,6 +662,168 @@ public class AddElementsHandlerTest {
         checkEdge(WriteUnsortedDataTest.createEdgeForEdgeGroup_2(1L, 2000L, false), results[7]);
     }
 
+    @Test
+    public void shouldMergeDeltasWithSnapshotWhenQueried(@TempDir java.nio.file.Path tempDir)
+            throws OperationException, IOException, StoreException {
+        // Given
+        final List<Element> elementsToAdd = getElementsForDeltaTests();
+        final AddElements add = new AddElements.Builder()
+                .input(elementsToAdd)
+                .build();
+        final Context context = new Context();
+        final ParquetStore store = createStore(tempDir.toString() + "/snapshots", false);
+        final ParquetStore deltaStore = createStore(tempDir.toString() + "/deltas", true);
+        new AddElementsHandler().doOperation(add, context, store);
+        new AddElementsHandler().doOperation(add, context, deltaStore);
+        final long snapshotId = deltaStore.getLatestSnapshot();
+
+        // When
+        new AddElementsHandler().doOperation(add, context, store);
+        new AddElementsHandler().doOperation(add, context, deltaStore);
+
+        // Then
+        // - The elements should have been added to the delta store as two deltas of the first snapshot.
+        assertEquals(snapshotId, deltaStore.getLatestSnapshot());
+        assertEquals(2, deltaStore.getDeltas().size());
+        // - Querying the delta store should give the same aggregated elements as the other store.
+        assertEquals(getAllElements(store, context), getAllElements(deltaStore, context));
+    }
+
+    @Test
+    public void shouldCompactDeltasIntoNewSnapshot(@TempDir java.nio.file.Path tempDir)
+            throws OperationException, IOException, StoreException, InterruptedException {
+        // Given
+        final List<Element> elementsToAdd = getElementsForDeltaTests();
+        final AddElements add = new AddElements.Builder()
+                .input(elementsToAdd)
+                .build();
+        final Context context = new Context();
+        final ParquetStore store = createStore(tempDir.toString() + "/snapshots", false);
+        final ParquetStore deltaStore = createStore(tempDir.toString() + "/deltas", true);
+        deltaStore.getProperties().setCompactionMaxDeltas(1);
+        final long snapshotId = deltaStore.getLatestSnapshot();
+
+        // When
+        new AddElementsHandler().doOperation(add, context, store);
+        new AddElementsHandler().doOperation(add, context, store);
+        new AddElementsHandler().doOperation(add, context, deltaStore);
+        new AddElementsHandler().doOperation(add, context, deltaStore);
+        for (int i = 0; i < 600 && !deltaStore.getDeltas().isEmpty(); i++) {
+            Thread.sleep(100L);
+        }
+
+        // Then
+        // - The deltas should have been compacted into a new snapshot in the background.
+        assertTrue(deltaStore.getDeltas().isEmpty());
+        assertFalse(snapshotId == deltaStore.getLatestSnapshot());
+        // - Querying the delta store should give the same aggregated elements as the other store.
+        assertEquals(getAllElements(store, context), getAllElements(deltaStore, context));
+    }
+
+    @Test
+    public void shouldNotCountDeltasTwiceWhenQueriedWhilstCompacting(@TempDir java.nio.file.Path tempDir)
+            throws OperationException, StoreException {
+        // Given
+        final AddElements add = new AddElements.Builder()
+                .input(getElementsForDeltaTests())
+                .build();
+        final Context context = new Context();
+        final ParquetStore store = createStore(tempDir.toString() + "/snapshots", false);
+        final ParquetStore deltaStore = createStore(tempDir.toString() + "/deltas", true);
+        deltaStore.getProperties().setCompactionMaxDeltas(Integer.MAX_VALUE);
+        new AddElementsHandler().doOperation(add, context, store);
+        new AddElementsHandler().doOperation(add, context, store);
+        new AddElementsHandler().doOperation(add, context, deltaStore);
+        new AddElementsHandler().doOperation(add, context, deltaStore);
+        final Set<Element> expected = getAllElements(store, context);
+        final long snapshotId = deltaStore.getLatestSnapshot();
+
+        // When
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        assertTrue(deltaStore.compactInBackground(() -> {
+            AddElementsHandler.compactDeltas(deltaStore, sparkSession);
+            return null;
+        }));
+
+        // Then
+        // - Every query whilst the compaction swaps the snapshot should see either the old snapshot and its
+        // deltas or the new snapshot, never the new snapshot with the deltas that were compacted into it.
+        for (int i = 0; i < 6000 && !deltaStore.getDeltas().isEmpty() && 0 == deltaStore.getCompactionFailures(); i++) {
+            assertEquals(expected, getAllElements(deltaStore, context));
+        }
+        assertEquals(0, deltaStore.getCompactionFailures());
+        assertTrue(deltaStore.getDeltas().isEmpty());
+        assertFalse(snapshotId == deltaStore.getLatestSnapshot());
+        assertEquals(expected, getAllElements(deltaStore, context));
+        deltaStore.close();
+    }
+
+    @Test
+    public void shouldNotRetryCompactionStraightAwayWhenItFails(@TempDir java.nio.file.Path tempDir)
+            throws OperationException, StoreException, InterruptedException {
+        // Given
+        final AddElements add = new AddElements.Builder()
+                .input(getElementsForDeltaTests())
+                .build();
+        final Context context = new Context();
+        final ParquetStore deltaStore = createStore(tempDir.toString() + "/deltas", true);
+        deltaStore.getProperties().setCompactionMaxDeltas(Integer.MAX_VALUE);
+        new AddElementsHandler().doOperation(add, context, deltaStore);
+        deltaStore.getProperties().setCompactionMaxDeltas(0);
+        assertTrue(deltaStore.needsCompaction());
+
+        // When
+        assertTrue(deltaStore.compactInBackground(() -> {
+            throw new OperationException("Compaction failed");
+        }));
+        for (int i = 0; i < 600 && 0 == deltaStore.getCompactionFailures(); i++) {
+            Thread.sleep(100L);
+        }
+
+        // Then
+        assertEquals(1, deltaStore.getCompactionFailures());
+        assertFalse(deltaStore.needsCompaction());
+        deltaStore.close();
+    }
+
+    @Test
+    public void shouldNotStartCompactionWhenStoreIsClosed(@TempDir java.nio.file.Path tempDir) throws StoreException {
+        // Given
+        final ParquetStore deltaStore = createStore(tempDir.toString() + "/deltas", true);
+
+        // When
+        deltaStore.close();
+
+        // Then
+        assertFalse(deltaStore.compactInBackground(() -> null));
+    }
+
+    private static List<Element> getElementsForDeltaTests() {
+        final List<Element> elements = new ArrayList<>();
+        elements.addAll(AggregateAndSortDataTest.generateData());
+        elements.add(WriteUnsortedDataTest.createEntityForEntityGroup_2(100L));
+        elements.add(WriteUnsortedDataTest.createEdgeForEdgeGroup(10000L, 1000L, true, new Date(100L)));
+        elements.add(WriteUnsortedDataTest.createEdgeForEdgeGroup(1L, 10L, false, new Date(400L)));
+        elements.add(WriteUnsortedDataTest.createEdgeForEdgeGroup_2(10L, 50L, true));
+        return elements;
+    }
+
+    private static ParquetStore createStore(final String testDir, final boolean addElementsDeltas) throws StoreException {
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        storeProperties.setDataDir(testDir + "/data");
+        storeProperties.setTempFilesDir(testDir + "/tmpdata");
+        storeProperties.setAddElementsDeltas(addElementsDeltas);
+        return (ParquetStore) ParquetStore.createStore("graphId", TestUtils.gafferSchema("schemaUsingLongVertexType"), storeProperties);
+    }
+
+    private static Set<Element> getAllElements(final ParquetStore store, final Context context) throws OperationException {
+        final Set<Element> results = new HashSet<>();
+        try (final CloseableIterable<? extends Element> elements = store.execute(new GetAllElements(), context)) {
+            elements.forEach(results::add);
+        }
+        return results;
+    }
+
     @Test
     public void testWhenInputIsEmpty() {
         // TODO
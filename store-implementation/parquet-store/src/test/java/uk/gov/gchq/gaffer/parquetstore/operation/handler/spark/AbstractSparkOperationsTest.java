@@ -155,4 +155,23 @@ public abstract class AbstractSparkOperationsTest extends StandaloneIT {
         final List<Element> elementsFromRows = convertRowsToElements(results.collectAsList());
         ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), elementsFromRows);
     }
+
+    @Test
+    public void shouldReturnElementsAddedAsDeltasWhenGetDataFrameOfElementsCalled(@TempDir java.nio.file.Path tempDir)
+            throws IOException, OperationException {
+        // Given
+        final ParquetStoreProperties storeProperties = TestUtils.getParquetStoreProperties(tempDir);
+        storeProperties.setAddElementsDeltas(true);
+        storeProperties.setCompactionMaxDeltas(Integer.MAX_VALUE);
+        final Graph graph = createGraph(storeProperties);
+        final List<Element> elements = getInputDataForGetAllElementsTestAsList();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final Dataset<Row> results = graph.execute(new GetDataFrameOfElements.Builder().build(), user);
+
+        // Then
+        final List<Element> elementsFromRows = convertRowsToElements(results.collectAsList());
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), elementsFromRows);
+    }
 }
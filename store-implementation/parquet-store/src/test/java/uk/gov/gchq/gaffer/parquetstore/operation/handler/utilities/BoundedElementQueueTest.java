@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedElementQueueTest {
+
+    @Test
+    public void shouldNotAllowCapacityLessThanOne() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedElementQueue(0));
+    }
+
+    @Test
+    public void shouldMakeReaderWaitWhenQueueIsFull() throws Exception {
+        // Given
+        final BoundedElementQueue queue = new BoundedElementQueue(2);
+        assertTrue(queue.put(entity(1)));
+        assertTrue(queue.put(entity(2)));
+
+        // When
+        final CompletableFuture<Boolean> blockedPut = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queue.put(entity(3));
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(200L);
+
+        // Then
+        assertFalse(blockedPut.isDone());
+        assertEquals(2, queue.getDepth());
+
+        // When
+        assertEquals(entity(1), queue.poll(1, TimeUnit.SECONDS));
+
+        // Then
+        assertTrue(blockedPut.get(5, TimeUnit.SECONDS));
+        assertEquals(entity(2), queue.poll(1, TimeUnit.SECONDS));
+        assertEquals(entity(3), queue.poll(1, TimeUnit.SECONDS));
+        assertEquals(1, queue.getStallCount());
+        assertTrue(queue.getStallTimeMillis() >= 100L);
+        assertEquals(2, queue.getMaxDepth());
+    }
+
+    @Test
+    public void shouldReleaseWaitingReaderWhenClosed() throws Exception {
+        // Given
+        final BoundedElementQueue queue = new BoundedElementQueue(1);
+        assertTrue(queue.put(entity(1)));
+        final AtomicReference<Boolean> result = new AtomicReference<>();
+        final Thread reader = new Thread(() -> {
+            try {
+                result.set(queue.put(entity(2)));
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        reader.start();
+        waitUntilWaiting(reader);
+
+        // When
+        queue.close();
+        reader.join(5000L);
+
+        // Then
+        assertFalse(reader.isAlive());
+        assertFalse(result.get());
+        assertEquals(0, queue.getDepth());
+        assertTrue(queue.isClosed());
+        assertFalse(queue.put(entity(3)));
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    private static void waitUntilWaiting(final Thread thread) throws InterruptedException {
+        final long endTime = System.currentTimeMillis() + 5000L;
+        while (Thread.State.TIMED_WAITING != thread.getState()) {
+            if (System.currentTimeMillis() > endTime) {
+                throw new AssertionError("Thread did not start waiting");
+            }
+            Thread.sleep(1L);
+        }
+    }
+
+    private static Element entity(final int vertex) {
+        return new Entity(TestGroups.ENTITY, vertex);
+    }
+}
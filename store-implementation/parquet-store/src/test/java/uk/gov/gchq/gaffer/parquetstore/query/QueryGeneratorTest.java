@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
@@ -51,6 +52,7 @@ import static org.apache.parquet.filter2.predicate.FilterApi.and;
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 
@@ -412,6 +414,53 @@ public class QueryGeneratorTest {
         assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
     }
 
+    @Test
+    public void testQueryGeneratorForGetElementsWithSortedEntitySeeds(@TempDir java.nio.file.Path tempDir)
+            throws IOException, OperationException {
+        // Given
+        // - Create snapshot folder
+        final String folder = String.format("file:///%s", tempDir.toString());
+        final String snapshotFolder = folder + "/" + ParquetStore.getSnapshotPath(1000L);
+        // - Write out Parquet files so know the partitioning
+        CalculatePartitionerTest.writeData(snapshotFolder, new SchemaUtils(schema));
+        // - Initialise store, sorting the seeds whenever there is more than one
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        storeProperties.setDataDir(folder);
+        storeProperties.setTempFilesDir(folder + "/tmpdata");
+        storeProperties.setSortedSeedsThreshold(1);
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+
+        // When - no view, query for vertices 0 and 1 which are in the first partition, and incoming edges
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed(1L), new EntitySeed(0L), new EntitySeed(1L))
+                .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                .inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.INCOMING)
+                .build();
+        final ParquetQuery query = new QueryGenerator(store).getParquetQuery(getElements);
+
+        // Then
+        final List<ParquetFileQuery> expected = new ArrayList<>();
+        final SortedSeedsPredicate<Long> seeds = new SortedSeedsPredicate<>(Arrays.asList(0L, 1L));
+        final FilterPredicate vertices = userDefined(FilterApi.longColumn(ParquetStore.VERTEX), seeds);
+        final FilterPredicate sourcesUndirected = and(userDefined(FilterApi.longColumn(ParquetStore.SOURCE), seeds),
+                eq(FilterApi.booleanColumn(ParquetStore.DIRECTED), false));
+        final FilterPredicate destinations = userDefined(FilterApi.longColumn(ParquetStore.DESTINATION), seeds);
+        for (final String group : Arrays.asList(TestGroups.ENTITY, TestGroups.ENTITY_2)) {
+            final Path groupFolderPath = new Path(snapshotFolder, ParquetStore.getGroupSubDir(group, false));
+            final Path pathForPartitionFile = new Path(groupFolderPath, ParquetStore.getFile(0));
+            expected.add(new ParquetFileQuery(pathForPartitionFile, vertices, true));
+        }
+        for (final String group : Arrays.asList(TestGroups.EDGE, TestGroups.EDGE_2)) {
+            final Path groupFolderPath = new Path(snapshotFolder, ParquetStore.getGroupSubDir(group, false));
+            final Path pathForPartitionFile = new Path(groupFolderPath, ParquetStore.getFile(0));
+            expected.add(new ParquetFileQuery(pathForPartitionFile, sourcesUndirected, true));
+            final Path reversedGroupFolderPath = new Path(snapshotFolder, ParquetStore.getGroupSubDir(group, true));
+            final Path pathForReversedPartitionFile = new Path(reversedGroupFolderPath, ParquetStore.getFile(0));
+            expected.add(new ParquetFileQuery(pathForReversedPartitionFile, destinations, true));
+        }
+        assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
+    }
+
     public static class IsEvenFilter implements Predicate<Integer> {
 
         @Override
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.parquet.filter2.predicate.Statistics;
+import org.apache.parquet.io.api.Binary;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SortedSeedsPredicateTest {
+
+    @Test
+    public void shouldSortAndDeduplicateSeeds() {
+        // When
+        final SortedSeedsPredicate<Long> predicate = new SortedSeedsPredicate<>(Arrays.asList(10L, 1L, 5L, 1L));
+
+        // Then
+        assertEquals(Arrays.asList(1L, 5L, 10L), predicate.getSeeds());
+        assertEquals(new SortedSeedsPredicate<>(Arrays.asList(5L, 10L, 1L)), predicate);
+    }
+
+    @Test
+    public void shouldOnlyKeepSeeds() {
+        // Given
+        final SortedSeedsPredicate<Binary> predicate = new SortedSeedsPredicate<>(Arrays.asList(
+                Binary.fromString("B"), Binary.fromString("A"), Binary.fromString("D")));
+
+        // When / Then
+        assertTrue(predicate.keep(Binary.fromString("A")));
+        assertTrue(predicate.keep(Binary.fromString("D")));
+        assertFalse(predicate.keep(Binary.fromString("C")));
+        assertFalse(predicate.keep(null));
+    }
+
+    @Test
+    public void shouldOnlyDropRowGroupsThatCannotContainSeeds() {
+        // Given
+        final SortedSeedsPredicate<Long> predicate = new SortedSeedsPredicate<>(Arrays.asList(10L, 20L, 30L));
+
+        // When / Then
+        assertTrue(predicate.canDrop(new Statistics<>(0L, 9L)));
+        assertTrue(predicate.canDrop(new Statistics<>(11L, 19L)));
+        assertTrue(predicate.canDrop(new Statistics<>(31L, 100L)));
+        assertFalse(predicate.canDrop(new Statistics<>(0L, 10L)));
+        assertFalse(predicate.canDrop(new Statistics<>(15L, 25L)));
+        assertFalse(predicate.canDrop(new Statistics<>(30L, 30L)));
+        assertFalse(predicate.inverseCanDrop(new Statistics<>(20L, 20L)));
+    }
+
+    @Test
+    public void shouldDropAllRowGroupsIfThereAreNoSeeds() {
+        // Given
+        final SortedSeedsPredicate<Long> predicate = new SortedSeedsPredicate<>(Collections.emptyList());
+
+        // When / Then
+        assertTrue(predicate.canDrop(new Statistics<>(0L, 100L)));
+        assertFalse(predicate.keep(0L));
+    }
+}
@@ -35,12 +35,14 @@ public class ProxyProperties extends StoreProperties {
     public static final String GAFFER_CONTEXT_ROOT = "gaffer.context-root";
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
+    public static final String STREAMING_RESULTS = "gaffer.streaming-results";
 
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest";
     public static final int DEFAULT_GAFFER_PORT = 8080;
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_READ_TIMEOUT = 10000;
+    public static final String DEFAULT_STREAMING_RESULTS = "false";
 
     private static final String GAFFER_REST_API_VERSION = "v2";
 
@@ -94,6 +96,22 @@ public class ProxyProperties extends StoreProperties {
         set(READ_TIMEOUT, String.valueOf(timeout));
     }
 
+    /**
+     * If true, operation chains that return an {@link Iterable} are executed using the
+     * chunked REST endpoint and the results are deserialised lazily as they are iterated
+     * over, rather than the whole response being read into memory first. The results can
+     * then only be iterated over once.
+     *
+     * @return true if results should be streamed from the remote Gaffer REST API
+     */
+    public boolean isStreamingResults() {
+        return Boolean.parseBoolean(get(STREAMING_RESULTS, DEFAULT_STREAMING_RESULTS));
+    }
+
+    public void setStreamingResults(final boolean streamingResults) {
+        set(STREAMING_RESULTS, String.valueOf(streamingResults));
+    }
+
     public String getGafferHost() {
         return get(GAFFER_HOST, DEFAULT_GAFFER_HOST);
     }
@@ -17,6 +17,8 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.client.ClientProperties;
@@ -44,6 +46,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
 import uk.gov.gchq.gaffer.proxystore.operation.handler.OperationChainHandler;
+import uk.gov.gchq.gaffer.proxystore.response.StreamingJsonIterable;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.store.Context;
@@ -167,8 +170,13 @@ public class ProxyStore extends Store {
             throw new OperationException("Unable to serialise operation chain into JSON.", e);
         }
 
-        final URL url = getProperties().getGafferUrl("graph/operations/execute");
         try {
+            if (getProperties().isStreamingResults() && isStreamable(opChain.getOutputTypeReference())) {
+                final URL url = getProperties().getGafferUrl("graph/operations/execute/chunked");
+                return doPostStreaming(url, opChainJson, opChain.getOutputTypeReference(), context);
+            }
+
+            final URL url = getProperties().getGafferUrl("graph/operations/execute");
             return doPost(url, opChainJson, opChain.getOutputTypeReference(), context);
         } catch (final StoreException e) {
             throw new OperationException(e.getMessage(), e);
@@ -201,6 +209,41 @@ public class ProxyStore extends Store {
         return handleResponse(response, clazz);
     }
 
+    /**
+     * Executes a post request and returns an {@link Iterable} that lazily deserialises
+     * the items in the response as it is iterated over.
+     *
+     * @param url        the url to post to
+     * @param jsonBody   the body of the request
+     * @param outputType the output type, which must be assignable from {@link StreamingJsonIterable}
+     * @param context    the context
+     * @param <O>        the output type
+     * @return the lazily deserialised results
+     * @throws StoreException if the request fails
+     */
+    protected <O> O doPostStreaming(final URL url, final String jsonBody,
+                                    final TypeReference<O> outputType,
+                                    final Context context) throws StoreException {
+        final Invocation.Builder request = createRequest(jsonBody, url, context);
+        final Response response;
+        try {
+            response = request.post(Entity.json(jsonBody));
+        } catch (final Exception e) {
+            throw new StoreException("Failed to execute post via " +
+                    "the Gaffer URL " + url.toExternalForm(), e);
+        }
+
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            // Reads the error from the response and throws it
+            return handleResponse(response, outputType);
+        }
+
+        final ObjectMapper mapper = JSONSerialiser.getMapper();
+        final JavaType type = mapper.getTypeFactory().constructType(outputType);
+        final JavaType itemType = type.containedTypeCount() > 0 ? type.containedType(0) : mapper.getTypeFactory().constructType(Object.class);
+        return (O) new StreamingJsonIterable<>(response, mapper, itemType);
+    }
+
     protected <O> O doGet(final URL url,
                           final TypeReference<O> outputTypeReference, final Context context)
             throws StoreException {
@@ -243,6 +286,11 @@ public class ProxyStore extends Store {
         return output;
     }
 
+    private boolean isStreamable(final TypeReference<?> outputType) {
+        final Class<?> outputClass = JSONSerialiser.getMapper().getTypeFactory().constructType(outputType).getRawClass();
+        return Object.class != outputClass && outputClass.isAssignableFrom(StreamingJsonIterable.class);
+    }
+
     protected Invocation.Builder createRequest(final String body, final URL url, final Context context) {
         final Invocation.Builder request = client.target(url.toString())
                 .request();
@@ -372,6 +420,11 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder streamingResults(final boolean streamingResults) {
+            properties.setStreamingResults(streamingResults);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;
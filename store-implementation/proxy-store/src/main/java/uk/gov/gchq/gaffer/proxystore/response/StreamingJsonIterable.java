@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+
+import javax.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@code StreamingJsonIterable} lazily deserialises the items in the body of a
+ * {@link Response} from the Gaffer REST API as they are iterated over.
+ * <p>
+ * The body can either be a JSON array, or a sequence of JSON values separated by
+ * whitespace, as returned by the chunked REST endpoints. Only one item is held in
+ * memory at a time, so the memory used does not depend on the size of the response.
+ * </p>
+ * <p>
+ * As the response can only be read once, this iterable can only be iterated over
+ * once. The response is closed when the iterator is exhausted or closed, or when
+ * this iterable is closed.
+ * </p>
+ *
+ * @param <T> the type of items in the iterable
+ */
+public class StreamingJsonIterable<T> implements CloseableIterable<T> {
+    private final Response response;
+    private final ObjectMapper mapper;
+    private final JavaType itemType;
+    private boolean iterated;
+
+    public StreamingJsonIterable(final Response response, final ObjectMapper mapper, final JavaType itemType) {
+        this.response = response;
+        this.mapper = mapper;
+        this.itemType = itemType;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    @Override
+    public synchronized CloseableIterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("The results streamed from the remote Gaffer REST API can only be iterated over once");
+        }
+        iterated = true;
+
+        try {
+            return new StreamingJsonIterator(response.readEntity(InputStream.class));
+        } catch (final IOException e) {
+            close();
+            throw new GafferRuntimeException("Unable to read the response from the remote Gaffer REST API", e);
+        }
+    }
+
+    private class StreamingJsonIterator implements CloseableIterator<T> {
+        private final JsonParser parser;
+        private final boolean isArray;
+        private boolean finished;
+
+        StreamingJsonIterator(final InputStream stream) throws IOException {
+            parser = mapper.getFactory().createParser(stream);
+            final JsonToken token = parser.nextToken();
+            isArray = JsonToken.START_ARRAY == token;
+            if (isArray) {
+                parser.nextToken();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (finished) {
+                return false;
+            }
+
+            final JsonToken token = parser.getCurrentToken();
+            if (null == token || (isArray && JsonToken.END_ARRAY == token)) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                final T item = mapper.readValue(parser, itemType);
+                parser.nextToken();
+                return item;
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to deserialise the response from the remote Gaffer REST API", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            CloseableUtil.close(parser);
+            StreamingJsonIterable.this.close();
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.proxystore.integration;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -57,6 +58,7 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasItems;
@@ -145,6 +147,31 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
     }
 
+    @Test
+    public void shouldAddElementsAndStreamAllElements() throws Exception {
+        // Given
+        final Graph streamingGraph = new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .graphId("graph1")
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest")
+                        .streamingResults(true)
+                        .build())
+                .build();
+        addDefaultElements();
+
+        // When
+        final List<Element> results;
+        try (final CloseableIterable<? extends Element> elements = streamingGraph.execute(new GetAllElements(), USER)) {
+            results = Lists.newArrayList(elements);
+        }
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, results.size());
+        assertThat(results, hasItems(DEFAULT_ELEMENTS));
+    }
+
     @Test
     public void shouldAddElementsAndGetRelatedElements() throws Exception {
         // Given